@@ -58,4 +58,15 @@ public class AuthenticationController {
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
 
+    /**
+     * Issues a new token for the authenticated user with up to date organization claims.
+     *
+     * @param principal the principal object representing the authenticated user
+     * @return The ResponseEntity containing the AuthenticationResponse with the new token.
+     */
+    @PostMapping("refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(Principal principal) {
+        return ResponseEntity.ok(authenticationService.refresh(principal.getName()));
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.jonathand.issuecrush.auth;
 
 import com.jonathand.issuecrush.config.JwtService;
+import com.jonathand.issuecrush.organization.OrganizationMembershipClaims;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserDTO;
 import com.jonathand.issuecrush.user.UserDTOMapper;
@@ -31,6 +32,8 @@ public class AuthenticationService {
 
     private final UserUtil userUtil;
 
+    private final OrganizationMembershipClaims organizationMembershipClaims;
+
     /**
      * Retrieves user details.
      *
@@ -71,7 +74,7 @@ public class AuthenticationService {
         userRepository.save(user);
 
         // Generate JWT token for the user
-        String jwtToken = jwtService.generateToken(user);
+        String jwtToken = jwtService.generateToken(organizationMembershipClaims.createClaims(user), user);
 
         // Build and return the authentication response
         return AuthenticationResponse.builder()
@@ -94,7 +97,28 @@ public class AuthenticationService {
         User user = (User) authentication.getPrincipal();
 
         // Generate JWT token for the user
-        String jwtToken = jwtService.generateToken(user);
+        String jwtToken = jwtService.generateToken(organizationMembershipClaims.createClaims(user), user);
+
+        // Build and return the authentication response
+        return AuthenticationResponse.builder()
+            .token(jwtToken)
+            .build();
+    }
+
+    /**
+     * Issues a new token for an already authenticated user. Used by clients to pick up organization claims that
+     * reflect the current memberships of the user.
+     *
+     * @param email the email of the authenticated user
+     * @return the authentication response with the generated token
+     * @throws UsernameNotFoundException if the user with the given email is not found
+     */
+    public AuthenticationResponse refresh(String email) {
+        // Load the user, which also reads the current membership version
+        User user = userUtil.getUserByEmail(email);
+
+        // Generate JWT token for the user
+        String jwtToken = jwtService.generateToken(organizationMembershipClaims.createClaims(user), user);
 
         // Build and return the authentication response
         return AuthenticationResponse.builder()
@@ -0,0 +1,212 @@
+package com.jonathand.issuecrush.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+/**
+ * A bounded, thread-safe in-memory cache where every entry expires after a fixed time to live. When the cache is full
+ * the least recently used entry is evicted.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ExpiringCache<K, V> implements MeterBinder {
+
+    private final String name;
+
+    private final long timeToLiveMillis;
+
+    private final Clock clock;
+
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Incremented on every eviction, so a value loaded while an eviction happened is not put back into the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ExpiringCache(String name, int maxSize, Duration timeToLive) {
+        this(name, maxSize, timeToLive, Clock.systemUTC());
+    }
+
+    public ExpiringCache(String name, int maxSize, Duration timeToLive, Clock clock) {
+        this.name = name;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the value for a key, loading and caching it if it is missing or has expired. The loader is called
+     * outside the lock, and a null value is returned to the caller without being cached.
+     *
+     * @param key    the key to look up
+     * @param loader the function loading the value when it is not cached
+     * @return the cached or loaded value
+     */
+    public V get(K key, Function<K, V> loader) {
+        Optional<V> cachedValue = getIfPresent(key);
+        if (cachedValue.isPresent()) {
+            return cachedValue.get();
+        }
+
+        long generationBeforeLoad = generation.get();
+        V value = loader.apply(key);
+
+        if (value != null) {
+            putIfNotEvictedSince(key, value, generationBeforeLoad);
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the current eviction generation. Callers that load a value themselves read the generation before
+     * loading and pass it to {@link #putIfNotEvictedSince(Object, Object, long)}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a value unless an eviction happened after the given generation was read, in which case the value may
+     * already be stale and is dropped.
+     *
+     * @param key        the key
+     * @param value      the value to cache
+     * @param generation the generation read before the value was loaded
+     */
+    public void putIfNotEvictedSince(K key, V value, long generation) {
+        synchronized (entries) {
+            if (this.generation.get() == generation) {
+                entries.put(key, new Entry<>(value, clock.millis() + timeToLiveMillis));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the value for a key if it is cached and has not expired.
+     *
+     * @param key the key to look up
+     * @return an Optional containing the value, or empty if it is not cached
+     */
+    public Optional<V> getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.millis()) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Caches a value for a key, replacing any existing value.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     */
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, clock.millis() + timeToLiveMillis));
+        }
+    }
+
+    /**
+     * Removes the value for a key.
+     *
+     * @param key the key to evict
+     */
+    public void evict(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every value whose key matches the predicate.
+     *
+     * @param keyPredicate the predicate selecting the keys to evict
+     */
+    public void evictIf(Predicate<K> keyPredicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet()
+                .removeIf(keyPredicate);
+        }
+    }
+
+    /**
+     * Removes every value from the cache.
+     */
+    public void evictAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("issuecrush.cache.gets", hits, LongAdder::doubleValue)
+            .tags("cache", name, "result", "hit")
+            .description("The number of cache lookups that found a value")
+            .register(registry);
+        FunctionCounter.builder("issuecrush.cache.gets", misses, LongAdder::doubleValue)
+            .tags("cache", name, "result", "miss")
+            .description("The number of cache lookups that did not find a value")
+            .register(registry);
+        Gauge.builder("issuecrush.cache.size", this, ExpiringCache::size)
+            .tags("cache", name)
+            .description("The number of entries in the cache")
+            .register(registry);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jonathand.issuecrush.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the total number of rows of a listing, for the clients that opt in to a total.
+ * <p>
+ * Listings are read as slices, which never count. A total is only computed when a client asks for it, and then cached
+ * per listing, scope (usually the organization) and filter for a short time, so a client paging through a listing
+ * with a total counts once. Totals are never invalidated and can be off by the rows written during the time to live.
+ */
+@Component
+public class ListingCountCache {
+
+    private final ExpiringCache<CountKey, Long> counts;
+
+    public ListingCountCache(
+        @Value("${listing.count-cache.max-size}") int maxSize,
+        @Value("${listing.count-cache.time-to-live}") Duration timeToLive,
+        MeterRegistry meterRegistry) {
+        this.counts = new ExpiringCache<>("listing-counts", maxSize, timeToLive);
+        this.counts.bindTo(meterRegistry);
+    }
+
+    /**
+     * Retrieves the total number of rows of a listing, counting them if the total is not cached.
+     *
+     * @param listing the name of the listing
+     * @param scope   the scope of the listing, such as the ID of the organization
+     * @param counter counts the rows of the listing
+     * @param filter  the filter values of the listing, null for a filter that is not set
+     * @return the total number of rows
+     */
+    public long count(String listing, Object scope, LongSupplier counter, Object... filter) {
+        return counts.get(new CountKey(listing, scope, Arrays.asList(filter)), key -> counter.getAsLong());
+    }
+
+    private record CountKey(String listing, Object scope, List<Object> filter) {
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.jonathand.issuecrush.cache;
+
+/**
+ * Receives the notifications published on a channel of the {@link PostgresNotificationBus}.
+ */
+public interface NotificationListener {
+
+    /**
+     * Called for every notification published on the channel, including the ones published by this node.
+     *
+     * @param payload the payload of the notification
+     */
+    void onNotification(String payload);
+
+    /**
+     * Called every time the bus (re)connects. Notifications published while the bus was disconnected are lost, so a
+     * cache should drop everything it holds.
+     */
+    void onConnected();
+
+}
@@ -0,0 +1,173 @@
+package com.jonathand.issuecrush.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts cache invalidations to every application node through Postgres LISTEN/NOTIFY, so the nodes behind the
+ * load balancer need no infrastructure besides the database they already share.
+ * <p>
+ * Notifications are published with {@code pg_notify} on a pooled connection. When that happens inside a transaction
+ * Postgres delivers the notification on commit, so other nodes never see an invalidation for a change that was rolled
+ * back. Every node listens on one dedicated connection, opened outside the pool so it never takes a connection away
+ * from requests.
+ */
+@Slf4j
+@Component
+public class PostgresNotificationBus implements SmartLifecycle {
+
+    private final Map<String, List<NotificationListener>> listeners = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final boolean enabled;
+
+    private final int pollTimeoutMillis;
+
+    private final long reconnectDelayMillis;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    public PostgresNotificationBus(
+        JdbcTemplate jdbcTemplate,
+        DataSourceProperties dataSourceProperties,
+        @Value("${cache.invalidation.enabled}") boolean enabled,
+        @Value("${cache.invalidation.poll-timeout}") Duration pollTimeout,
+        @Value("${cache.invalidation.reconnect-delay}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.pollTimeoutMillis = (int) pollTimeout.toMillis();
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+    }
+
+    /**
+     * Registers a listener for a channel. Listeners should be registered before the bus is started, which Spring does
+     * after every singleton has been created.
+     *
+     * @param channel  the name of the channel, a lower case Postgres identifier
+     * @param listener the listener to notify
+     */
+    public void subscribe(String channel, NotificationListener listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>())
+            .add(listener);
+    }
+
+    /**
+     * Publishes a notification to every node, including this one.
+     *
+     * @param channel the name of the channel
+     * @param payload the payload, at most 8000 bytes
+     */
+    public void publish(String channel, String payload) {
+        if (!enabled) {
+            return;
+        }
+
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, channel, payload);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listen, "postgres-notification-bus");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        if (listenerThread != null) {
+            try {
+                listenerThread.join(pollTimeoutMillis * 2L);
+            } catch (InterruptedException exception) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : listeners.keySet()) {
+                        statement.execute("LISTEN \"" + channel + "\"");
+                    }
+                }
+
+                // Anything published before LISTEN ran was missed
+                listeners.values()
+                    .forEach(channelListeners -> channelListeners.forEach(NotificationListener::onConnected));
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                log.warn("Lost the notification connection, reconnecting in {} ms", reconnectDelayMillis, exception);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        for (NotificationListener listener : listeners.getOrDefault(notification.getName(), List.of())) {
+            try {
+                listener.onNotification(notification.getParameter());
+            } catch (RuntimeException exception) {
+                log.error("Notification listener failed on channel {}", notification.getName(), exception);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread()
+                .interrupt();
+            running = false;
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.jonathand.issuecrush.config;
 import com.jonathand.issuecrush.organization.OrganizationDTOMapper;
 import com.jonathand.issuecrush.organization.OrganizationSecurityExpressions;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTOMapper;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTOMapper;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
 import com.jonathand.issuecrush.response.APIResponseUtil;
@@ -72,6 +73,11 @@ public class ApplicationConfig {
         return new OrganizationUserDTOMapper();
     }
 
+    @Bean
+    public OrganizationPurgeDTOMapper organizationPurgeDTOMapper() {
+        return new OrganizationPurgeDTOMapper();
+    }
+
     @Bean
     public TicketDTOMapper ticketDTOMapper() {
         return new TicketDTOMapper(organizationUserDTOMapper());
@@ -0,0 +1,97 @@
+package com.jonathand.issuecrush.config;
+
+import java.time.Duration;
+
+import com.jonathand.issuecrush.cache.ExpiringCache;
+import com.jonathand.issuecrush.cache.NotificationListener;
+import com.jonathand.issuecrush.cache.PostgresNotificationBus;
+import com.jonathand.issuecrush.datasource.ReadYourWritesGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the principals of authenticated requests by email, so a request carrying an already verified token does not
+ * have to load the user from the database. Evictions are published to every node through the
+ * {@link PostgresNotificationBus}.
+ */
+@Component
+public class AuthenticatedPrincipalCache implements NotificationListener {
+
+    static final String CHANNEL = "authenticated_principal_cache";
+
+    private final ExpiringCache<String, UserDetails> principals;
+
+    private final PostgresNotificationBus notificationBus;
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public AuthenticatedPrincipalCache(
+        @Value("${jwt.principal-cache.max-size}") int maxSize,
+        @Value("${jwt.principal-cache.time-to-live}") Duration timeToLive,
+        MeterRegistry meterRegistry,
+        PostgresNotificationBus notificationBus,
+        ReadYourWritesGuard readYourWritesGuard) {
+        this.principals = new ExpiringCache<>("authenticated-principals", maxSize, timeToLive);
+        this.principals.bindTo(meterRegistry);
+        this.notificationBus = notificationBus;
+        this.notificationBus.subscribe(CHANNEL, this);
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    /**
+     * Retrieves the principal for an email, loading it from the primary with the user details service when it is not
+     * cached. The principal carries the membership version of the user, which must not be read from the lagging
+     * replica. Within a read-only transaction, which may read from the replica, a principal that is not cached is
+     * loaded without caching it.
+     *
+     * @param email              the email of the user
+     * @param userDetailsService the service used to load the user on a cache miss
+     * @return the principal for the email
+     */
+    public UserDetails getPrincipal(String email, UserDetailsService userDetailsService) {
+        if (!readYourWritesGuard.canReadFromPrimary()) {
+            return principals.getIfPresent(email)
+                .orElseGet(() -> userDetailsService.loadUserByUsername(email));
+        }
+
+        return principals.get(email,
+            key -> readYourWritesGuard.readFromPrimary(() -> userDetailsService.loadUserByUsername(key)));
+    }
+
+    /**
+     * Removes the cached principal for an email on every node. Must be called whenever the user row changes.
+     *
+     * @param email the email of the user
+     */
+    public void evict(String email) {
+        principals.evict(email);
+        notificationBus.publish(CHANNEL, email);
+    }
+
+    /**
+     * Removes every cached principal on every node.
+     */
+    public void evictAll() {
+        principals.evictAll();
+        notificationBus.publish(CHANNEL, "");
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        // An empty payload means every principal
+        if (payload.isEmpty()) {
+            principals.evictAll();
+        } else {
+            principals.evict(payload);
+        }
+    }
+
+    @Override
+    public void onConnected() {
+        principals.evictAll();
+    }
+
+}
@@ -10,7 +10,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -26,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
 
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
+
     @Override
     protected void doFilterInternal(
         @NonNull HttpServletRequest request,
@@ -34,7 +35,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final JwtClaims jwtClaims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -43,28 +44,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
+        // Parse and verify the token once, every later check reads from the verified claims
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            jwtClaims = jwtService.verifyToken(jwt);
         } catch (SignatureException exception) {
             throw new AccessDeniedException("DENIED");
         }
 
+        final String userEmail = jwtClaims.subject();
+
         if (userEmail != null && SecurityContextHolder.getContext()
                                                       .getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+            UserDetails userDetails = authenticatedPrincipalCache.getPrincipal(userEmail, userDetailsService);
+            if (jwtService.isTokenValid(jwtClaims, userDetails.getUsername())) {
+                JwtAuthenticationToken authToken =
+                    new JwtAuthenticationToken(userDetails, userDetails.getAuthorities(), jwtClaims);
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext()
                                      .setAuthentication(authToken);
             }
-
-            filterChain.doFilter(request, response);
         }
+
+        filterChain.doFilter(request, response);
     }
 
 }
@@ -0,0 +1,25 @@
+package com.jonathand.issuecrush.config;
+
+import java.util.Collection;
+
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * An authentication created from a verified JWT. Keeps the verified claims so later authorization checks can read
+ * them without parsing the token again.
+ */
+@Getter
+public class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final JwtClaims jwtClaims;
+
+    public JwtAuthenticationToken(UserDetails principal, Collection<? extends GrantedAuthority> authorities,
+                                  JwtClaims jwtClaims) {
+        super(principal, null, authorities);
+        this.jwtClaims = jwtClaims;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.jonathand.issuecrush.config;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable view of the claims of a JWT whose signature and expiry have already been verified.
+ *
+ * @param subject      the subject (email) of the token
+ * @param issuedAt     when the token was issued
+ * @param expiration   when the token expires
+ * @param customClaims every claim that is not a registered claim
+ */
+public record JwtClaims(
+    String subject,
+    Date issuedAt,
+    Date expiration,
+    Map<String, Object> customClaims
+) {
+
+    public JwtClaims {
+        customClaims = Collections.unmodifiableMap(new HashMap<>(customClaims));
+    }
+
+    /**
+     * Checks whether the token has expired.
+     *
+     * @return true if the token expiry is in the past, false otherwise
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * Retrieves a custom claim.
+     *
+     * @param name the name of the claim
+     * @return the value of the claim, or null if the claim is not present
+     */
+    public Object getClaim(String name) {
+        return customClaims.get(name);
+    }
+
+}
@@ -4,10 +4,12 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import com.jonathand.issuecrush.auth.AccessDeniedException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -19,14 +21,49 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+        Claims.ISSUER, Claims.SUBJECT, Claims.AUDIENCE, Claims.EXPIRATION, Claims.NOT_BEFORE, Claims.ISSUED_AT,
+        Claims.ID);
 
-    @Value("${jwt.expire-after}")
-    private int expireAfter;
+    private final int expireAfter;
+
+    private final Key signInKey;
+
+    /**
+     * The parser is immutable and thread-safe, so it is built once and shared by every request.
+     */
+    private final JwtParser jwtParser;
+
+    public JwtService(
+        @Value("${jwt.secret-key}") String secretKey,
+        @Value("${jwt.expire-after}") int expireAfter) {
+        this.expireAfter = expireAfter;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signInKey)
+            .build();
+    }
+
+    /**
+     * Parses the token and verifies its signature and expiry. This is the only place a token is parsed, so callers
+     * that need more than one claim should call this once and read from the returned claims.
+     *
+     * @param token the JWT to verify
+     * @return the verified claims of the token
+     * @throws AccessDeniedException if the token is malformed, has an invalid signature or has expired
+     */
+    public JwtClaims verifyToken(String token) {
+        Claims claims = extractAllClaims(token);
+
+        Map<String, Object> customClaims = new HashMap<>(claims);
+        customClaims.keySet()
+            .removeAll(REGISTERED_CLAIMS);
+
+        return new JwtClaims(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(), customClaims);
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -39,13 +76,23 @@ public class JwtService {
                    .setSubject(userDetails.getUsername())
                    .setIssuedAt(new Date(System.currentTimeMillis()))
                    .setExpiration(new Date(System.currentTimeMillis() + expireAfter))
-                   .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                   .signWith(signInKey, SignatureAlgorithm.HS256)
                    .compact();
     }
 
     public boolean isTokenValid(String token, String email) {
-        final String username = extractUsername(token);
-        return username.equals(email) && !isTokenExpired(token);
+        return isTokenValid(verifyToken(token), email);
+    }
+
+    /**
+     * Checks whether already verified claims belong to the given email and have not expired.
+     *
+     * @param jwtClaims the verified claims
+     * @param email     the email the token should belong to
+     * @return true if the claims are valid for the email, false otherwise
+     */
+    public boolean isTokenValid(JwtClaims jwtClaims, String email) {
+        return email.equals(jwtClaims.subject()) && !jwtClaims.isExpired();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -55,27 +102,11 @@ public class JwtService {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                       .setSigningKey(getSignInKey())
-                       .build()
-                       .parseClaimsJws(token)
-                       .getBody();
+            return jwtParser.parseClaimsJws(token)
+                .getBody();
         } catch (Exception exception) {
             throw new AccessDeniedException("DENIED");
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
 }
@@ -1,5 +1,6 @@
 package com.jonathand.issuecrush.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +31,12 @@ public class SecurityConfiguration {
             .csrf()
             .disable()
             .authorizeHttpRequests()
+            // The request was authorized before it went async, the JWT is not read again when a stream completes
+            .dispatcherTypeMatchers(DispatcherType.ASYNC)
+            .permitAll()
+            // A token is only refreshed for the user it was issued to
+            .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh")
+            .authenticated()
             .requestMatchers("/api/v1/auth/**")
             .permitAll()
             .requestMatchers(HttpMethod.GET, "/actuator/**")
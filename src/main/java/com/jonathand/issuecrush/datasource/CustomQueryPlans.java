@@ -0,0 +1,36 @@
+package com.jonathand.issuecrush.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Plans the statements of the current transaction for the values they are run with.
+ * <p>
+ * After five executions of a prepared statement, the server may switch it to a generic plan that assumes average
+ * values. For the substring finders, that plan assumes an average sized organization and scans every row of a large
+ * one, see {@code db/trigram.sql}. The finders turn the generic plans off for their own transaction only, so every
+ * other statement keeps its cached plan.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomQueryPlans {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Plans every statement for its values until the current transaction ends. The setting is reset when the
+     * transaction ends, so the pooled connection keeps its cached plans for the next transaction.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void useForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Custom query plans can only be used in a transaction");
+        }
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_custom_plan");
+    }
+
+}
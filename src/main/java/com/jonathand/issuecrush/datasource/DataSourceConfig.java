@@ -0,0 +1,52 @@
+package com.jonathand.issuecrush.datasource;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Connects to the primary database and to a streaming replica of it, see {@link ReplicaRoutingDataSource}.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource}. The replica pool is a copy of it with the URL of
+ * {@code replica.url}, so it has the same pool settings, and logs in as the same user, which a streaming replica has as
+ * well.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                              @Value("${replica.url}") String replicaUrl) {
+        HikariDataSource dataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReadYourWritesGuard readYourWritesGuard) {
+        return new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesGuard));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.jonathand.issuecrush.datasource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import com.jonathand.issuecrush.cache.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pins a caller to the primary database for a short window after each of its writes commits, so the caller reads its
+ * own writes even when the replica lags behind. Callers are identified by the name of the authenticated user, so
+ * anonymous requests are never pinned.
+ * <p>
+ * The pins are kept in memory, on the node that handled the write. A caller sent to another node within the window
+ * reads from the replica there, which is only stale while the replica lags by more than the time between the two
+ * requests.
+ * <p>
+ * The reads that are cached for longer than the replica lags, such as the memberships checked by the security
+ * expressions, are pinned to the primary for the current thread instead, see {@link #readFromPrimary(Supplier)}.
+ * Caching a stale read there would keep a removed member's access for as long as the cache keeps it.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    private final ThreadLocal<Boolean> pinnedThread = new ThreadLocal<>();
+
+    private final ExpiringCache<String, Boolean> pinnedCallers;
+
+    public ReadYourWritesGuard(
+        @Value("${replica.read-your-writes.max-size}") int maxSize,
+        @Value("${replica.read-your-writes.window}") Duration window,
+        MeterRegistry meterRegistry) {
+        this.pinnedCallers = new ExpiringCache<>("read-your-writes", maxSize, window);
+        this.pinnedCallers.bindTo(meterRegistry);
+    }
+
+    /**
+     * Checks if the current caller wrote within the window, or the current thread reads from the primary.
+     *
+     * @return true if the current caller must read from the primary
+     */
+    public boolean isCallerPinned() {
+        if (Boolean.TRUE.equals(pinnedThread.get())) {
+            return true;
+        }
+
+        String caller = currentCaller();
+        return caller != null && pinnedCallers.getIfPresent(caller)
+            .isPresent();
+    }
+
+    /**
+     * Pins the current caller to the primary once the current transaction commits. Does nothing outside a transaction
+     * or for an anonymous caller.
+     */
+    public void pinCallerAfterCommit() {
+        String caller = currentCaller();
+        if (caller == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedCallers.put(caller, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Checks if the reads of the current thread can be pinned to the primary. They can not within a read-only
+     * transaction, which may have fetched its connection from the replica already.
+     *
+     * @return true if {@link #readFromPrimary(Supplier)} reads from the primary
+     */
+    public boolean canReadFromPrimary() {
+        return !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Runs a reader with the transactions it starts on the current thread pinned to the primary. Only reads from the
+     * primary if {@link #canReadFromPrimary()}.
+     *
+     * @param reader the reader to run
+     * @param <T>    the type of what is read
+     * @return what the reader read
+     */
+    public <T> T readFromPrimary(Supplier<T> reader) {
+        Boolean previouslyPinned = pinnedThread.get();
+        pinnedThread.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            if (previouslyPinned == null) {
+                pinnedThread.remove();
+            }
+        }
+    }
+
+    private String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext()
+            .getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+            || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+}
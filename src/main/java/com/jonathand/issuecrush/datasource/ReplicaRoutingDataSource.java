@@ -0,0 +1,44 @@
+package com.jonathand.issuecrush.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the read-only transactions to the replica and everything else to the primary, unless the caller or the current
+ * thread is pinned to the primary by the {@link ReadYourWritesGuard}.
+ * <p>
+ * The target is looked up when a connection is fetched, so it must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only fetches the connection on the
+ * first statement, once the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                                    ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+        setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Whatever the transaction writes must then be read back from the primary
+            readYourWritesGuard.pinCallerAfterCommit();
+            return PRIMARY;
+        }
+
+        return readYourWritesGuard.isCallerPinned() ? PRIMARY : REPLICA;
+    }
+
+}
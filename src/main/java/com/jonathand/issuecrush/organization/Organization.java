@@ -64,4 +64,13 @@ public class Organization {
     @Column(name = "updated_at", nullable = false)
     private Date updatedAt;
 
+    /**
+     * When the owner asked for the organization to be deleted, or null. An organization with a deletion request is
+     * hidden from every query while it is purged in the background. Only written by
+     * {@link OrganizationRepository#requestOrganizationDeletion(Long)}, so saving an organization loaded before the
+     * request never clears it.
+     */
+    @Column(name = "deletion_requested_at", insertable = false, updatable = false)
+    private Date deletionRequestedAt;
+
 }
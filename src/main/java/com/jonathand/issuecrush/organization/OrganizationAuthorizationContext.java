@@ -0,0 +1,181 @@
+package com.jonathand.issuecrush.organization;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Memoizes the organization and membership lookups of the current request.
+ * <p>
+ * The security expressions, the util classes and the services all resolve the same organization and the same
+ * organization user while handling one request. The first lookup is stored in the request attributes and every later
+ * lookup in the same request reads from there, so a request runs at most one membership query. Outside a request,
+ * for example in a scheduled job, every lookup goes to the loader.
+ */
+@Component
+public class OrganizationAuthorizationContext {
+
+    private static final String ATTRIBUTE_NAME = OrganizationAuthorizationContext.class.getName();
+
+    /**
+     * Retrieves an organization by its ID, loading it the first time it is requested in the current request.
+     *
+     * @param organizationId the ID of the organization
+     * @param loader         loads the organization when it is not memoized
+     * @return the organization, or empty if it does not exist
+     */
+    public Optional<Organization> getOrganization(Long organizationId, Supplier<Optional<Organization>> loader) {
+        Lookups lookups = currentLookups();
+
+        if (lookups == null) {
+            return loader.get();
+        }
+
+        return lookups.organizations.computeIfAbsent(organizationId, id -> loader.get());
+    }
+
+    /**
+     * Checks if an organization exists. An organization that has already been loaded in the current request is known
+     * to exist without a query.
+     *
+     * @param organizationId the ID of the organization
+     * @param loader         checks the existence of the organization when it is not memoized
+     * @return true if the organization exists, false otherwise
+     */
+    public boolean organizationExists(Long organizationId, Supplier<Boolean> loader) {
+        Lookups lookups = currentLookups();
+
+        if (lookups == null) {
+            return loader.get();
+        }
+
+        Optional<Organization> organization = lookups.organizations.get(organizationId);
+        if (organization != null) {
+            return organization.isPresent();
+        }
+
+        return lookups.organizationExistence.computeIfAbsent(organizationId, id -> loader.get());
+    }
+
+    /**
+     * Retrieves the organization user of an email in an organization, loading it the first time it is requested in
+     * the current request.
+     *
+     * @param email          the email of the user
+     * @param organizationId the ID of the organization
+     * @param loader         loads the organization user when it is not memoized
+     * @return the organization user, or empty if the user is not a member of the organization
+     */
+    public Optional<OrganizationUser> getOrganizationUser(String email, Long organizationId,
+                                                          Supplier<Optional<OrganizationUser>> loader) {
+        Lookups lookups = currentLookups();
+
+        if (lookups == null) {
+            return loader.get();
+        }
+
+        MembershipKey key = new MembershipKey(email, organizationId);
+        Optional<OrganizationUser> organizationUser = lookups.memberships.get(key);
+
+        if (organizationUser == null) {
+            organizationUser = loader.get();
+            lookups.memberships.put(key, organizationUser);
+            organizationUser.ifPresent(user -> lookups.organizationUsersById.put(user.getId(), user));
+        }
+
+        return organizationUser;
+    }
+
+    /**
+     * Retrieves an organization user by its ID. An organization user that has already been loaded in the current
+     * request, by ID or by email, is returned without a query.
+     *
+     * @param organizationUserId the ID of the organization user
+     * @param loader             loads the organization user when it is not memoized
+     * @return the organization user, or empty if it does not exist
+     */
+    public Optional<OrganizationUser> getOrganizationUserById(Long organizationUserId,
+                                                              Supplier<Optional<OrganizationUser>> loader) {
+        Lookups lookups = currentLookups();
+
+        if (lookups == null) {
+            return loader.get();
+        }
+
+        OrganizationUser organizationUser = lookups.organizationUsersById.get(organizationUserId);
+        if (organizationUser != null) {
+            return Optional.of(organizationUser);
+        }
+
+        Optional<OrganizationUser> loaded = loader.get();
+        loaded.ifPresent(user -> lookups.organizationUsersById.put(organizationUserId, user));
+        return loaded;
+    }
+
+    /**
+     * Retrieves the role of an email in an organization, using the memoized organization user.
+     *
+     * @param email          the email of the user
+     * @param organizationId the ID of the organization
+     * @param loader         loads the organization user when it is not memoized
+     * @return the role of the user, or empty if the user is not a member of the organization
+     */
+    public Optional<OrganizationRole> getRole(String email, Long organizationId,
+                                              Supplier<Optional<OrganizationUser>> loader) {
+        return getOrganizationUser(email, organizationId, loader).map(OrganizationUser::getRole);
+    }
+
+    /**
+     * Forgets everything memoized in the current request. Must be called after the memberships of an organization
+     * change, so later lookups in the same request see the change.
+     */
+    public void clear() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private Lookups currentLookups() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Lookups lookups = (Lookups) requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (lookups == null) {
+            lookups = new Lookups();
+            requestAttributes.setAttribute(ATTRIBUTE_NAME, lookups, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return lookups;
+    }
+
+    private record MembershipKey(String email, Long organizationId) {
+
+    }
+
+    /**
+     * The lookups of a single request. A request is handled by one thread at a time, so plain maps are enough.
+     */
+    private static final class Lookups {
+
+        private final Map<Long, Optional<Organization>> organizations = new HashMap<>();
+
+        private final Map<Long, Boolean> organizationExistence = new HashMap<>();
+
+        private final Map<MembershipKey, Optional<OrganizationUser>> memberships = new HashMap<>();
+
+        private final Map<Long, OrganizationUser> organizationUsersById = new HashMap<>();
+
+    }
+
+}
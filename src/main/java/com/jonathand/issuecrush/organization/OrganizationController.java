@@ -3,6 +3,7 @@ package com.jonathand.issuecrush.organization;
 import java.security.Principal;
 import java.util.List;
 
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTO;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 import com.jonathand.issuecrush.response.APIResponse;
 import com.jonathand.issuecrush.response.APIResponseUtil;
@@ -10,6 +11,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -36,6 +38,7 @@ public class OrganizationController {
      * filtered by name.
      *
      * @param organizationName the name of the organization (optional)
+     * @param includeTotal     flag to include the total number of organizations (default: false)
      * @param pageable         pagination information
      * @param principal        the authenticated user principal
      * @return a ResponseEntity containing the API response with a list of OrganizationDTO objects
@@ -44,12 +47,13 @@ public class OrganizationController {
     public ResponseEntity<APIResponse<List<OrganizationDTO>>> getOrganizationsForUser(
         @RequestParam(name = "name", required = false)
         String organizationName,
+        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
         Pageable pageable,
         Principal principal) {
         // Filter by organization name if present
         boolean filterByOrganizationName = organizationName != null;
-        List<OrganizationDTO> organizations = filterByOrganizationName ?
-                                              organizationService.getOrganizationsForUserByOrganizationName(
+        Slice<OrganizationDTO> organizations = filterByOrganizationName ?
+                                               organizationService.getOrganizationsForUserByOrganizationName(
             organizationName, principal.getName(), pageable) : organizationService.getOrganizationsForUser(
             principal.getName(), pageable);
 
@@ -59,8 +63,12 @@ public class OrganizationController {
                 .build();
         }
 
+        // Only count the organizations if the client asked for the total
+        Long total = includeTotal ? organizationService.countOrganizationsForUser(principal.getName(),
+            organizationName) : null;
+
         // Build success response with the list of organizations
-        APIResponse<List<OrganizationDTO>> response = apiResponseUtil.buildSuccessResponse(organizations);
+        APIResponse<List<OrganizationDTO>> response = apiResponseUtil.buildSliceResponse(organizations, total);
         return ResponseEntity.ok(response);
     }
 
@@ -121,19 +129,40 @@ public class OrganizationController {
     }
 
     /**
-     * Deletes an organization.
+     * Deletes an organization. The organization is hidden at once and purged in the background, so the request is
+     * accepted before the organization is gone.
      *
      * @param organizationId the ID of the organization to delete
-     * @return a ResponseEntity containing the API response with the deleted organization ID
+     * @return a ResponseEntity containing the API response with the OrganizationPurgeDTO object
      */
     @PreAuthorize("@organizationSecurityExpressions.isUserOrganizationOwner(#organizationId)")
     @DeleteMapping("{organizationId}")
-    public ResponseEntity<APIResponse<Long>> deleteOrganization(@PathVariable("organizationId") Long organizationId) {
-        // Delete the organization
-        Long deletedOrganizationId = organizationService.deleteOrganization(organizationId);
+    public ResponseEntity<APIResponse<OrganizationPurgeDTO>> deleteOrganization(
+        @PathVariable("organizationId") Long organizationId) {
+        // Request the deletion of the organization
+        OrganizationPurgeDTO organizationPurgeDTO = organizationService.deleteOrganization(organizationId);
+
+        // Build accepted response with the purge of the organization
+        APIResponse<OrganizationPurgeDTO> response = apiResponseUtil.buildSuccessResponse(organizationPurgeDTO);
+        return ResponseEntity.accepted()
+            .body(response);
+    }
+
+    /**
+     * Retrieves the progress of purging a deleted organization.
+     *
+     * @param organizationId the ID of the deleted organization
+     * @return a ResponseEntity containing the API response with the OrganizationPurgeDTO object
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserOrganizationPurgeOwner(#organizationId)")
+    @GetMapping("{organizationId}/purge")
+    public ResponseEntity<APIResponse<OrganizationPurgeDTO>> getOrganizationPurge(
+        @PathVariable("organizationId") Long organizationId) {
+        // Retrieve the purge of the organization
+        OrganizationPurgeDTO organizationPurgeDTO = organizationService.getOrganizationPurge(organizationId);
 
-        // Build success response with the deleted organization ID
-        APIResponse<Long> response = apiResponseUtil.buildSuccessResponse(deletedOrganizationId);
+        // Build success response with the purge of the organization
+        APIResponse<OrganizationPurgeDTO> response = apiResponseUtil.buildSuccessResponse(organizationPurgeDTO);
         return ResponseEntity.ok(response);
     }
 
@@ -182,6 +211,7 @@ public class OrganizationController {
      * @param page           the page number for pagination
      * @param size           the page size for pagination
      * @param email          the email filter for users (optional)
+     * @param includeTotal   flag to include the total number of users (default: false)
      * @return a ResponseEntity containing the API response with a list of OrganizationUserDTO objects
      */
     @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
@@ -190,18 +220,22 @@ public class OrganizationController {
         @PathVariable("organizationId") Long organizationId,
         @RequestParam(name = "page", defaultValue = "0") int page,
         @RequestParam(name = "size", defaultValue = "10") int size,
-        @RequestParam(value = "email", required = false) String email) {
+        @RequestParam(value = "email", required = false) String email,
+        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         Pageable pageable = PageRequest.of(page, size);
 
         boolean filterByEmail = email != null;
 
-        List<OrganizationUserDTO> organizationUserDTOS = filterByEmail ?
-                                                         organizationService.getOrganizationUsersByEmail(
+        Slice<OrganizationUserDTO> organizationUserDTOS = filterByEmail ?
+                                                          organizationService.getOrganizationUsersByEmail(
             organizationId, email, pageable) : organizationService.getOrganizationUsers(organizationId, pageable);
 
+        // Only count the organization users if the client asked for the total
+        Long total = includeTotal ? organizationService.countOrganizationUsers(organizationId, email) : null;
 
         // Build success response with the list of organization users
-        APIResponse<List<OrganizationUserDTO>> response = apiResponseUtil.buildSuccessResponse(organizationUserDTOS);
+        APIResponse<List<OrganizationUserDTO>> response = apiResponseUtil.buildSliceResponse(organizationUserDTOS,
+            total);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,14 @@
+package com.jonathand.issuecrush.organization;
+
+/**
+ * The role a user has in a single organization.
+ *
+ * @param organizationId the ID of the organization
+ * @param role           the role of the user in the organization
+ */
+public record OrganizationMembership(
+    Long organizationId,
+    OrganizationRole role
+) {
+
+}
@@ -0,0 +1,183 @@
+package com.jonathand.issuecrush.organization;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.jonathand.issuecrush.config.AuthenticatedPrincipalCache;
+import com.jonathand.issuecrush.config.JwtAuthenticationToken;
+import com.jonathand.issuecrush.config.JwtClaims;
+import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
+import com.jonathand.issuecrush.user.User;
+import com.jonathand.issuecrush.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Creates and reads the organization membership claims of access tokens.
+ * <p>
+ * When enabled, a token carries the ID of the user, a map of organization ID to {@link OrganizationRole} and the
+ * membership version of the user at the time the token was issued. The claims are only trusted while the version in
+ * the token matches the current version of the user, so a role change or a removal takes effect immediately: the
+ * version is incremented, the security expressions fall back to the database, and the client can fetch a token with
+ * up to date claims from the refresh endpoint.
+ */
+@Component
+public class OrganizationMembershipClaims {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String ORGANIZATIONS_CLAIM = "orgs";
+
+    public static final String MEMBERSHIP_VERSION_CLAIM = "mv";
+
+    private final boolean enabled;
+
+    private final int maxOrganizations;
+
+    private final OrganizationUserRepository organizationUserRepository;
+
+    private final UserRepository userRepository;
+
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
+
+    private final OrganizationAuthorizationContext organizationAuthorizationContext;
+
+    public OrganizationMembershipClaims(
+        @Value("${jwt.organization-claims.enabled}") boolean enabled,
+        @Value("${jwt.organization-claims.max-organizations}") int maxOrganizations,
+        OrganizationUserRepository organizationUserRepository,
+        UserRepository userRepository,
+        AuthenticatedPrincipalCache authenticatedPrincipalCache,
+        OrganizationAuthorizationContext organizationAuthorizationContext) {
+        this.enabled = enabled;
+        this.maxOrganizations = maxOrganizations;
+        this.organizationUserRepository = organizationUserRepository;
+        this.userRepository = userRepository;
+        this.authenticatedPrincipalCache = authenticatedPrincipalCache;
+        this.organizationAuthorizationContext = organizationAuthorizationContext;
+    }
+
+    /**
+     * Creates the membership claims to put in a new token for the user.
+     *
+     * @param user the user the token is issued to
+     * @return the claims, or an empty map if organization claims are disabled
+     */
+    public Map<String, Object> createClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+
+        if (!enabled) {
+            return claims;
+        }
+
+        // The version is read together with the user, so a change made after this point is detected by the version
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(MEMBERSHIP_VERSION_CLAIM, user.getMembershipVersion());
+
+        // A user in very many organizations gets no organization claims rather than an oversized token
+        List<OrganizationMembership> memberships = organizationUserRepository.findMembershipsByUserId(user.getId());
+        if (memberships.size() <= maxOrganizations) {
+            Map<String, String> organizations = new HashMap<>();
+            memberships.forEach(membership -> organizations.put(String.valueOf(membership.organizationId()),
+                membership.role()
+                    .name()));
+            claims.put(ORGANIZATIONS_CLAIM, organizations);
+        }
+
+        return claims;
+    }
+
+    /**
+     * Retrieves the role of the current user in an organization from the claims of the current token.
+     *
+     * @param organizationId the ID of the organization
+     * @return the role of the current user, or empty if the token has no up to date claim for the organization and
+     * the database must be consulted instead
+     */
+    public Optional<OrganizationRole> getCurrentUserRole(Long organizationId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext()
+            .getAuthentication();
+
+        if (!(authentication instanceof JwtAuthenticationToken token) || !(token.getPrincipal() instanceof User user)) {
+            return Optional.empty();
+        }
+
+        JwtClaims jwtClaims = token.getJwtClaims();
+
+        // Claims issued before the last membership change of the user are stale
+        if (!(jwtClaims.getClaim(USER_ID_CLAIM) instanceof Number userId)
+            || !(jwtClaims.getClaim(MEMBERSHIP_VERSION_CLAIM) instanceof Number membershipVersion)
+            || userId.longValue() != user.getId()
+            || membershipVersion.longValue() != user.getMembershipVersion()) {
+            return Optional.empty();
+        }
+
+        if (!(jwtClaims.getClaim(ORGANIZATIONS_CLAIM) instanceof Map<?, ?> organizations)
+            || !(organizations.get(String.valueOf(organizationId)) instanceof String role)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(OrganizationRole.valueOf(role));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Invalidates the organization claims of every token issued to the user. Must be called in the transaction that
+     * makes the user join or leave an organization or get a new role, so the membership version changes together
+     * with the membership. The cached principal of the user and the memberships memoized in the current request are
+     * forgotten once the transaction commits.
+     *
+     * @param user the user whose memberships changed
+     */
+    public void invalidateMemberships(User user) {
+        userRepository.incrementMembershipVersion(user.getId());
+        afterCommit(() -> {
+            authenticatedPrincipalCache.evict(user.getEmail());
+            organizationAuthorizationContext.clear();
+        });
+    }
+
+    /**
+     * Invalidates the organization claims of every member of an organization. Must be called in the transaction that
+     * requests the deletion of the organization. The cached principals and the memberships memoized in the current
+     * request are forgotten once the transaction commits.
+     *
+     * @param organizationId the ID of the organization
+     */
+    public void invalidateMembershipsForOrganization(Long organizationId) {
+        userRepository.incrementMembershipVersionForOrganization(organizationId);
+        afterCommit(() -> {
+            authenticatedPrincipalCache.evictAll();
+            organizationAuthorizationContext.clear();
+        });
+    }
+
+    private void afterCommit(Runnable eviction) {
+        // Evicted before the commit, a principal could be loaded again with the old version and cached
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+}
@@ -1,8 +1,9 @@
 package com.jonathand.issuecrush.organization;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,35 +12,80 @@ import org.springframework.stereotype.Repository;
 public interface OrganizationRepository extends JpaRepository<Organization, Long> {
 
     /**
-     * Counts the number of organizations associated with a specific email.
+     * Checks if an organization exists and its deletion has not been requested.
+     *
+     * @param id the ID of the organization
+     * @return true if the organization exists and is not being deleted, false otherwise
+     */
+    boolean existsByIdAndDeletionRequestedAtIsNull(Long id);
+
+    /**
+     * Counts the number of organizations associated with a specific email, leaving out the organizations being
+     * deleted.
      *
      * @param userEmail the email to match
      * @return the count of organizations associated with the specified email
      */
-    long countByUsers_User_Email(String userEmail);
+    long countByUsers_User_EmailAndDeletionRequestedAtIsNull(String userEmail);
+
+    /**
+     * Counts the number of organizations associated with a specific email and matching the provided organization name,
+     * leaving out the organizations being deleted.
+     *
+     * @param userEmail the email to match
+     * @param name      the name of the organization to search for (case-insensitive)
+     * @return the count of organizations that match the specified email and contain the provided name
+     */
+    long countByUsers_User_EmailAndNameContainsIgnoreCaseAndDeletionRequestedAtIsNull(String userEmail, String name);
 
     /**
-     * Retrieves a page of organizations associated with a specific email and matching the provided organization name.
+     * Retrieves a slice of organizations associated with a specific email and matching the provided organization name,
+     * leaving out the organizations being deleted.
      *
      * @param userEmail the email to match
      * @param name      the name of the organization to search for (case-insensitive)
      * @param pageable  pagination information
-     * @return a page of organizations that match the specified email and contain the provided name
+     * @return a slice of organizations that match the specified email and contain the provided name
      */
-    Page<Organization> findByUsers_User_EmailAndNameContainsIgnoreCase(
+    Slice<Organization> findByUsers_User_EmailAndNameContainsIgnoreCaseAndDeletionRequestedAtIsNull(
         String userEmail, String name, Pageable pageable);
 
     /**
-     * Retrieves a page of organizations associated with a specific email.
+     * Retrieves a slice of organizations associated with a specific email, leaving out the organizations being
+     * deleted.
      *
      * @param userEmail the email to match
      * @param pageable  pagination information
-     * @return a page of organizations that are associated with the specified email
+     * @return a slice of organizations that are associated with the specified email
      */
     @Query("SELECT ou.organization "
            + "FROM OrganizationUser ou "
-           + "WHERE ou.user.email = :userEmail")
-    Page<Organization> findOrganizationsForEmail(
+           + "WHERE ou.user.email = :userEmail AND ou.organization.deletionRequestedAt IS NULL")
+    Slice<Organization> findOrganizationsForEmail(
         @Param("userEmail") String userEmail, Pageable pageable);
 
+    /**
+     * Requests the deletion of an organization, which hides it from every query. The organization and what it holds
+     * are purged later.
+     *
+     * @param organizationId the ID of the organization
+     * @return 1 if the deletion was requested, 0 if the organization does not exist or its deletion was already
+     * requested
+     */
+    @Modifying
+    @Query("UPDATE Organization o SET o.deletionRequestedAt = CURRENT_TIMESTAMP "
+           + "WHERE o.id = :organizationId AND o.deletionRequestedAt IS NULL")
+    int requestOrganizationDeletion(@Param("organizationId") Long organizationId);
+
+    /**
+     * Deletes an organization with a single statement, without loading it. Its organization users, tickets and ticket
+     * comments must be deleted first.
+     *
+     * @param organizationId the ID of the organization
+     * @return the number of deleted organizations
+     */
+    @Modifying
+    @Query("DELETE FROM Organization o WHERE o.id = :organizationId")
+    int deleteOrganization(@Param("organizationId") Long organizationId);
+
 }
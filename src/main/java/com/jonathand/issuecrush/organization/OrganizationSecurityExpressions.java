@@ -1,10 +1,12 @@
 package com.jonathand.issuecrush.organization;
 
+import java.util.Optional;
+
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
-import com.jonathand.issuecrush.ticket.TicketRepository;
-import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import com.jonathand.issuecrush.ticket.TicketOrganizationResolver;
 import com.jonathand.issuecrush.user.UserUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,10 +14,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 public class OrganizationSecurityExpressions {
 
     @Autowired
-    private TicketRepository ticketRepository;
-
-    @Autowired
-    private TicketCommentRepository ticketCommentRepository;
+    private TicketOrganizationResolver ticketOrganizationResolver;
 
     @Autowired
     private OrganizationRepository organizationRepository;
@@ -32,6 +31,12 @@ public class OrganizationSecurityExpressions {
     @Autowired
     private OrganizationUserUtil organizationUserUtil;
 
+    @Autowired
+    private OrganizationMembershipClaims organizationMembershipClaims;
+
+    @Autowired
+    private OrganizationPurgeRepository organizationPurgeRepository;
+
     /**
      * Checks if the current user is the owner of the organization.
      *
@@ -47,6 +52,20 @@ public class OrganizationSecurityExpressions {
             .equals(userDetails.getUsername());
     }
 
+    /**
+     * Checks if the current user requested the purge of the organization. The organization itself is hidden once
+     * its deletion is requested, so only the purge knows its owner.
+     *
+     * @param organizationId the ID of the organization
+     * @return true if the current user owns the purge of the organization, false otherwise
+     */
+    public boolean isUserOrganizationPurgeOwner(Long organizationId) {
+        UserDetails userDetails = userUtil.getCurrentUserDetails();
+
+        return organizationPurgeRepository.existsByOrganizationIdAndOwner_Email(organizationId,
+            userDetails.getUsername());
+    }
+
     /**
      * Checks if the current user is a member of the organization.
      *
@@ -54,7 +73,20 @@ public class OrganizationSecurityExpressions {
      * @return true if the current user is a member of the organization, false otherwise
      */
     public boolean isUserMemberOfOrganization(Long organizationId) {
+        // An up to date claim in the token proves the membership without a query
+        if (organizationMembershipClaims.getCurrentUserRole(organizationId)
+            .isPresent()) {
+            return true;
+        }
+
         UserDetails userDetails = userUtil.getCurrentUserDetails();
+
+        // So does a cached role, which is evicted on every node when the membership changes
+        if (organizationUserUtil.findCachedOrganizationRole(userDetails.getUsername(), organizationId)
+            .isPresent()) {
+            return true;
+        }
+
         Organization organization = organizationUtil.getOrganizationById(organizationId);
 
         OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
@@ -72,7 +104,23 @@ public class OrganizationSecurityExpressions {
      * @return true if the current user can add an organization user, false otherwise
      */
     public boolean canUserAddOrganizationUser(Long organizationId) {
+        // An up to date claim in the token carries the role without a query
+        Optional<OrganizationRole> claimedRole = organizationMembershipClaims.getCurrentUserRole(organizationId);
+        if (claimedRole.isPresent()) {
+            return claimedRole.get()
+                .hasGreaterOrEqualPriorityThan(OrganizationRole.ADMIN);
+        }
+
         UserDetails userDetails = userUtil.getCurrentUserDetails();
+
+        // So does a cached role, which is evicted on every node when the membership changes
+        Optional<OrganizationRole> cachedRole = organizationUserUtil.findCachedOrganizationRole(
+            userDetails.getUsername(), organizationId);
+        if (cachedRole.isPresent()) {
+            return cachedRole.get()
+                .hasGreaterOrEqualPriorityThan(OrganizationRole.ADMIN);
+        }
+
         Organization organization = organizationUtil.getOrganizationById(organizationId);
 
         OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
@@ -89,9 +137,10 @@ public class OrganizationSecurityExpressions {
      * @return true if the current user is in the organization associated with the ticket, false otherwise
      */
     public boolean isUserInTicketOrganization(Long ticketId) {
-        UserDetails userDetails = userUtil.getCurrentUserDetails();
-
-        return ticketRepository.doesUserBelongToTicketOrganization(userDetails.getUsername(), ticketId);
+        // Resolve the organization from the cached ticket mapping, then check the membership
+        return ticketOrganizationResolver.findOrganizationIdForTicket(ticketId)
+            .map(this::hasMembership)
+            .orElse(false);
     }
 
     /**
@@ -101,10 +150,28 @@ public class OrganizationSecurityExpressions {
      * @return true if the current user is in the organization associated with the ticket comment, false otherwise
      */
     public boolean isUserInTicketCommentOrganization(Long ticketCommentId) {
+        // Resolve the organization from the cached comment and ticket mappings, then check the membership
+        return ticketOrganizationResolver.findOrganizationIdForTicketComment(ticketCommentId)
+            .map(this::hasMembership)
+            .orElse(false);
+    }
+
+    /**
+     * Checks if the current user is a member of the organization, without throwing when the user is not.
+     *
+     * @param organizationId the ID of the organization
+     * @return true if the current user is a member of the organization, false otherwise
+     */
+    private boolean hasMembership(Long organizationId) {
+        if (organizationMembershipClaims.getCurrentUserRole(organizationId)
+            .isPresent()) {
+            return true;
+        }
+
         UserDetails userDetails = userUtil.getCurrentUserDetails();
 
-        return ticketCommentRepository.doesUserBelongToTicketCommentOrganization(userDetails.getUsername(),
-            ticketCommentId);
+        return organizationUserUtil.findOrganizationRole(userDetails.getUsername(), organizationId)
+            .isPresent();
     }
 
 }
@@ -1,10 +1,16 @@
 package com.jonathand.issuecrush.organization;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
+import com.jonathand.issuecrush.cache.ListingCountCache;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurge;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTO;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTOMapper;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeRepository;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeStatus;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeWorker;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
+import com.jonathand.issuecrush.organization.user.OrganizationRoleCache;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTOMapper;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
@@ -13,9 +19,13 @@ import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +49,22 @@ public class OrganizationService {
 
     private final OrganizationUserUtil organizationUserUtil;
 
+    private final OrganizationMembershipClaims organizationMembershipClaims;
+
+    private final OrganizationRoleCache organizationRoleCache;
+
+    private final ListingCountCache listingCountCache;
+
+    private final CustomQueryPlans customQueryPlans;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final OrganizationPurgeRepository organizationPurgeRepository;
+
+    private final OrganizationPurgeDTOMapper organizationPurgeDTOMapper;
+
+    private final OrganizationPurgeWorker organizationPurgeWorker;
+
     /**
      * Retrieves a list of organizations for a user based on the provided organization name and user email. The
      * results are paginated
@@ -46,17 +72,16 @@ public class OrganizationService {
      *
      * @param userEmail The email of the user.
      * @param pageable  pagination information
-     * @return A list of organization DTOs matching the specified criteria.
+     * @return A slice of organization DTOs matching the specified criteria.
      */
-    public List<OrganizationDTO> getOrganizationsForUser(String userEmail, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<OrganizationDTO> getOrganizationsForUser(String userEmail, Pageable pageable) {
         // Validate user exists
         userUtil.validateUserExistsByEmail(userEmail);
 
-        Page<Organization> organizationPage = organizationRepository.findOrganizationsForEmail(userEmail, pageable);
+        Slice<Organization> organizationSlice = organizationRepository.findOrganizationsForEmail(userEmail, pageable);
 
-        return organizationPage.stream()
-            .map(organizationDTOMapper)
-            .collect(Collectors.toList());
+        return organizationSlice.map(organizationDTOMapper);
     }
 
     /**
@@ -68,19 +93,22 @@ public class OrganizationService {
      *                         organizations.
      * @param userEmail        The email of the user.
      * @param pageable         pagination information.
-     * @return A list of organization DTOs matching the specified criteria.
+     * @return A slice of organization DTOs matching the specified criteria.
      */
-    public List<OrganizationDTO> getOrganizationsForUserByOrganizationName(String organizationName, String userEmail,
-                                                                           Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<OrganizationDTO> getOrganizationsForUserByOrganizationName(String organizationName, String userEmail,
+                                                                            Pageable pageable) {
         // Validate user exists
         userUtil.validateUserExistsByEmail(userEmail);
 
-        Page<Organization> organizationPage = organizationRepository.findByUsers_User_EmailAndNameContainsIgnoreCase(
-            userEmail, organizationName, pageable);
+        // The name is matched with its trigram index
+        customQueryPlans.useForCurrentTransaction();
 
-        return organizationPage.stream()
-            .map(organizationDTOMapper)
-            .collect(Collectors.toList());
+        Slice<Organization> organizationSlice =
+            organizationRepository.findByUsers_User_EmailAndNameContainsIgnoreCaseAndDeletionRequestedAtIsNull(
+                userEmail, organizationName, pageable);
+
+        return organizationSlice.map(organizationDTOMapper);
     }
 
     /**
@@ -93,25 +121,33 @@ public class OrganizationService {
     public OrganizationDTO addNewOrganization(String userEmail, OrganizationNewRequest organizationNewRequest) {
         User user = userUtil.getUserByEmail(userEmail);
 
-        // Create new organization
-        Organization newOrganization = Organization.builder()
-            .name(organizationNewRequest.name())
-            .creator(user)
-            .build();
-
-        // Save new organization
-        organizationRepository.save(newOrganization);
-
-        // Create organization user which will be the
-        // owner of the organization
-        OrganizationUser newOrganizationUser = OrganizationUser.builder()
-            .user(user)
-            .role(OrganizationRole.OWNER)
-            .organization(newOrganization)
-            .build();
-
-        // Save organization user
-        organizationUserRepository.save(newOrganizationUser);
+        // Save the organization and its owner together
+        Organization newOrganization = new TransactionTemplate(transactionManager).execute(status -> {
+            // Create new organization
+            Organization organization = Organization.builder()
+                .name(organizationNewRequest.name())
+                .creator(user)
+                .build();
+
+            // Save new organization
+            organizationRepository.save(organization);
+
+            // Create organization user which will be the
+            // owner of the organization
+            OrganizationUser newOrganizationUser = OrganizationUser.builder()
+                .user(user)
+                .role(OrganizationRole.OWNER)
+                .organization(organization)
+                .build();
+
+            // Save organization user
+            organizationUserRepository.save(newOrganizationUser);
+
+            // Tokens issued before now do not know about the new organization
+            organizationMembershipClaims.invalidateMemberships(user);
+            return organization;
+        });
+
         return organizationDTOMapper.apply(newOrganization);
     }
 
@@ -124,30 +160,69 @@ public class OrganizationService {
      */
     public OrganizationDTO updateOrganization(Long organizationId,
                                               OrganizationUpdateRequest organizationUpdateRequest) {
-        // Get organization to be updated
-        Organization organizationToBeUpdated = organizationUtil.getOrganizationById(organizationId);
+        Organization updatedOrganization = new TransactionTemplate(transactionManager).execute(status -> {
+            // Get organization to be updated
+            Organization organizationToBeUpdated = organizationUtil.getOrganizationById(organizationId);
 
-        // Update the name
-        organizationToBeUpdated.setName(organizationUpdateRequest.name());
+            // Update the name
+            organizationToBeUpdated.setName(organizationUpdateRequest.name());
 
-        // Save organization
-        organizationRepository.save(organizationToBeUpdated);
-        return organizationDTOMapper.apply(organizationToBeUpdated);
+            // Save organization, the update time is set when the transaction commits
+            return organizationRepository.save(organizationToBeUpdated);
+        });
+
+        // Map the committed organization, which has the new update time
+        return organizationDTOMapper.apply(updatedOrganization);
     }
 
     /**
-     * Updates an existing organization.
+     * Requests the deletion of an organization and returns at once. The organization is hidden from every query and
+     * its members lose access to it right away, then {@link OrganizationPurgeWorker} deletes its ticket comments,
+     * tickets and members in chunks in the background.
      *
      * @param organizationId The ID of the organization to delete
-     * @return The id representing the deleted organization.
+     * @return The DTO representation of the purge of the organization.
      */
-    public Long deleteOrganization(Long organizationId) {
-        // Get organization to delete
-        Organization organizationToBeDeleted = organizationUtil.getOrganizationById(organizationId);
+    public OrganizationPurgeDTO deleteOrganization(Long organizationId) {
+        // Get organization to be deleted
+        Organization organization = organizationUtil.getOrganizationById(organizationId);
+
+        // Hide the organization and record its purge
+        OrganizationPurge organizationPurge = new TransactionTemplate(transactionManager).execute(status -> {
+            if (organizationRepository.requestOrganizationDeletion(organizationId) == 0) {
+                throw new OrganizationNotFoundException(organizationId);
+            }
+
+            // Invalidate the organization claims of every member, they are reloaded without the organization
+            organizationMembershipClaims.invalidateMembershipsForOrganization(organizationId);
+
+            return organizationPurgeRepository.save(OrganizationPurge.builder()
+                .organizationId(organizationId)
+                .owner(organization.getCreator())
+                .status(OrganizationPurgeStatus.IN_PROGRESS)
+                .build());
+        });
 
-        // Delete organization
-        organizationRepository.deleteById(organizationToBeDeleted.getId());
-        return organizationId;
+        // Evict the cached roles of every member on every node
+        organizationRoleCache.invalidateOrganization(organizationId);
+
+        // Purge the organization in the background
+        organizationPurgeWorker.schedule(organizationId);
+        return organizationPurgeDTOMapper.apply(organizationPurge);
+    }
+
+    /**
+     * Get the progress of purging an organization whose deletion was requested.
+     *
+     * @param organizationId The ID of the organization
+     * @return The DTO representation of the purge of the organization.
+     * @throws OrganizationNotFoundException If the deletion of the organization was never requested.
+     */
+    @Transactional(readOnly = true)
+    public OrganizationPurgeDTO getOrganizationPurge(Long organizationId) {
+        return organizationPurgeRepository.findById(organizationId)
+            .map(organizationPurgeDTOMapper)
+            .orElseThrow(() -> new OrganizationNotFoundException(organizationId));
     }
 
     /**
@@ -156,6 +231,7 @@ public class OrganizationService {
      * @param organizationId The ID of the organization
      * @return The DTO representation of the organization to get.
      */
+    @Transactional(readOnly = true)
     public OrganizationDTO getOrganization(Long organizationId) {
         // Get organization & return
         Organization organization = organizationUtil.getOrganizationById(organizationId);
@@ -170,6 +246,7 @@ public class OrganizationService {
      * @param organizationId The ID of the organization to get
      * @return The DTO representation of an organizations statistics
      */
+    @Transactional(readOnly = true)
     public OrganizationStatisticsDTO getOrganizationStatistics(Long organizationId) {
         long totalTickets = ticketRepository.countByOrganization_Id(organizationId);
         long totalTicketComments = ticketCommentRepository.countByPublisher_Organization_Id(organizationId);
@@ -189,15 +266,13 @@ public class OrganizationService {
      *
      * @param organizationId The ID of the organization
      * @param pageable       pagination information.
-     * @return A list of organization-user DTOs in the organization.
+     * @return A slice of organization-user DTOs in the organization.
      */
-    public List<OrganizationUserDTO> getOrganizationUsers(Long organizationId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<OrganizationUserDTO> getOrganizationUsers(Long organizationId, Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
-        return organizationUserRepository.findByOrganization_Id(organizationId, pageable)
-            .stream()
-            .map(organizationUserDTOMapper)
-            .collect(Collectors.toList());
+        return organizationUserRepository.findOrganizationUserDTOsByOrganization(organizationId, pageable);
     }
 
     // TODO TEST
@@ -209,17 +284,37 @@ public class OrganizationService {
      * @param organizationId The ID of the organization
      * @param userEmail      The email to filter by
      * @param pageable       pagination information.
-     * @return A list of organization-user DTOs in the organization.
+     * @return A slice of organization-user DTOs in the organization.
      */
-    public List<OrganizationUserDTO> getOrganizationUsersByEmail(Long organizationId, String userEmail,
-                                                                 Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<OrganizationUserDTO> getOrganizationUsersByEmail(Long organizationId, String userEmail,
+                                                                  Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
-        return organizationUserRepository.findByOrganization_IdAndUser_EmailContainsIgnoreCase(
-                organizationId, userEmail, pageable)
-            .stream()
-            .map(organizationUserDTOMapper)
-            .collect(Collectors.toList());
+
+        // The email is matched with its trigram index
+        customQueryPlans.useForCurrentTransaction();
+        return organizationUserRepository.findOrganizationUserDTOsByOrganizationAndEmail(organizationId,
+            EscapeCharacter.DEFAULT.escape(userEmail), pageable);
+    }
+
+    /**
+     * Counts the users in an organization, optionally filtered by email. The total is cached for a short time.
+     *
+     * @param organizationId The ID of the organization
+     * @param userEmail      The email to filter by, or null
+     * @return The total number of organization users matching the filter.
+     */
+    @Transactional(readOnly = true)
+    public long countOrganizationUsers(Long organizationId, String userEmail) {
+        return listingCountCache.count("organization-users", organizationId, () -> {
+            if (userEmail != null) {
+                customQueryPlans.useForCurrentTransaction();
+                return organizationUserRepository.countOrganizationUsersByOrganizationAndEmail(organizationId,
+                    EscapeCharacter.DEFAULT.escape(userEmail));
+            }
+            return organizationUserRepository.countByOrganization_Id(organizationId);
+        }, userEmail);
     }
 
     /**
@@ -235,35 +330,46 @@ public class OrganizationService {
         // Get email for the new user from request object
         String userEmailToAdd = addUserRequest.email();
 
-        // Get organization
-        Organization organization = organizationUtil.getOrganizationById(organizationId);
+        OrganizationUser organizationUser = new TransactionTemplate(transactionManager).execute(status -> {
+            // Get organization
+            Organization organization = organizationUtil.getOrganizationById(organizationId);
+
+            // Validate that an organization user does not already exist
+            organizationUserUtil.validateOrganizationUserDoesNotExistsByEmail(userEmailToAdd, organizationId);
 
-        // Validate that an organization user does not already exist
-        organizationUserUtil.validateOrganizationUserDoesNotExistsByEmail(userEmailToAdd, organizationId);
+            // Validate user can add other users to organization
+            organizationUtil.validateUserAuthorizationForOrganizationAction(
+                OrganizationAction.ADD_USER, organizationId, organizationId);
 
-        // Validate user can add other users to organization
-        organizationUtil.validateUserAuthorizationForOrganizationAction(
-            OrganizationAction.ADD_USER, organizationId, organizationId);
+            // Get User object for the new user
+            User user = userUtil.getUserByEmail(userEmailToAdd);
 
-        // Get User object for the new user
-        User user = userUtil.getUserByEmail(userEmailToAdd);
+            // Create an organization user for the new user
+            OrganizationUser newOrganizationUser = OrganizationUser.builder()
+                .organization(organization)
+                .user(user)
+                .role(OrganizationRole.MEMBER)
+                .build();
 
-        // Create an organization user for the new user
-        OrganizationUser organizationUser = OrganizationUser.builder()
-            .organization(organization)
-            .user(user)
-            .role(OrganizationRole.MEMBER)
-            .build();
+            // Save new organization user
+            organizationUserRepository.save(newOrganizationUser);
 
-        // Save new organization user
-        organizationUserRepository.save(organizationUser);
+            // Tokens issued to the new member before now do not know about the membership
+            organizationMembershipClaims.invalidateMemberships(user);
+            return newOrganizationUser;
+        });
+
+        // Evict the cached role of the user on every node once the change is committed
+        organizationRoleCache.invalidate(userEmailToAdd, organizationId);
         return organizationUserDTOMapper.apply(organizationUser);
     }
 
     // TODO TEST
 
     /**
-     * Remove a user from an organization.
+     * Remove a user from an organization, with the tickets and ticket comments it published and the comments on its
+     * tickets. The tickets assigned to it are unassigned. Every table is changed with a single set-based statement in
+     * one transaction, so the number of statements does not depend on how much the user published.
      *
      * @param organizationId          The ID of the organization
      * @param organizationUserId      The ID of the organization user to be removed
@@ -288,14 +394,26 @@ public class OrganizationService {
         // The ID of the organization user to be removed
         Long userToBeRemovedId = userToBeRemoved.getId();
 
-        // Delete ticket comments made by user to be removed
-        ticketCommentRepository.deleteByPublisher_Id(userToBeRemovedId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Delete ticket comments made by user to be removed, and the comments on its tickets
+            ticketCommentRepository.deleteTicketCommentsByOrganizationUser(userToBeRemovedId);
+
+            // Unassign user to be removed from the tickets that are kept
+            ticketRepository.unassignTicketsFromOrganizationUser(userToBeRemovedId);
+
+            // Delete tickets by user to be removed
+            ticketRepository.deleteTicketsByOrganizationUser(userToBeRemovedId);
 
-        // Delete tickets by user to be removed
-        ticketRepository.deleteByPublisher_Id(userToBeRemovedId);
+            // Finally delete organization user for user to be removed
+            organizationUserRepository.deleteOrganizationUser(userToBeRemovedId);
 
-        // Finally delete organization user for user to be removed
-        organizationUserRepository.deleteById(userToBeRemovedId);
+            // Tokens issued to the removed user must no longer grant access to the organization
+            organizationMembershipClaims.invalidateMemberships(userToBeRemoved.getUser());
+        });
+
+        // Evict the cached role of the user on every node once the change is committed
+        organizationRoleCache.invalidate(userToBeRemoved.getUser()
+            .getEmail(), organizationId);
 
         return userToBeRemovedId;
     }
@@ -308,8 +426,30 @@ public class OrganizationService {
      * @param userEmail the email to match
      * @return the count of organizations associated with the specified email
      */
+    @Transactional(readOnly = true)
     public Long getOrganizationCountForUser(String userEmail) {
-        return organizationRepository.countByUsers_User_Email(userEmail);
+        return organizationRepository.countByUsers_User_EmailAndDeletionRequestedAtIsNull(userEmail);
+    }
+
+    /**
+     * Counts the organizations of a user, optionally filtered by organization name. The total is cached for a short
+     * time.
+     *
+     * @param userEmail        The email of the user.
+     * @param organizationName The name of the organization to filter by, or null.
+     * @return The total number of organizations matching the filter.
+     */
+    @Transactional(readOnly = true)
+    public long countOrganizationsForUser(String userEmail, String organizationName) {
+        return listingCountCache.count("organizations", userEmail, () -> {
+            if (organizationName != null) {
+                customQueryPlans.useForCurrentTransaction();
+                return organizationRepository
+                    .countByUsers_User_EmailAndNameContainsIgnoreCaseAndDeletionRequestedAtIsNull(userEmail,
+                        organizationName);
+            }
+            return organizationRepository.countByUsers_User_EmailAndDeletionRequestedAtIsNull(userEmail);
+        }, organizationName);
     }
 
     /**
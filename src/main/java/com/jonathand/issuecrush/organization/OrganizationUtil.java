@@ -14,26 +14,32 @@ public class OrganizationUtil {
     @Autowired
     private OrganizationUserUtil organizationUserUtil;
 
+    @Autowired
+    private OrganizationAuthorizationContext organizationAuthorizationContext;
+
     /**
-     * Retrieves an organization by its ID.
+     * Retrieves an organization by its ID. An organization being deleted is not found.
      *
      * @param organizationId the ID of the organization to retrieve
      * @return the Organization object with the specified ID
      * @throws OrganizationNotFoundException if the organization is not found
      */
     public Organization getOrganizationById(Long organizationId) {
-        return organizationRepository.findById(organizationId)
+        return organizationAuthorizationContext.getOrganization(organizationId,
+                () -> organizationRepository.findById(organizationId)
+                    .filter(organization -> organization.getDeletionRequestedAt() == null))
             .orElseThrow(() -> new OrganizationNotFoundException(organizationId));
     }
 
     /**
-     * Validates if an organization with specified ID exists in the system.
+     * Validates if an organization with specified ID exists in the system. An organization being deleted does not.
      *
      * @param organizationId The ID of the organization to validate
      * @throws OrganizationNotFoundException If the user with the specified email is not found.
      */
     public void validateOrganizationExistsById(Long organizationId) {
-        if (!organizationRepository.existsById(organizationId)) {
+        if (!organizationAuthorizationContext.organizationExists(organizationId,
+            () -> organizationRepository.existsByIdAndDeletionRequestedAtIsNull(organizationId))) {
             throw new OrganizationNotFoundException(organizationId);
         }
     }
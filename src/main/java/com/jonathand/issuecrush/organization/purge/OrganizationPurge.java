@@ -0,0 +1,78 @@
+package com.jonathand.issuecrush.organization.purge;
+
+import java.util.Date;
+
+import com.jonathand.issuecrush.user.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * The progress of purging an organization whose deletion was requested. The purge outlives the organization, so it
+ * holds the ID of the organization without a foreign key, and the owner can still follow it once the organization is
+ * gone.
+ * <p>
+ * The totals are counted when the purge starts and are null until then. The deleted counts are updated in the same
+ * transaction as every chunk they count.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "organization_purges")
+public class OrganizationPurge {
+
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @ManyToOne
+    @JoinColumn(name = "owner_id")
+    @ToString.Exclude
+    private User owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrganizationPurgeStatus status;
+
+    private Long ticketCommentsTotal;
+
+    private Long ticketsTotal;
+
+    private Long organizationUsersTotal;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long ticketCommentsDeleted = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long ticketsDeleted = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long organizationUsersDeleted = 0L;
+
+    @CreationTimestamp
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private Date requestedAt;
+
+    @Column(name = "completed_at")
+    private Date completedAt;
+
+}
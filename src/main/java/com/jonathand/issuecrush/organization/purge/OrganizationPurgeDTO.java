@@ -0,0 +1,20 @@
+package com.jonathand.issuecrush.organization.purge;
+
+import java.util.Date;
+
+/**
+ * The progress of purging an organization. A total is null until the purge has counted it.
+ */
+public record OrganizationPurgeDTO(
+    Long organizationId,
+    OrganizationPurgeStatus status,
+    Long ticketCommentsTotal,
+    long ticketCommentsDeleted,
+    Long ticketsTotal,
+    long ticketsDeleted,
+    Long organizationUsersTotal,
+    long organizationUsersDeleted,
+    Date requestedAt,
+    Date completedAt) {
+
+}
@@ -0,0 +1,22 @@
+package com.jonathand.issuecrush.organization.purge;
+
+import java.util.function.Function;
+
+public class OrganizationPurgeDTOMapper implements Function<OrganizationPurge, OrganizationPurgeDTO> {
+
+    @Override
+    public OrganizationPurgeDTO apply(OrganizationPurge organizationPurge) {
+        return new OrganizationPurgeDTO(
+            organizationPurge.getOrganizationId(),
+            organizationPurge.getStatus(),
+            organizationPurge.getTicketCommentsTotal(),
+            organizationPurge.getTicketCommentsDeleted(),
+            organizationPurge.getTicketsTotal(),
+            organizationPurge.getTicketsDeleted(),
+            organizationPurge.getOrganizationUsersTotal(),
+            organizationPurge.getOrganizationUsersDeleted(),
+            organizationPurge.getRequestedAt(),
+            organizationPurge.getCompletedAt());
+    }
+
+}
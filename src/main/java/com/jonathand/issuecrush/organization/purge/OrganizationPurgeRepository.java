@@ -0,0 +1,84 @@
+package com.jonathand.issuecrush.organization.purge;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrganizationPurgeRepository extends JpaRepository<OrganizationPurge, Long> {
+
+    /**
+     * Checks if the purge of an organization was requested by the user with the specified email.
+     *
+     * @param organizationId the ID of the organization
+     * @param email          the email of the owner
+     * @return true if the user owns the purge, false otherwise
+     */
+    boolean existsByOrganizationIdAndOwner_Email(Long organizationId, String email);
+
+    /**
+     * Retrieves the IDs of the organizations whose purge is in the specified state.
+     *
+     * @param status the state of the purges
+     * @return the IDs of the organizations
+     */
+    @Query("SELECT p.organizationId FROM OrganizationPurge p WHERE p.status = :status")
+    List<Long> findOrganizationIdsByStatus(@Param("status") OrganizationPurgeStatus status);
+
+    /**
+     * Records the number of rows the purge of an organization has to delete, unless they were already recorded by an
+     * earlier attempt.
+     *
+     * @param organizationId         the ID of the organization
+     * @param ticketCommentsTotal    the number of ticket comments
+     * @param ticketsTotal           the number of tickets
+     * @param organizationUsersTotal the number of organization users
+     * @return the number of updated purges
+     */
+    @Modifying
+    @Query("UPDATE OrganizationPurge p SET p.ticketCommentsTotal = :ticketCommentsTotal, "
+           + "p.ticketsTotal = :ticketsTotal, p.organizationUsersTotal = :organizationUsersTotal "
+           + "WHERE p.organizationId = :organizationId AND p.ticketsTotal IS NULL")
+    int recordTotals(
+        @Param("organizationId") Long organizationId,
+        @Param("ticketCommentsTotal") long ticketCommentsTotal,
+        @Param("ticketsTotal") long ticketsTotal,
+        @Param("organizationUsersTotal") long organizationUsersTotal);
+
+    /**
+     * Adds the rows deleted by a chunk to the progress of the purge of an organization.
+     *
+     * @param organizationId           the ID of the organization
+     * @param ticketCommentsDeleted    the number of ticket comments deleted by the chunk
+     * @param ticketsDeleted           the number of tickets deleted by the chunk
+     * @param organizationUsersDeleted the number of organization users deleted by the chunk
+     * @return the number of updated purges
+     */
+    @Modifying
+    @Query("UPDATE OrganizationPurge p SET p.ticketCommentsDeleted = p.ticketCommentsDeleted + :ticketCommentsDeleted, "
+           + "p.ticketsDeleted = p.ticketsDeleted + :ticketsDeleted, "
+           + "p.organizationUsersDeleted = p.organizationUsersDeleted + :organizationUsersDeleted "
+           + "WHERE p.organizationId = :organizationId")
+    int addDeletedRows(
+        @Param("organizationId") Long organizationId,
+        @Param("ticketCommentsDeleted") long ticketCommentsDeleted,
+        @Param("ticketsDeleted") long ticketsDeleted,
+        @Param("organizationUsersDeleted") long organizationUsersDeleted);
+
+    /**
+     * Marks the purge of an organization as completed.
+     *
+     * @param organizationId the ID of the organization
+     * @return the number of updated purges
+     */
+    @Modifying
+    @Query("UPDATE OrganizationPurge p SET p.status = com.jonathand.issuecrush.organization.purge"
+           + ".OrganizationPurgeStatus.COMPLETED, p.completedAt = CURRENT_TIMESTAMP "
+           + "WHERE p.organizationId = :organizationId")
+    int completePurge(@Param("organizationId") Long organizationId);
+
+}
@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.organization.purge;
+
+/**
+ * The states of an organization purge.
+ */
+public enum OrganizationPurgeStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
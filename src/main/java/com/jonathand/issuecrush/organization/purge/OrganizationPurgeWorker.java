@@ -0,0 +1,225 @@
+package com.jonathand.issuecrush.organization.purge;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import com.jonathand.issuecrush.organization.OrganizationRepository;
+import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Purges the organizations whose deletion was requested, on a single background thread.
+ * <p>
+ * The tickets are deleted a chunk at a time together with their comments, then the comments the organization users
+ * published that are left, then the organization users, each chunk in its own short transaction together with the
+ * progress it makes. No transaction locks more than a chunk of tickets and
+ * their comments, and only the IDs of one chunk are held in memory, whatever the size of the organization. A purge
+ * interrupted by a shutdown is resumed when the application starts again, and a failed purge is retried after a delay.
+ * Every node resumes the purges it finds on start, which is harmless, as a row is only ever deleted and counted once.
+ */
+@Slf4j
+@Component
+public class OrganizationPurgeWorker implements SmartLifecycle {
+
+    private final OrganizationPurgeRepository organizationPurgeRepository;
+
+    private final OrganizationRepository organizationRepository;
+
+    private final OrganizationUserRepository organizationUserRepository;
+
+    private final TicketRepository ticketRepository;
+
+    private final TicketCommentRepository ticketCommentRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final int chunkSize;
+
+    private final long retryDelayMillis;
+
+    private volatile boolean running;
+
+    private ScheduledExecutorService executor;
+
+    public OrganizationPurgeWorker(
+        OrganizationPurgeRepository organizationPurgeRepository,
+        OrganizationRepository organizationRepository,
+        OrganizationUserRepository organizationUserRepository,
+        TicketRepository ticketRepository,
+        TicketCommentRepository ticketCommentRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${organization.purge.chunk-size}") int chunkSize,
+        @Value("${organization.purge.retry-delay}") Duration retryDelay) {
+        this.organizationPurgeRepository = organizationPurgeRepository;
+        this.organizationRepository = organizationRepository;
+        this.organizationUserRepository = organizationUserRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketCommentRepository = ticketCommentRepository;
+        this.transactionManager = transactionManager;
+        this.chunkSize = chunkSize;
+        this.retryDelayMillis = retryDelay.toMillis();
+    }
+
+    /**
+     * Purges an organization in the background. Must be called once the purge is committed. While the worker is
+     * stopped nothing happens, the purge is resumed when the worker starts.
+     *
+     * @param organizationId the ID of the organization
+     */
+    public synchronized void schedule(Long organizationId) {
+        if (!running) {
+            return;
+        }
+
+        executor.execute(() -> purge(organizationId));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "organization-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Resume the purges interrupted by the last shutdown
+        executor.execute(() -> organizationPurgeRepository.findOrganizationIdsByStatus(
+                OrganizationPurgeStatus.IN_PROGRESS)
+            .forEach(this::schedule));
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService stoppedExecutor;
+        synchronized (this) {
+            running = false;
+            stoppedExecutor = executor;
+            executor = null;
+        }
+
+        if (stoppedExecutor != null) {
+            // The purge in progress stops after its current chunk
+            stoppedExecutor.shutdownNow();
+            try {
+                stoppedExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void purge(Long organizationId) {
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            // Count what is left to delete, unless an earlier attempt did
+            transactionTemplate.executeWithoutResult(status -> organizationPurgeRepository.recordTotals(
+                organizationId, ticketCommentRepository.countByPublisher_Organization_Id(organizationId),
+                ticketRepository.countByOrganization_Id(organizationId),
+                organizationUserRepository.countByOrganization_Id(organizationId)));
+
+            // Delete the tickets with their comments, then the comments left, which would keep their publishers from
+            // being deleted, then the members, a chunk at a time
+            boolean purged = deleteInChunks(transactionTemplate, () -> deleteTicketChunk(organizationId))
+                             && deleteInChunks(transactionTemplate, () -> deleteTicketCommentChunk(organizationId))
+                             && deleteInChunks(transactionTemplate,
+                () -> deleteOrganizationUserChunk(organizationId));
+
+            if (!purged) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                organizationRepository.deleteOrganization(organizationId);
+                organizationPurgeRepository.completePurge(organizationId);
+            });
+        } catch (RuntimeException exception) {
+            // A row inserted by a request that was authorized before the deletion was requested fails the purge of
+            // its parents, the next attempt deletes it
+            log.warn("Purging organization {} failed, retrying in {} ms", organizationId, retryDelayMillis,
+                exception);
+            retry(organizationId);
+        }
+    }
+
+    private int deleteTicketChunk(Long organizationId) {
+        List<Long> ticketIds = ticketRepository.findTicketIdsByOrganization(organizationId,
+            PageRequest.of(0, chunkSize));
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+
+        int ticketCommentsDeleted = ticketCommentRepository.deleteTicketCommentsByTickets(ticketIds);
+        int ticketsDeleted = ticketRepository.deleteTickets(ticketIds);
+        organizationPurgeRepository.addDeletedRows(organizationId, ticketCommentsDeleted, ticketsDeleted, 0);
+        return ticketIds.size();
+    }
+
+    private int deleteTicketCommentChunk(Long organizationId) {
+        List<Long> ticketCommentIds = ticketCommentRepository.findTicketCommentIdsByOrganization(organizationId,
+            PageRequest.of(0, chunkSize));
+        if (ticketCommentIds.isEmpty()) {
+            return 0;
+        }
+
+        int ticketCommentsDeleted = ticketCommentRepository.deleteTicketComments(ticketCommentIds);
+        organizationPurgeRepository.addDeletedRows(organizationId, ticketCommentsDeleted, 0, 0);
+        return ticketCommentIds.size();
+    }
+
+    private int deleteOrganizationUserChunk(Long organizationId) {
+        List<Long> organizationUserIds = organizationUserRepository.findOrganizationUserIdsByOrganization(
+            organizationId, PageRequest.of(0, chunkSize));
+        if (organizationUserIds.isEmpty()) {
+            return 0;
+        }
+
+        int organizationUsersDeleted = organizationUserRepository.deleteOrganizationUsers(organizationUserIds);
+        organizationPurgeRepository.addDeletedRows(organizationId, 0, 0, organizationUsersDeleted);
+        return organizationUserIds.size();
+    }
+
+    private boolean deleteInChunks(TransactionTemplate transactionTemplate, IntSupplier deleteChunk) {
+        while (running) {
+            Integer chunk = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+
+            // A short chunk was the last one, nothing is added to an organization being deleted
+            if (chunk == null || chunk < chunkSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void retry(Long organizationId) {
+        if (!running) {
+            return;
+        }
+
+        executor.schedule(() -> purge(organizationId), retryDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
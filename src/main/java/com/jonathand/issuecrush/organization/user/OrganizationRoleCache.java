@@ -0,0 +1,128 @@
+package com.jonathand.issuecrush.organization.user;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.jonathand.issuecrush.cache.ExpiringCache;
+import com.jonathand.issuecrush.cache.NotificationListener;
+import com.jonathand.issuecrush.cache.PostgresNotificationBus;
+import com.jonathand.issuecrush.datasource.ReadYourWritesGuard;
+import com.jonathand.issuecrush.organization.OrganizationRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the role of a user in an organization, shared by every request of this node.
+ * <p>
+ * Only memberships are cached, a missing membership is always looked up again. Every change to a membership must go
+ * through {@link #invalidate(String, Long)} or {@link #invalidateOrganization(Long)}, which evict the entry on this
+ * node and publish the eviction to every other node through the {@link PostgresNotificationBus}.
+ */
+@Component
+public class OrganizationRoleCache implements NotificationListener {
+
+    static final String CHANNEL = "organization_role_cache";
+
+    private final ExpiringCache<MembershipKey, OrganizationRole> roles;
+
+    private final PostgresNotificationBus notificationBus;
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public OrganizationRoleCache(
+        @Value("${organization.role-cache.max-size}") int maxSize,
+        @Value("${organization.role-cache.time-to-live}") Duration timeToLive,
+        MeterRegistry meterRegistry,
+        PostgresNotificationBus notificationBus,
+        ReadYourWritesGuard readYourWritesGuard) {
+        this.roles = new ExpiringCache<>("organization-roles", maxSize, timeToLive);
+        this.roles.bindTo(meterRegistry);
+        this.notificationBus = notificationBus;
+        this.notificationBus.subscribe(CHANNEL, this);
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    /**
+     * Retrieves the cached role of a user in an organization.
+     *
+     * @param email          the email of the user
+     * @param organizationId the ID of the organization
+     * @return the role, or empty if it is not cached
+     */
+    public Optional<OrganizationRole> getRole(String email, Long organizationId) {
+        return roles.getIfPresent(new MembershipKey(email, organizationId));
+    }
+
+    /**
+     * Loads an organization user from the primary and caches its role. A role evicted while the organization user was
+     * loading is not cached, so a concurrent removal is never undone. Within a read-only transaction, which may read
+     * from the lagging replica, the organization user is loaded without caching its role.
+     *
+     * @param email          the email of the user
+     * @param organizationId the ID of the organization
+     * @param loader         loads the organization user
+     * @return the loaded organization user, or empty if the user is not a member of the organization
+     */
+    public Optional<OrganizationUser> load(String email, Long organizationId,
+                                           Supplier<Optional<OrganizationUser>> loader) {
+        if (!readYourWritesGuard.canReadFromPrimary()) {
+            return loader.get();
+        }
+
+        long generation = roles.generation();
+        Optional<OrganizationUser> organizationUser = readYourWritesGuard.readFromPrimary(loader);
+
+        organizationUser.map(OrganizationUser::getRole)
+            .ifPresent(role -> roles.putIfNotEvictedSince(new MembershipKey(email, organizationId), role, generation));
+        return organizationUser;
+    }
+
+    /**
+     * Evicts the role of a user in an organization on every node.
+     *
+     * @param email          the email of the user
+     * @param organizationId the ID of the organization
+     */
+    public void invalidate(String email, Long organizationId) {
+        roles.evict(new MembershipKey(email, organizationId));
+        notificationBus.publish(CHANNEL, organizationId + ":" + email);
+    }
+
+    /**
+     * Evicts the roles of every member of an organization on every node.
+     *
+     * @param organizationId the ID of the organization
+     */
+    public void invalidateOrganization(Long organizationId) {
+        roles.evictIf(key -> key.organizationId()
+            .equals(organizationId));
+        notificationBus.publish(CHANNEL, organizationId + ":");
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        // The payload is "<organizationId>:<email>", where an empty email means every member
+        int separator = payload.indexOf(':');
+        Long organizationId = Long.valueOf(payload.substring(0, separator));
+        String email = payload.substring(separator + 1);
+
+        if (email.isEmpty()) {
+            roles.evictIf(key -> key.organizationId()
+                .equals(organizationId));
+        } else {
+            roles.evict(new MembershipKey(email, organizationId));
+        }
+    }
+
+    @Override
+    public void onConnected() {
+        roles.evictAll();
+    }
+
+    private record MembershipKey(String email, Long organizationId) {
+
+    }
+
+}
@@ -9,8 +9,12 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -27,9 +31,22 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "organization_users")
+@NamedEntityGraph(name = OrganizationUser.MEMBERSHIP_GRAPH, attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode(value = "organization", subgraph = "organization")
+}, subgraphs = @NamedSubgraph(name = "organization", attributeNodes = @NamedAttributeNode("creator")))
+@Table(name = "organization_users", indexes = {
+    @Index(name = "idx_organization_users_user_organization", columnList = "user_id, org_id"),
+    @Index(name = "idx_organization_users_organization_user", columnList = "org_id, user_id")
+})
 public class OrganizationUser {
 
+    /**
+     * Fetches the user and the organization with its creator in the same statement as the organization user, so
+     * nothing is loaded after the transaction that read it has ended.
+     */
+    public static final String MEMBERSHIP_GRAPH = "OrganizationUser.membership";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -1,5 +1,7 @@
 package com.jonathand.issuecrush.organization.user;
 
+import com.jonathand.issuecrush.organization.OrganizationRole;
+
 public record OrganizationUserDTO(
     Long id,
     String email,
@@ -8,4 +10,38 @@ public record OrganizationUserDTO(
     String role
 ) {
 
-}
\ No newline at end of file
+    /**
+     * Creates the DTO straight from the selected columns of a JPQL constructor expression.
+     *
+     * @param id        the ID of the organization user
+     * @param email     the email of the user
+     * @param firstName the first name of the user
+     * @param lastName  the last name of the user
+     * @param role      the role of the organization user
+     */
+    public OrganizationUserDTO(Long id, String email, String firstName, String lastName, OrganizationRole role) {
+        this(id, email, firstName, lastName, role.name()
+            .toUpperCase());
+    }
+
+    /**
+     * Creates the DTO of an optional organization user selected through a LEFT JOIN, where a missing organization
+     * user selects only nulls.
+     *
+     * @param id        the ID of the organization user, or null
+     * @param email     the email of the user
+     * @param firstName the first name of the user
+     * @param lastName  the last name of the user
+     * @param role      the role of the organization user
+     * @return the DTO, or null if there is no organization user
+     */
+    public static OrganizationUserDTO ofNullable(Long id, String email, String firstName, String lastName,
+                                                 OrganizationRole role) {
+        if (id == null) {
+            return null;
+        }
+
+        return new OrganizationUserDTO(id, email, firstName, lastName, role);
+    }
+
+}
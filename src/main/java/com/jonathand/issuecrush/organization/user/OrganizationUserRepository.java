@@ -1,10 +1,17 @@
 package com.jonathand.issuecrush.organization.user;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import com.jonathand.issuecrush.organization.OrganizationMembership;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -33,6 +40,54 @@ public interface OrganizationUserRepository extends JpaRepository<OrganizationUs
      */
     Page<OrganizationUser> findByOrganization_Id(Long id, Pageable pageable);
 
+    /**
+     * Counts the number of organization users in the organization with the specified ID whose email contains the
+     * specified value (case-insensitive).
+     *
+     * @param organizationId the ID of the organization to match
+     * @param email          the value to search for in the email, with LIKE wildcards escaped
+     * @return the count of organization users in the specified organization that match the email
+     */
+    @Query("SELECT COUNT(ou) FROM OrganizationUser ou "
+           + "WHERE ou.organization.id = :organizationId "
+           + "AND UPPER(ou.user.email) LIKE UPPER(CONCAT('%', :email, '%')) ESCAPE '\\'")
+    long countOrganizationUsersByOrganizationAndEmail(
+        @Param("organizationId") Long organizationId, @Param("email") String email);
+
+    /**
+     * Retrieves a slice of organization users in the organization with the specified ID as DTOs, without loading any
+     * entity.
+     *
+     * @param organizationId the ID of the organization to match
+     * @param pageable       pagination information
+     * @return a slice of organization user DTOs that belong to the specified organization ID
+     */
+    @Query("SELECT new com.jonathand.issuecrush.organization.user.OrganizationUserDTO(ou.id, u.email, "
+           + "u.firstName, u.lastName, ou.role) "
+           + "FROM OrganizationUser ou "
+           + "JOIN ou.user u "
+           + "WHERE ou.organization.id = :organizationId")
+    Slice<OrganizationUserDTO> findOrganizationUserDTOsByOrganization(
+        @Param("organizationId") Long organizationId, Pageable pageable);
+
+    /**
+     * Retrieves a slice of organization users in the organization with the specified ID whose email contains the
+     * specified value (case-insensitive) as DTOs, without loading any entity.
+     *
+     * @param organizationId the ID of the organization to match
+     * @param email          the value to search for in the email, with LIKE wildcards escaped
+     * @param pageable       pagination information
+     * @return a slice of organization user DTOs that belong to the specified organization ID and match the email
+     */
+    @Query("SELECT new com.jonathand.issuecrush.organization.user.OrganizationUserDTO(ou.id, u.email, "
+           + "u.firstName, u.lastName, ou.role) "
+           + "FROM OrganizationUser ou "
+           + "JOIN ou.user u "
+           + "WHERE ou.organization.id = :organizationId "
+           + "AND UPPER(u.email) LIKE UPPER(CONCAT('%', :email, '%')) ESCAPE '\\'")
+    Slice<OrganizationUserDTO> findOrganizationUserDTOsByOrganizationAndEmail(
+        @Param("organizationId") Long organizationId, @Param("email") String email, Pageable pageable);
+
     /**
      * Counts the number of organization users in the organization with the specified ID.
      *
@@ -42,15 +97,71 @@ public interface OrganizationUserRepository extends JpaRepository<OrganizationUs
     long countByOrganization_Id(Long id);
 
     /**
-     * Retrieves an organization user by email and organization ID.
+     * Retrieves an organization user by email and organization ID. The members of an organization being deleted are
+     * not found, which takes away their access to everything in it.
      *
      * @param email          the email of the organization user to match
      * @param organizationId the ID of the organization to match
      * @return an Optional containing the organization user if found, or empty if not found
      */
+    @EntityGraph(OrganizationUser.MEMBERSHIP_GRAPH)
     @Query("SELECT ou FROM OrganizationUser ou "
-           + "WHERE ou.user.email = :email AND ou.organization.id = :organizationId")
+           + "WHERE ou.user.email = :email AND ou.organization.id = :organizationId "
+           + "AND ou.organization.deletionRequestedAt IS NULL")
     Optional<OrganizationUser> findOrganizationUserByEmailAndOrganization(
         @Param("email") String email, @Param("organizationId") Long organizationId);
 
+    /**
+     * Retrieves the organization ID and role of every organization the user is a member of, leaving out the
+     * organizations being deleted.
+     *
+     * @param userId the ID of the user to match
+     * @return the memberships of the user
+     */
+    @Query("SELECT new com.jonathand.issuecrush.organization.OrganizationMembership(ou.organization.id, ou.role) "
+           + "FROM OrganizationUser ou WHERE ou.user.id = :userId AND ou.organization.deletionRequestedAt IS NULL")
+    List<OrganizationMembership> findMembershipsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Checks if an organization user is a member of an organization, without loading it.
+     *
+     * @param organizationUserId the ID of the organization user to match
+     * @param organizationId     the ID of the organization to match
+     * @return true if the organization user is a member of the organization, false otherwise
+     */
+    boolean existsByIdAndOrganization_Id(Long organizationUserId, Long organizationId);
+
+    /**
+     * Deletes an organization user with a single statement, without loading it. Its tickets and ticket comments must
+     * be deleted first.
+     *
+     * @param organizationUserId the ID of the organization user
+     * @return the number of deleted organization users
+     */
+    @Modifying
+    @Query("DELETE FROM OrganizationUser ou WHERE ou.id = :organizationUserId")
+    int deleteOrganizationUser(@Param("organizationUserId") Long organizationUserId);
+
+    /**
+     * Retrieves the IDs of a chunk of the organization users of an organization, in no particular order.
+     *
+     * @param organizationId the ID of the organization
+     * @param pageable       the size of the chunk
+     * @return the IDs of the organization users
+     */
+    @Query("SELECT ou.id FROM OrganizationUser ou WHERE ou.organization.id = :organizationId")
+    List<Long> findOrganizationUserIdsByOrganization(
+        @Param("organizationId") Long organizationId, Pageable pageable);
+
+    /**
+     * Deletes the organization users with the specified IDs with a single statement, without loading them. Their
+     * tickets and ticket comments must be deleted first.
+     *
+     * @param organizationUserIds the IDs of the organization users
+     * @return the number of deleted organization users
+     */
+    @Modifying
+    @Query("DELETE FROM OrganizationUser ou WHERE ou.id IN :organizationUserIds")
+    int deleteOrganizationUsers(@Param("organizationUserIds") Collection<Long> organizationUserIds);
+
 }
@@ -1,5 +1,6 @@
 package com.jonathand.issuecrush.organization.user;
 
+import com.jonathand.issuecrush.organization.OrganizationMembershipClaims;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.OrganizationRoleNotFoundException;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
@@ -8,6 +9,9 @@ import com.jonathand.issuecrush.ticket.TicketRepository;
 import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +29,12 @@ public class OrganizationUserService {
 
     private final OrganizationUserUtil organizationUserUtil;
 
+    private final OrganizationMembershipClaims organizationMembershipClaims;
+
+    private final OrganizationRoleCache organizationRoleCache;
+
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Retrieves the organization user based on the provided organization ID and user email.
      *
@@ -33,6 +43,7 @@ public class OrganizationUserService {
      * @return the OrganizationUserDTO representing the organization user
      */
     // TODO TEST
+    @Transactional(readOnly = true)
     public OrganizationUserDTO getOrganizationUser(Long organizationId, String userEmail) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
@@ -53,6 +64,7 @@ public class OrganizationUserService {
      * @throws ResponseMissingParameterException if the organization user ID is missing or null
      */
     // TODO TEST
+    @Transactional(readOnly = true)
     public OrganizationUserDTO getOrganizationUser(Long organizationId, Long organizationUserId) {
         // If organizationUserId is null, then throw ResponseMissingParameterException
         // organizationUserId can be null because it is not a required parameter, but
@@ -86,26 +98,35 @@ public class OrganizationUserService {
         // Retrieve email for user to update from userUpdateRequest
         String userEmailToUpdate = userUpdateRequest.email();
 
-        // Validate organization exists
-        organizationUtil.validateOrganizationExistsById(organizationId);
+        OrganizationUser updatedOrganizationUser = new TransactionTemplate(transactionManager).execute(status -> {
+            // Validate organization exists
+            organizationUtil.validateOrganizationExistsById(organizationId);
 
-        // Retrieve organization user
-        OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
-            userEmailToUpdate, organizationId);
+            // Retrieve organization user
+            OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
+                userEmailToUpdate, organizationId);
 
-        // Retrieve role argument from userUpdateRequest
-        String roleArgument = userUpdateRequest.role();
-        OrganizationRole organizationRole;
+            // Retrieve role argument from userUpdateRequest
+            String roleArgument = userUpdateRequest.role();
+            OrganizationRole organizationRole;
 
-        // Try to convert roleArgument to organizationRole
-        organizationRole = OrganizationRole.fromString(roleArgument);
+            // Try to convert roleArgument to organizationRole
+            organizationRole = OrganizationRole.fromString(roleArgument);
 
-        // Set the new role for organization user
-        organizationUser.setRole(organizationRole);
+            // Set the new role for organization user
+            organizationUser.setRole(organizationRole);
 
-        // Save organization user
-        organizationUserRepository.save(organizationUser);
-        return organizationUserDTOMapper.apply(organizationUser);
+            // Save organization user
+            organizationUserRepository.save(organizationUser);
+
+            // Tokens issued to the user before now carry the old role
+            organizationMembershipClaims.invalidateMemberships(organizationUser.getUser());
+            return organizationUser;
+        });
+
+        // Evict the cached role of the user on every node once the change is committed
+        organizationRoleCache.invalidate(userEmailToUpdate, organizationId);
+        return organizationUserDTOMapper.apply(updatedOrganizationUser);
     }
 
     /**
@@ -117,6 +138,7 @@ public class OrganizationUserService {
      * @throws OrganizationUserNotFoundException if the organization user does not exist
      */
     // TODO TEST
+    @Transactional(readOnly = true)
     public OrganizationUserStatisticsDTO getOrganizationUserStatistics(Long organizationId, Long organizationUserId) {
         // Validate organization exists
         organizationUserUtil.validateOrganizationUserDoesExists(organizationUserId);
@@ -1,5 +1,9 @@
 package com.jonathand.issuecrush.organization.user;
 
+import java.util.Optional;
+
+import com.jonathand.issuecrush.organization.OrganizationAuthorizationContext;
+import com.jonathand.issuecrush.organization.OrganizationRole;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class OrganizationUserUtil {
@@ -7,6 +11,12 @@ public class OrganizationUserUtil {
     @Autowired
     private OrganizationUserRepository organizationUserRepository;
 
+    @Autowired
+    private OrganizationAuthorizationContext organizationAuthorizationContext;
+
+    @Autowired
+    private OrganizationRoleCache organizationRoleCache;
+
     /**
      * Retrieves an organization user by email and organization ID.
      *
@@ -16,10 +26,38 @@ public class OrganizationUserUtil {
      * @throws OrganizationUserNotFoundException if the organization user is not found
      */
     public OrganizationUser getOrganizationUserByEmailAndOrganization(String userEmail, Long organizationId) {
-        return organizationUserRepository.findOrganizationUserByEmailAndOrganization(userEmail, organizationId)
+        return findOrganizationUserByEmailAndOrganization(userEmail, organizationId)
             .orElseThrow(OrganizationUserNotFoundException::new);
     }
 
+    /**
+     * Retrieves the role of a user in an organization. A cached role is returned without querying the database.
+     *
+     * @param userEmail      the email of the user
+     * @param organizationId the ID of the organization
+     * @return the role of the user, or empty if the user is not a member of the organization
+     */
+    public Optional<OrganizationRole> findOrganizationRole(String userEmail, Long organizationId) {
+        Optional<OrganizationRole> cachedRole = findCachedOrganizationRole(userEmail, organizationId);
+        if (cachedRole.isPresent()) {
+            return cachedRole;
+        }
+
+        return findOrganizationUserByEmailAndOrganization(userEmail, organizationId).map(OrganizationUser::getRole);
+    }
+
+    /**
+     * Retrieves the role of a user in an organization from the role cache, without querying the database. The cache
+     * is filled by {@link #getOrganizationUserByEmailAndOrganization(String, Long)}.
+     *
+     * @param userEmail      the email of the user
+     * @param organizationId the ID of the organization
+     * @return the cached role, or empty if the role is not cached
+     */
+    public Optional<OrganizationRole> findCachedOrganizationRole(String userEmail, Long organizationId) {
+        return organizationRoleCache.getRole(userEmail, organizationId);
+    }
+
     /**
      * Retrieves an organization user by organization user ID and organization ID.
      *
@@ -28,7 +66,8 @@ public class OrganizationUserUtil {
      * @throws OrganizationUserNotFoundException if the organization user is not found
      */
     public OrganizationUser getOrganizationUserById(Long organizationUserId) {
-        return organizationUserRepository.findById(organizationUserId)
+        return organizationAuthorizationContext.getOrganizationUserById(organizationUserId,
+                () -> organizationUserRepository.findById(organizationUserId))
             .orElseThrow(OrganizationUserNotFoundException::new);
     }
 
@@ -71,8 +110,10 @@ public class OrganizationUserUtil {
      *                                                an organization.
      */
     public void validateOrganizationUserDoesNotExistsByEmail(String userEmail, Long organizationUserId) {
-        boolean doesOrganizationUserExist = organizationUserRepository.findOrganizationUserByEmailAndOrganization(
-                userEmail, organizationUserId)
+        boolean doesOrganizationUserExist = organizationAuthorizationContext.getOrganizationUser(userEmail,
+                organizationUserId,
+                () -> organizationUserRepository.findOrganizationUserByEmailAndOrganization(userEmail,
+                    organizationUserId))
             .isPresent();
 
         if (doesOrganizationUserExist) {
@@ -80,4 +121,12 @@ public class OrganizationUserUtil {
         }
     }
 
+    private Optional<OrganizationUser> findOrganizationUserByEmailAndOrganization(String userEmail,
+                                                                                 Long organizationId) {
+        return organizationAuthorizationContext.getOrganizationUser(userEmail, organizationId,
+            () -> organizationRoleCache.load(userEmail, organizationId,
+                () -> organizationUserRepository.findOrganizationUserByEmailAndOrganization(userEmail,
+                    organizationId)));
+    }
+
 }
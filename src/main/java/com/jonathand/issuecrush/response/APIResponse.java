@@ -23,6 +23,12 @@ public class APIResponse<T> {
 
     private T result;
 
+    private String nextCursor;
+
+    private Boolean hasNext;
+
+    private Long total;
+
 }
 
 
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 
@@ -25,6 +26,39 @@ public class APIResponseUtil {
             .build();
     }
 
+    /**
+     * Builds a success API response with the given result and the cursor of the next page.
+     *
+     * @param result     The result to be included in the response.
+     * @param nextCursor The cursor of the next page, or null if the result is the last page.
+     * @param <T>        The type of the result.
+     * @return An APIResponse object representing a successful response with the given result.
+     */
+    public <T> APIResponse<T> buildSuccessResponse(T result, String nextCursor) {
+        return APIResponse.<T>builder()
+            .responseType(APIResponseType.SUCCESS)
+            .result(result)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    /**
+     * Builds a success API response with the content of the given slice and whether there is a next slice.
+     *
+     * @param slice The slice whose content is to be included in the response.
+     * @param total The total number of results, or null if the client did not ask for it.
+     * @param <T>   The type of the results.
+     * @return An APIResponse object representing a successful response with the content of the given slice.
+     */
+    public <T> APIResponse<List<T>> buildSliceResponse(Slice<T> slice, Long total) {
+        return APIResponse.<List<T>>builder()
+            .responseType(APIResponseType.SUCCESS)
+            .result(slice.getContent())
+            .hasNext(slice.hasNext())
+            .total(total)
+            .build();
+    }
+
     /**
      * Creates an APIErrorDTO object based on the provided exception.
      *
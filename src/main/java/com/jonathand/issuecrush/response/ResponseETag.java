@@ -0,0 +1,50 @@
+package com.jonathand.issuecrush.response;
+
+/**
+ * Converts between the version of an entity and the ETag and If-Match headers.
+ * <p>
+ * The ETag of a versioned entity is its version as a strong entity tag. A client sends the ETag it read back in
+ * If-Match, and the update is only applied if the entity still has that version.
+ */
+public final class ResponseETag {
+
+    private ResponseETag() {
+    }
+
+    /**
+     * Creates the ETag of an entity version.
+     *
+     * @param version the version of the entity
+     * @return the ETag, a quoted version
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version of an If-Match header.
+     *
+     * @param ifMatch the If-Match header, or null if the client did not send one
+     * @return the version to match, or null if any version matches
+     * @throws ResponsePreconditionFailedException if the header is not an ETag of this API
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim()
+            .equals("*")) {
+            return null;
+        }
+
+        // Weak tags never match an If-Match, and every ETag of this API is a quoted version
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new ResponsePreconditionFailedException("If-Match " + ifMatch + " does not match any version");
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new ResponsePreconditionFailedException("If-Match " + ifMatch + " does not match any version");
+        }
+    }
+
+}
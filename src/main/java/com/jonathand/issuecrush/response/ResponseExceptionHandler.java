@@ -1,7 +1,12 @@
 package com.jonathand.issuecrush.response;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -26,4 +31,39 @@ public class ResponseExceptionHandler {
             .body(response);
     }
 
+    /**
+     * Handles the ResponsePreconditionFailedException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The ResponsePreconditionFailedException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = ResponsePreconditionFailedException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleResponsePreconditionFailedException(
+        ResponsePreconditionFailedException exception) {
+        return preconditionFailed(exception.getMessage());
+    }
+
+    /**
+     * Handles the ObjectOptimisticLockingFailureException thrown when an entity was updated by someone else between
+     * reading and updating it, and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The ObjectOptimisticLockingFailureException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleObjectOptimisticLockingFailureException(
+        ObjectOptimisticLockingFailureException exception) {
+        return preconditionFailed("The " + exception.getPersistentClassName()
+            .substring(exception.getPersistentClassName()
+                .lastIndexOf('.') + 1) + " was updated by someone else, read it again before updating it...");
+    }
+
+    private ResponseEntity<APIResponse<APIErrorDTO>> preconditionFailed(String message) {
+        APIErrorDTO errorDTO = new APIErrorDTO(message, HttpStatus.PRECONDITION_FAILED,
+            ZonedDateTime.now(ZoneId.of("Z")));
+        APIResponse<APIErrorDTO> response = apiResponseUtil.createAPIResponse(errorDTO);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .body(response);
+    }
+
 }
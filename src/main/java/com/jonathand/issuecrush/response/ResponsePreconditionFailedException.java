@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.response;
+
+public class ResponsePreconditionFailedException extends RuntimeException {
+
+    public ResponsePreconditionFailedException(String reason) {
+        super(reason + "...");
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.jonathand.issuecrush.search;
+
+import java.util.List;
+
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.response.APIResponseUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    private final APIResponseUtil apiResponseUtil;
+
+    /**
+     * Searches the tickets and ticket comments of the specified organization.
+     *
+     * @param organizationId the ID of the organization to search in
+     * @param query          the query, supporting "phrases", prefix* and -exclusions
+     * @param type           optional filter for the type of results, TICKET or COMMENT (default: null)
+     * @param page           the page number for pagination (default: 0)
+     * @param size           the number of results per page (default: 10)
+     * @return a ResponseEntity containing the APIResponse with a list of SearchResultDTOs, best matches first
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
+    @GetMapping("organization/{organizationId}")
+    public ResponseEntity<APIResponse<List<SearchResultDTO>>> searchOrganization(
+        @PathVariable("organizationId") Long organizationId,
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = "type", required = false) String type,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "10") int size) {
+        // Pagination information
+        Pageable pageable = PageRequest.of(page, size);
+
+        // Retrieve the best matches for the query
+        Slice<SearchResultDTO> results = searchService.searchOrganization(organizationId, query, type, pageable);
+
+        // If results is empty, return no content response
+        if (results.isEmpty()) {
+            return ResponseEntity.noContent()
+                .build();
+        }
+
+        // Build success response with list of search results
+        APIResponse<List<SearchResultDTO>> response = apiResponseUtil.buildSliceResponse(results, null);
+        return ResponseEntity.ok(response);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.jonathand.issuecrush.search;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.jonathand.issuecrush.response.APIErrorDTO;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.response.APIResponseType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class SearchExceptionHandler {
+
+    /**
+     * Handles the SearchQueryInvalidException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The SearchQueryInvalidException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = SearchQueryInvalidException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleSearchQueryInvalidException(
+        SearchQueryInvalidException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+    /**
+     * Handles the SearchResultTypeNotFoundException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The SearchResultTypeNotFoundException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = SearchResultTypeNotFoundException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleSearchResultTypeNotFoundException(
+        SearchResultTypeNotFoundException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+}
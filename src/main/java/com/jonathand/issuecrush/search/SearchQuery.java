@@ -0,0 +1,126 @@
+package com.jonathand.issuecrush.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A parsed search query, in the syntax clients type into a search box:
+ * <ul>
+ *     <li>{@code printer offline} matches documents containing both words</li>
+ *     <li>{@code "printer is offline"} matches the words as a phrase</li>
+ *     <li>{@code print*} matches words starting with {@code print}</li>
+ *     <li>{@code -offline} or {@code -"is offline"} excludes documents containing the word or phrase</li>
+ * </ul>
+ * Anything else than letters and digits separates words, so no input can produce an invalid Postgres
+ * {@code tsquery}.
+ *
+ * @param terms the terms of the query, of which at least one is not excluded
+ */
+public record SearchQuery(List<Term> terms) {
+
+    /**
+     * The most terms a query may have, which bounds the cost of matching it.
+     */
+    public static final int MAX_TERMS = 16;
+
+    /**
+     * Parses a search query.
+     *
+     * @param input the query typed by the client
+     * @return the parsed query
+     * @throws SearchQueryInvalidException if the query has no term to search for, or too many terms
+     */
+    public static SearchQuery parse(String input) {
+        List<Term> terms = new ArrayList<>();
+        int position = 0;
+        int length = input == null ? 0 : input.length();
+
+        while (position < length) {
+            // Skip whitespace between terms
+            if (Character.isWhitespace(input.charAt(position))) {
+                position++;
+                continue;
+            }
+
+            boolean excluded = input.charAt(position) == '-';
+            if (excluded) {
+                position++;
+            }
+
+            // A phrase runs until the closing quote, or the end of the input if there is none
+            int end;
+            String text;
+            boolean prefix = false;
+            if (position < length && input.charAt(position) == '"') {
+                end = input.indexOf('"', position + 1);
+                end = end < 0 ? length : end;
+                text = input.substring(position + 1, end);
+                position = end + 1;
+            } else {
+                end = position;
+                while (end < length && !Character.isWhitespace(input.charAt(end))) {
+                    end++;
+                }
+                text = input.substring(position, end);
+                prefix = text.endsWith("*");
+                position = end;
+            }
+
+            List<String> words = words(text);
+            if (!words.isEmpty()) {
+                terms.add(new Term(words, prefix, excluded));
+            }
+        }
+
+        if (terms.stream()
+            .allMatch(Term::excluded)) {
+            throw new SearchQueryInvalidException("The search query " + input + " has no term to search for...");
+        }
+
+        if (terms.size() > MAX_TERMS) {
+            throw new SearchQueryInvalidException("The search query has more than " + MAX_TERMS + " terms...");
+        }
+
+        return new SearchQuery(terms);
+    }
+
+    /**
+     * Converts the query to the syntax of Postgres {@code to_tsquery}.
+     *
+     * @return the query as a {@code tsquery}
+     */
+    public String toTsQuery() {
+        return terms.stream()
+            .map(Term::toTsQuery)
+            .collect(Collectors.joining(" & "));
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+            .filter(word -> !word.isEmpty())
+            .map(String::toLowerCase)
+            .toList();
+    }
+
+    /**
+     * A word or phrase of a search query.
+     *
+     * @param words    the words, more than one for a phrase
+     * @param prefix   whether the last word is a prefix
+     * @param excluded whether documents containing the term are excluded
+     */
+    public record Term(List<String> words, boolean prefix, boolean excluded) {
+
+        private String toTsQuery() {
+            String query = String.join(" <-> ", words) + (prefix ? ":*" : "");
+            if (words.size() > 1) {
+                query = "(" + query + ")";
+            }
+            return excluded ? "!" + query : query;
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.search;
+
+public class SearchQueryInvalidException extends RuntimeException {
+
+    public SearchQueryInvalidException(String message) {
+        super(message);
+    }
+
+}
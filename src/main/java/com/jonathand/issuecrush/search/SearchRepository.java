@@ -0,0 +1,116 @@
+package com.jonathand.issuecrush.search;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Searches the {@code search_vector} columns maintained by {@code db/search.sql}.
+ * <p>
+ * The matches are ranked and limited before the snippets are generated, so {@code ts_headline}, which re-parses the
+ * whole document, only runs for the results that are returned. The document is HTML escaped before the snippet is
+ * generated, so the {@code <mark>} tags around the matches are the only markup in a snippet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    private static final String TICKET_QUERY = """
+        SELECT 'TICKET' AS type, t.id AS ticket_id, CAST(NULL AS BIGINT) AS comment_id, t.title,
+               t.content AS document, ts_rank(t.search_vector, q.query) AS rank, t.created_at
+        FROM tickets t
+        CROSS JOIN to_tsquery('english', :query) AS q(query)
+        WHERE t.organization_id = :organizationId
+        AND t.search_vector @@ q.query
+        """;
+
+    private static final String COMMENT_QUERY = """
+        SELECT 'COMMENT' AS type, c.ticket_id, c.id AS comment_id, t.title,
+               c.content AS document, ts_rank(c.search_vector, q.query) AS rank, c.created_at
+        FROM ticket_comments c
+        JOIN tickets t ON t.id = c.ticket_id
+        CROSS JOIN to_tsquery('english', :query) AS q(query)
+        WHERE t.organization_id = :organizationId
+        AND c.search_vector @@ q.query
+        """;
+
+    private static final String ORDER_BY = "ORDER BY rank DESC, created_at DESC, ticket_id DESC, comment_id DESC ";
+
+    private static final String RESULT_ORDER_BY =
+        "ORDER BY r.rank DESC, r.created_at DESC, r.ticket_id DESC, r.comment_id DESC";
+
+    // The parser reads an entity as a single token, so the escaping never splits or highlights one
+    private static final String ESCAPED_DOCUMENT = "replace(replace(replace(replace(replace(r.document, '&', '&amp;'), "
+                                                   + "'<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;')";
+
+    private static final String HEADLINE_OPTIONS =
+        "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Searches the tickets and ticket comments of an organization, best matches first.
+     *
+     * @param organizationId the ID of the organization to search in
+     * @param query          the query to search for
+     * @param type           the type of results to search for, or null for both tickets and comments
+     * @param pageable       pagination information, the sort is ignored
+     * @return a slice of search results with highlighted snippets
+     */
+    public Slice<SearchResultDTO> search(Long organizationId, SearchQuery query, SearchResultType type,
+                                         Pageable pageable) {
+        // Only search the requested types of documents
+        List<String> queries = new ArrayList<>();
+        if (type == null || type == SearchResultType.TICKET) {
+            queries.add(TICKET_QUERY);
+        }
+        if (type == null || type == SearchResultType.COMMENT) {
+            queries.add(COMMENT_QUERY);
+        }
+
+        String sql = "SELECT r.type, r.ticket_id, r.comment_id, r.title, r.rank, r.created_at, "
+                     + "ts_headline('english', " + ESCAPED_DOCUMENT + ", to_tsquery('english', :query), "
+                     + ":headlineOptions) "
+                     + "AS snippet "
+                     + "FROM (" + String.join("UNION ALL ", queries) + ORDER_BY
+                     + "LIMIT :limit OFFSET :offset) r "
+                     + RESULT_ORDER_BY;
+
+        // Read one result more than requested to know if there is a next slice
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("organizationId", organizationId)
+            .addValue("query", query.toTsQuery())
+            .addValue("headlineOptions", HEADLINE_OPTIONS)
+            .addValue("limit", pageable.getPageSize() + 1)
+            .addValue("offset", pageable.getOffset());
+
+        List<SearchResultDTO> results = jdbcTemplate.query(sql, parameters, this::mapSearchResult);
+
+        boolean hasNext = results.size() > pageable.getPageSize();
+        if (hasNext) {
+            results = results.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(results, pageable, hasNext);
+    }
+
+    private SearchResultDTO mapSearchResult(ResultSet resultSet, int rowNumber) throws SQLException {
+        return new SearchResultDTO(
+            SearchResultType.valueOf(resultSet.getString("type")),
+            resultSet.getLong("ticket_id"),
+            resultSet.getObject("comment_id", Long.class),
+            resultSet.getString("title"),
+            resultSet.getString("snippet"),
+            resultSet.getFloat("rank"),
+            resultSet.getTimestamp("created_at"));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.jonathand.issuecrush.search;
+
+import java.util.Date;
+
+/**
+ * A ticket or ticket comment matching a search query.
+ *
+ * @param type      whether the ticket or one of its comments matched
+ * @param ticketId  the ID of the ticket
+ * @param commentId the ID of the comment, or null if the ticket matched
+ * @param title     the title of the ticket
+ * @param snippet   the best matching fragments of the content as HTML, escaped apart from the {@code <mark>} tags
+ *                  around the matches
+ * @param rank      how well the result matches the query, higher is better
+ * @param createdAt the creation time of the ticket or comment
+ */
+public record SearchResultDTO(
+    SearchResultType type,
+    Long ticketId,
+    Long commentId,
+    String title,
+    String snippet,
+    float rank,
+    Date createdAt
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.jonathand.issuecrush.search;
+
+public enum SearchResultType {
+    TICKET,
+    COMMENT,
+    ;
+
+    public static SearchResultType fromString(String typeArgument) {
+        try {
+            return SearchResultType.valueOf(typeArgument.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new SearchResultTypeNotFoundException(typeArgument.toUpperCase());
+        }
+    }
+}
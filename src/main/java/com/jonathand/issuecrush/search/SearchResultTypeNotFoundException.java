@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.search;
+
+public class SearchResultTypeNotFoundException extends RuntimeException {
+
+    public SearchResultTypeNotFoundException(String type) {
+        super("Search result type " + type + " does not exist...");
+    }
+
+}
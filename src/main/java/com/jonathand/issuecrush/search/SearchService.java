@@ -0,0 +1,40 @@
+package com.jonathand.issuecrush.search;
+
+import com.jonathand.issuecrush.organization.OrganizationUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final SearchRepository searchRepository;
+
+    private final OrganizationUtil organizationUtil;
+
+    /**
+     * Searches the tickets and ticket comments of an organization for a query.
+     *
+     * @param organizationId the ID of the organization to search in
+     * @param query          the query, see {@link SearchQuery} for its syntax
+     * @param type           the type of results to search for, or null for both tickets and comments
+     * @param pageable       pagination information
+     * @return a slice of search results, best matches first
+     */
+    @Transactional(readOnly = true)
+    public Slice<SearchResultDTO> searchOrganization(Long organizationId, String query, String type,
+                                                     Pageable pageable) {
+        // Parse the query before anything is read
+        SearchQuery searchQuery = SearchQuery.parse(query);
+        SearchResultType searchResultType = type != null ? SearchResultType.fromString(type) : null;
+
+        // Validate organization exists
+        organizationUtil.validateOrganizationExistsById(organizationId);
+
+        return searchRepository.search(organizationId, searchQuery, searchResultType, pageable);
+    }
+
+}
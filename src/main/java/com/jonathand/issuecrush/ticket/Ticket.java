@@ -10,16 +10,27 @@ import com.jonathand.issuecrush.ticket.body.TicketBody;
 import com.jonathand.issuecrush.ticket.comment.TicketComment;
 import com.jonathand.issuecrush.ticket.property.TicketProperty;
 import jakarta.annotation.Nullable;
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -37,15 +48,34 @@ import org.hibernate.annotations.UpdateTimestamp;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tickets")
+@NamedEntityGraph(name = Ticket.SUMMARY_GRAPH, attributeNodes = {
+    @NamedAttributeNode("organization"),
+    @NamedAttributeNode(value = "publisher", subgraph = "publisher")
+}, subgraphs = @NamedSubgraph(name = "publisher", attributeNodes = @NamedAttributeNode("user")))
+@Table(name = "tickets", indexes = {
+    @Index(name = "idx_tickets_organization_created_at", columnList = "organization_id, created_at DESC, id DESC"),
+    @Index(name = "idx_tickets_organization_publisher_created_at",
+        columnList = "organization_id, publisher_id, created_at DESC, id DESC"),
+    @Index(name = "idx_tickets_organization_updated_at", columnList = "organization_id, updated_at DESC, id DESC"),
+    @Index(name = "idx_tickets_publisher", columnList = "publisher_id"),
+    @Index(name = "idx_tickets_assigned_agent", columnList = "assigned_agent_id"),
+    @Index(name = "idx_tickets_organization_priority_department", columnList = "organization_id, priority, department")
+})
 public class Ticket {
 
+    /**
+     * Fetches everything {@link TicketDTOMapper} reads in the same statement as the tickets. Used as a fetch graph,
+     * so the eager associations left out of it are not loaded at all.
+     */
+    public static final String SUMMARY_GRAPH = "Ticket.summary";
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
     private final Set<TicketComment> comments = new HashSet<>();
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -69,14 +99,47 @@ public class Ticket {
     @NotNull
     private boolean open;
 
-    @ManyToOne(cascade = CascadeType.REMOVE)
+    /**
+     * Whether the ticket was moved to the archive partition, see {@code db/partitions.sql}. Only written by the
+     * archive, see {@link com.jonathand.issuecrush.ticket.archive.TicketArchiveWorker}.
+     */
+    @Column(name = "archived", insertable = false, updatable = false,
+        columnDefinition = "boolean NOT NULL DEFAULT false")
+    @ToString.Exclude
+    private boolean archived;
+
+    /**
+     * Incremented by every update, which only applies if the ticket still has the version it was read with. Sent to
+     * clients as the ETag of the ticket, see {@link com.jonathand.issuecrush.response.ResponseETag}.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Stored in the columns of the ticket row, so it is read, written and deleted with the ticket.
+     */
+    @Embedded
+    @Valid
     @NotNull(message = "Ticket body cannot be null")
-    @JoinColumn(name = "ticket_body_id")
     private TicketBody ticketBody;
 
-    @ManyToOne(cascade = CascadeType.REMOVE)
+    /**
+     * The content of the ticket body. Tickets can hold pasted logs of several megabytes, so the content is only read
+     * from the ticket row when it is accessed, and the listings and authorization checks that load a ticket never
+     * read it. Kept out of {@link TicketBody}, Hibernate does not load attributes of an embeddable lazily.
+     */
+    @NotBlank(message = "Content must not be blank")
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String content;
+
+    /**
+     * Stored in the columns of the ticket row, so it is read, written and deleted with the ticket.
+     */
+    @Embedded
+    @Valid
     @NotNull(message = "Ticket property cannot be null")
-    @JoinColumn(name = "ticket_property_id")
     private TicketProperty ticketProperty;
 
 }
@@ -1,24 +1,32 @@
 package com.jonathand.issuecrush.ticket;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jonathand.issuecrush.response.APIResponse;
 import com.jonathand.issuecrush.response.APIResponseUtil;
+import com.jonathand.issuecrush.response.ResponseETag;
 import com.jonathand.issuecrush.ticket.property.TicketPriority;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,16 +41,29 @@ public class TicketController {
     private final APIResponseUtil apiResponseUtil;
 
     /**
-     * Retrieves a paginated list of tickets for the specified organization.
+     * Retrieves a paginated list of tickets for the specified organization. Every filter is optional and the filters
+     * that are set are combined, the date ranges take ISO-8601 instants and are half open.
      *
      * @param organizationId        the ID of the organization to retrieve tickets for
      * @param page                  the page number for pagination (default: 0)
      * @param size                  the number of tickets per page (default: 10)
      * @param title                 optional filter for ticket titles (default: null)
-     * @param organizationUserId    optional filter for organization user ID (default: null)
-     * @param sortByLatestCreatedAt flag to determine the sorting order of tickets by latest created date (default:
+     * @param organizationUserId    optional filter for the organization user that published the ticket (default: null)
+     * @param open                  optional filter for open or closed tickets (default: null)
+     * @param priority              optional filter for the ticket priority (default: null)
+     * @param department            optional filter for the ticket department (default: null)
+     * @param assignedAgentId       optional filter for the organization user the ticket is assigned to (default: null)
+     * @param createdFrom           optional earliest creation time, inclusive (default: null)
+     * @param createdTo             optional latest creation time, exclusive (default: null)
+     * @param updatedFrom           optional earliest update time, inclusive (default: null)
+     * @param updatedTo             optional latest update time, exclusive (default: null)
+     * @param sort                  the order of the tickets, one of {@link TicketSort} (default: newest)
+     * @param sortByLatestCreatedAt flag to sort tickets by latest created date, same as the default sort (default:
      *                              false)
-     * @return a ResponseEntity containing the APIResponse with a list of TicketDTOs
+     * @param cursor                flag to page with cursors instead of page numbers, newest first (default: false)
+     * @param after                 the nextCursor of the previous page, implies cursor (default: null)
+     * @param includeTotal          flag to include the total number of tickets matching the filters (default: false)
+     * @return a ResponseEntity containing the APIResponse with a list of TicketDTOs, and the nextCursor in cursor mode
      */
     @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
     @GetMapping("organization/{organizationId}")
@@ -52,41 +73,69 @@ public class TicketController {
         @RequestParam(name = "size", defaultValue = "10") int size,
         @RequestParam(value = "title", required = false) String title,
         @RequestParam(value = "organizationUserId", required = false) Long organizationUserId,
-        @RequestParam(value = "sortByLatestCreatedAt", defaultValue = "false") boolean sortByLatestCreatedAt) {
-        // If sortByLatestCreatedAt, then sort by Ticket#createdAt
-        Sort sortBy = sortByLatestCreatedAt ? Sort.by("createdAt")
-            .descending() : Sort.unsorted();
-
-        // Pagination information
-        Pageable pageable = PageRequest.of(page, size, sortBy);
-
-        // Retrieve all tickets for the organization. If filterByTitle,
-        // search for ticket titles that match request parameter title.
-        // If getForOrganizationUser then tickets will be sorted by publisher
-        List<TicketDTO> ticketsForOrganization;
-        boolean filterByTitle = title != null;
-        boolean getForOrganizationUser = organizationUserId != null;
-
-        if (filterByTitle && getForOrganizationUser) {
-            ticketsForOrganization = ticketService.getAllTicketsForOrganizationByTitleAndByOrganizationUser(
-                organizationId, organizationUserId, title, pageable);
-        } else if (filterByTitle) {
-            ticketsForOrganization = ticketService.getAllTicketsForOrganizationByTitle(organizationId, title, pageable);
-        } else if (getForOrganizationUser) {
-            ticketsForOrganization = ticketService.getAllTicketsForOrganizationByOrganizationUser(organizationId,
-                organizationUserId, pageable);
-        } else {
-            ticketsForOrganization = ticketService.getAllTicketsForOrganization(organizationId, pageable);
+        @RequestParam(value = "open", required = false) Boolean open,
+        @RequestParam(value = "priority", required = false) String priority,
+        @RequestParam(value = "department", required = false) String department,
+        @RequestParam(value = "assignedAgentId", required = false) Long assignedAgentId,
+        @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant createdFrom,
+        @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant createdTo,
+        @RequestParam(value = "updatedFrom", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant updatedFrom,
+        @RequestParam(value = "updatedTo", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant updatedTo,
+        @RequestParam(value = "sort", required = false) String sort,
+        @RequestParam(value = "sortByLatestCreatedAt", defaultValue = "false") boolean sortByLatestCreatedAt,
+        @RequestParam(value = "cursor", defaultValue = "false") boolean cursor,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        // Combine every filter that is set, an unknown priority or department fails before anything is read
+        TicketFilter filter = new TicketFilter(title, organizationUserId, open,
+            priority != null ? TicketPriority.fromString(priority) : null,
+            department != null ? TicketDepartment.fromString(department) : null, assignedAgentId, createdFrom,
+            createdTo, updatedFrom, updatedTo);
+
+        // Only the orderings backed by an index are allowed, newest first unless asked otherwise
+        TicketSort ticketSort = sort != null ? TicketSort.fromString(sort) : TicketSort.NEWEST;
+
+        // In cursor mode, seek past the previous page instead of skipping page * size tickets
+        if (cursor || after != null) {
+            // The cursor only encodes the position in the newest first order
+            if (ticketSort != TicketSort.NEWEST) {
+                throw new TicketSortNotAllowedException(ticketSort.name());
+            }
+
+            TicketCursorPage ticketPage = ticketService.getTicketsForOrganizationAfter(organizationId, filter, after,
+                size);
+
+            // If tickets is empty, return no content response
+            if (ticketPage.tickets()
+                .isEmpty()) {
+                return ResponseEntity.noContent()
+                    .build();
+            }
+
+            // Build success response with list of tickets and the cursor of the next page
+            APIResponse<List<TicketDTO>> response = apiResponseUtil.buildSuccessResponse(ticketPage.tickets(),
+                ticketPage.nextCursor());
+            if (includeTotal) {
+                response.setTotal(ticketService.countTicketsForOrganization(organizationId, filter));
+            }
+            return ResponseEntity.ok(response);
         }
 
+        // Retrieve the tickets for the organization matching the filters with a single query
+        Slice<TicketDTO> ticketsForOrganization = ticketService.getTicketsForOrganization(organizationId, filter,
+            ticketSort, PageRequest.of(page, size));
+
         // If tickets is empty, return no content response
         if (ticketsForOrganization.isEmpty()) {
             return ResponseEntity.noContent()
                 .build();
         }
 
+        // Only count the tickets if the client asked for the total
+        Long total = includeTotal ? ticketService.countTicketsForOrganization(organizationId, filter) : null;
+
         // Build success response with list of tickets
-        APIResponse<List<TicketDTO>> response = apiResponseUtil.buildSuccessResponse(ticketsForOrganization);
+        APIResponse<List<TicketDTO>> response = apiResponseUtil.buildSliceResponse(ticketsForOrganization, total);
         return ResponseEntity.ok(response);
     }
 
@@ -113,7 +162,8 @@ public class TicketController {
     }
 
     /**
-     * Retrieves the details of the specified ticket.
+     * Retrieves the details of the specified ticket. The ETag of the response is the version of the ticket, to send
+     * back in the If-Match header of an update.
      *
      * @param ticketId the ID of the ticket to retrieve
      * @return a ResponseEntity containing the APIResponse with the retrieved TicketDTO
@@ -126,13 +176,17 @@ public class TicketController {
 
         // Build success response with ticket
         APIResponse<TicketDTO> response = apiResponseUtil.buildSuccessResponse(ticketDTO);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(ResponseETag.of(ticketDTO.version()))
+            .body(response);
     }
 
     /**
-     * Updates the specified ticket with the provided information.
+     * Updates the specified ticket with the provided information. With an If-Match header the ticket is only updated
+     * if it still has that ETag, otherwise 412 Precondition Failed is returned and the client must read it again.
      *
      * @param ticketId            the ID of the ticket to update
+     * @param ifMatch             the ETag the client read the ticket with (optional)
      * @param ticketUpdateRequest the TicketUpdateRequest containing the updated ticket information
      * @return a ResponseEntity containing the APIResponse with the updated TicketDTO
      */
@@ -140,13 +194,46 @@ public class TicketController {
     @PutMapping("{ticketId}")
     public ResponseEntity<APIResponse<TicketDTO>> updateTicket(
         @PathVariable("ticketId") Long ticketId,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody TicketUpdateRequest ticketUpdateRequest) {
         // Retrieve updated ticket
-        TicketDTO updatedTicketDTO = ticketService.updateTicket(ticketId, ticketUpdateRequest);
+        TicketDTO updatedTicketDTO = ticketService.updateTicket(ticketId, ticketUpdateRequest,
+            ResponseETag.parseIfMatch(ifMatch));
 
         // Build success response with ticket
         APIResponse<TicketDTO> response = apiResponseUtil.buildSuccessResponse(updatedTicketDTO);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(ResponseETag.of(updatedTicketDTO.version()))
+            .body(response);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to the specified ticket. Only the fields present in the patch are changed: title,
+     * content, priority, department, open and assignedAgentId, which is cleared by null. With an If-Match header the
+     * ticket is only patched if it still has that ETag, otherwise 412 Precondition Failed is returned.
+     *
+     * @param ticketId  the ID of the ticket to patch
+     * @param ifMatch   the ETag the client read the ticket with (optional)
+     * @param patch     the merge patch with the fields to change
+     * @param principal the principal object representing the authenticated user
+     * @return a ResponseEntity containing the APIResponse with the patched TicketDTO
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserInTicketOrganization(#ticketId)")
+    @PatchMapping(value = "{ticketId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<APIResponse<TicketDTO>> patchTicket(
+        @PathVariable("ticketId") Long ticketId,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody JsonNode patch,
+        Principal principal) {
+        // Retrieve patched ticket
+        TicketDTO patchedTicketDTO = ticketService.patchTicket(ticketId, principal.getName(), patch,
+            ResponseETag.parseIfMatch(ifMatch));
+
+        // Build success response with ticket
+        APIResponse<TicketDTO> response = apiResponseUtil.buildSuccessResponse(patchedTicketDTO);
+        return ResponseEntity.ok()
+            .eTag(ResponseETag.of(patchedTicketDTO.version()))
+            .body(response);
     }
 
     /**
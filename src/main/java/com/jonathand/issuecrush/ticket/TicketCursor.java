@@ -0,0 +1,83 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The position of a ticket in a listing ordered by {@code createdAt} and {@code id}, both descending.
+ * <p>
+ * Clients only ever see the cursor as an opaque token, so its format can change without breaking them.
+ *
+ * @param createdAt the creation time of the ticket, with the full precision of the database column
+ * @param id        the ID of the ticket, which breaks ties between tickets created at the same time
+ */
+public record TicketCursor(Instant createdAt, Long id) {
+
+    /**
+     * A cursor positioned before every ticket, used for the first page.
+     */
+    public static final TicketCursor FIRST = new TicketCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Creates the cursor positioned at a ticket.
+     *
+     * @param ticket the ticket
+     * @return the cursor of the ticket
+     */
+    public static TicketCursor of(TicketDTO ticket) {
+        return new TicketCursor(ticket.createdAt()
+            .toInstant(), ticket.id());
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token the token to decode, or null for the first page
+     * @return the decoded cursor
+     * @throws TicketCursorInvalidException if the token was not created by {@link #encode()}
+     */
+    public static TicketCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder()
+                .decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new TicketCursor(Instant.parse(value.substring(0, separator)),
+                Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException exception) {
+            throw new TicketCursorInvalidException(token);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque, URL safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts the creation time to the type of {@link Ticket#getCreatedAt()}, keeping its full precision.
+     *
+     * @return the creation time
+     */
+    public Date createdAtAsDate() {
+        return Timestamp.from(createdAt);
+    }
+
+}
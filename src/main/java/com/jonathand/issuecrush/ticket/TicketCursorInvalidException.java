@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket;
+
+public class TicketCursorInvalidException extends RuntimeException {
+
+    public TicketCursorInvalidException(String cursor) {
+        super("The cursor " + cursor + " is not valid...");
+    }
+
+}
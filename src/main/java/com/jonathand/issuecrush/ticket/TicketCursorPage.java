@@ -0,0 +1,13 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.util.List;
+
+/**
+ * A page of tickets read with a {@link TicketCursor}.
+ *
+ * @param tickets    the tickets of the page
+ * @param nextCursor the token of the next page, or null if this is the last page
+ */
+public record TicketCursorPage(List<TicketDTO> tickets, String nextCursor) {
+
+}
@@ -2,6 +2,7 @@ package com.jonathand.issuecrush.ticket;
 
 import java.util.Date;
 
+import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 
 public record TicketDTO(
@@ -12,7 +13,21 @@ public record TicketDTO(
     OrganizationUserDTO publisher,
     Date createdAt,
     Date updatedAt,
-    boolean open
+    boolean open,
+    Long version
 ) {
 
-}
\ No newline at end of file
+    /**
+     * Creates the DTO straight from the selected columns of a constructor expression, see
+     * {@link TicketFilterRepository#findTicketDTOs}.
+     */
+    public TicketDTO(Long id, Long organizationId, String organizationName, String title, Long publisherId,
+                     String publisherEmail, String publisherFirstName, String publisherLastName,
+                     OrganizationRole publisherRole, Date createdAt, Date updatedAt, boolean open,
+                     Long version) {
+        this(id, organizationId, organizationName, title,
+            OrganizationUserDTO.ofNullable(publisherId, publisherEmail, publisherFirstName, publisherLastName,
+                publisherRole), createdAt, updatedAt, open, version);
+    }
+
+}
@@ -23,7 +23,8 @@ public class TicketDTOMapper implements Function<Ticket, TicketDTO> {
             organizationUserDTOMapper.apply(ticket.getPublisher()),
             ticket.getCreatedAt(),
             ticket.getUpdatedAt(),
-            ticket.isOpen());
+            ticket.isOpen(),
+            ticket.getVersion());
     }
 
 }
@@ -56,4 +56,109 @@ public class TicketExceptionHandler {
             .body(response);
     }
 
+    /**
+     * Handles the TicketCursorInvalidException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The TicketCursorInvalidException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = TicketCursorInvalidException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleTicketCursorInvalidException(
+        TicketCursorInvalidException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+    /**
+     * Handles the TicketSortNotAllowedException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The TicketSortNotAllowedException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = TicketSortNotAllowedException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleTicketSortNotAllowedException(
+        TicketSortNotAllowedException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+    /**
+     * Handles the TicketPriorityNotFoundException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The TicketPriorityNotFoundException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = TicketPriorityNotFoundException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleTicketPriorityNotFoundException(
+        TicketPriorityNotFoundException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+    /**
+     * Handles the TicketDepartmentNotFoundException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The TicketDepartmentNotFoundException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = TicketDepartmentNotFoundException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleTicketDepartmentNotFoundException(
+        TicketDepartmentNotFoundException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
+    /**
+     * Handles the TicketPatchInvalidException and returns a ResponseEntity with the appropriate API response.
+     *
+     * @param exception The TicketPatchInvalidException that occurred.
+     * @return The ResponseEntity containing the API response with the error details.
+     */
+    @ExceptionHandler(value = TicketPatchInvalidException.class)
+    public ResponseEntity<APIResponse<APIErrorDTO>> handleTicketPatchInvalidException(
+        TicketPatchInvalidException exception) {
+        APIResponse<APIErrorDTO> response = APIResponse.<APIErrorDTO>builder()
+            .build();
+
+        APIErrorDTO errorDTO = new APIErrorDTO(exception.getMessage(), HttpStatus.BAD_REQUEST,
+            ZonedDateTime.now(ZoneId.of("Z")));
+
+        response.setResponseType(APIResponseType.FAILED);
+        response.setErrors(List.of(errorDTO));
+        return ResponseEntity.badRequest()
+            .body(response);
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.time.Instant;
+
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+
+/**
+ * The filters of a ticket listing, every one of them optional. A null filter is not applied, and the filters that are
+ * set are combined with AND by {@link TicketSpecifications#matching(Long, TicketFilter)}.
+ * <p>
+ * The date ranges are half open, a ticket created exactly at {@code createdFrom} matches and one created exactly at
+ * {@code createdTo} does not, so consecutive ranges never count a ticket twice.
+ *
+ * @param title           a value the ticket title contains (case-insensitive)
+ * @param publisherId     the ID of the organization user that published the ticket
+ * @param open            true for open tickets, false for closed tickets
+ * @param priority        the priority of the ticket
+ * @param department      the department of the ticket
+ * @param assignedAgentId the ID of the organization user the ticket is assigned to
+ * @param createdFrom     the earliest creation time, inclusive
+ * @param createdTo       the latest creation time, exclusive
+ * @param updatedFrom     the earliest update time, inclusive
+ * @param updatedTo       the latest update time, exclusive
+ */
+public record TicketFilter(
+    String title,
+    Long publisherId,
+    Boolean open,
+    TicketPriority priority,
+    TicketDepartment department,
+    Long assignedAgentId,
+    Instant createdFrom,
+    Instant createdTo,
+    Instant updatedFrom,
+    Instant updatedTo
+) {
+
+    /**
+     * A filter that matches every ticket.
+     */
+    public static final TicketFilter NONE = new TicketFilter(null, null, null, null, null, null, null, null, null,
+        null);
+
+}
@@ -0,0 +1,62 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ticket listings and updates built from {@link TicketSpecifications}, for any combination of
+ * {@link TicketFilter filters}.
+ */
+public interface TicketFilterRepository {
+
+    /**
+     * Retrieves a slice of the tickets matching a specification as DTOs, in one statement and without loading any
+     * entity into the persistence context nor touching the ticket body content.
+     *
+     * @param specification the specification to match
+     * @param pageable      pagination information, the sort must be one of {@link TicketSort}
+     * @return a slice of ticket DTOs matching the specification
+     */
+    Slice<TicketDTO> findTicketDTOs(Specification<Ticket> specification, Pageable pageable);
+
+    /**
+     * Counts the tickets matching a specification.
+     *
+     * @param specification the specification to match
+     * @return the number of tickets matching the specification
+     */
+    long countTickets(Specification<Ticket> specification);
+
+    /**
+     * Sets one attribute of every ticket matching a specification with a single UPDATE statement, without loading the
+     * tickets. See {@link #updateTickets(Specification, Map)}.
+     *
+     * @param specification the specification to match
+     * @param attribute     the path of the attribute to set, such as {@code ticketProperty.priority}
+     * @param value         the value to set, or null to clear the attribute
+     * @return the number of updated tickets
+     */
+    @Transactional
+    int updateTickets(Specification<Ticket> specification, String attribute, Object value);
+
+    /**
+     * Sets attributes of every ticket matching a specification with a single UPDATE statement, without loading the
+     * tickets. Only the specified attributes are written. The update time and the version are set as well, which
+     * Hibernate only does for the tickets it updates itself.
+     * <p>
+     * The specification is turned into the WHERE clause of the update, so it must only use the query it is given to
+     * build subqueries, as {@link TicketSpecifications#withId} does.
+     *
+     * @param specification the specification to match
+     * @param values        the values to set by attribute path, such as {@code ticketProperty.priority}, a null
+     *                      value clears the attribute
+     * @return the number of updated tickets
+     */
+    @Transactional
+    int updateTickets(Specification<Ticket> specification, Map<String, Object> values);
+
+}
@@ -0,0 +1,111 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.jonathand.issuecrush.organization.Organization;
+import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class TicketFilterRepositoryImpl implements TicketFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TicketDTO> findTicketDTOs(Specification<Ticket> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDTO> query = builder.createQuery(TicketDTO.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+
+        Join<Ticket, Organization> organization = ticket.join("organization");
+        Join<Ticket, OrganizationUser> publisher = ticket.join("publisher", JoinType.LEFT);
+        Join<OrganizationUser, User> user = publisher.join("user", JoinType.LEFT);
+
+        query.select(builder.construct(TicketDTO.class, ticket.get("id"), organization.get("id"),
+                organization.get("name"), ticket.get("ticketBody")
+                    .get("title"), publisher.get("id"), user.get("email"),
+                user.get("firstName"), user.get("lastName"), publisher.get("role"), ticket.get("createdAt"),
+                ticket.get("updatedAt"), ticket.get("open"), ticket.get("version")))
+            .where(specification.toPredicate(ticket, query, builder))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), ticket, builder));
+
+        // Read one ticket more than requested to know if there is a next slice, without counting
+        List<TicketDTO> tickets = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+
+        boolean hasNext = tickets.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? tickets.subList(0, pageable.getPageSize()) : tickets, pageable, hasNext);
+    }
+
+    @Override
+    public long countTickets(Specification<Ticket> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+
+        query.select(builder.count(ticket))
+            .where(specification.toPredicate(ticket, query, builder));
+
+        return entityManager.createQuery(query)
+            .getSingleResult();
+    }
+
+    @Override
+    public int updateTickets(Specification<Ticket> specification, String attribute, Object value) {
+        return updateTickets(specification, Collections.singletonMap(attribute, value));
+    }
+
+    @Override
+    public int updateTickets(Specification<Ticket> specification, Map<String, Object> values) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Ticket> update = builder.createCriteriaUpdate(Ticket.class);
+        Root<Ticket> ticket = update.from(Ticket.class);
+
+        // The version is incremented as well, so updates with an ETag read before this update are rejected. An
+        // update is not a query, so the specification is given a query of its own to build its subqueries with
+        Path<Long> version = ticket.get("version");
+        update.set(ticket.get("updatedAt"), new Date())
+            .set(version, builder.sum(version, 1L))
+            .where(specification.toPredicate(ticket, builder.createQuery(), builder));
+
+        values.forEach((attribute, value) -> {
+            // An attribute of the ticket property is reached through the embeddable, such as ticketProperty.priority
+            String[] names = attribute.split("\\.");
+            Path<Object> path = ticket.get(names[0]);
+            for (int i = 1; i < names.length; i++) {
+                path = path.get(names[i]);
+            }
+
+            // The value is bound as a parameter, a literal would be inlined and give every value its own statement
+            Expression<Object> expression = value == null
+                ? builder.nullLiteral(Object.class)
+                : ((HibernateCriteriaBuilder) builder).value(value);
+            update.<Object>set(path, expression);
+        });
+
+        return entityManager.createQuery(update)
+            .executeUpdate();
+    }
+
+}
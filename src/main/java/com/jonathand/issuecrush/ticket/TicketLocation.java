@@ -0,0 +1,38 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The partition keys of a ticket, one row per ticket. The primary key of the partitioned tickets table includes its
+ * partition keys, so a ticket is only found with a single index lookup if they are known. Looking them up here first
+ * keeps the reads and writes of a ticket by its ID from probing every partition, see
+ * {@link TicketSpecifications#withId}.
+ * <p>
+ * Written by a trigger on the tickets only, see {@code db/partitions.sql}. The primary key keeps the IDs of the
+ * tickets unique, which the partitioned table can not, and the comments of a ticket reference it with a foreign key.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ticket_locations")
+public class TicketLocation {
+
+    @Id
+    private Long id;
+
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    @Column(nullable = false)
+    private boolean archived;
+
+}
@@ -0,0 +1,68 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.jonathand.issuecrush.cache.ExpiringCache;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the organization a ticket or a ticket comment belongs to.
+ * <p>
+ * A ticket never moves to another organization and a comment never moves to another ticket, so the mappings are
+ * cached without any invalidation. IDs are never reused, so the entry of a deleted ticket or comment can only lead a
+ * member of its organization to the usual not found error.
+ */
+@Component
+public class TicketOrganizationResolver {
+
+    private final ExpiringCache<Long, Long> ticketOrganizations;
+
+    private final ExpiringCache<Long, Long> ticketCommentTickets;
+
+    private final TicketRepository ticketRepository;
+
+    private final TicketCommentRepository ticketCommentRepository;
+
+    public TicketOrganizationResolver(
+        @Value("${ticket.organization-cache.max-size}") int maxSize,
+        @Value("${ticket.organization-cache.time-to-live}") Duration timeToLive,
+        MeterRegistry meterRegistry,
+        TicketRepository ticketRepository,
+        TicketCommentRepository ticketCommentRepository) {
+        this.ticketOrganizations = new ExpiringCache<>("ticket-organizations", maxSize, timeToLive);
+        this.ticketOrganizations.bindTo(meterRegistry);
+        this.ticketCommentTickets = new ExpiringCache<>("ticket-comment-tickets", maxSize, timeToLive);
+        this.ticketCommentTickets.bindTo(meterRegistry);
+        this.ticketRepository = ticketRepository;
+        this.ticketCommentRepository = ticketCommentRepository;
+    }
+
+    /**
+     * Retrieves the ID of the organization a ticket belongs to.
+     *
+     * @param ticketId the ID of the ticket
+     * @return an Optional containing the organization ID, or empty if the ticket does not exist
+     */
+    public Optional<Long> findOrganizationIdForTicket(Long ticketId) {
+        return Optional.ofNullable(ticketOrganizations.get(ticketId, id -> ticketRepository.findOrganizationIdById(id)
+            .orElse(null)));
+    }
+
+    /**
+     * Retrieves the ID of the organization a ticket comment belongs to.
+     *
+     * @param ticketCommentId the ID of the ticket comment
+     * @return an Optional containing the organization ID, or empty if the ticket comment does not exist
+     */
+    public Optional<Long> findOrganizationIdForTicketComment(Long ticketCommentId) {
+        return Optional.ofNullable(ticketCommentTickets.get(ticketCommentId,
+                id -> ticketCommentRepository.findTicketIdById(id)
+                    .orElse(null)))
+            .flatMap(this::findOrganizationIdForTicket);
+    }
+
+}
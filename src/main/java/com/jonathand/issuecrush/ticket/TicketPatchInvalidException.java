@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket;
+
+public class TicketPatchInvalidException extends RuntimeException {
+
+    public TicketPatchInvalidException(String reason) {
+        super("The ticket patch is invalid: " + reason + "...");
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.jonathand.issuecrush.ticket;
 
-import org.springframework.data.domain.Page;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,37 +13,37 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketFilterRepository {
 
     /**
-     * Delete tickets created by the specified publisher ID
-     *
-     * @param id the ID of the publisher
+     * Matches the ticket with the ID {@code :ticketId}, looking its partition keys up in {@link TicketLocation} so
+     * only the partition of the ticket is read. See {@link TicketSpecifications#withId}.
      */
-    void deleteByPublisher_Id(Long id);
+    String WITH_ID = "t.id = :ticketId "
+                     + "AND t.createdAt = (SELECT l.createdAt FROM TicketLocation l WHERE l.id = :ticketId) "
+                     + "AND t.archived = (SELECT l.archived FROM TicketLocation l WHERE l.id = :ticketId)";
 
     /**
-     * Retrieves a page of tickets that match the specified
-     * organization ID, publisher ID, and ticket body title (case-insensitive)
+     * Retrieves a ticket by its ID, with everything {@link TicketDTOMapper} reads, in one statement that only reads
+     * the partition of the ticket.
      *
-     * @param id       the organization ID to match
-     * @param id1      the publisher ID to match
-     * @param title    the title of the ticket body to search for (case-insensitive)
-     * @param pageable pagination information
-     * @return a page of tickets that match the specified criteria
+     * @param ticketId the ID of the ticket
+     * @return an Optional containing the ticket, or empty if the ticket does not exist
      */
-    Page<Ticket> findByOrganization_IdAndPublisher_IdAndTicketBody_TitleContainsIgnoreCase(
-        Long id, Long id1, String title, Pageable pageable);
+    @Override
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE " + WITH_ID)
+    Optional<Ticket> findById(@Param("ticketId") Long ticketId);
 
     /**
-     * Retrieves a page of tickets that match the specified organization ID and publisher ID.
+     * Checks if a ticket exists with a lookup of its location, without reading the tickets.
      *
-     * @param id       the organization ID to match
-     * @param id1      the publisher ID to match
-     * @param pageable pagination information
-     * @return a page of tickets that match the specified organization ID and publisher ID
+     * @param ticketId the ID of the ticket
+     * @return true if the ticket exists
      */
-    Page<Ticket> findByOrganization_IdAndPublisher_Id(Long id, Long id1, Pageable pageable);
+    @Override
+    @Query("SELECT count(l) > 0 FROM TicketLocation l WHERE l.id = :ticketId")
+    boolean existsById(@Param("ticketId") Long ticketId);
 
     /**
      * Counts the number of tickets in the specified organization that are marked as open.
@@ -86,18 +90,6 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      */
     long countByOrganization_IdAndPublisher_Id(Long id, Long id1);
 
-    /**
-     * Retrieves a page of tickets in the specified organization where the ticket body title contains the specified
-     * value (case-insensitive).
-     *
-     * @param id       the organization ID to match
-     * @param title    the value to search for in the ticket body title
-     * @param pageable pagination information
-     * @return a page of tickets in the organization that match the specified title
-     */
-    Page<Ticket> findByOrganization_IdAndTicketBody_TitleContainsIgnoreCase(
-        Long id, String title, Pageable pageable);
-
     /**
      * Counts the number of tickets in the specified organization.
      *
@@ -107,51 +99,64 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     long countByOrganization_Id(Long id);
 
     /**
-     * Retrieves a page of tickets in the specified organization.
+     * Deletes tickets published by the specified organization user.
      *
-     * @param organizationId the organization ID to match
-     * @param pageable       pagination information
-     * @return a page of tickets in the organization
+     * @param orgUserId the ID of the organization user
      */
-    @Query("SELECT t "
-           + "FROM Ticket t "
-           + "WHERE t.organization.id = :organizationId")
-    Page<Ticket> findAllTicketsForOrganization(
-        @Param("organizationId") Long organizationId, Pageable pageable);
+    @Modifying
+    @Query("DELETE FROM Ticket " + "t WHERE t.publisher.id = :orgUserId")
+    void deleteTicketsByOrganizationUser(@Param("orgUserId") Long orgUserId);
 
     /**
-     * Checks if a user belongs to the organization of a ticket.
+     * Unassigns an organization user from every ticket assigned to it, with a single statement. The update time and
+     * the version are set as well.
      *
-     * @param email    the email of the user
-     * @param ticketId the ID of the ticket
-     * @return true if the user belongs to the ticket's organization, false otherwise
+     * @param orgUserId the ID of the organization user
+     * @return the number of unassigned tickets
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.ticketProperty.assigned_agent = NULL, t.updatedAt = CURRENT_TIMESTAMP, "
+           + "t.version = t.version + 1 WHERE t.ticketProperty.assigned_agent.id = :orgUserId")
+    int unassignTicketsFromOrganizationUser(@Param("orgUserId") Long orgUserId);
+
+    /**
+     * Retrieves the IDs of a chunk of the tickets of an organization, in no particular order.
+     *
+     * @param organizationId the ID of the organization
+     * @param pageable       the size of the chunk
+     * @return the IDs of the tickets
      */
-    @Query("SELECT CASE WHEN COUNT(ou) > 0 THEN true ELSE false END "
-           + "FROM OrganizationUser ou "
-           + "INNER JOIN ou.organization o "
-           + "INNER JOIN o.tickets t "
-           + "WHERE ou.user.email = :email "
-           + "AND t.id = :ticketId")
-    boolean doesUserBelongToTicketOrganization(
-        @Param("email") String email, @Param("ticketId") Long ticketId);
+    @Query("SELECT t.id FROM Ticket t WHERE t.organization.id = :organizationId")
+    List<Long> findTicketIdsByOrganization(@Param("organizationId") Long organizationId, Pageable pageable);
 
     /**
-     * Retrieves a page of tickets published by the specified organization user.
+     * Deletes the tickets with the specified IDs with a single statement, without loading them. Their comments must
+     * be deleted first.
      *
-     * @param orgUserId the ID of the organization user
-     * @param pageable  pagination information
-     * @return a page of tickets published by the organization user
+     * @param ticketIds the IDs of the tickets
+     * @return the number of deleted tickets
      */
-    @Query("SELECT t FROM Ticket t WHERE t.publisher.id = :orgUserId")
-    Page<Ticket> getTicketsByOrganizationUser(@Param("orgUserId") Long orgUserId, Pageable pageable);
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.id IN :ticketIds")
+    int deleteTickets(@Param("ticketIds") Collection<Long> ticketIds);
 
     /**
-     * Deletes tickets published by the specified organization user.
+     * Deletes a ticket with a single statement, without loading it. Its comments must be deleted first.
      *
-     * @param orgUserId the ID of the organization user
+     * @param ticketId the ID of the ticket
+     * @return the number of deleted tickets
      */
     @Modifying
-    @Query("DELETE FROM Ticket " + "t WHERE t.publisher.id = :orgUserId")
-    void deleteTicketsByOrganizationUser(@Param("orgUserId") Long orgUserId);
+    @Query("DELETE FROM Ticket t WHERE " + WITH_ID)
+    int deleteTicket(@Param("ticketId") Long ticketId);
+
+    /**
+     * Retrieves the ID of the organization a ticket belongs to, without joining any other table.
+     *
+     * @param ticketId the ID of the ticket
+     * @return an Optional containing the organization ID, or empty if the ticket does not exist
+     */
+    @Query("SELECT t.organization.id FROM Ticket t WHERE " + WITH_ID)
+    Optional<Long> findOrganizationIdById(@Param("ticketId") Long ticketId);
 
 }
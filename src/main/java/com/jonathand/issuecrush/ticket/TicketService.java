@@ -1,24 +1,33 @@
 package com.jonathand.issuecrush.ticket;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jonathand.issuecrush.cache.ListingCountCache;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
 import com.jonathand.issuecrush.organization.Organization;
 import com.jonathand.issuecrush.organization.OrganizationAction;
+import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserNotFoundException;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
 import com.jonathand.issuecrush.ticket.body.TicketBody;
-import com.jonathand.issuecrush.ticket.body.TicketBodyRepository;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
 import com.jonathand.issuecrush.ticket.property.TicketPriority;
 import com.jonathand.issuecrush.ticket.property.TicketProperty;
-import com.jonathand.issuecrush.ticket.property.TicketPropertyRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -28,9 +37,7 @@ public class TicketService {
 
     private final TicketRepository ticketRepository;
 
-    private final TicketPropertyRepository ticketPropertyRepository;
-
-    private final TicketBodyRepository ticketBodyRepository;
+    private final TicketCommentRepository ticketCommentRepository;
 
     private final TicketDTOMapper ticketDTOMapper;
 
@@ -40,97 +47,84 @@ public class TicketService {
 
     private final TicketUtil ticketUtil;
 
-    /**
-     * Retrieves a page of tickets for the specified organization.
-     *
-     * @param organizationId the ID of the organization to retrieve tickets for
-     * @param pageable       pagination information
-     * @return a list of {@link TicketDTO} objects representing the tickets for the organization
-     */
-    // TODO TEST
-    public List<TicketDTO> getAllTicketsForOrganization(Long organizationId, Pageable pageable) {
-        // Validate organization exists
-        organizationUtil.validateOrganizationExistsById(organizationId);
+    private final ListingCountCache listingCountCache;
 
-        return ticketRepository.findAllTicketsForOrganization(organizationId, pageable)
-            .stream()
-            .map(ticketDTOMapper)
-            .collect(Collectors.toList());
-    }
+    private final TicketOrganizationResolver ticketOrganizationResolver;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final CustomQueryPlans customQueryPlans;
 
     /**
-     * Retrieves a page of tickets for the specified organization and organization user.
+     * Retrieves a slice of tickets for the specified organization matching the filters, in the specified order. Any
+     * combination of filters is read with a single statement.
      *
-     * @param organizationId     the ID of the organization to retrieve tickets for
-     * @param organizationUserId the ID of the organization user to filter tickets by
-     * @param pageable           pagination information
-     * @return a list of TicketDTO objects representing the tickets for the organization and organization user
+     * @param organizationId the ID of the organization to retrieve tickets for
+     * @param filter         the filters to apply
+     * @param sort           the order of the tickets
+     * @param pageable       pagination information, its sort is replaced by the specified order
+     * @return a slice of {@link TicketDTO} objects representing the tickets matching the filters
      */
-    // TODO TEST
-    public List<TicketDTO> getAllTicketsForOrganizationByOrganizationUser(Long organizationId, Long organizationUserId,
-                                                                          Pageable pageable) {
-        // Validate organization exists
-        organizationUtil.validateOrganizationExistsById(organizationId);
-
-        // Validate organization user exists
-        organizationUserUtil.validateOrganizationUserDoesExists(organizationUserId);
-
-        Page<Ticket> ticketPage = ticketRepository.findByOrganization_IdAndPublisher_Id(organizationId,
-            organizationUserId, pageable);
-
-        return ticketPage.stream()
-            .map(ticketDTOMapper)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Slice<TicketDTO> getTicketsForOrganization(Long organizationId, TicketFilter filter, TicketSort sort,
+                                                      Pageable pageable) {
+        // Validate organization and the filtered organization users exist
+        validateFilter(organizationId, filter);
+        planForFilter(filter);
+
+        return ticketRepository.findTicketDTOs(TicketSpecifications.matching(organizationId, filter),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.getSort()));
     }
 
     /**
-     * Retrieves a page of tickets for the specified organization filtered by title.
+     * Counts the tickets for the specified organization matching the filters. Listings never count, so the total is
+     * only computed for clients that ask for it and is cached for a short time.
      *
-     * @param organizationId the ID of the organization to retrieve tickets for
-     * @param title          the title to filter tickets by
-     * @param pageable       pagination information
-     * @return a list of TicketDTO objects representing the tickets for the organization filtered by title
+     * @param organizationId the ID of the organization to count tickets for
+     * @param filter         the filters to apply
+     * @return the total number of tickets matching the filters
      */
-    // TODO TEST
-    public List<TicketDTO> getAllTicketsForOrganizationByTitle(Long organizationId, String title, Pageable pageable) {
-        // Validate organization exists
-        organizationUtil.validateOrganizationExistsById(organizationId);
-
-        Page<Ticket> ticketPage = ticketRepository.findByOrganization_IdAndTicketBody_TitleContainsIgnoreCase(
-            organizationId, title, pageable);
-
-        return ticketPage.stream()
-            .map(ticketDTOMapper)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public long countTicketsForOrganization(Long organizationId, TicketFilter filter) {
+        return listingCountCache.count("tickets", organizationId, () -> {
+            planForFilter(filter);
+            return ticketRepository.countTickets(TicketSpecifications.matching(organizationId, filter));
+        }, filter);
     }
 
     /**
-     * Retrieves a page of tickets for the specified organization and organization user filtered by title.
+     * Retrieves the tickets for the specified organization matching the filters that come after a cursor, newest
+     * first. Unlike the offset based listings, a page costs the same no matter how deep it is and no count query is
+     * run.
      *
-     * @param organizationId     the ID of the organization to retrieve tickets for
-     * @param organizationUserId the ID of the organization user to retrieve tickets for
-     * @param title              the title to filter tickets by
-     * @param pageable           pagination information
-     * @return a list of TicketDTO objects representing the tickets for the organization and organization user
-     * filtered by title
+     * @param organizationId the ID of the organization to retrieve tickets for
+     * @param filter         the filters to apply
+     * @param after          the cursor token of the previous page, or null for the first page
+     * @param size           the number of tickets per page
+     * @return a {@link TicketCursorPage} with the tickets and the cursor token of the next page
      */
-    // TODO TEST
-    public List<TicketDTO> getAllTicketsForOrganizationByTitleAndByOrganizationUser(Long organizationId,
-                                                                                    Long organizationUserId,
-                                                                                    String title, Pageable pageable) {
-        // Validate organization exists
-        organizationUtil.validateOrganizationExistsById(organizationId);
-
-        // Validate organization user exists
-        organizationUserUtil.validateOrganizationUserDoesExists(organizationUserId);
-
-        Page<Ticket> ticketPage =
-            ticketRepository.findByOrganization_IdAndPublisher_IdAndTicketBody_TitleContainsIgnoreCase(
-                organizationId, organizationUserId, title, pageable);
+    @Transactional(readOnly = true)
+    public TicketCursorPage getTicketsForOrganizationAfter(Long organizationId, TicketFilter filter, String after,
+                                                           int size) {
+        // Decode the cursor before anything is read
+        TicketCursor cursor = TicketCursor.decode(after);
+
+        // Validate organization and the filtered organization users exist
+        validateFilter(organizationId, filter);
+        planForFilter(filter);
+
+        Slice<TicketDTO> tickets = ticketRepository.findTicketDTOs(TicketSpecifications.matching(organizationId, filter)
+            .and(TicketSpecifications.after(cursor)), PageRequest.of(0, size, TicketSort.NEWEST.getSort()));
+
+        // The next page starts after the last ticket of this page
+        String nextCursor = null;
+        if (tickets.hasNext()) {
+            nextCursor = TicketCursor.of(tickets.getContent()
+                    .get(size - 1))
+                .encode();
+        }
 
-        return ticketPage.stream()
-            .map(ticketDTOMapper)
-            .collect(Collectors.toList());
+        return new TicketCursorPage(tickets.getContent(), nextCursor);
     }
 
     /**
@@ -142,50 +136,48 @@ public class TicketService {
      * @return the created TicketDTO object
      */
     public TicketDTO createTicket(Long organizationId, String email, TicketCreateRequest ticketCreateRequest) {
-        // Retrieve organization
-        Organization organization = organizationUtil.getOrganizationById(organizationId);
-
-        // The user trying to create the ticket
-        OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
-            email,
-            organizationId);
-
-        // Create ticket body
-        TicketBody ticketBody = TicketBody.builder()
-            .title(ticketCreateRequest.title())
-            .content(ticketCreateRequest.content())
-            .build();
-
-        // Save ticket body
-        ticketBodyRepository.save(ticketBody);
-
-        // Construct the ticket priority from create request
-        TicketPriority ticketPriority = TicketPriority.fromString(ticketCreateRequest.priority());
-
-        // Construct the ticket department from create request
-        TicketDepartment ticketDepartment = TicketDepartment.fromString(ticketCreateRequest.department());
-
-        // Create ticket property
-        TicketProperty ticketProperty = TicketProperty.builder()
-            .priority(ticketPriority)
-            .department(ticketDepartment)
-            .build();
-
-        // Save ticket property
-        ticketPropertyRepository.save(ticketProperty);
-
-        // Crate ticket
-        Ticket ticket = Ticket.builder()
-            .organization(organization)
-            .publisher(organizationUser)
-            .open(ticketCreateRequest.open())
-            .ticketBody(ticketBody)
-            .ticketProperty(ticketProperty)
-            .build();
-
-        // Save ticket
-        ticketRepository.save(ticket);
-        return ticketDTOMapper.apply(ticket);
+        Ticket createdTicket = new TransactionTemplate(transactionManager).execute(status -> {
+            // Retrieve organization
+            Organization organization = organizationUtil.getOrganizationById(organizationId);
+
+            // The user trying to create the ticket
+            OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
+                email,
+                organizationId);
+
+            // Create ticket body
+            TicketBody ticketBody = TicketBody.builder()
+                .title(ticketCreateRequest.title())
+                .build();
+
+            // Construct the ticket priority from create request
+            TicketPriority ticketPriority = TicketPriority.fromString(ticketCreateRequest.priority());
+
+            // Construct the ticket department from create request
+            TicketDepartment ticketDepartment = TicketDepartment.fromString(ticketCreateRequest.department());
+
+            // Create ticket property
+            TicketProperty ticketProperty = TicketProperty.builder()
+                .priority(ticketPriority)
+                .department(ticketDepartment)
+                .build();
+
+            // Crate ticket
+            Ticket ticket = Ticket.builder()
+                .organization(organization)
+                .publisher(organizationUser)
+                .open(ticketCreateRequest.open())
+                .ticketBody(ticketBody)
+                .content(ticketCreateRequest.content())
+                .ticketProperty(ticketProperty)
+                .build();
+
+            // Save ticket, its body and property are inserted with it
+            return ticketRepository.save(ticket);
+        });
+
+        // Map the committed ticket, everything the mapper reads is loaded
+        return ticketDTOMapper.apply(createdTicket);
     }
 
     /**
@@ -194,6 +186,7 @@ public class TicketService {
      * @param ticketId the ID of the ticket to retrieve
      * @return the TicketDTO object representing the retrieved ticket
      */
+    @Transactional(readOnly = true)
     public TicketDTO getTicket(Long ticketId) {
         // Retrieve ticket
         Ticket ticket = ticketUtil.getTicketById(ticketId);
@@ -205,67 +198,139 @@ public class TicketService {
      *
      * @param ticketId            the ID of the ticket to update
      * @param ticketUpdateRequest the TicketUpdateRequest containing the update information
+     * @param expectedVersion     the version the client read the ticket with, or null to update any version
      * @return the TicketDTO object representing the updated ticket
      */
-    public TicketDTO updateTicket(Long ticketId, TicketUpdateRequest ticketUpdateRequest) {
-        // Validate user have permission to update ticket
-        ticketUtil.validateUserAuthorizationForTicketAction(OrganizationAction.UPDATE_TICKET,
-            ticketUpdateRequest.organizationUserId(), ticketId);
-
-        Ticket ticket = ticketUtil.getTicketById(ticketId);
-
-        // Update title if present
-        if (ticketUpdateRequest.title() != null) {
-            ticket.getTicketBody()
-                .setTitle(ticketUpdateRequest.title());
-        }
-
-        // Update content if present
-        if (ticketUpdateRequest.content() != null) {
-            ticket.getTicketBody()
-                .setContent(ticketUpdateRequest.content());
-        }
-
-        // Update priority if present
-        if (ticketUpdateRequest.priority() != null) {
-            TicketPriority ticketPriority = TicketPriority.fromString(ticketUpdateRequest.priority());
-            ticket.getTicketProperty()
-                .setPriority(ticketPriority);
-        }
-
-        // Update department if present
-        if (ticketUpdateRequest.department() != null) {
-            TicketDepartment ticketDepartment = TicketDepartment.fromString(ticketUpdateRequest.department());
-            ticket.getTicketProperty()
-                .setDepartment(ticketDepartment);
-        }
+    public TicketDTO updateTicket(Long ticketId, TicketUpdateRequest ticketUpdateRequest, Long expectedVersion) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Validate user have permission to update ticket
+            ticketUtil.validateUserAuthorizationForTicketAction(OrganizationAction.UPDATE_TICKET,
+                ticketUpdateRequest.organizationUserId(), ticketId);
+
+            Ticket ticket = ticketUtil.getTicketById(ticketId);
+
+            // Validate nobody updated the ticket since the client read it. A concurrent update between here and the
+            // update is caught by the version in the WHERE clause of the UPDATE
+            ticketUtil.validateTicketVersion(ticket, expectedVersion);
+
+            Map<String, Object> values = new LinkedHashMap<>();
+
+            // Update title if present
+            if (ticketUpdateRequest.title() != null) {
+                values.put("ticketBody.title", ticketUpdateRequest.title());
+            }
+
+            // Update content if present
+            if (ticketUpdateRequest.content() != null) {
+                values.put("content", ticketUpdateRequest.content());
+            }
+
+            // Update priority if present
+            if (ticketUpdateRequest.priority() != null) {
+                values.put("ticketProperty.priority", TicketPriority.fromString(ticketUpdateRequest.priority()));
+            }
+
+            // Update department if present
+            if (ticketUpdateRequest.department() != null) {
+                values.put("ticketProperty.department",
+                    TicketDepartment.fromString(ticketUpdateRequest.department()));
+            }
+
+            // Set open status
+            if (ticketUpdateRequest.open() != null) {
+                values.put("open", ticketUpdateRequest.open());
+            }
+
+            Long assignedAgentId = ticketUpdateRequest.assigned_agent();
+
+            // If assigned agent id is null, then set it to null
+            // TODO IMPROVE THIS
+            if (assignedAgentId != null) {
+                organizationUserRepository.findById(assignedAgentId)
+                    .ifPresent(user -> values.put("ticketProperty.assigned_agent", user));
+            } else {
+                values.put("ticketProperty.assigned_agent", null);
+            }
+
+            // Write the changed columns of the ticket in one statement that only reads its partition, and only while
+            // it has the version it was read with. The version is incremented by the update
+            Specification<Ticket> specification = TicketSpecifications.withId(ticketId);
+            Specification<Ticket> readVersion = specification.and(
+                TicketSpecifications.hasVersion(ticket.getVersion()));
+            if (ticketRepository.updateTickets(readVersion, values) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Ticket.class, ticketId);
+            }
+
+            // Read the updated ticket, which has the incremented version
+            return ticketRepository.findTicketDTOs(specification, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TicketNotFoundException(ticketId));
+        });
+    }
 
-        // Set open status
-        if (ticketUpdateRequest.open() != null) {
-            ticket.setOpen(ticketUpdateRequest.open());
+    /**
+     * Applies a JSON Merge Patch to the ticket with the specified ID. Only the fields present in the patch are
+     * changed and a field set to null is cleared. The changed columns are written with a single UPDATE statement,
+     * without loading the ticket or the assigned agent.
+     * <p>
+     * As with {@link #updateTicket}, a user without the role required to update tickets can only patch the tickets it
+     * published.
+     *
+     * @param ticketId        the ID of the ticket to patch
+     * @param email           the email of the user patching the ticket
+     * @param patch           the merge patch, a JSON object with the fields to change
+     * @param expectedVersion the version the client read the ticket with, or null to patch any version
+     * @return the TicketDTO object representing the patched ticket
+     */
+    public TicketDTO patchTicket(Long ticketId, String email, JsonNode patch, Long expectedVersion) {
+        // Resolve the organization of the ticket, cached like the authorization of the endpoint
+        Long organizationId = ticketOrganizationResolver.findOrganizationIdForTicket(ticketId)
+            .orElseThrow(() -> new TicketNotFoundException(ticketId));
+
+        // Construct the changed attributes from the patch
+        Map<String, Object> values = readPatch(organizationId, patch);
+
+        // Match the ticket, and only while it has the version the client read it with
+        Specification<Ticket> specification = TicketSpecifications.withId(ticketId);
+        if (expectedVersion != null) {
+            specification = specification.and(TicketSpecifications.hasVersion(expectedVersion));
         }
 
-        Long assignedAgentId = ticketUpdateRequest.assigned_agent();
-
-        // If assigned agent id is null, then set it to null
-        // TODO IMPROVE THIS
-        Optional<OrganizationUser> assignedUserAgent;
-        if (assignedAgentId != null) {
-            assignedUserAgent = organizationUserRepository.findById(assignedAgentId);
-            assignedUserAgent.ifPresent(user -> ticket.getTicketProperty()
-                .setAssigned_agent(user));
-        } else {
-            ticket.getTicketProperty()
-                .setAssigned_agent(null);
+        // A user without the role required to update tickets can only patch the tickets it published
+        OrganizationRole roleRequired = OrganizationAction.UPDATE_TICKET.getRoleRequired();
+        boolean hasPermission = organizationUserUtil.findOrganizationRole(email, organizationId)
+            .orElseThrow(OrganizationUserNotFoundException::new)
+            .hasGreaterOrEqualPriorityThan(roleRequired);
+        if (!hasPermission) {
+            OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(email,
+                organizationId);
+            specification = specification.and(TicketSpecifications.publishedBy(organizationUser.getId()));
         }
 
-        // Save ticket
-        ticketRepository.save(ticket);
-        return ticketDTOMapper.apply(ticket);
+        // Write the changed columns and read the patched ticket in the same transaction
+        Specification<Ticket> patchedTickets = specification;
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Write the changed columns in one statement
+            if (ticketRepository.updateTickets(patchedTickets, values) == 0) {
+                // Nothing was updated, find out if the ticket is gone, was updated by someone else or is not the
+                // user's
+                Ticket ticket = ticketUtil.getTicketById(ticketId);
+                ticketUtil.validateTicketVersion(ticket, expectedVersion);
+                throw new TicketUnauthorizedActionException(roleRequired);
+            }
+
+            // Read the patched ticket in one statement
+            return ticketRepository.findTicketDTOs(TicketSpecifications.withId(ticketId), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TicketNotFoundException(ticketId));
+        });
     }
 
     /**
-     * Deletes the ticket with the specified ID if the user has permission to do so.
+     * Deletes the ticket with the specified ID if the user has permission to do so. The comments and the ticket are
+     * deleted with one statement each in one transaction, however many comments the ticket has.
      *
      * @param ticketId           the ID of the ticket to delete
      * @param organizationUserId the ID of the organization user attempting to delete the ticket
@@ -276,9 +341,84 @@ public class TicketService {
         ticketUtil.validateUserAuthorizationForTicketAction(OrganizationAction.DELETE_TICKET, organizationUserId,
             ticketId);
 
-        // Delete ticket
-        ticketRepository.deleteById(ticketId);
+        // Delete ticket, its comments first
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ticketCommentRepository.deleteTicketCommentsByTicket(ticketId);
+            ticketRepository.deleteTicket(ticketId);
+        });
         return ticketId;
     }
 
+    private Map<String, Object> readPatch(Long organizationId, JsonNode patch) {
+        if (patch == null || !patch.isObject() || patch.isEmpty()) {
+            throw new TicketPatchInvalidException("the patch must be a JSON object with at least one field");
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        patch.fields()
+            .forEachRemaining(field -> {
+                String name = field.getKey();
+                JsonNode value = field.getValue();
+                switch (name) {
+                    case "title" -> values.put("ticketBody.title", requireText(name, value));
+                    case "content" -> values.put("content", requireText(name, value));
+                    case "priority" -> values.put("ticketProperty.priority",
+                        TicketPriority.fromString(requireText(name, value)));
+                    case "department" -> values.put("ticketProperty.department",
+                        TicketDepartment.fromString(requireText(name, value)));
+                    case "open" -> {
+                        if (!value.isBoolean()) {
+                            throw new TicketPatchInvalidException(name + " must be true or false");
+                        }
+                        values.put("open", value.booleanValue());
+                    }
+                    case "assignedAgentId" -> values.put("ticketProperty.assigned_agent",
+                        value.isNull() ? null : getAssignedAgentReference(organizationId, value));
+                    default -> throw new TicketPatchInvalidException(name + " cannot be patched");
+                }
+            });
+        return values;
+    }
+
+    private String requireText(String name, JsonNode value) {
+        if (!value.isTextual() || value.asText()
+            .isBlank()) {
+            throw new TicketPatchInvalidException(name + " must be a non-blank string");
+        }
+        return value.asText();
+    }
+
+    private OrganizationUser getAssignedAgentReference(Long organizationId, JsonNode assignedAgentId) {
+        if (!assignedAgentId.canConvertToExactIntegral()) {
+            throw new TicketPatchInvalidException("assignedAgentId must be the ID of an organization user or null");
+        }
+
+        // The agent must be a member of the organization of the ticket. Only its ID is written, so it is not loaded
+        long agentId = assignedAgentId.longValue();
+        if (!organizationUserRepository.existsByIdAndOrganization_Id(agentId, organizationId)) {
+            throw new OrganizationUserNotFoundException();
+        }
+        return organizationUserRepository.getReferenceById(agentId);
+    }
+
+    private void planForFilter(TicketFilter filter) {
+        // A title is matched with its trigram index, planned for the size of the organization it is searched in
+        if (filter.title() != null) {
+            customQueryPlans.useForCurrentTransaction();
+        }
+    }
+
+    private void validateFilter(Long organizationId, TicketFilter filter) {
+        // Validate organization exists
+        organizationUtil.validateOrganizationExistsById(organizationId);
+
+        // Validate the organization users filtered by exist
+        if (filter.publisherId() != null) {
+            organizationUserUtil.validateOrganizationUserDoesExists(filter.publisherId());
+        }
+        if (filter.assignedAgentId() != null) {
+            organizationUserUtil.validateOrganizationUserDoesExists(filter.assignedAgentId());
+        }
+    }
+
 }
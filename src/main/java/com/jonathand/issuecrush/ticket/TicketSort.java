@@ -0,0 +1,34 @@
+package com.jonathand.issuecrush.ticket;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * The orderings a ticket listing can be sorted by. Each one is served by an index on
+ * {@code (organization_id, <column> DESC, id DESC)}, read forwards or backwards, so no listing sorts the tickets of a
+ * whole organization in memory. The ID breaks ties between tickets with the same timestamp, which keeps pages stable.
+ */
+public enum TicketSort {
+    NEWEST(Sort.by(Sort.Direction.DESC, "createdAt", "id")),
+    OLDEST(Sort.by(Sort.Direction.ASC, "createdAt", "id")),
+    RECENTLY_UPDATED(Sort.by(Sort.Direction.DESC, "updatedAt", "id")),
+    LEAST_RECENTLY_UPDATED(Sort.by(Sort.Direction.ASC, "updatedAt", "id")),
+    ;
+
+    private final Sort sort;
+
+    TicketSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public static TicketSort fromString(String sortArgument) {
+        try {
+            return TicketSort.valueOf(sortArgument.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new TicketSortNotAllowedException(sortArgument.toUpperCase());
+        }
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket;
+
+public class TicketSortNotAllowedException extends RuntimeException {
+
+    public TicketSortNotAllowedException(String sortArgument) {
+        super("Sorting tickets by " + sortArgument + " is not allowed...");
+    }
+
+}
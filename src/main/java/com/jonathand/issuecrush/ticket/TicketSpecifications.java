@@ -0,0 +1,172 @@
+package com.jonathand.issuecrush.ticket;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+/**
+ * Builds the WHERE clause of the ticket listings from a {@link TicketFilter}, one specification per filter. The ticket
+ * body and the ticket property are stored in the ticket row, so no filter joins another table.
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    /**
+     * Matches the tickets of an organization that pass every filter that is set.
+     *
+     * @param organizationId the ID of the organization
+     * @param filter         the filters to apply
+     * @return the specification
+     */
+    public static Specification<Ticket> matching(Long organizationId, TicketFilter filter) {
+        Specification<Ticket> specification = Specification.where(inOrganization(organizationId));
+
+        if (filter.title() != null) {
+            specification = specification.and(titleContains(filter.title()));
+        }
+        if (filter.publisherId() != null) {
+            specification = specification.and(publishedBy(filter.publisherId()));
+        }
+        if (filter.open() != null) {
+            specification = specification.and(isOpen(filter.open()));
+        }
+        if (filter.priority() != null) {
+            specification = specification.and((root, query, builder) -> builder.equal(
+                root.get("ticketProperty")
+                    .get("priority"), filter.priority()));
+        }
+        if (filter.department() != null) {
+            specification = specification.and((root, query, builder) -> builder.equal(
+                root.get("ticketProperty")
+                    .get("department"), filter.department()));
+        }
+        if (filter.assignedAgentId() != null) {
+            specification = specification.and((root, query, builder) -> builder.equal(
+                root.get("ticketProperty")
+                    .get("assigned_agent")
+                    .get("id"), filter.assignedAgentId()));
+        }
+        if (filter.createdFrom() != null || filter.createdTo() != null) {
+            specification = specification.and(between("createdAt", filter.createdFrom(), filter.createdTo()));
+        }
+        if (filter.updatedFrom() != null || filter.updatedTo() != null) {
+            specification = specification.and(between("updatedAt", filter.updatedFrom(), filter.updatedTo()));
+        }
+        return specification;
+    }
+
+    /**
+     * Matches the tickets that come after a cursor, newest first.
+     * <p>
+     * The Criteria API has no row value comparison, so {@code (createdAt, id) < (cursor)} is written as
+     * {@code createdAt <= cursor AND (createdAt < cursor OR id < cursor)}. The first condition alone is enough for
+     * Postgres to start the index scan at the cursor, the second only drops the tickets created in the same instant.
+     *
+     * @param cursor the cursor of the previous page
+     * @return the specification
+     */
+    public static Specification<Ticket> after(TicketCursor cursor) {
+        return (root, query, builder) -> {
+            Date createdAt = cursor.createdAtAsDate();
+            return builder.and(builder.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                builder.or(builder.lessThan(root.get("createdAt"), createdAt),
+                    builder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    /**
+     * Matches the tickets published by an organization user.
+     *
+     * @param publisherId the ID of the organization user that published the tickets
+     * @return the specification
+     */
+    public static Specification<Ticket> publishedBy(Long publisherId) {
+        return (root, query, builder) -> builder.equal(root.get("publisher")
+            .get("id"), publisherId);
+    }
+
+    /**
+     * Matches the tickets with one of the specified IDs.
+     *
+     * @param ticketIds the IDs of the tickets
+     * @return the specification
+     */
+    public static Specification<Ticket> withIds(Collection<Long> ticketIds) {
+        return (root, query, builder) -> root.get("id")
+            .in(ticketIds);
+    }
+
+    /**
+     * Matches the ticket with the specified ID. The partition keys of the ticket are looked up in
+     * {@link TicketLocation} by subqueries, so Postgres only reads the partition of the ticket instead of probing the
+     * primary key of every partition.
+     *
+     * @param ticketId the ID of the ticket
+     * @return the specification
+     */
+    public static Specification<Ticket> withId(Long ticketId) {
+        return (root, query, builder) -> builder.and(builder.equal(root.get("id"), ticketId),
+            builder.equal(root.get("createdAt"), location(query, builder, ticketId, "createdAt", Date.class)),
+            builder.equal(root.get("archived"), location(query, builder, ticketId, "archived", Boolean.class)));
+    }
+
+    /**
+     * Matches the tickets that still have the specified version.
+     *
+     * @param version the version of the tickets
+     * @return the specification
+     */
+    public static Specification<Ticket> hasVersion(Long version) {
+        return (root, query, builder) -> builder.equal(root.get("version"), version);
+    }
+
+    private static <T> Subquery<T> location(CriteriaQuery<?> query, CriteriaBuilder builder, Long ticketId,
+                                            String attribute, Class<T> type) {
+        Subquery<T> subquery = query.subquery(type);
+        Root<TicketLocation> location = subquery.from(TicketLocation.class);
+        return subquery.select(location.get(attribute))
+            .where(builder.equal(location.get("id"), ticketId));
+    }
+
+    private static Specification<Ticket> inOrganization(Long organizationId) {
+        return (root, query, builder) -> builder.equal(root.get("organization")
+            .get("id"), organizationId);
+    }
+
+    private static Specification<Ticket> titleContains(String title) {
+        // Same expression as the trigram index on tickets, see db/trigram.sql. The pattern is bound as a
+        // parameter, a literal would be inlined and give every title its own statement
+        String pattern = "%" + EscapeCharacter.DEFAULT.escape(title) + "%";
+        return (root, query, builder) -> builder.like(builder.upper(root.get("ticketBody")
+                .get("title")),
+            builder.upper(((HibernateCriteriaBuilder) builder).value(pattern)), '\\');
+    }
+
+    private static Specification<Ticket> isOpen(boolean open) {
+        return (root, query, builder) -> open ? builder.isTrue(root.get("open")) : builder.isFalse(root.get("open"));
+    }
+
+    private static Specification<Ticket> between(String attribute, Instant from, Instant to) {
+        return (root, query, builder) -> {
+            if (from == null) {
+                return builder.lessThan(root.get(attribute), Timestamp.from(to));
+            } else if (to == null) {
+                return builder.greaterThanOrEqualTo(root.get(attribute), Timestamp.from(from));
+            }
+            return builder.and(builder.greaterThanOrEqualTo(root.get(attribute), Timestamp.from(from)),
+                builder.lessThan(root.get(attribute), Timestamp.from(to)));
+        };
+    }
+
+}
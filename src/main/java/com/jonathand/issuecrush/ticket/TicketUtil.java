@@ -4,6 +4,7 @@ import com.jonathand.issuecrush.organization.OrganizationAction;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
+import com.jonathand.issuecrush.response.ResponsePreconditionFailedException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class TicketUtil {
@@ -62,4 +63,18 @@ public class TicketUtil {
         }
     }
 
+    /**
+     * Validates that a ticket still has the version a client read it with.
+     *
+     * @param ticket          the ticket to validate
+     * @param expectedVersion the version of the If-Match header, or null if any version matches
+     * @throws ResponsePreconditionFailedException if the ticket has another version
+     */
+    public void validateTicketVersion(Ticket ticket, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(ticket.getVersion())) {
+            throw new ResponsePreconditionFailedException(
+                "Ticket with id " + ticket.getId() + " was updated by someone else, read it again before updating it");
+        }
+    }
+
 }
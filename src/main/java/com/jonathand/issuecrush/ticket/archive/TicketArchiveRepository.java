@@ -0,0 +1,100 @@
+package com.jonathand.issuecrush.ticket.archive;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintains the partitions of the tickets and ticket comments described in {@code db/partitions.sql}. The partitions
+ * are not mapped by Hibernate and the {@code archived} column is only read by it, so they are managed with plain SQL.
+ * The queries work the same before the tables are partitioned, see {@code db/migrations/partition-tickets.sql}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketArchiveRepository {
+
+    private static final String CREATE_PARTITIONS_QUERY = """
+        SELECT create_monthly_partitions(:table, localtimestamp, localtimestamp + make_interval(months => :months))
+        """;
+
+    private static final String TICKET_IDS_TO_ARCHIVE_QUERY = """
+        SELECT id
+        FROM tickets
+        WHERE NOT archived
+        AND NOT open
+        AND updated_at < :closedBefore
+        LIMIT :limit
+        """;
+
+    private static final String ARCHIVE_TICKET_COMMENTS_QUERY = """
+        UPDATE ticket_comments
+        SET archived = true
+        WHERE ticket_id IN (:ticketIds)
+        AND NOT archived
+        """;
+
+    private static final String ARCHIVE_TICKETS_QUERY = """
+        UPDATE tickets
+        SET archived = true
+        WHERE id IN (:ticketIds)
+        AND NOT archived
+        AND NOT open
+        RETURNING id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partitions of a table for the current month and the months after it, unless they exist or the table
+     * is not partitioned yet.
+     *
+     * @param table  the partitioned table, tickets or ticket_comments
+     * @param months the number of months after the current one
+     */
+    public void createPartitions(String table, int months) {
+        jdbcTemplate.queryForRowSet(CREATE_PARTITIONS_QUERY, Map.of("table", table, "months", months));
+    }
+
+    /**
+     * Finds the IDs of tickets that were closed and have not been updated since a point in time, and are not archived.
+     *
+     * @param closedBefore the point in time
+     * @param limit        the maximum number of IDs to find
+     * @return the IDs of the tickets
+     */
+    public List<Long> findTicketIdsToArchive(Instant closedBefore, int limit) {
+        return jdbcTemplate.queryForList(TICKET_IDS_TO_ARCHIVE_QUERY,
+            new MapSqlParameterSource("closedBefore", Timestamp.from(closedBefore)).addValue("limit", limit),
+            Long.class);
+    }
+
+    /**
+     * Moves tickets to the archive partition of the tickets. A ticket reopened since it was found is left where it
+     * is.
+     *
+     * @param ticketIds the IDs of the tickets
+     * @return the IDs of the tickets archived
+     */
+    public List<Long> archiveTickets(Collection<Long> ticketIds) {
+        return jdbcTemplate.queryForList(ARCHIVE_TICKETS_QUERY, Map.of("ticketIds", ticketIds), Long.class);
+    }
+
+    /**
+     * Moves the comments of tickets to the archive partition of the ticket comments. Only the comments of tickets
+     * archived by {@link #archiveTickets} are moved, so a reopened ticket keeps its comments next to it.
+     *
+     * @param ticketIds the IDs of the archived tickets
+     * @return the number of comments archived
+     */
+    public int archiveTicketComments(Collection<Long> ticketIds) {
+        return jdbcTemplate.update(ARCHIVE_TICKET_COMMENTS_QUERY, Map.of("ticketIds", ticketIds));
+    }
+
+}
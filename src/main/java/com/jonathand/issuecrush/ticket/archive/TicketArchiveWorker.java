@@ -0,0 +1,153 @@
+package com.jonathand.issuecrush.ticket.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the partitions of the tickets and ticket comments created by {@code db/partitions.sql}, on a single
+ * background thread.
+ * <p>
+ * On start and then at a fixed interval, it creates the partitions of the coming months, so new rows never land in
+ * the default partitions, and moves the tickets closed for longer than the working set to the archive partitions
+ * together with their comments. The tickets are archived a chunk at a time, each chunk in its own short transaction.
+ * Every node does the same, which is harmless, as a partition is only created once and a ticket only archived once.
+ */
+@Slf4j
+@Component
+public class TicketArchiveWorker implements SmartLifecycle {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("tickets", "ticket_comments");
+
+    private final TicketArchiveRepository ticketArchiveRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final Duration closedFor;
+
+    private final int chunkSize;
+
+    private final long intervalMillis;
+
+    private final int monthsAhead;
+
+    private volatile boolean running;
+
+    private ScheduledExecutorService executor;
+
+    public TicketArchiveWorker(
+        TicketArchiveRepository ticketArchiveRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${ticket.archive.closed-for}") Duration closedFor,
+        @Value("${ticket.archive.chunk-size}") int chunkSize,
+        @Value("${ticket.archive.interval}") Duration interval,
+        @Value("${ticket.archive.months-ahead}") int monthsAhead) {
+        this.ticketArchiveRepository = ticketArchiveRepository;
+        this.transactionManager = transactionManager;
+        this.closedFor = closedFor;
+        this.chunkSize = chunkSize;
+        this.intervalMillis = interval.toMillis();
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::maintain, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService stoppedExecutor;
+        synchronized (this) {
+            running = false;
+            stoppedExecutor = executor;
+            executor = null;
+        }
+
+        if (stoppedExecutor != null) {
+            // The archiving in progress stops after its current chunk
+            stoppedExecutor.shutdownNow();
+            try {
+                stoppedExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Creates the partitions of the coming months, then archives the tickets closed for longer than configured. A step
+     * that fails is logged and tried again at the next interval.
+     */
+    void maintain() {
+        try {
+            PARTITIONED_TABLES.forEach(table -> ticketArchiveRepository.createPartitions(table, monthsAhead));
+        } catch (RuntimeException exception) {
+            // Fails when the default partition already holds rows of a month, which must be moved by hand
+            log.warn("Creating the partitions of the next {} months failed", monthsAhead, exception);
+        }
+
+        try {
+            int ticketsArchived = archiveClosedTickets(Instant.now()
+                .minus(closedFor));
+            if (ticketsArchived > 0) {
+                log.info("Archived {} tickets closed for longer than {}", ticketsArchived, closedFor);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Archiving the tickets closed for longer than {} failed", closedFor, exception);
+        }
+    }
+
+    private int archiveClosedTickets(Instant closedBefore) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int ticketsArchived = 0;
+        while (running) {
+            List<Long> ticketIds = transactionTemplate.execute(status -> {
+                List<Long> chunk = ticketArchiveRepository.findTicketIdsToArchive(closedBefore, chunkSize);
+                if (!chunk.isEmpty()) {
+                    // The comments of the tickets reopened since the chunk was found stay where they are
+                    List<Long> archivedTicketIds = ticketArchiveRepository.archiveTickets(chunk);
+                    if (!archivedTicketIds.isEmpty()) {
+                        ticketArchiveRepository.archiveTicketComments(archivedTicketIds);
+                    }
+                }
+                return chunk;
+            });
+            ticketsArchived += ticketIds.size();
+
+            // A short chunk was the last one
+            if (ticketIds.size() < chunkSize) {
+                break;
+            }
+        }
+        return ticketsArchived;
+    }
+
+}
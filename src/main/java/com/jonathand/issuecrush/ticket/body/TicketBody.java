@@ -1,11 +1,7 @@
 package com.jonathand.issuecrush.ticket.body;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
+import jakarta.persistence.Embeddable;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,19 +16,11 @@ import lombok.ToString;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Entity
-@Table(name = "ticket_bodies")
+@Embeddable
 public class TicketBody {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
     @NotBlank(message = "Title must not be blank")
+    @Column(name = "title")
     private String title;
 
-    @NotBlank(message = "Content must not be blank")
-    @Column(columnDefinition = "TEXT")
-    private String content;
-
 }
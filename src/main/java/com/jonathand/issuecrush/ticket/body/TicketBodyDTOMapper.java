@@ -2,11 +2,18 @@ package com.jonathand.issuecrush.ticket.body;
 
 import java.util.function.Function;
 
-public class TicketBodyDTOMapper implements Function<TicketBody, TicketBodyDTO> {
+import com.jonathand.issuecrush.ticket.Ticket;
+
+/**
+ * Maps the body of a ticket. The body is stored in the ticket row, so it is identified by the ID of the ticket. Reads
+ * the content, which loads it if it was not loaded yet.
+ */
+public class TicketBodyDTOMapper implements Function<Ticket, TicketBodyDTO> {
 
     @Override
-    public TicketBodyDTO apply(TicketBody ticket) {
-        return new TicketBodyDTO(ticket.getId(), ticket.getTitle(), ticket.getContent());
+    public TicketBodyDTO apply(Ticket ticket) {
+        return new TicketBodyDTO(ticket.getId(), ticket.getTicketBody()
+            .getTitle(), ticket.getContent());
     }
 
 }
@@ -4,6 +4,7 @@ import com.jonathand.issuecrush.ticket.Ticket;
 import com.jonathand.issuecrush.ticket.TicketUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +20,10 @@ public class TicketBodyService {
      * @param ticketId the ID of the ticket
      * @return the ticket body DTO associated with the ticket
      */
+    @Transactional(readOnly = true)
     public TicketBodyDTO getTicketBodyForTicket(Long ticketId) {
         Ticket ticket = ticketUtil.getTicketById(ticketId);
-        return ticketBodyDTOMapper.apply(ticket.getTicketBody());
+        return ticketBodyDTOMapper.apply(ticket);
     }
 
 }
@@ -0,0 +1,32 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+/**
+ * The changes a bulk update can apply to tickets, each setting a single attribute of the ticket.
+ */
+public enum TicketBulkAction {
+    CLOSE("open"),
+    REOPEN("open"),
+    REPRIORITIZE("ticketProperty.priority"),
+    CHANGE_DEPARTMENT("ticketProperty.department"),
+    ASSIGN("ticketProperty.assigned_agent"),
+    UNASSIGN("ticketProperty.assigned_agent"),
+    ;
+
+    private final String attribute;
+
+    TicketBulkAction(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public static TicketBulkAction fromString(String actionArgument) {
+        try {
+            return TicketBulkAction.valueOf(actionArgument.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new TicketBulkActionNotFoundException(actionArgument.toUpperCase());
+        }
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
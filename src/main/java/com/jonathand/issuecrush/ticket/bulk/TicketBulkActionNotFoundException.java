@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+public class TicketBulkActionNotFoundException extends RuntimeException {
+
+    public TicketBulkActionNotFoundException(String actionArgument) {
+        super("The bulk action " + actionArgument + " was not found...");
+    }
+
+}
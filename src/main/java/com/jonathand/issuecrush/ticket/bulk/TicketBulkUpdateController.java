@@ -0,0 +1,49 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.security.Principal;
+
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.response.APIResponseUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/tickets")
+public class TicketBulkUpdateController {
+
+    private final TicketBulkUpdateService ticketBulkUpdateService;
+
+    private final APIResponseUtil apiResponseUtil;
+
+    /**
+     * Applies one change to many tickets of the specified organization, selected by their IDs or by a filter.
+     *
+     * @param organizationId          the ID of the organization the tickets belong to
+     * @param ticketBulkUpdateRequest the change and the tickets to apply it to
+     * @param principal               the Principal representing the authenticated user
+     * @return a ResponseEntity containing the APIResponse with the number of updated tickets
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
+    @PostMapping("organization/{organizationId}/bulk")
+    public ResponseEntity<APIResponse<TicketBulkUpdateResultDTO>> updateTicketsForOrganization(
+        @PathVariable("organizationId") Long organizationId,
+        @Valid @RequestBody TicketBulkUpdateRequest ticketBulkUpdateRequest,
+        Principal principal) {
+        // Update the tickets
+        TicketBulkUpdateResultDTO result = ticketBulkUpdateService.updateTickets(organizationId,
+            principal.getName(), ticketBulkUpdateRequest);
+
+        // Build success response with the number of updated tickets
+        APIResponse<TicketBulkUpdateResultDTO> response = apiResponseUtil.buildSuccessResponse(result);
+        return ResponseEntity.ok(response);
+    }
+
+}
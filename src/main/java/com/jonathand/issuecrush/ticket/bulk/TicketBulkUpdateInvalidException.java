@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+public class TicketBulkUpdateInvalidException extends RuntimeException {
+
+    public TicketBulkUpdateInvalidException(String reason) {
+        super("The bulk update is invalid: " + reason + "...");
+    }
+
+}
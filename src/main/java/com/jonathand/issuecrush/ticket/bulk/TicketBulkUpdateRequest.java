@@ -0,0 +1,36 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.util.List;
+
+import com.jonathand.issuecrush.ticket.TicketFilter;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * A change applied to many tickets at once. The tickets are selected either by their IDs or by a filter, and the
+ * value the action needs is read from the matching field: the priority to reprioritize, the department to change
+ * department and the assigned agent to assign.
+ *
+ * @param action          one of {@link TicketBulkAction}
+ * @param priority        the priority to set
+ * @param department      the department to set
+ * @param assignedAgentId the ID of the organization user to assign the tickets to
+ * @param ticketIds       the IDs of the tickets to update
+ * @param filter          the filter the tickets to update match
+ */
+public record TicketBulkUpdateRequest(
+    @NotBlank(message = "The action cannot be blank")
+    String action,
+    @Nullable
+    String priority,
+    @Nullable
+    String department,
+    @Nullable
+    Long assignedAgentId,
+    @Nullable
+    List<Long> ticketIds,
+    @Nullable
+    TicketFilter filter
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+/**
+ * The outcome of a bulk update.
+ *
+ * @param action         the applied action
+ * @param updatedTickets the number of updated tickets
+ */
+public record TicketBulkUpdateResultDTO(
+    String action,
+    int updatedTickets
+) {
+
+}
@@ -0,0 +1,127 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import com.jonathand.issuecrush.organization.OrganizationAction;
+import com.jonathand.issuecrush.organization.OrganizationUtil;
+import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserNotFoundException;
+import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
+import com.jonathand.issuecrush.ticket.Ticket;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.TicketFilter;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.TicketSpecifications;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class TicketBulkUpdateService {
+
+    /**
+     * The most tickets a single bulk update can select by ID.
+     */
+    public static final int MAX_TICKET_IDS = 10_000;
+
+    private final TicketRepository ticketRepository;
+
+    private final OrganizationUtil organizationUtil;
+
+    private final OrganizationUserUtil organizationUserUtil;
+
+    /**
+     * Applies one change to many tickets of the specified organization with a single UPDATE statement.
+     * <p>
+     * The permission of the user is checked once rather than for every ticket. As with the update of a single ticket,
+     * a user without the role required to update tickets can still update the tickets it published, so for such a
+     * user the update is limited to those and the other selected tickets are left as they are.
+     *
+     * @param organizationId          the ID of the organization the tickets belong to
+     * @param email                   the email of the user updating the tickets
+     * @param ticketBulkUpdateRequest the change and the tickets to apply it to
+     * @return a {@link TicketBulkUpdateResultDTO} with the number of updated tickets
+     */
+    public TicketBulkUpdateResultDTO updateTickets(Long organizationId, String email,
+                                                   TicketBulkUpdateRequest ticketBulkUpdateRequest) {
+        // Validate organization exists
+        organizationUtil.validateOrganizationExistsById(organizationId);
+
+        // Construct the action and the value it sets from the request
+        TicketBulkAction action = TicketBulkAction.fromString(ticketBulkUpdateRequest.action());
+        Object value = getValue(organizationId, action, ticketBulkUpdateRequest);
+
+        // Select the tickets by their IDs or by the filter
+        Specification<Ticket> specification = selectTickets(organizationId, ticketBulkUpdateRequest);
+
+        // The user trying to update the tickets, checked once for all of them
+        OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(email,
+            organizationId);
+        boolean hasPermission = organizationUser.getRole()
+            .hasGreaterOrEqualPriorityThan(OrganizationAction.UPDATE_TICKET.getRoleRequired());
+        if (!hasPermission) {
+            specification = specification.and(TicketSpecifications.publishedBy(organizationUser.getId()));
+        }
+
+        // Update every selected ticket in one statement
+        int updatedTickets = ticketRepository.updateTickets(specification, action.getAttribute(), value);
+        return new TicketBulkUpdateResultDTO(action.name(), updatedTickets);
+    }
+
+    private Object getValue(Long organizationId, TicketBulkAction action,
+                            TicketBulkUpdateRequest ticketBulkUpdateRequest) {
+        return switch (action) {
+            case CLOSE -> false;
+            case REOPEN -> true;
+            case REPRIORITIZE -> TicketPriority.fromString(
+                requireValue(ticketBulkUpdateRequest.priority(), action, "priority"));
+            case CHANGE_DEPARTMENT -> TicketDepartment.fromString(
+                requireValue(ticketBulkUpdateRequest.department(), action, "department"));
+            case ASSIGN -> getAssignedAgent(organizationId,
+                requireValue(ticketBulkUpdateRequest.assignedAgentId(), action, "assignedAgentId"));
+            case UNASSIGN -> null;
+        };
+    }
+
+    private OrganizationUser getAssignedAgent(Long organizationId, Long assignedAgentId) {
+        // The agent must be a member of the organization of the tickets
+        OrganizationUser assignedAgent = organizationUserUtil.getOrganizationUserById(assignedAgentId);
+        if (!assignedAgent.getOrganization()
+            .getId()
+            .equals(organizationId)) {
+            throw new OrganizationUserNotFoundException();
+        }
+        return assignedAgent;
+    }
+
+    private Specification<Ticket> selectTickets(Long organizationId, TicketBulkUpdateRequest ticketBulkUpdateRequest) {
+        boolean byIds = ticketBulkUpdateRequest.ticketIds() != null;
+        boolean byFilter = ticketBulkUpdateRequest.filter() != null;
+        if (byIds == byFilter) {
+            throw new TicketBulkUpdateInvalidException("select the tickets either by ticketIds or by filter");
+        }
+
+        if (byFilter) {
+            return TicketSpecifications.matching(organizationId, ticketBulkUpdateRequest.filter());
+        }
+
+        if (ticketBulkUpdateRequest.ticketIds()
+            .isEmpty() || ticketBulkUpdateRequest.ticketIds()
+            .size() > MAX_TICKET_IDS) {
+            throw new TicketBulkUpdateInvalidException(
+                "select between 1 and " + MAX_TICKET_IDS + " tickets by ticketIds");
+        }
+
+        // Tickets of other organizations are never matched, whatever IDs are sent
+        return TicketSpecifications.matching(organizationId, TicketFilter.NONE)
+            .and(TicketSpecifications.withIds(ticketBulkUpdateRequest.ticketIds()));
+    }
+
+    private <T> T requireValue(T value, TicketBulkAction action, String field) {
+        if (value == null) {
+            throw new TicketBulkUpdateInvalidException(action.name() + " requires " + field);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.response.APIResponseUtil;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/tickets")
+public class TicketImportController {
+
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final TicketImportService ticketImportService;
+
+    private final APIResponseUtil apiResponseUtil;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${ticket.import.max-request-size}")
+    private DataSize maxRequestSize;
+
+    /**
+     * Creates many tickets for the specified organization from a JSON array. The array is read one ticket at a time,
+     * and rejected as soon as it has too many tickets or is too large.
+     *
+     * @param organizationId the ID of the organization to create the tickets for
+     * @param body           the tickets to create, each validated on its own
+     * @param principal      the Principal representing the authenticated user
+     * @return a ResponseEntity containing the APIResponse with the outcome of every ticket
+     * @throws TicketImportInvalidException  if the body is not a JSON array of objects
+     * @throws TicketImportTooLargeException if there are too many tickets or the body is too large
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
+    @PostMapping(value = "organization/{organizationId}/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<APIResponse<List<TicketImportResultDTO>>> importTicketsForOrganization(
+        @PathVariable("organizationId") Long organizationId,
+        InputStream body,
+        Principal principal) {
+        // Read the tickets of the array
+        List<TicketCreateRequest> ticketCreateRequests = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(TicketCreateRequest.class);
+        try (JsonParser parser = objectMapper.createParser(new TicketImportInputStream(body, maxRequestSize))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new TicketImportInvalidException("The tickets must be a JSON array");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new TicketImportInvalidException("The JSON array of tickets is not closed");
+                }
+                addTicket(ticketCreateRequests, reader.readValue(parser));
+            }
+        } catch (IOException exception) {
+            throw unreadableImport(exception);
+        }
+
+        // Create the tickets
+        List<TicketImportResultDTO> results = ticketImportService.importTickets(organizationId, principal.getName(),
+            ticketCreateRequests);
+
+        // Build success response with the outcome of every ticket
+        APIResponse<List<TicketImportResultDTO>> response = apiResponseUtil.buildSuccessResponse(results);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Creates many tickets for the specified organization from newline delimited JSON, one ticket per line. The lines
+     * are read one at a time, and rejected as soon as there are too many tickets or the body is too large.
+     *
+     * @param organizationId the ID of the organization to create the tickets for
+     * @param body           the tickets to create, each validated on its own
+     * @param principal      the Principal representing the authenticated user
+     * @return a ResponseEntity containing the APIResponse with the outcome of every ticket
+     * @throws TicketImportInvalidException  if a line is not a JSON object
+     * @throws TicketImportTooLargeException if there are too many tickets or the body is too large
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
+    @PostMapping(value = "organization/{organizationId}/import", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<APIResponse<List<TicketImportResultDTO>>> importNdjsonTicketsForOrganization(
+        @PathVariable("organizationId") Long organizationId,
+        InputStream body,
+        Principal principal) {
+        // Read one ticket per line
+        List<TicketCreateRequest> ticketCreateRequests = new ArrayList<>();
+        try (MappingIterator<TicketCreateRequest> lines = objectMapper.readerFor(TicketCreateRequest.class)
+            .readValues(new TicketImportInputStream(body, maxRequestSize))) {
+            while (lines.hasNextValue()) {
+                addTicket(ticketCreateRequests, lines.nextValue());
+            }
+        } catch (IOException exception) {
+            throw unreadableImport(exception);
+        }
+
+        // Create the tickets
+        List<TicketImportResultDTO> results = ticketImportService.importTickets(organizationId, principal.getName(),
+            ticketCreateRequests);
+
+        // Build success response with the outcome of every ticket
+        APIResponse<List<TicketImportResultDTO>> response = apiResponseUtil.buildSuccessResponse(results);
+        return ResponseEntity.ok(response);
+    }
+
+    private RuntimeException unreadableImport(IOException exception) {
+        // The mapper wraps a body that grew too large while reading a ticket, which is still reported as too large
+        if (exception.getCause() instanceof TicketImportTooLargeException tooLarge) {
+            return tooLarge;
+        }
+
+        if (exception instanceof JsonProcessingException jsonProcessingException) {
+            return new TicketImportInvalidException(jsonProcessingException.getOriginalMessage());
+        }
+
+        return new TicketImportInvalidException(exception.getMessage());
+    }
+
+    private void addTicket(List<TicketCreateRequest> ticketCreateRequests, TicketCreateRequest ticketCreateRequest) {
+        // Stop reading at the first ticket too many, the rest of the body is never parsed
+        if (ticketCreateRequests.size() == TicketImportService.MAX_TICKETS) {
+            throw new TicketImportTooLargeException(TicketImportService.MAX_TICKETS);
+        }
+
+        ticketCreateRequests.add(ticketCreateRequest);
+    }
+
+}
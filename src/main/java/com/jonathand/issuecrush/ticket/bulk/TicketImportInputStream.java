@@ -0,0 +1,61 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The body of an import, which fails as soon as it is read past the maximum size of an import. This also limits a
+ * chunked body, which has no content length to check up front.
+ */
+class TicketImportInputStream extends FilterInputStream {
+
+    private final DataSize maxRequestSize;
+
+    private long bytesRead;
+
+    TicketImportInputStream(InputStream body, DataSize maxRequestSize) {
+        super(body);
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read != -1) {
+            count(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long skipped = super.skip(length);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long bytes) {
+        bytesRead += bytes;
+        if (bytesRead > maxRequestSize.toBytes()) {
+            throw new TicketImportTooLargeException(maxRequestSize);
+        }
+    }
+
+}
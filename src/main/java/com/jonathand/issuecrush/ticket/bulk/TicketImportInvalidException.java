@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+public class TicketImportInvalidException extends RuntimeException {
+
+    public TicketImportInvalidException(String reason) {
+        super("The import could not be read: " + reason + "...");
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one ticket of an import.
+ *
+ * @param index    the position of the ticket in the import, starting at 0
+ * @param ticketId the ID of the created ticket, or null if it was not created
+ * @param errors   why the ticket was not created, or null if it was
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TicketImportResultDTO(
+    int index,
+    Long ticketId,
+    List<String> errors
+) {
+
+}
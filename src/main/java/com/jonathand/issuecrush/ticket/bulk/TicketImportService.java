@@ -0,0 +1,187 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.jonathand.issuecrush.organization.Organization;
+import com.jonathand.issuecrush.organization.OrganizationUtil;
+import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
+import com.jonathand.issuecrush.ticket.Ticket;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.TicketDepartmentNotFoundException;
+import com.jonathand.issuecrush.ticket.TicketPriorityNotFoundException;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.body.TicketBody;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import com.jonathand.issuecrush.ticket.property.TicketProperty;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class TicketImportService {
+
+    /**
+     * The most tickets a single import can create.
+     */
+    public static final int MAX_TICKETS = 10_000;
+
+    /**
+     * The number of tickets created per transaction.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private final TicketRepository ticketRepository;
+
+    private final OrganizationUtil organizationUtil;
+
+    private final OrganizationUserUtil organizationUserUtil;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Creates many tickets for the specified organization and user at once.
+     * <p>
+     * Every ticket is validated on its own, and an invalid ticket does not stop the others. The valid tickets are
+     * created in chunks of {@value #CHUNK_SIZE}, each chunk in its own transaction with its bodies, properties and
+     * tickets inserted in batches. A chunk that fails is rolled back as a whole and its tickets are reported as not
+     * created, while the chunks before it stay created.
+     *
+     * @param organizationId       the ID of the organization to create the tickets for
+     * @param email                the email of the user creating the tickets
+     * @param ticketCreateRequests the tickets to create
+     * @return the outcome of every ticket, in the order of the requests
+     * @throws TicketImportTooLargeException if there are more than {@value #MAX_TICKETS} tickets
+     */
+    public List<TicketImportResultDTO> importTickets(Long organizationId, String email,
+                                                     List<TicketCreateRequest> ticketCreateRequests) {
+        // Validate the size before anything is written
+        if (ticketCreateRequests.size() > MAX_TICKETS) {
+            throw new TicketImportTooLargeException(MAX_TICKETS);
+        }
+
+        // Retrieve organization
+        Organization organization = organizationUtil.getOrganizationById(organizationId);
+
+        // The user trying to create the tickets
+        OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(email,
+            organizationId);
+
+        TicketImportResultDTO[] results = new TicketImportResultDTO[ticketCreateRequests.size()];
+        List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Ticket> tickets = new ArrayList<>(CHUNK_SIZE);
+
+        for (int index = 0; index < ticketCreateRequests.size(); index++) {
+            TicketCreateRequest ticketCreateRequest = ticketCreateRequests.get(index);
+
+            // Report an invalid ticket and carry on with the next one
+            List<String> errors = validate(ticketCreateRequest);
+            if (!errors.isEmpty()) {
+                results[index] = new TicketImportResultDTO(index, null, errors);
+                continue;
+            }
+
+            chunk.add(index);
+            tickets.add(buildTicket(organization, organizationUser, ticketCreateRequest));
+
+            if (tickets.size() == CHUNK_SIZE) {
+                insertChunk(chunk, tickets, results);
+                chunk.clear();
+                tickets.clear();
+            }
+        }
+
+        if (!tickets.isEmpty()) {
+            insertChunk(chunk, tickets, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private List<String> validate(TicketCreateRequest ticketCreateRequest) {
+        if (ticketCreateRequest == null) {
+            return List.of("The ticket cannot be null");
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<TicketCreateRequest> violation : validator.validate(ticketCreateRequest)) {
+            errors.add(violation.getMessage());
+        }
+
+        // Only parse the values that are there, a missing one is already reported
+        try {
+            if (ticketCreateRequest.priority() != null && !ticketCreateRequest.priority()
+                .isBlank()) {
+                TicketPriority.fromString(ticketCreateRequest.priority());
+            }
+        } catch (TicketPriorityNotFoundException exception) {
+            errors.add(exception.getMessage());
+        }
+        try {
+            if (ticketCreateRequest.department() != null && !ticketCreateRequest.department()
+                .isBlank()) {
+                TicketDepartment.fromString(ticketCreateRequest.department());
+            }
+        } catch (TicketDepartmentNotFoundException exception) {
+            errors.add(exception.getMessage());
+        }
+        return errors;
+    }
+
+    private Ticket buildTicket(Organization organization, OrganizationUser organizationUser,
+                               TicketCreateRequest ticketCreateRequest) {
+        return Ticket.builder()
+            .organization(organization)
+            .publisher(organizationUser)
+            .open(ticketCreateRequest.open())
+            .ticketBody(TicketBody.builder()
+                .title(ticketCreateRequest.title())
+                .build())
+            .content(ticketCreateRequest.content())
+            .ticketProperty(TicketProperty.builder()
+                .priority(TicketPriority.fromString(ticketCreateRequest.priority()))
+                .department(TicketDepartment.fromString(ticketCreateRequest.department()))
+                .build())
+            .build();
+    }
+
+    private void insertChunk(List<Integer> chunk, List<Ticket> tickets, TicketImportResultDTO[] results) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The bodies and properties are stored in the ticket rows. With ids taken from a pooled sequence,
+                // the tickets are flushed as batched inserts
+                ticketRepository.saveAllAndFlush(tickets);
+            });
+
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = new TicketImportResultDTO(chunk.get(i), tickets.get(i)
+                    .getId(), null);
+            }
+        } catch (DataAccessException | TransactionException exception) {
+            for (Integer index : chunk) {
+                results[index] = new TicketImportResultDTO(index, null,
+                    List.of("The ticket could not be saved with the tickets around it..."));
+            }
+        } finally {
+            // Keep the persistence context from growing with every chunk when it outlives the transactions
+            entityManager.clear();
+        }
+    }
+
+}
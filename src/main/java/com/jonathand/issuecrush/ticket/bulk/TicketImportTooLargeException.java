@@ -0,0 +1,15 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import org.springframework.util.unit.DataSize;
+
+public class TicketImportTooLargeException extends RuntimeException {
+
+    public TicketImportTooLargeException(int maxTickets) {
+        super("An import can not have more than " + maxTickets + " tickets...");
+    }
+
+    public TicketImportTooLargeException(DataSize maxRequestSize) {
+        super("An import can not be larger than " + maxRequestSize.toMegabytes() + " MB...");
+    }
+
+}
@@ -5,13 +5,17 @@ import java.util.Date;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.ticket.Ticket;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,16 +33,25 @@ import org.hibernate.annotations.UpdateTimestamp;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "ticket_comments")
+@Table(name = "ticket_comments", indexes = {
+    @Index(name = "idx_ticket_comments_ticket", columnList = "ticket_id"),
+    @Index(name = "idx_ticket_comments_publisher", columnList = "user_id")
+})
 public class TicketComment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * The primary key of the partitioned tickets table includes its partition keys, so the foreign key references the
+     * ticket locations instead, see {@link com.jonathand.issuecrush.ticket.TicketLocation} and
+     * {@code db/migrations/partition-tickets.sql}. It is deferred until commit, so a ticket moved to the archive, which
+     * deletes and inserts its location, keeps its comments. The comments are deleted before their ticket.
+     */
     @ManyToOne
     @NotNull(message = "Ticket cannot be null")
-    @JoinColumn(name = "ticket_id")
+    @JoinColumn(name = "ticket_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Ticket ticket;
 
     @ManyToOne
@@ -54,6 +67,13 @@ public class TicketComment {
     @Column(name = "updated_at", nullable = false)
     private Date updatedAt;
 
+    /**
+     * Incremented by every update, which only applies if the comment still has the version it was read with. Sent to
+     * clients as the ETag of the comment, see {@link com.jonathand.issuecrush.response.ResponseETag}.
+     */
+    @Version
+    private Long version;
+
     @NotNull(message = "Content cannot be null")
     @Column(columnDefinition = "TEXT")
     private String content;
@@ -5,11 +5,14 @@ import java.util.List;
 
 import com.jonathand.issuecrush.response.APIResponse;
 import com.jonathand.issuecrush.response.APIResponseUtil;
+import com.jonathand.issuecrush.response.ResponseETag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -40,6 +44,7 @@ public class TicketCommentController {
      * @param content               the optional filter, will filter by content (default: null)
      * @param organizationUserId    the optional ID of the organization user (default: null)
      * @param sortByLatestCreatedAt indicates whether to sort by latest ticket comment creation date (default: false)
+     * @param includeTotal          indicates whether to include the total number of ticket comments (default: false)
      * @return the response entity containing the list of ticket comment DTOs
      */
     @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
@@ -51,7 +56,8 @@ public class TicketCommentController {
         @RequestParam(value = "content", required = false) String content,
         @RequestParam(value = "organizationUserId", required = false) Long organizationUserId,
         @RequestParam(value = "sortByLatestCreatedAt", defaultValue = "false")
-        boolean sortByLatestCreatedAt) {
+        boolean sortByLatestCreatedAt,
+        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         // If sortByLatestCreatedAt, then sort by TicketComment#createdAt
         Sort sortBy = sortByLatestCreatedAt
                       ? Sort.by("createdAt")
@@ -66,7 +72,7 @@ public class TicketCommentController {
         // If getForOrganizationUser then tickets will be sorted by publisher
         boolean filterByContent = content != null;
         boolean getForOrganizationUser = organizationUserId != null;
-        List<TicketCommentDTO> ticketCommentDTOS;
+        Slice<TicketCommentDTO> ticketCommentDTOS;
         if (filterByContent && getForOrganizationUser) {
             ticketCommentDTOS = ticketCommentService.getAllCommentsForOrganizationByCommentFilterAndByUser(
                 organizationId, organizationUserId, content, pageable);
@@ -88,8 +94,12 @@ public class TicketCommentController {
                 .build();
         }
 
+        // Only count the ticket comments if the client asked for the total
+        Long total = includeTotal ? ticketCommentService.countCommentsForOrganization(organizationId,
+            organizationUserId, content) : null;
+
         // Build success response with list of ticket comments
-        APIResponse<List<TicketCommentDTO>> response = apiResponseUtil.buildSuccessResponse(ticketCommentDTOS);
+        APIResponse<List<TicketCommentDTO>> response = apiResponseUtil.buildSliceResponse(ticketCommentDTOS, total);
         return ResponseEntity.ok(response);
     }
 
@@ -102,6 +112,7 @@ public class TicketCommentController {
      * @param content               the optional filter for comments (default: null)
      * @param sortByLatestCreatedAt indicates whether to sort by the latest ticket comment creation date (default:
      *                              false)
+     * @param includeTotal          indicates whether to include the total number of ticket comments (default: false)
      * @return the response entity containing the list of ticket comment DTOs
      */
     @PreAuthorize("@organizationSecurityExpressions.isUserInTicketOrganization(#ticketId)")
@@ -112,7 +123,8 @@ public class TicketCommentController {
         @RequestParam(name = "size", defaultValue = "10") int size,
         @RequestParam(value = "content", required = false) String content,
         @RequestParam(value = "sortByLatestCreatedAt", defaultValue = "false")
-        boolean sortByLatestCreatedAt) {
+        boolean sortByLatestCreatedAt,
+        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         // If sortByLatestCreatedAt, then sort by TicketComment#createdAt
         Sort sortBy =
             sortByLatestCreatedAt
@@ -125,7 +137,7 @@ public class TicketCommentController {
         // Retrieve all comments for ticket. If filterByContent,
         // search for ticket comment where content contains the request param content
         boolean filterByContent = content != null;
-        List<TicketCommentDTO> ticketCommentDTOS =
+        Slice<TicketCommentDTO> ticketCommentDTOS =
             filterByContent
             ? ticketCommentService.getCommentsForTicketByComment(ticketId, content, pageable)
             : ticketCommentService.getCommentsForTicket(ticketId, pageable);
@@ -136,8 +148,11 @@ public class TicketCommentController {
                 .build();
         }
 
+        // Only count the ticket comments if the client asked for the total
+        Long total = includeTotal ? ticketCommentService.countCommentsForTicket(ticketId, content) : null;
+
         // Build success response with list of ticket comments
-        APIResponse<List<TicketCommentDTO>> response = apiResponseUtil.buildSuccessResponse(ticketCommentDTOS);
+        APIResponse<List<TicketCommentDTO>> response = apiResponseUtil.buildSliceResponse(ticketCommentDTOS, total);
         return ResponseEntity.ok(response);
     }
 
@@ -183,7 +198,8 @@ public class TicketCommentController {
     }
 
     /**
-     * Retrieves a specific ticket comment by its ID.
+     * Retrieves a specific ticket comment by its ID. The ETag of the response is the version of the ticket comment, to
+     * send back in the If-Match header of an update.
      *
      * @param ticketCommentId the ID of the ticket comment
      * @return the response entity containing the ticket comment
@@ -198,13 +214,17 @@ public class TicketCommentController {
 
         // Build success response with ticket comment
         APIResponse<TicketCommentDTO> response = apiResponseUtil.buildSuccessResponse(ticketCommentDTO);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(ResponseETag.of(ticketCommentDTO.version()))
+            .body(response);
     }
 
     /**
-     * Updates a ticket comment with the specified ID.
+     * Updates a ticket comment with the specified ID. With an If-Match header the ticket comment is only updated if it
+     * still has that ETag, otherwise 412 Precondition Failed is returned and the client must read it again.
      *
      * @param ticketCommentId the ID of the ticket comment to update
+     * @param ifMatch         the ETag the client read the ticket comment with (optional)
      * @param updateRequest   the request object containing the updated ticket comment details
      * @return the response entity containing the updated ticket comment
      */
@@ -213,13 +233,17 @@ public class TicketCommentController {
     @PutMapping("comment/{ticketCommentId}")
     public ResponseEntity<APIResponse<TicketCommentDTO>> updateTicketComment(
         @PathVariable("ticketCommentId") Long ticketCommentId,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody TicketCommentUpdateRequest updateRequest) {
         // Retrieve updated ticket comment
-        TicketCommentDTO ticketCommentDTO = ticketCommentService.updateTicketComment(ticketCommentId, updateRequest);
+        TicketCommentDTO ticketCommentDTO = ticketCommentService.updateTicketComment(ticketCommentId, updateRequest,
+            ResponseETag.parseIfMatch(ifMatch));
 
         // Build success response with updated ticket comment
         APIResponse<TicketCommentDTO> response = apiResponseUtil.buildSuccessResponse(ticketCommentDTO);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(ResponseETag.of(ticketCommentDTO.version()))
+            .body(response);
     }
 
     /**
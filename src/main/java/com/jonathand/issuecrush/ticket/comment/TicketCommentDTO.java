@@ -2,6 +2,7 @@ package com.jonathand.issuecrush.ticket.comment;
 
 import java.util.Date;
 
+import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 
 public record TicketCommentDTO(
@@ -10,6 +11,18 @@ public record TicketCommentDTO(
     OrganizationUserDTO publisher,
     Date createdAt,
     Date updatedAt,
-    String content) {
+    String content,
+    Long version) {
+
+    /**
+     * Creates the DTO straight from the selected columns of a JPQL constructor expression, see
+     * {@link TicketCommentRepository#TICKET_COMMENT_DTO_QUERY}.
+     */
+    public TicketCommentDTO(Long id, Long ticketId, Long publisherId, String publisherEmail,
+                            String publisherFirstName, String publisherLastName, OrganizationRole publisherRole,
+                            Date createdAt, Date updatedAt, String content, Long version) {
+        this(id, ticketId, new OrganizationUserDTO(publisherId, publisherEmail, publisherFirstName, publisherLastName,
+            publisherRole), createdAt, updatedAt, content, version);
+    }
 
 }
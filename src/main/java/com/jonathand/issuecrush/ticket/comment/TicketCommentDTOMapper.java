@@ -19,7 +19,8 @@ public class TicketCommentDTOMapper implements Function<TicketComment, TicketCom
             organizationUserDTOMapper.apply(ticketComment.getPublisher()),
             ticketComment.getCreatedAt(),
             ticketComment.getUpdatedAt(),
-            ticketComment.getContent());
+            ticketComment.getContent(),
+            ticketComment.getVersion());
     }
 
 }
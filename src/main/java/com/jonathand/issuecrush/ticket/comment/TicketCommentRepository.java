@@ -1,8 +1,14 @@
 package com.jonathand.issuecrush.ticket.comment;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,11 +17,69 @@ import org.springframework.stereotype.Repository;
 public interface TicketCommentRepository extends JpaRepository<TicketComment, Long> {
 
     /**
-     * Deletes all ticket comments published by a user with the specified ID.
+     * Selects ticket comments straight into {@link TicketCommentDTO}, so list reads never load an entity into the
+     * persistence context. Queries append their WHERE clause to it, the ticket comment alias is {@code tc} and the
+     * publisher alias is {@code p}.
+     */
+    String TICKET_COMMENT_DTO_QUERY = "SELECT new com.jonathand.issuecrush.ticket.comment.TicketCommentDTO(tc.id, "
+                                      + "tc.ticket.id, p.id, u.email, u.firstName, u.lastName, p.role, "
+                                      + "tc.createdAt, tc.updatedAt, tc.content, tc.version) "
+                                      + "FROM TicketComment tc "
+                                      + "JOIN tc.publisher p "
+                                      + "JOIN p.user u ";
+
+    /**
+     * Deletes the comments of a ticket with a single statement, without loading them.
      *
-     * @param id the ID of the publisher
+     * @param ticketId the ID of the ticket
+     * @return the number of deleted ticket comments
+     */
+    @Modifying
+    @Query("DELETE FROM TicketComment tc WHERE tc.ticket.id = :ticketId")
+    int deleteTicketCommentsByTicket(@Param("ticketId") Long ticketId);
+
+    /**
+     * Deletes the comments published by an organization user and every comment on the tickets it published, with a
+     * single statement and without loading them.
+     *
+     * @param orgUserId the ID of the organization user
+     * @return the number of deleted ticket comments
+     */
+    @Modifying
+    @Query("DELETE FROM TicketComment tc WHERE tc.publisher.id = :orgUserId "
+           + "OR tc.ticket.id IN (SELECT t.id FROM Ticket t WHERE t.publisher.id = :orgUserId)")
+    int deleteTicketCommentsByOrganizationUser(@Param("orgUserId") Long orgUserId);
+
+    /**
+     * Deletes the comments on the tickets with the specified IDs with a single statement, without loading them.
+     *
+     * @param ticketIds the IDs of the tickets
+     * @return the number of deleted ticket comments
+     */
+    @Modifying
+    @Query("DELETE FROM TicketComment tc WHERE tc.ticket.id IN :ticketIds")
+    int deleteTicketCommentsByTickets(@Param("ticketIds") Collection<Long> ticketIds);
+
+    /**
+     * Retrieves the IDs of a chunk of the comments published by the organization users of an organization, in no
+     * particular order.
+     *
+     * @param organizationId the ID of the organization
+     * @param pageable       the size of the chunk
+     * @return the IDs of the ticket comments
+     */
+    @Query("SELECT tc.id FROM TicketComment tc WHERE tc.publisher.organization.id = :organizationId")
+    List<Long> findTicketCommentIdsByOrganization(@Param("organizationId") Long organizationId, Pageable pageable);
+
+    /**
+     * Deletes the ticket comments with the specified IDs with a single statement, without loading them.
+     *
+     * @param ticketCommentIds the IDs of the ticket comments
+     * @return the number of deleted ticket comments
      */
-    void deleteByPublisher_Id(Long id);
+    @Modifying
+    @Query("DELETE FROM TicketComment tc WHERE tc.id IN :ticketCommentIds")
+    int deleteTicketComments(@Param("ticketCommentIds") Collection<Long> ticketCommentIds);
 
     /**
      * Retrieves a page of ticket comments for a specific organization filtered by ticket comment content.
@@ -108,20 +172,138 @@ public interface TicketCommentRepository extends JpaRepository<TicketComment, Lo
     Page<TicketComment> getCommentsForTicketId(@Param("ticketId") Long ticketId, Pageable pageable);
 
     /**
-     * Checks whether a user belongs to the organization associated with a ticket content.
+     * Counts the number of ticket comments for a specific organization filtered by ticket comment content.
+     *
+     * @param organizationId the ID of the organization
+     * @param content        the content filter, with LIKE wildcards escaped
+     * @return the number of ticket comments matching the specified organization and content filter
+     */
+    @Query("SELECT COUNT(tc) FROM TicketComment tc "
+           + "WHERE tc.publisher.organization.id = :organizationId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    long countTicketCommentsForOrganizationByContent(
+        @Param("organizationId") Long organizationId, @Param("content") String content);
+
+    /**
+     * Counts the number of ticket comments for a specific organization and publisher filtered by ticket comment
+     * content.
+     *
+     * @param organizationId the ID of the organization
+     * @param publisherId    the ID of the publisher
+     * @param content        the content filter, with LIKE wildcards escaped
+     * @return the number of ticket comments matching the specified organization, publisher and content filter
+     */
+    @Query("SELECT COUNT(tc) FROM TicketComment tc "
+           + "WHERE tc.publisher.organization.id = :organizationId "
+           + "AND tc.publisher.id = :publisherId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    long countTicketCommentsForOrganizationByPublisherAndContent(
+        @Param("organizationId") Long organizationId, @Param("publisherId") Long publisherId,
+        @Param("content") String content);
+
+    /**
+     * Counts the number of ticket comments for a specific ticket filtered by ticket comment content.
+     *
+     * @param ticketId the ID of the ticket
+     * @param content  the content filter, with LIKE wildcards escaped
+     * @return the number of ticket comments matching the specified ticket and content filter
+     */
+    @Query("SELECT COUNT(tc) FROM TicketComment tc "
+           + "WHERE tc.ticket.id = :ticketId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    long countTicketCommentsForTicketByContent(@Param("ticketId") Long ticketId, @Param("content") String content);
+
+    /**
+     * Retrieves a slice of ticket comments for a specific organization as DTOs, without loading any entity.
+     *
+     * @param organizationId the ID of the organization
+     * @param pageable       pagination information
+     * @return a slice of ticket comment DTOs for the specified organization
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE p.organization.id = :organizationId")
+    Slice<TicketCommentDTO> findTicketCommentDTOsForOrganization(
+        @Param("organizationId") Long organizationId, Pageable pageable);
+
+    /**
+     * Retrieves a slice of ticket comments published by the organization user with the specified ID as DTOs, without
+     * loading any entity.
+     *
+     * @param publisherId the ID of the publisher
+     * @param pageable    pagination information
+     * @return a slice of ticket comment DTOs published by the organization user
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE p.id = :publisherId")
+    Slice<TicketCommentDTO> findTicketCommentDTOsByPublisher(
+        @Param("publisherId") Long publisherId, Pageable pageable);
+
+    /**
+     * Retrieves a slice of ticket comments for a specific organization filtered by ticket comment content as DTOs,
+     * without loading any entity.
+     *
+     * @param organizationId the ID of the organization
+     * @param content        the content filter, with LIKE wildcards escaped
+     * @param pageable       pagination information
+     * @return a slice of ticket comment DTOs matching the specified organization and content filter
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE p.organization.id = :organizationId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    Slice<TicketCommentDTO> findTicketCommentDTOsForOrganizationByContent(
+        @Param("organizationId") Long organizationId, @Param("content") String content, Pageable pageable);
+
+    /**
+     * Retrieves a slice of ticket comments for a specific organization and publisher filtered by ticket comment content
+     * as DTOs, without loading any entity.
+     *
+     * @param organizationId the ID of the organization
+     * @param publisherId    the ID of the publisher
+     * @param content        the content filter, with LIKE wildcards escaped
+     * @param pageable       pagination information
+     * @return a slice of ticket comment DTOs matching the specified organization, publisher and content filter
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE p.organization.id = :organizationId "
+           + "AND p.id = :publisherId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    Slice<TicketCommentDTO> findTicketCommentDTOsForOrganizationByPublisherAndContent(
+        @Param("organizationId") Long organizationId, @Param("publisherId") Long publisherId,
+        @Param("content") String content, Pageable pageable);
+
+    /**
+     * Retrieves a slice of ticket comments for a specific ticket as DTOs, without loading any entity.
+     *
+     * @param ticketId the ID of the ticket
+     * @param pageable pagination information
+     * @return a slice of ticket comment DTOs for the specified ticket
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE tc.ticket.id = :ticketId")
+    Slice<TicketCommentDTO> findTicketCommentDTOsForTicket(@Param("ticketId") Long ticketId, Pageable pageable);
+
+    /**
+     * Retrieves a slice of ticket comments for a specific ticket filtered by ticket comment content as DTOs, without
+     * loading any entity.
+     *
+     * @param ticketId the ID of the ticket
+     * @param content  the content filter, with LIKE wildcards escaped
+     * @param pageable pagination information
+     * @return a slice of ticket comment DTOs matching the specified ticket and content filter
+     */
+    @Query(TICKET_COMMENT_DTO_QUERY
+           + "WHERE tc.ticket.id = :ticketId "
+           + "AND UPPER(tc.content) LIKE UPPER(CONCAT('%', :content, '%')) ESCAPE '\\'")
+    Slice<TicketCommentDTO> findTicketCommentDTOsForTicketByContent(
+        @Param("ticketId") Long ticketId, @Param("content") String content, Pageable pageable);
+
+    /**
+     * Retrieves the ID of the ticket a ticket comment belongs to, without joining any other table.
      *
-     * @param email           the email of the user
-     * @param ticketCommentId the ID of the ticket content
-     * @return true if the user belongs to the organization, false otherwise
+     * @param ticketCommentId the ID of the ticket comment
+     * @return an Optional containing the ticket ID, or empty if the ticket comment does not exist
      */
-    @Query("SELECT CASE WHEN COUNT(ou) > 0 THEN true ELSE false END "
-        + "FROM OrganizationUser ou "
-        + "INNER JOIN ou.organization o "
-        + "INNER JOIN o.tickets t "
-        + "INNER JOIN t.comments tc "
-        + "WHERE ou.user.email = :email "
-        + "AND tc.id = :ticketCommentId")
-    boolean doesUserBelongToTicketCommentOrganization(
-        @Param("email") String email, @Param("ticketCommentId") Long ticketCommentId);
+    @Query("SELECT tc.ticket.id FROM TicketComment tc WHERE tc.id = :ticketCommentId")
+    Optional<Long> findTicketIdById(@Param("ticketCommentId") Long ticketCommentId);
 
 }
@@ -1,8 +1,9 @@
 package com.jonathand.issuecrush.ticket.comment;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.jonathand.issuecrush.cache.ListingCountCache;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
 import com.jonathand.issuecrush.organization.OrganizationAction;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
@@ -10,9 +11,13 @@ import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
 import com.jonathand.issuecrush.ticket.Ticket;
 import com.jonathand.issuecrush.ticket.TicketUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -30,24 +35,26 @@ public class TicketCommentService {
 
     private final OrganizationUserUtil organizationUserUtil;
 
+    private final ListingCountCache listingCountCache;
+
+    private final CustomQueryPlans customQueryPlans;
+
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Retrieves all ticket comments for an organization.
      *
      * @param organizationId the ID of the organization
      * @param pageable       pagination information
-     * @return the list of ticket comments for the organization
+     * @return the slice of ticket comments for the organization
      */
     // TODO TEST
-    public List<TicketCommentDTO> getAllCommentsForOrganization(Long organizationId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getAllCommentsForOrganization(Long organizationId, Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
 
-        Page<TicketComment> commentPage = ticketCommentRepository.findByPublisher_Organization_Id(organizationId,
-            pageable);
-
-        return commentPage.stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        return ticketCommentRepository.findTicketCommentDTOsForOrganization(organizationId, pageable);
     }
 
     /**
@@ -56,22 +63,19 @@ public class TicketCommentService {
      * @param organizationId     the ID of the organization
      * @param organizationUserId the ID of the organization user
      * @param pageable           pagination information
-     * @return the list of ticket comments for the organization and user
+     * @return the slice of ticket comments for the organization and user
      */
     // TODO TEST
-    public List<TicketCommentDTO> getAllCommentsForOrganizationByUser(Long organizationId, Long organizationUserId,
-                                                                      Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getAllCommentsForOrganizationByUser(Long organizationId, Long organizationUserId,
+                                                                       Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
 
         // Validate organization user exists
         organizationUserUtil.validateOrganizationUserDoesExists(organizationUserId);
 
-        Page<TicketComment> commentPage = ticketCommentRepository.findByPublisher_Id(organizationUserId, pageable);
-
-        return commentPage.stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        return ticketCommentRepository.findTicketCommentDTOsByPublisher(organizationUserId, pageable);
     }
 
     /**
@@ -80,21 +84,20 @@ public class TicketCommentService {
      * @param organizationId the ID of the organization
      * @param content        the content to filter by
      * @param pageable       pagination information
-     * @return the list of ticket comments for the organization filtered by content
+     * @return the slice of ticket comments for the organization filtered by content
      */
     // TODO TEST
-    public List<TicketCommentDTO> getAllCommentsForOrganizationByCommentFilter(Long organizationId, String content,
-                                                                               Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getAllCommentsForOrganizationByCommentFilter(Long organizationId, String content,
+                                                                                Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
 
-        Page<TicketComment> commentPage =
-            ticketCommentRepository.findByPublisher_Organization_IdAndContentContainsIgnoreCase(
-            organizationId, content, pageable);
+        // The content is matched with its trigram index
+        customQueryPlans.useForCurrentTransaction();
 
-        return commentPage.stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        return ticketCommentRepository.findTicketCommentDTOsForOrganizationByContent(organizationId,
+            EscapeCharacter.DEFAULT.escape(content), pageable);
     }
 
     /**
@@ -103,26 +106,25 @@ public class TicketCommentService {
      * @param organizationId the ID of the organization
      * @param content        the content to filter by
      * @param pageable       pagination information
-     * @return the list of ticket comments for the organization filtered by ticket comment content
+     * @return the slice of ticket comments for the organization filtered by ticket comment content
      */
     // TODO TEST
-    public List<TicketCommentDTO> getAllCommentsForOrganizationByCommentFilterAndByUser(Long organizationId,
-                                                                                        Long organizationUserId,
-                                                                                        String content,
-                                                                                        Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getAllCommentsForOrganizationByCommentFilterAndByUser(Long organizationId,
+                                                                                         Long organizationUserId,
+                                                                                         String content,
+                                                                                         Pageable pageable) {
         // Validate organization exists
         organizationUtil.validateOrganizationExistsById(organizationId);
 
         // Validate organization user exists
         organizationUserUtil.validateOrganizationUserDoesExists(organizationUserId);
 
-        Page<TicketComment> commentPage =
-            ticketCommentRepository.findByPublisher_Organization_IdAndPublisher_IdAndContentContainsIgnoreCase(
-            organizationId, organizationUserId, content, pageable);
+        // The content is matched with its trigram index
+        customQueryPlans.useForCurrentTransaction();
 
-        return commentPage.stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        return ticketCommentRepository.findTicketCommentDTOsForOrganizationByPublisherAndContent(organizationId,
+            organizationUserId, EscapeCharacter.DEFAULT.escape(content), pageable);
     }
 
     /**
@@ -130,17 +132,15 @@ public class TicketCommentService {
      *
      * @param ticketId the ID of the ticket
      * @param pageable pagination information
-     * @return the list of ticket comments for the ticket
+     * @return the slice of ticket comments for the ticket
      */
     // TODO TEST
-    public List<TicketCommentDTO> getCommentsForTicket(Long ticketId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getCommentsForTicket(Long ticketId, Pageable pageable) {
         // Validate ticket exists
         ticketUtil.validateTicketExists(ticketId);
 
-        return ticketCommentRepository.getCommentsForTicketId(ticketId, pageable)
-            .stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        return ticketCommentRepository.findTicketCommentDTOsForTicket(ticketId, pageable);
     }
 
     /**
@@ -149,16 +149,67 @@ public class TicketCommentService {
      * @param ticketId the ID of the ticket
      * @param content  the content to filter by
      * @param pageable pagination information
-     * @return the list of ticket comments for the ticket filtered by content
+     * @return the slice of ticket comments for the ticket filtered by content
      */
-    public List<TicketCommentDTO> getCommentsForTicketByComment(Long ticketId, String content, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Slice<TicketCommentDTO> getCommentsForTicketByComment(Long ticketId, String content, Pageable pageable) {
         // Validate tickets exists
         ticketUtil.validateTicketExists(ticketId);
 
-        return ticketCommentRepository.findByTicketIdAndContentContainsIgnoreCase(ticketId, content, pageable)
-            .stream()
-            .map(ticketCommentDTOMapper)
-            .collect(Collectors.toList());
+        // The content is matched with its trigram index
+        customQueryPlans.useForCurrentTransaction();
+
+        return ticketCommentRepository.findTicketCommentDTOsForTicketByContent(ticketId,
+            EscapeCharacter.DEFAULT.escape(content), pageable);
+    }
+
+    /**
+     * Counts the ticket comments for an organization, optionally filtered by organization user and ticket comment
+     * content. The total is cached for a short time.
+     *
+     * @param organizationId     the ID of the organization
+     * @param organizationUserId the ID of the organization user to filter by, or null
+     * @param content            the content to filter by, or null
+     * @return the total number of ticket comments matching the filters
+     */
+    @Transactional(readOnly = true)
+    public long countCommentsForOrganization(Long organizationId, Long organizationUserId, String content) {
+        return listingCountCache.count("ticket-comments", organizationId, () -> {
+            if (content != null) {
+                customQueryPlans.useForCurrentTransaction();
+            }
+
+            if (content != null && organizationUserId != null) {
+                return ticketCommentRepository.countTicketCommentsForOrganizationByPublisherAndContent(organizationId,
+                    organizationUserId, EscapeCharacter.DEFAULT.escape(content));
+            } else if (content != null) {
+                return ticketCommentRepository.countTicketCommentsForOrganizationByContent(organizationId,
+                    EscapeCharacter.DEFAULT.escape(content));
+            } else if (organizationUserId != null) {
+                return ticketCommentRepository.countByPublisher_Id(organizationUserId);
+            }
+            return ticketCommentRepository.countByPublisher_Organization_Id(organizationId);
+        }, organizationUserId, content);
+    }
+
+    /**
+     * Counts the ticket comments for a ticket, optionally filtered by ticket comment content. The total is cached for
+     * a short time.
+     *
+     * @param ticketId the ID of the ticket
+     * @param content  the content to filter by, or null
+     * @return the total number of ticket comments matching the filter
+     */
+    @Transactional(readOnly = true)
+    public long countCommentsForTicket(Long ticketId, String content) {
+        return listingCountCache.count("ticket-comments-for-ticket", ticketId, () -> {
+            if (content != null) {
+                customQueryPlans.useForCurrentTransaction();
+                return ticketCommentRepository.countTicketCommentsForTicketByContent(ticketId,
+                    EscapeCharacter.DEFAULT.escape(content));
+            }
+            return ticketCommentRepository.countByTicketId(ticketId);
+        }, content);
     }
 
     /**
@@ -168,6 +219,7 @@ public class TicketCommentService {
      * @return the count of comments for the ticket
      */
     // TODO TEST
+    @Transactional(readOnly = true)
     public Long getCommentCountForTicket(Long ticketId) {
         // Validate ticket exists
         ticketUtil.validateTicketExists(ticketId);
@@ -185,25 +237,28 @@ public class TicketCommentService {
      */
     public TicketCommentDTO createCommentForTicket(Long ticketId, TicketCommentCreateRequest createRequest,
                                                    String email) {
-        // Retrieve ticket
-        Ticket ticket = ticketUtil.getTicketById(ticketId);
-
-        // Retrieve organization user
-        OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
-            email, ticket.getOrganization()
-                .getId());
-
-        // Create ticket comment
-        TicketComment ticketCommentToCreate = TicketComment.builder()
-            .ticket(ticket)
-            .content(createRequest.content())
-            .publisher(organizationUser)
-            .build();
-
-        // Save ticket comment
-        ticketCommentRepository.save(ticketCommentToCreate);
-
-        return ticketCommentDTOMapper.apply(ticketCommentToCreate);
+        TicketComment createdTicketComment = new TransactionTemplate(transactionManager).execute(status -> {
+            // Retrieve ticket
+            Ticket ticket = ticketUtil.getTicketById(ticketId);
+
+            // Retrieve organization user
+            OrganizationUser organizationUser = organizationUserUtil.getOrganizationUserByEmailAndOrganization(
+                email, ticket.getOrganization()
+                    .getId());
+
+            // Create ticket comment
+            TicketComment ticketCommentToCreate = TicketComment.builder()
+                .ticket(ticket)
+                .content(createRequest.content())
+                .publisher(organizationUser)
+                .build();
+
+            // Save ticket comment
+            return ticketCommentRepository.save(ticketCommentToCreate);
+        });
+
+        // Map the committed ticket comment, everything the mapper reads is loaded
+        return ticketCommentDTOMapper.apply(createdTicketComment);
     }
 
     /**
@@ -212,6 +267,7 @@ public class TicketCommentService {
      * @param ticketCommentId the ID of the ticket content
      * @return the ticket content DTO
      */
+    @Transactional(readOnly = true)
     public TicketCommentDTO getTicketCommentFromId(Long ticketCommentId) {
         // Retrieve ticket content
         TicketComment ticketComment = ticketCommentUtil.getTicketComment(ticketCommentId);
@@ -224,24 +280,31 @@ public class TicketCommentService {
      *
      * @param ticketCommentId the ID of the ticket content
      * @param updateRequest   the request containing the updated content details
-     * @param email           the email of the user updating the content
+     * @param expectedVersion the version the client read the ticket comment with, or null to update any version
      * @return the updated ticket content DTO
      */
-    // TODO CHANGE email to userEmail
-    public TicketCommentDTO updateTicketComment(Long ticketCommentId, TicketCommentUpdateRequest updateRequest) {
-        // Validate if user is authorized for ticket
-        ticketCommentUtil.validateUserAuthorizationForTicketCommentAction(OrganizationAction.UPDATE_TICKET_COMMENT,
-            updateRequest.organizationUserId(), ticketCommentId);
+    public TicketCommentDTO updateTicketComment(Long ticketCommentId, TicketCommentUpdateRequest updateRequest,
+                                                Long expectedVersion) {
+        TicketComment updatedTicketComment = new TransactionTemplate(transactionManager).execute(status -> {
+            // Validate if user is authorized for ticket
+            ticketCommentUtil.validateUserAuthorizationForTicketCommentAction(
+                OrganizationAction.UPDATE_TICKET_COMMENT, updateRequest.organizationUserId(), ticketCommentId);
 
-        TicketComment ticketComment = ticketCommentUtil.getTicketComment(ticketCommentId);
+            TicketComment ticketComment = ticketCommentUtil.getTicketComment(ticketCommentId);
 
-        // Set the new content from update request
-        ticketComment.setContent(updateRequest.content());
+            // Validate nobody updated the ticket comment since the client read it. A concurrent update between here
+            // and the save is caught by the version in the WHERE clause of the UPDATE
+            ticketCommentUtil.validateTicketCommentVersion(ticketComment, expectedVersion);
 
-        // Save ticket comment
-        ticketCommentRepository.save(ticketComment);
+            // Set the new content from update request
+            ticketComment.setContent(updateRequest.content());
 
-        return ticketCommentDTOMapper.apply(ticketComment);
+            // Save ticket comment, the version is incremented when the transaction commits
+            return ticketCommentRepository.save(ticketComment);
+        });
+
+        // Map the committed ticket comment, which has the incremented version
+        return ticketCommentDTOMapper.apply(updatedTicketComment);
     }
 
     /**
@@ -252,12 +315,14 @@ public class TicketCommentService {
      * @return the ID of the deleted ticket content
      */
     public Long deleteTicketComment(Long ticketCommentId, Long organizationUserId) {
-        // Validate if user is authorized for ticket
-        ticketCommentUtil.validateUserAuthorizationForTicketCommentAction(OrganizationAction.DELETE_TICKET_COMMENT,
-            organizationUserId, ticketCommentId);
-
-        // Delete ticket comment
-        ticketCommentRepository.deleteById(ticketCommentId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Validate if user is authorized for ticket
+            ticketCommentUtil.validateUserAuthorizationForTicketCommentAction(
+                OrganizationAction.DELETE_TICKET_COMMENT, organizationUserId, ticketCommentId);
+
+            // Delete ticket comment, the comment loaded by the validation is not read again
+            ticketCommentRepository.deleteById(ticketCommentId);
+        });
         return ticketCommentId;
     }
 
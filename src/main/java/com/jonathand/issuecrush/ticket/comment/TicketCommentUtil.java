@@ -4,6 +4,7 @@ import com.jonathand.issuecrush.organization.OrganizationAction;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
+import com.jonathand.issuecrush.response.ResponsePreconditionFailedException;
 import com.jonathand.issuecrush.ticket.TicketUnauthorizedActionException;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,4 +52,19 @@ public class TicketCommentUtil {
         }
     }
 
+    /**
+     * Validates that a ticket comment still has the version a client read it with.
+     *
+     * @param ticketComment   the ticket comment to validate
+     * @param expectedVersion the version of the If-Match header, or null if any version matches
+     * @throws ResponsePreconditionFailedException if the ticket comment has another version
+     */
+    public void validateTicketCommentVersion(TicketComment ticketComment, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(ticketComment.getVersion())) {
+            throw new ResponsePreconditionFailedException("Ticket comment with id " + ticketComment.getId()
+                                                          + " was updated by someone else, read it again before "
+                                                          + "updating it");
+        }
+    }
+
 }
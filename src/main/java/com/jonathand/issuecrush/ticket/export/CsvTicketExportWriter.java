@@ -0,0 +1,68 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes every ticket as one CSV record, followed by one record per comment. The {@code type} column tells the two
+ * apart, and the columns that do not apply to a record are left empty.
+ * <p>
+ * Values are quoted as described in RFC 4180, times are written as ISO-8601 instants.
+ */
+@RequiredArgsConstructor
+public class CsvTicketExportWriter implements TicketExportWriter {
+
+    private static final String HEADER = "type,ticket_id,comment_id,title,content,priority,department,"
+                                         + "assigned_agent_id,publisher_id,publisher_email,created_at,updated_at,"
+                                         + "open\r\n";
+
+    private final Writer writer;
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void writeTicket(TicketExportRow ticket) throws IOException {
+        writeRecord("ticket", ticket.id(), null, ticket.title(), ticket.content(), ticket.priority(),
+            ticket.department(), ticket.assignedAgentId(), ticket.publisherId(), ticket.publisherEmail(),
+            ticket.createdAt(), ticket.updatedAt(), ticket.open());
+
+        if (ticket.comments() != null) {
+            for (TicketCommentExportRow comment : ticket.comments()) {
+                writeRecord("comment", ticket.id(), comment.id(), null, comment.content(), null, null, null,
+                    comment.publisherId(), null, comment.createdAt(), comment.updatedAt(), null);
+            }
+        }
+    }
+
+    private void writeRecord(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value instanceof Date date ? date.toInstant()
+            .toString() : value.toString();
+
+        // Quote the values that would otherwise end the field or the record, doubling their quotes
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes every ticket as one JSON object per line, with its comments nested in it.
+ */
+@RequiredArgsConstructor
+public class NdjsonTicketExportWriter implements TicketExportWriter {
+
+    private final Writer writer;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void writeHeader() {
+        // Every line stands on its own
+    }
+
+    @Override
+    public void writeTicket(TicketExportRow ticket) throws IOException {
+        writer.write(objectMapper.writeValueAsString(ticket));
+        writer.write('\n');
+    }
+
+}
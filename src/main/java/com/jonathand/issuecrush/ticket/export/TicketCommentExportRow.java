@@ -0,0 +1,21 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A ticket comment of an export.
+ *
+ * @param ticketId the ID of the ticket, only used to pair the comment with its ticket
+ */
+public record TicketCommentExportRow(
+    Long id,
+    @JsonIgnore Long ticketId,
+    Long publisherId,
+    String content,
+    Date createdAt,
+    Date updatedAt
+) {
+
+}
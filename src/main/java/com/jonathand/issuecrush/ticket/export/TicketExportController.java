@@ -0,0 +1,52 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/tickets")
+public class TicketExportController {
+
+    private final TicketExportService ticketExportService;
+
+    /**
+     * Streams every ticket of the specified organization as a file, for extracts that need all of them at once.
+     *
+     * @param organizationId  the ID of the organization to export tickets for
+     * @param format          the format of the export, NDJSON or CSV (default: ndjson)
+     * @param includeComments flag to export the comments of every ticket as well (default: false)
+     * @return a ResponseEntity streaming the tickets, ordered by ID
+     */
+    @PreAuthorize("@organizationSecurityExpressions.isUserMemberOfOrganization(#organizationId)")
+    @GetMapping("organization/{organizationId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTicketsForOrganization(
+        @PathVariable("organizationId") Long organizationId,
+        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+        @RequestParam(name = "includeComments", defaultValue = "false") boolean includeComments) {
+        TicketExportFormat exportFormat = TicketExportFormat.fromString(format);
+
+        // Validate the export before anything is written, the body is streamed after the headers are sent
+        StreamingResponseBody body = ticketExportService.exportTicketsForOrganization(organizationId, exportFormat,
+            includeComments);
+
+        String filename = "tickets-organization-" + organizationId + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(filename)
+                .build()
+                .toString())
+            .body(body);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.io.Writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+public enum TicketExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv"),
+    ;
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    TicketExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TicketExportFormat fromString(String formatArgument) {
+        try {
+            return TicketExportFormat.valueOf(formatArgument.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new TicketExportFormatNotFoundException(formatArgument.toUpperCase());
+        }
+    }
+
+    /**
+     * Creates the writer of this format.
+     *
+     * @param writer       the writer to write the rows to
+     * @param objectMapper the object mapper of the API responses
+     * @return the writer of this format
+     */
+    public TicketExportWriter writer(Writer writer, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonTicketExportWriter(writer, objectMapper);
+            case CSV -> new CsvTicketExportWriter(writer);
+        };
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jonathand.issuecrush.ticket.export;
+
+public class TicketExportFormatNotFoundException extends RuntimeException {
+
+    public TicketExportFormatNotFoundException(String format) {
+        super("Export format " + format + " does not exist...");
+    }
+
+}
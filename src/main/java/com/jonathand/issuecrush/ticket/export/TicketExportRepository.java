@@ -0,0 +1,59 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.util.stream.Stream;
+
+import com.jonathand.issuecrush.ticket.Ticket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Streams the rows of an export through a server-side cursor. The queries select straight into records, so no entity
+ * ever enters the persistence context, and the fetch size bounds how many rows the driver holds at once.
+ * <p>
+ * Postgres only keeps a cursor open inside a transaction, the streams must be read and closed in one.
+ */
+public interface TicketExportRepository extends Repository<Ticket, Long> {
+
+    /**
+     * The number of rows the driver fetches per round trip.
+     */
+    String FETCH_SIZE = "1000";
+
+    /**
+     * Streams the tickets of an organization with their body and property, ordered by ID.
+     *
+     * @param organizationId the organization ID to match
+     * @return a stream of the tickets, which must be closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query("SELECT new com.jonathand.issuecrush.ticket.export.TicketExportRow(t.id, t.ticketBody.title, "
+           + "t.content, t.ticketProperty.priority, t.ticketProperty.department, "
+           + "t.ticketProperty.assigned_agent.id, p.id, u.email, t.createdAt, t.updatedAt, t.open) "
+           + "FROM Ticket t "
+           + "LEFT JOIN t.publisher p "
+           + "LEFT JOIN p.user u "
+           + "WHERE t.organization.id = :organizationId "
+           + "ORDER BY t.id")
+    Stream<TicketExportRow> streamTicketsForOrganization(@Param("organizationId") Long organizationId);
+
+    /**
+     * Streams the comments of the tickets of an organization, ordered by ticket ID and then by comment ID, so they
+     * can be paired with {@link #streamTicketsForOrganization(Long)} in one pass.
+     *
+     * @param organizationId the organization ID to match
+     * @return a stream of the comments, which must be closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query("SELECT new com.jonathand.issuecrush.ticket.export.TicketCommentExportRow(c.id, t.id, c.publisher.id, "
+           + "c.content, c.createdAt, c.updatedAt) "
+           + "FROM TicketComment c "
+           + "JOIN c.ticket t "
+           + "WHERE t.organization.id = :organizationId "
+           + "ORDER BY t.id, c.id")
+    Stream<TicketCommentExportRow> streamTicketCommentsForOrganization(@Param("organizationId") Long organizationId);
+
+}
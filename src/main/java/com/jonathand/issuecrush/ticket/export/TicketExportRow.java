@@ -0,0 +1,53 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+
+/**
+ * A ticket of an export with its body and property flattened into one row.
+ *
+ * @param comments the comments of the ticket, oldest first, or null when comments are not exported
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TicketExportRow(
+    Long id,
+    String title,
+    String content,
+    TicketPriority priority,
+    TicketDepartment department,
+    Long assignedAgentId,
+    Long publisherId,
+    String publisherEmail,
+    Date createdAt,
+    Date updatedAt,
+    boolean open,
+    List<TicketCommentExportRow> comments
+) {
+
+    /**
+     * Creates the row straight from the selected columns of a JPQL constructor expression, see
+     * {@link TicketExportRepository#streamTicketsForOrganization(Long)}.
+     */
+    public TicketExportRow(Long id, String title, String content, TicketPriority priority,
+                           TicketDepartment department, Long assignedAgentId, Long publisherId,
+                           String publisherEmail, Date createdAt, Date updatedAt, boolean open) {
+        this(id, title, content, priority, department, assignedAgentId, publisherId, publisherEmail, createdAt,
+            updatedAt, open, null);
+    }
+
+    /**
+     * Copies the row with the comments of the ticket.
+     *
+     * @param comments the comments of the ticket
+     * @return the row with the comments
+     */
+    public TicketExportRow withComments(List<TicketCommentExportRow> comments) {
+        return new TicketExportRow(id, title, content, priority, department, assignedAgentId, publisherId,
+            publisherEmail, createdAt, updatedAt, open, comments);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonathand.issuecrush.organization.OrganizationUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Service
+@RequiredArgsConstructor
+public class TicketExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TicketExportRepository ticketExportRepository;
+
+    private final OrganizationUtil organizationUtil;
+
+    private final ObjectMapper objectMapper;
+
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Exports every ticket of the specified organization, with constant memory no matter how many tickets it has.
+     * <p>
+     * The tickets and their comments are read through two server-side cursors ordered by ticket ID and paired in one
+     * pass, so at most the comments of a single ticket are held at once. The rows are written as they are read, and a
+     * slow client blocks the writes, which in turn stops the reads.
+     *
+     * @param organizationId  the ID of the organization to export tickets for
+     * @param format          the format of the export
+     * @param includeComments true to export the comments of every ticket as well
+     * @return the body that writes the export when the response is sent
+     */
+    public StreamingResponseBody exportTicketsForOrganization(Long organizationId, TicketExportFormat format,
+                                                              boolean includeComments) {
+        // Validate organization exists before the response is committed
+        organizationUtil.validateOrganizationExistsById(organizationId);
+
+        // The body is written on another thread, which opens its own read-only transaction for the cursors
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+            TicketExportWriter exportWriter = format.writer(writer, objectMapper);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TicketExportRow> tickets = ticketExportRepository.streamTicketsForOrganization(
+                    organizationId); Stream<TicketCommentExportRow> comments = includeComments
+                    ? ticketExportRepository.streamTicketCommentsForOrganization(organizationId) : Stream.empty()) {
+                    exportWriter.writeHeader();
+                    writeTickets(exportWriter, tickets.iterator(), includeComments ? comments.iterator() : null);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+
+            writer.flush();
+        };
+    }
+
+    private void writeTickets(TicketExportWriter exportWriter, Iterator<TicketExportRow> tickets,
+                              Iterator<TicketCommentExportRow> comments) throws IOException {
+        TicketCommentExportRow nextComment = comments != null && comments.hasNext() ? comments.next() : null;
+
+        while (tickets.hasNext()) {
+            TicketExportRow ticket = tickets.next();
+
+            if (comments == null) {
+                exportWriter.writeTicket(ticket);
+                continue;
+            }
+
+            // Both cursors are ordered by ticket ID, so the comments of this ticket are next in line
+            List<TicketCommentExportRow> ticketComments = new ArrayList<>();
+            while (nextComment != null && nextComment.ticketId() <= ticket.id()) {
+                if (nextComment.ticketId()
+                    .equals(ticket.id())) {
+                    ticketComments.add(nextComment);
+                }
+                nextComment = comments.hasNext() ? comments.next() : null;
+            }
+
+            exportWriter.writeTicket(ticket.withComments(ticketComments));
+        }
+    }
+
+}
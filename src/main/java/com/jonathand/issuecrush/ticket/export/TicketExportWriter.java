@@ -0,0 +1,25 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import java.io.IOException;
+
+/**
+ * Writes the rows of an export in one format, one ticket at a time and without keeping any of them.
+ */
+public interface TicketExportWriter {
+
+    /**
+     * Writes what comes before the first ticket, if anything.
+     *
+     * @throws IOException if the rows can not be written
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * Writes a ticket, with its comments if they are exported.
+     *
+     * @param ticket the ticket to write
+     * @throws IOException if the rows can not be written
+     */
+    void writeTicket(TicketExportRow ticket) throws IOException;
+
+}
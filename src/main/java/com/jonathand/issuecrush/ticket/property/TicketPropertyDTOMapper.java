@@ -3,17 +3,23 @@ package com.jonathand.issuecrush.ticket.property;
 import java.util.function.Function;
 
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTOMapper;
+import com.jonathand.issuecrush.ticket.Ticket;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Maps the properties of a ticket. The properties are stored in the ticket row, so they are identified by the ID of
+ * the ticket.
+ */
 @RequiredArgsConstructor
-public class TicketPropertyDTOMapper implements Function<TicketProperty, TicketPropertyDTO> {
+public class TicketPropertyDTOMapper implements Function<Ticket, TicketPropertyDTO> {
 
     private final OrganizationUserDTOMapper organizationUserDTOMapper;
 
     @Override
-    public TicketPropertyDTO apply(TicketProperty ticketProperty) {
+    public TicketPropertyDTO apply(Ticket ticket) {
+        TicketProperty ticketProperty = ticket.getTicketProperty();
         return new TicketPropertyDTO(
-            ticketProperty.getId(),
+            ticket.getId(),
             ticketProperty.getPriority()
                 .name()
                 .toUpperCase(),
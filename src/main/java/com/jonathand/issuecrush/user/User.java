@@ -6,6 +6,7 @@ import java.util.Objects;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -31,6 +32,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(UserEntityListener.class)
 @Table(name = "users")
 public class User implements UserDetails {
 
@@ -57,6 +59,14 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private UserRole userRole;
 
+    /**
+     * Incremented every time the organization memberships of the user change. Tokens carry the version they were
+     * issued with, so organization claims of an older version are ignored.
+     */
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long membershipVersion = 0L;
+
     @Override
     public String getUsername() {
         return email;
@@ -0,0 +1,29 @@
+package com.jonathand.issuecrush.user;
+
+import com.jonathand.issuecrush.config.AuthenticatedPrincipalCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the authenticated principal cache in sync with the users table. The cache is optional so the listener also
+ * works in contexts without the web layer, like repository tests.
+ */
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ObjectProvider<AuthenticatedPrincipalCache> authenticatedPrincipalCache;
+
+    /**
+     * Evicts the cached principal of a user that was updated or removed.
+     *
+     * @param user the user that changed
+     */
+    @PostUpdate
+    @PostRemove
+    public void evictCachedPrincipal(User user) {
+        authenticatedPrincipalCache.ifAvailable(cache -> cache.evict(user.getEmail()));
+    }
+
+}
@@ -3,7 +3,11 @@ package com.jonathand.issuecrush.user;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +16,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Increments the membership version of a user, which invalidates the organization claims of every token issued
+     * to the user before the increment.
+     *
+     * @param userId the ID of the user
+     * @return the number of updated users
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.membershipVersion = u.membershipVersion + 1 WHERE u.id = :userId")
+    int incrementMembershipVersion(@Param("userId") Long userId);
+
+    /**
+     * Increments the membership version of every member of an organization.
+     *
+     * @param organizationId the ID of the organization
+     * @return the number of updated users
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.membershipVersion = u.membershipVersion + 1 "
+           + "WHERE u.id IN (SELECT ou.user.id FROM OrganizationUser ou WHERE ou.organization.id = :organizationId)")
+    int incrementMembershipVersionForOrganization(@Param("organizationId") Long organizationId);
+
 }
@@ -0,0 +1,234 @@
+-- Converts the tickets and ticket comments to the partitioned tables described in db/partitions.sql, and fills
+-- ticket_locations with the tickets created before it was kept in sync.
+--
+-- Run once on every database by an operator, with the application stopped, before this version serves requests. The
+-- application creates the tables and db/partitions.sql on startup, so start it once first on a new database:
+--
+--     psql -d issuecrush -f db/partitions.sql -f db/migrations/partition-tickets.sql
+--
+-- Do not run it in a single transaction. The rows are copied in batches, each committed on its own, so the copy holds
+-- no lock on a whole table for long and an interrupted run resumes where it stopped when run again. The indexes of
+-- the converted tables are built once their rows are copied, which takes a while on a large table. Once the tables
+-- are converted, running it again is a no-op.
+--
+-- The comments of tickets that no longer exist can not be read, and are deleted before their foreign key is added.
+-- Any other foreign key to the tickets stops the migration, as a partitioned table can only be referenced by a key
+-- that includes its partition keys.
+--
+-- The scripts are split on semicolons without regard for dollar quoting, so the blocks are quoted with single quotes.
+
+CREATE TABLE IF NOT EXISTS ticket_locations
+(
+    id         bigint       NOT NULL PRIMARY KEY,
+    archived   boolean      NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+ALTER TABLE tickets
+    ADD COLUMN IF NOT EXISTS archived boolean NOT NULL DEFAULT false;
+
+ALTER TABLE ticket_comments
+    ADD COLUMN IF NOT EXISTS archived boolean NOT NULL DEFAULT false;
+
+-- As in db/partitions.sql, which leaves it out until the tickets have the archived column
+CREATE OR REPLACE TRIGGER tickets_location
+    AFTER INSERT OR UPDATE OF created_at, archived OR DELETE
+    ON tickets
+    FOR EACH ROW
+EXECUTE FUNCTION track_ticket_location();
+
+CREATE OR REPLACE PROCEDURE backfill_ticket_locations(batch_size integer)
+    LANGUAGE plpgsql AS '
+DECLARE
+    last_id bigint := 0;
+    next_id bigint;
+BEGIN
+    LOOP
+        SELECT max(id)
+        INTO next_id
+        FROM (SELECT id FROM tickets WHERE id > last_id ORDER BY id LIMIT batch_size) batch;
+        EXIT WHEN next_id IS NULL;
+
+        INSERT INTO ticket_locations (id, created_at, archived)
+        SELECT id, created_at, archived
+        FROM tickets
+        WHERE id > last_id
+          AND id <= next_id
+        ON CONFLICT (id) DO NOTHING;
+
+        last_id := next_id;
+        COMMIT;
+    END LOOP;
+END';
+
+CALL backfill_ticket_locations(10000);
+
+DELETE
+FROM ticket_comments c
+WHERE NOT EXISTS (SELECT FROM ticket_locations l WHERE l.id = c.ticket_id);
+
+-- Deferred, so a ticket moved to the archive, which deletes and inserts its location, keeps its comments. It replaces
+-- the foreign key Hibernate created to the tickets, which can not be referenced once partitioned
+DO '
+DECLARE
+    statement text;
+BEGIN
+    IF NOT EXISTS (SELECT
+                   FROM pg_constraint
+                   WHERE conrelid = ''ticket_comments''::regclass
+                     AND conname = ''fk_ticket_comments_ticket_location'') THEN
+        ALTER TABLE ticket_comments
+            ADD CONSTRAINT fk_ticket_comments_ticket_location FOREIGN KEY (ticket_id) REFERENCES ticket_locations (id)
+                DEFERRABLE INITIALLY DEFERRED;
+    END IF;
+
+    FOR statement IN SELECT format(''ALTER TABLE ticket_comments DROP CONSTRAINT %I'', conname)
+                     FROM pg_constraint
+                     WHERE conrelid = ''ticket_comments''::regclass
+                       AND confrelid = ''tickets''::regclass
+                       AND contype = ''f''
+        LOOP
+            EXECUTE statement;
+        END LOOP;
+END';
+
+CREATE OR REPLACE PROCEDURE partition_by_created_at(parent text, batch_size integer)
+    LANGUAGE plpgsql AS '
+DECLARE
+    partitioned      text := parent || ''_partitioned'';
+    id_sequence      text := pg_get_serial_sequence(parent, ''id'');
+    id_identity      boolean;
+    columns          text;
+    statements       text[];
+    statement        text;
+    first_created_at timestamp;
+    last_id          bigint;
+    next_id          bigint;
+    max_id           bigint;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = parent::regclass) = ''p'' THEN
+        RETURN;
+    END IF;
+
+    IF EXISTS (SELECT FROM pg_constraint WHERE confrelid = parent::regclass AND contype = ''f'') THEN
+        RAISE EXCEPTION ''A foreign key references %, which the partitioned table can not have'', parent;
+    END IF;
+
+    -- The partitioned table, with the names the partitions keep once it replaces the table
+    IF to_regclass(partitioned) IS NULL THEN
+        EXECUTE format(''CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING IDENTITY ''
+                       ''INCLUDING CONSTRAINTS INCLUDING STORAGE, PRIMARY KEY (id, archived, created_at)) ''
+                       ''PARTITION BY LIST (archived)'', partitioned, parent);
+        EXECUTE format(''CREATE TABLE %I PARTITION OF %I FOR VALUES IN (true) WITH (toast_tuple_target = 128)'',
+                       parent || ''_archive'', partitioned);
+        EXECUTE format(''CREATE TABLE %I PARTITION OF %I FOR VALUES IN (false) PARTITION BY RANGE (created_at)'',
+                       parent || ''_current'', partitioned);
+
+        -- A partition for every month with rows and the next three, the default partition only catches the others
+        EXECUTE format(''SELECT min(created_at) FROM %I'', parent) INTO first_created_at;
+        PERFORM create_monthly_partitions(parent, coalesce(first_created_at, localtimestamp),
+                                          localtimestamp + interval ''3 months'');
+        EXECUTE format(''CREATE TABLE %I PARTITION OF %I DEFAULT'', parent || ''_current_default'',
+                       parent || ''_current'');
+
+        -- The foreign keys check the rows as they are copied
+        FOR statement IN SELECT format(''ALTER TABLE %I ADD CONSTRAINT %I %s'', partitioned, conname,
+                                       pg_get_constraintdef(oid))
+                         FROM pg_constraint
+                         WHERE conrelid = parent::regclass
+                           AND contype = ''f''
+            LOOP
+                EXECUTE statement;
+            END LOOP;
+        COMMIT;
+    END IF;
+
+    SELECT string_agg(quote_ident(column_name), '', '' ORDER BY ordinal_position)
+    INTO columns
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND table_name = parent
+      AND is_generated = ''NEVER'';
+
+    -- Copy the rows in batches of IDs, resuming after the rows copied by an earlier run
+    EXECUTE format(''SELECT coalesce(max(id), 0) FROM %I'', partitioned) INTO last_id;
+    LOOP
+        EXECUTE format(''SELECT max(id) FROM (SELECT id FROM %I WHERE id > $1 ORDER BY id LIMIT $2) batch'', parent)
+            INTO next_id
+            USING last_id, batch_size;
+        EXIT WHEN next_id IS NULL;
+
+        EXECUTE format(''INSERT INTO %I (%s) SELECT %s FROM %I WHERE id > $1 AND id <= $2'', partitioned, columns,
+                       columns, parent)
+            USING last_id, next_id;
+        last_id := next_id;
+        COMMIT;
+    END LOOP;
+
+    -- The indexes and triggers to recreate, including the partial indexes
+    SELECT coalesce(array_agg(pg_get_indexdef(i.indexrelid)), ''{}'')
+    INTO statements
+    FROM pg_index i
+    WHERE i.indrelid = parent::regclass
+      AND NOT i.indisprimary
+      AND NOT EXISTS (SELECT FROM pg_constraint c WHERE c.conindid = i.indexrelid);
+
+    SELECT statements || coalesce(array_agg(pg_get_triggerdef(oid)), ''{}'')
+    INTO statements
+    FROM pg_trigger
+    WHERE tgrelid = parent::regclass
+      AND NOT tgisinternal;
+
+    -- The identity sequence of the table is dropped with it, while the sequence of a serial column is kept
+    SELECT attidentity <> ''''
+    INTO id_identity
+    FROM pg_attribute
+    WHERE attrelid = parent::regclass
+      AND attname = ''id'';
+    IF id_sequence IS NOT NULL AND NOT id_identity THEN
+        EXECUTE format(''ALTER SEQUENCE %s OWNED BY %I.id'', id_sequence, partitioned);
+    END IF;
+
+    -- Replace the table, keeping the names of its primary key and identity sequence
+    EXECUTE format(''LOCK TABLE %I IN ACCESS EXCLUSIVE MODE'', parent);
+    EXECUTE format(''INSERT INTO %I (%s) SELECT %s FROM %I WHERE id > $1'', partitioned, columns, columns, parent)
+        USING last_id;
+    EXECUTE format(''DROP TABLE %I'', parent);
+    EXECUTE format(''ALTER TABLE %I RENAME TO %I'', partitioned, parent);
+    EXECUTE format(''ALTER TABLE %I RENAME CONSTRAINT %I TO %I'', parent, partitioned || ''_pkey'',
+                   parent || ''_pkey'');
+    IF id_identity THEN
+        EXECUTE format(''ALTER SEQUENCE %s RENAME TO %I'', pg_get_serial_sequence(parent, ''id''),
+                       parent || ''_id_seq'');
+        EXECUTE format(''SELECT max(id) FROM %I'', parent) INTO max_id;
+        IF max_id IS NOT NULL THEN
+            PERFORM setval(pg_get_serial_sequence(parent, ''id''), max_id);
+        END IF;
+    END IF;
+
+    FOREACH statement IN ARRAY statements
+        LOOP
+            EXECUTE statement;
+        END LOOP;
+END';
+
+CALL partition_by_created_at('tickets', 10000);
+
+CALL partition_by_created_at('ticket_comments', 10000);
+
+-- Only closed tickets are archived. The check lets the planner skip the archive for the open ticket listings
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT
+                   FROM pg_constraint
+                   WHERE conrelid = ''tickets_archive''::regclass
+                     AND conname = ''tickets_archive_closed'') THEN
+        ALTER TABLE tickets_archive ADD CONSTRAINT tickets_archive_closed CHECK (NOT open);
+    END IF;
+END';
+
+CREATE OR REPLACE TRIGGER tickets_archive_reopened
+    BEFORE UPDATE
+    ON tickets_archive
+    FOR EACH ROW
+EXECUTE FUNCTION unarchive_reopened_ticket();
@@ -0,0 +1,85 @@
+-- Partitions the tickets and ticket comments by the month they were created in, with an archive tier.
+--
+-- Both tables are split on their archived column. The archived rows go to <table>_archive, which stores wide values
+-- compressed out of line. The others go to <table>_current, which is split into one partition per created_at month,
+-- <table>_yyyy_mm, and a default partition for the months that have none. Only the tickets and comments of the last
+-- months are read and written, so their partitions and indexes stay small enough to be cached. The months of history
+-- sit in their own partitions. The closed tickets are moved to the archive by the application, see
+-- TicketArchiveWorker, which also creates the partitions of the coming months. An archived ticket that is reopened
+-- moves back to tickets_current.
+--
+-- The tables are converted once by an operator, with the application stopped, see
+-- db/migrations/partition-tickets.sql. This script only defines the functions and triggers, so it is cheap to run on
+-- every startup, whether the tables are converted yet or not.
+--
+-- The primary keys include the partition keys, so an ID alone is neither unique nor enough to find a row without
+-- probing every partition. ticket_locations holds the partition keys of every ticket, one row per ID, kept in sync by
+-- the trigger below. Its primary key keeps the ticket IDs unique, the comments reference it with a foreign key, and a
+-- ticket read or written by its ID looks its partition keys up there first, see TicketSpecifications.withId. That
+-- costs a primary key lookup per ticket read or written by its ID, and a row written per ticket inserted, deleted or
+-- moved to the archive. The comments have no such table, so finding a comment by its ID probes every partition of
+-- the comments.
+--
+-- The scripts are split on semicolons without regard for dollar quoting, so the blocks are quoted with single quotes.
+
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent text, first_month timestamp, last_month timestamp)
+    RETURNS void
+    LANGUAGE plpgsql AS '
+DECLARE
+    partition_month timestamp := date_trunc(''month'', first_month);
+BEGIN
+    -- Nothing to create until the table is converted
+    IF to_regclass(parent || ''_current'') IS NULL THEN
+        RETURN;
+    END IF;
+
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format(''CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)'',
+                       parent || ''_'' || to_char(partition_month, ''YYYY_MM''), parent || ''_current'',
+                       partition_month, partition_month + interval ''1 month'');
+        partition_month := partition_month + interval ''1 month'';
+    END LOOP;
+END';
+
+CREATE OR REPLACE FUNCTION unarchive_reopened_ticket()
+    RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    IF NEW.open THEN
+        NEW.archived := false;
+    END IF;
+    RETURN NEW;
+END';
+
+-- A ticket moved between partitions is deleted from one and inserted into the other, so its location is deleted and
+-- inserted again in the same statement
+CREATE OR REPLACE FUNCTION track_ticket_location()
+    RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''DELETE'' THEN
+        DELETE FROM ticket_locations WHERE id = OLD.id;
+    ELSIF TG_OP = ''INSERT'' THEN
+        INSERT INTO ticket_locations (id, created_at, archived) VALUES (NEW.id, NEW.created_at, NEW.archived);
+    ELSE
+        UPDATE ticket_locations SET created_at = NEW.created_at, archived = NEW.archived WHERE id = NEW.id;
+    END IF;
+    RETURN NULL;
+END';
+
+-- On a database the application has not started on since the archived column was mapped, the column is added by the
+-- migration, which creates the trigger then
+DO '
+BEGIN
+    IF EXISTS (SELECT
+               FROM pg_attribute
+               WHERE attrelid = ''tickets''::regclass
+                 AND attname = ''archived''
+                 AND NOT attisdropped) THEN
+        CREATE OR REPLACE TRIGGER tickets_location
+            AFTER INSERT OR UPDATE OF created_at, archived OR DELETE
+            ON tickets
+            FOR EACH ROW
+        EXECUTE FUNCTION track_ticket_location();
+    END IF;
+END';
@@ -0,0 +1,18 @@
+-- Full-text search over tickets and ticket comments.
+--
+-- Runs after Hibernate has created or updated the tables (spring.jpa.defer-datasource-initialization), so every
+-- statement must be idempotent. The search vectors are generated columns: Postgres keeps them up to date on every
+-- insert and update, and Hibernate never reads or writes them.
+
+ALTER TABLE tickets
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('english', coalesce(content, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_search_vector ON tickets USING GIN (search_vector);
+
+ALTER TABLE ticket_comments
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_ticket_comments_search_vector ON ticket_comments USING GIN (search_vector);
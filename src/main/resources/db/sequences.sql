@@ -0,0 +1,13 @@
+-- Sequences of the entities inserted in batches.
+--
+-- Tickets take their ids from a sequence incremented by 50, and Hibernate hands out the 50 ids below every value it
+-- reads with its pooled optimizer. Unlike IDENTITY columns, the ids are known before the insert, so the inserts can
+-- be batched.
+--
+-- The table used an IDENTITY column before, so the sequence is moved past the highest id already taken. The column
+-- defaults to the same sequence, so rows inserted outside Hibernate never take an id Hibernate hands out.
+
+SELECT setval('tickets_seq', greatest((SELECT coalesce(max(id), 0) FROM tickets),
+                                      (SELECT last_value FROM tickets_seq), 1));
+
+ALTER TABLE tickets ALTER COLUMN id SET DEFAULT nextval('tickets_seq');
@@ -0,0 +1,41 @@
+-- Moves the ticket bodies and ticket properties into the ticket rows.
+--
+-- They used to be stored in the ticket_bodies and ticket_properties tables, one row each per ticket, which cost two
+-- more inserts per created ticket and two joins per read. Hibernate adds their columns to tickets, this copies the
+-- existing rows over and drops the old tables and the foreign keys to them. Once they are gone there is nothing left
+-- to do, so running it again is a no-op.
+--
+-- The scripts are split on semicolons without regard for dollar quoting, so the blocks are quoted with single quotes.
+
+DO '
+BEGIN
+    IF to_regclass(''ticket_bodies'') IS NOT NULL THEN
+        UPDATE tickets t
+        SET title   = b.title,
+            content = b.content
+        FROM ticket_bodies b
+        WHERE b.id = t.ticket_body_id;
+
+        ALTER TABLE tickets DROP COLUMN ticket_body_id;
+        DROP TABLE ticket_bodies;
+    END IF;
+END';
+
+DO '
+BEGIN
+    IF to_regclass(''ticket_properties'') IS NOT NULL THEN
+        UPDATE tickets t
+        SET priority          = p.priority,
+            department        = p.department,
+            assigned_agent_id = p.assigned_agent_id
+        FROM ticket_properties p
+        WHERE p.id = t.ticket_property_id;
+
+        ALTER TABLE tickets DROP COLUMN ticket_property_id;
+        DROP TABLE ticket_properties;
+    END IF;
+END';
+
+DROP SEQUENCE IF EXISTS ticket_bodies_seq;
+
+DROP SEQUENCE IF EXISTS ticket_properties_seq;
@@ -0,0 +1,13 @@
+-- Partial indexes for the ticket listings filtered on open tickets.
+--
+-- Most tickets of an organization end up closed, while the listings are mostly read for the open ones. Indexing only
+-- the open tickets keeps these indexes small, and both read in the order of the listing, so an open ticket listing
+-- never skips over closed tickets. JPA can not declare a partial index, so they are created here. Once the tickets are
+-- partitioned, see db/partitions.sql, they are created on every partition, and stay empty on the archive, as an
+-- archived ticket is never open.
+
+CREATE INDEX IF NOT EXISTS idx_tickets_organization_open_created_at
+    ON tickets (organization_id, created_at DESC, id DESC) WHERE open;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_organization_open_updated_at
+    ON tickets (organization_id, updated_at DESC, id DESC) WHERE open;
@@ -0,0 +1,16 @@
+-- Trigram indexes for the case-insensitive substring finders.
+--
+-- The finders filter with UPPER(column) LIKE '%value%', both the derived ContainsIgnoreCase methods and the JPQL
+-- queries, so the indexes are built on the same upper(column) expression. A query that lowercases the column instead
+-- or wraps it in another function will not use them. Values shorter than three characters have no trigram to look
+-- up and still scan the whole index.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_title_trgm ON tickets USING GIN (upper(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_comments_content_trgm ON ticket_comments USING GIN (upper(content) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_organizations_name_trgm ON organizations USING GIN (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN (upper(email) gin_trgm_ops);
@@ -0,0 +1,36 @@
+-- Versions of the tickets and ticket comments, used for optimistic locking.
+--
+-- Hibernate adds the version columns as nullable, so the rows that existed before are given version 0 and the columns
+-- are made NOT NULL. A null version would make Spring Data treat a stored row as new. The columns default to 0, so
+-- rows inserted outside Hibernate start at the same version as the rows Hibernate inserts. Once the columns are NOT
+-- NULL there is nothing left to do, so running it again does not scan the tables.
+--
+-- The scripts are split on semicolons without regard for dollar quoting, so the blocks are quoted with single quotes.
+
+ALTER TABLE tickets ALTER COLUMN version SET DEFAULT 0;
+
+ALTER TABLE ticket_comments ALTER COLUMN version SET DEFAULT 0;
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_name = ''tickets''
+                 AND column_name = ''version''
+                 AND is_nullable = ''YES'') THEN
+        UPDATE tickets SET version = 0 WHERE version IS NULL;
+        ALTER TABLE tickets ALTER COLUMN version SET NOT NULL;
+    END IF;
+END';
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_name = ''ticket_comments''
+                 AND column_name = ''version''
+                 AND is_nullable = ''YES'') THEN
+        UPDATE ticket_comments SET version = 0 WHERE version IS NULL;
+        ALTER TABLE ticket_comments ALTER COLUMN version SET NOT NULL;
+    END IF;
+END';
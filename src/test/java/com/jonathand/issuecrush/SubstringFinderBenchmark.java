@@ -0,0 +1,219 @@
+package com.jonathand.issuecrush;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
+import com.jonathand.issuecrush.organization.OrganizationRepository;
+import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
+import com.jonathand.issuecrush.ticket.TicketFilter;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.TicketSpecifications;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures the substring finders with and without the trigram indexes of {@code db/trigram.sql}.
+ * <p>
+ * Only runs when asked for, and wipes the test database:
+ * <pre>
+ * mvn test -Dtest=SubstringFinderBenchmark -Dbenchmark.rows=10000,1000000,10000000
+ * </pre>
+ * For every row count, each searched table is filled with that many rows in one organization, the worst case for
+ * the organization indexes, and the median latency of every finder is printed before and after the trigram indexes
+ * are created. Every finder runs in a read-only transaction with custom query plans, as the services run them.
+ */
+@DataJpaTest
+@Import(CustomQueryPlans.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+(,\\d+)*")
+class SubstringFinderBenchmark {
+
+    private static final int RUNS = 7;
+
+    private static final List<String> TRIGRAM_INDEXES = List.of("idx_tickets_title_trgm",
+        "idx_ticket_comments_content_trgm", "idx_organizations_name_trgm", "idx_users_email_trgm");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketCommentRepository ticketCommentRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private OrganizationUserRepository organizationUserRepository;
+
+    @Autowired
+    private CustomQueryPlans customQueryPlans;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+        createTrigramIndexes();
+    }
+
+    @Test
+    void benchmarkSubstringFinders() {
+        StringBuilder report = new StringBuilder(String.format("%n%-36s %12s %14s %14s%n", "finder", "rows",
+            "without (ms)", "with (ms)"));
+
+        for (int rows : Arrays.stream(System.getProperty("benchmark.rows")
+                .split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray()) {
+            truncate();
+            createTrigramIndexes();
+            Map<String, Supplier<Slice<?>>> finders = populate(rows);
+
+            // Every finder must find something, or the benchmark only measures misses
+            finders.forEach((finder, query) -> assertThat(query.get()
+                .hasContent()).as(finder)
+                .isTrue());
+
+            TRIGRAM_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+            Map<String, Double> without = new LinkedHashMap<>();
+            finders.forEach((finder, query) -> without.put(finder, medianMillis(query)));
+
+            createTrigramIndexes();
+            jdbcTemplate.execute("ANALYZE");
+            finders.forEach((finder, query) -> report.append(String.format("%-36s %12d %14.2f %14.2f%n", finder,
+                rows, without.get(finder), medianMillis(query))));
+        }
+
+        System.out.println(report);
+    }
+
+    private Map<String, Supplier<Slice<?>>> populate(int rows) {
+        // Every user is a member of the first organization, and the first user is a member of every organization
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role, membership_version) "
+                            + "SELECT 'Bench', 'User', 'bench' || g || '.' || md5(g::text) || '@example.com', "
+                            + "'password', 'USER', 0 FROM generate_series(1, ?) g", rows);
+        Long ownerId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        String ownerEmail = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class,
+            ownerId);
+
+        jdbcTemplate.update("INSERT INTO organizations (creator_id, name, created_at, updated_at) "
+                            + "SELECT ?, 'Organization ' || md5(g::text), now(), now() "
+                            + "FROM generate_series(1, ?) g", ownerId, rows);
+        Long organizationId = jdbcTemplate.queryForObject("SELECT min(id) FROM organizations", Long.class);
+
+        jdbcTemplate.update("INSERT INTO organization_users (user_id, org_id, role) "
+                            + "SELECT id, ?, CASE WHEN id = ? THEN 'OWNER' ELSE 'MEMBER' END FROM users",
+            organizationId, ownerId);
+        jdbcTemplate.update("INSERT INTO organization_users (user_id, org_id, role) "
+                            + "SELECT ?, id, 'OWNER' FROM organizations WHERE id <> ?", ownerId, organizationId);
+        Long publisherId = jdbcTemplate.queryForObject(
+            "SELECT id FROM organization_users WHERE user_id = ? AND org_id = ?", Long.class, ownerId,
+            organizationId);
+
+        jdbcTemplate.update("INSERT INTO tickets (organization_id, publisher_id, created_at, updated_at, open, "
+                            + "title, content, priority, department) "
+                            + "SELECT ?, ?, now(), now(), true, 'Ticket ' || md5(g::text), 'Content ' || md5(g::text), "
+                            + "'LOW', 'IT' FROM generate_series(1, ?) g",
+            organizationId, publisherId, rows);
+
+        jdbcTemplate.update("INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                            + "SELECT id, ?, 'Comment ' || md5(id::text), now(), now() FROM tickets", publisherId);
+
+        jdbcTemplate.execute("ANALYZE");
+
+        // Search for a value matching a single row in the middle of each table
+        String title = middleValue("tickets", "title");
+        String content = middleValue("ticket_comments", "content");
+        String name = middleValue("organizations", "name");
+        String email = middleValue("users", "email");
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        Map<String, Supplier<Slice<?>>> finders = new LinkedHashMap<>();
+        finders.put("tickets by title",
+            withCustomPlans(() -> ticketRepository.findTicketDTOs(TicketSpecifications.matching(organizationId,
+                new TicketFilter(title, null, null, null, null, null, null, null, null, null)), pageRequest)));
+        finders.put("ticket comments by content",
+            withCustomPlans(() -> ticketCommentRepository.findTicketCommentDTOsForOrganizationByContent(
+                organizationId, content, pageRequest)));
+        finders.put("organizations by name",
+            withCustomPlans(() -> organizationRepository
+                .findByUsers_User_EmailAndNameContainsIgnoreCaseAndDeletionRequestedAtIsNull(ownerEmail, name,
+                    pageRequest)));
+        finders.put("organization users by email",
+            withCustomPlans(() -> organizationUserRepository.findOrganizationUserDTOsByOrganizationAndEmail(
+                organizationId, email, pageRequest)));
+        return finders;
+    }
+
+    private Supplier<Slice<?>> withCustomPlans(Supplier<Slice<?>> finder) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return () -> transactionTemplate.execute(status -> {
+            customQueryPlans.useForCurrentTransaction();
+            return finder.get();
+        });
+    }
+
+    private String middleValue(String table, String column) {
+        String value = jdbcTemplate.queryForObject("SELECT " + column + " FROM " + table
+                                                   + " ORDER BY id OFFSET (SELECT count(*) / 2 FROM " + table
+                                                   + ") LIMIT 1", String.class);
+        // Ten characters of the md5 in the value, in another case than stored
+        int md5 = value.indexOf(' ') >= 0 ? value.indexOf(' ') + 1 : value.indexOf('.') + 1;
+        return value.substring(md5 + 4, md5 + 14)
+            .toUpperCase();
+    }
+
+    private double medianMillis(Supplier<Slice<?>> finder) {
+        // Warm up the connection and the plan cache first
+        finder.get();
+
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            finder.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("TRUNCATE ticket_comments, tickets, organization_users, organizations, users CASCADE");
+    }
+
+    private void createTrigramIndexes() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/trigram.sql")).execute(dataSource);
+    }
+
+}
@@ -103,4 +103,62 @@ class AuthenticationIntegrationTest {
         assertTrue(jwtService.isTokenValid(jwtToken, email));
     }
 
-}
\ No newline at end of file
+    @Test
+    void canRefreshToken() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+
+        EntityExchangeResult<AuthenticationResponse> registerResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert registerResult.getResponseBody() != null;
+
+        String jwtToken = registerResult.getResponseBody()
+            .getToken();
+
+        // when
+        EntityExchangeResult<AuthenticationResponse> refreshResult = webTestClient.post()
+            .uri(AUTHENTICATION_PATH + "/refresh")
+            .accept(MediaType.APPLICATION_JSON)
+            .header("Authorization", "Bearer " + jwtToken)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<AuthenticationResponse>() {
+            })
+            .returnResult();
+
+        // then
+        assert refreshResult.getResponseBody() != null;
+
+        String refreshedToken = refreshResult.getResponseBody()
+            .getToken();
+
+        assertTrue(jwtService.isTokenValid(refreshedToken, email));
+    }
+
+    @Test
+    void willNotRefreshTokenWithoutAuthentication() {
+        // when
+        // then
+        // The filter leaves a request without a valid token anonymous
+        webTestClient.post()
+            .uri(AUTHENTICATION_PATH + "/refresh")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import com.github.javafaker.Faker;
 import com.jonathand.issuecrush.config.JwtService;
+import com.jonathand.issuecrush.organization.OrganizationMembershipClaims;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserDTOMapper;
 import com.jonathand.issuecrush.user.UserRepository;
@@ -44,6 +45,9 @@ class AuthenticationServiceTest {
     @Mock
     private UserUtil userUtil;
 
+    @Mock
+    private OrganizationMembershipClaims organizationMembershipClaims;
+
     @InjectMocks
     private AuthenticationService underTest;
 
@@ -74,7 +78,7 @@ class AuthenticationServiceTest {
 
         when(authenticationManager.authenticate(any())).thenReturn(authenticationToken);
 
-        when(jwtService.generateToken(any())).thenReturn("jwtToken");
+        when(jwtService.generateToken(any(), any())).thenReturn("jwtToken");
 
         // when
         AuthenticationResponse authenticationResponse = underTest.authenticate(authenticationRequest);
@@ -0,0 +1,116 @@
+package com.jonathand.issuecrush.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final ExpiringCache<String, String> underTest =
+        new ExpiringCache<>("test", 2, Duration.ofMinutes(1), clock);
+
+    @Test
+    void itWillOnlyLoadOnceWhileCached() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        underTest.get("key", key -> "value" + loads.incrementAndGet());
+        String value = underTest.get("key", key -> "value" + loads.incrementAndGet());
+
+        // then
+        assertThat(value).isEqualTo("value1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(underTest.hitCount()).isEqualTo(1);
+        assertThat(underTest.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void itWillReloadWhenExpired() {
+        // given
+        underTest.put("key", "old");
+
+        // when
+        clock.advance(Duration.ofMinutes(2));
+        String value = underTest.get("key", key -> "new");
+
+        // then
+        assertThat(value).isEqualTo("new");
+    }
+
+    @Test
+    void itWillEvictLeastRecentlyUsedWhenFull() {
+        // given
+        underTest.put("first", "1");
+        underTest.put("second", "2");
+        underTest.getIfPresent("first");
+
+        // when
+        underTest.put("third", "3");
+
+        // then
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.getIfPresent("second")).isEmpty();
+        assertThat(underTest.getIfPresent("first")).contains("1");
+    }
+
+    @Test
+    void itWillNotCacheValueLoadedDuringEviction() {
+        // when
+        underTest.get("key", key -> {
+            underTest.evict(key);
+            return "stale";
+        });
+
+        // then
+        assertThat(underTest.getIfPresent("key")).isEmpty();
+    }
+
+    @Test
+    void canEvictMatchingKeys() {
+        // given
+        underTest.put("a:1", "1");
+        underTest.put("b:1", "2");
+
+        // when
+        underTest.evictIf(key -> key.startsWith("a:"));
+
+        // then
+        assertThat(underTest.getIfPresent("a:1")).isEmpty();
+        assertThat(underTest.getIfPresent("b:1")).contains("2");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.now();
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("Z");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
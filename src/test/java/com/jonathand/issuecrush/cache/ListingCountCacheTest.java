@@ -0,0 +1,46 @@
+package com.jonathand.issuecrush.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class ListingCountCacheTest {
+
+    private final ListingCountCache underTest = new ListingCountCache(10, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+
+    @Test
+    void itWillOnlyCountOncePerListingScopeAndFilter() {
+        // given
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        underTest.count("tickets", 1L, () -> counts.incrementAndGet() * 10L, null, "title");
+        long total = underTest.count("tickets", 1L, () -> counts.incrementAndGet() * 10L, null, "title");
+
+        // then
+        assertThat(total).isEqualTo(10L);
+        assertThat(counts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void itWillCountSeparatelyForOtherScopesAndFilters() {
+        // given
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        underTest.count("tickets", 1L, counts::incrementAndGet, null, "title");
+        underTest.count("tickets", 2L, counts::incrementAndGet, null, "title");
+        underTest.count("tickets", 1L, counts::incrementAndGet, 5L, "title");
+        underTest.count("tickets", 1L, counts::incrementAndGet, null, null);
+        underTest.count("ticket-comments", 1L, counts::incrementAndGet, null, "title");
+
+        // then
+        assertThat(counts.get()).isEqualTo(5);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.jonathand.issuecrush.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresNotificationBusTest {
+
+    private static final String CHANNEL = "test_channel";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private PostgresNotificationBus publishingNode;
+
+    private PostgresNotificationBus listeningNode;
+
+    @BeforeEach
+    void setUp() {
+        publishingNode = createBus();
+        listeningNode = createBus();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publishingNode.stop();
+        listeningNode.stop();
+    }
+
+    @Test
+    void canDeliverNotificationsToOtherNodes() throws InterruptedException {
+        // given
+        RecordingListener listener = new RecordingListener();
+        listeningNode.subscribe(CHANNEL, listener);
+        listeningNode.start();
+
+        assertThat(listener.connections.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+        // when
+        publishingNode.publish(CHANNEL, "7:user@example.com");
+
+        // then
+        assertThat(listener.payloads.poll(10, TimeUnit.SECONDS)).isEqualTo("7:user@example.com");
+    }
+
+    @Test
+    void itWillNotDeliverNotificationsOfOtherChannels() throws InterruptedException {
+        // given
+        RecordingListener listener = new RecordingListener();
+        listeningNode.subscribe(CHANNEL, listener);
+        listeningNode.start();
+
+        assertThat(listener.connections.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+        // when
+        publishingNode.publish("other_channel", "payload");
+
+        // then
+        assertThat(listener.payloads.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    private PostgresNotificationBus createBus() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(POSTGRES.getJdbcUrl());
+        dataSourceProperties.setUsername(POSTGRES.getUsername());
+        dataSourceProperties.setPassword(POSTGRES.getPassword());
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+
+        return new PostgresNotificationBus(jdbcTemplate, dataSourceProperties, true, Duration.ofMillis(100),
+            Duration.ofMillis(100));
+    }
+
+    private static final class RecordingListener implements NotificationListener {
+
+        private final BlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+
+        private final BlockingQueue<Boolean> connections = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onNotification(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public void onConnected() {
+            connections.add(true);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.jonathand.issuecrush.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.auth.AccessDeniedException;
+import com.jonathand.issuecrush.user.User;
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTest {
+
+    private static final String SECRET_KEY = "8e63e21fd06b78cc7ff822e362fdb0e191039eb6155e8bc91b310b9084d02706";
+
+    private final Faker faker = new Faker();
+
+    private final JwtService underTest = new JwtService(SECRET_KEY, 86400000);
+
+    @Test
+    void canVerifyToken() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        User user = User.builder()
+            .email(email)
+            .build();
+
+        String token = underTest.generateToken(Map.of("custom", "value"), user);
+
+        // when
+        JwtClaims jwtClaims = underTest.verifyToken(token);
+
+        // then
+        assertThat(jwtClaims.subject()).isEqualTo(email);
+        assertThat(jwtClaims.issuedAt()).isNotNull();
+        assertThat(jwtClaims.expiration()).isNotNull();
+        assertThat(jwtClaims.getClaim("custom")).isEqualTo("value");
+        assertThat(jwtClaims.customClaims()).doesNotContainKey("sub");
+        assertTrue(underTest.isTokenValid(jwtClaims, email));
+    }
+
+    @Test
+    void itWillNotBeValidForAnotherEmail() {
+        // given
+        User user = User.builder()
+            .email(faker.internet()
+                .emailAddress())
+            .build();
+
+        JwtClaims jwtClaims = underTest.verifyToken(underTest.generateToken(user));
+
+        // when
+        // then
+        assertFalse(underTest.isTokenValid(jwtClaims, faker.internet()
+            .emailAddress()));
+    }
+
+    @Test
+    void itWillThrowWhenTokenIsExpired() {
+        // given
+        JwtService expiredJwtService = new JwtService(SECRET_KEY, -1000);
+        User user = User.builder()
+            .email(faker.internet()
+                .emailAddress())
+            .build();
+
+        String token = expiredJwtService.generateToken(user);
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.verifyToken(token)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void itWillThrowWhenSignatureIsInvalid() {
+        // given
+        JwtService otherJwtService = new JwtService(
+            "4c092f4c787e11b95b1b6fd9cb0759257e9ae840febfd21622d475a509c7ba77", 86400000);
+        User user = User.builder()
+            .email(faker.internet()
+                .emailAddress())
+            .build();
+
+        String token = otherJwtService.generateToken(user);
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.verifyToken(token)).isInstanceOf(AccessDeniedException.class);
+    }
+
+}
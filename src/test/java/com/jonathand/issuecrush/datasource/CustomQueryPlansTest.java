@@ -0,0 +1,63 @@
+package com.jonathand.issuecrush.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CustomQueryPlans.class)
+class CustomQueryPlansTest {
+
+    @Autowired
+    private CustomQueryPlans underTest;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void itShouldOnlyUseCustomPlansInTheCurrentTransaction() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // when
+        Object planCacheMode = transactionTemplate.execute(status -> {
+            underTest.useForCurrentTransaction();
+            return planCacheMode();
+        });
+        Object nextPlanCacheMode = transactionTemplate.execute(status -> planCacheMode());
+
+        // then
+        // The statements of the entity manager run with the setting, and the next transaction runs without it
+        assertThat(planCacheMode).isEqualTo("force_custom_plan");
+        assertThat(nextPlanCacheMode).isEqualTo("auto");
+    }
+
+    @Test
+    void itShouldNotUseCustomPlansOutsideATransaction() {
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.useForCurrentTransaction()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private Object planCacheMode() {
+        return entityManager.createNativeQuery("SHOW plan_cache_mode")
+            .getSingleResult();
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.jonathand.issuecrush.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs against a primary and a streaming replica of it. The replica is cloned from the primary with
+ * {@code pg_basebackup} once the primary accepts replication connections.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class ReplicaRoutingIntegrationTest {
+
+    private static final String IN_RECOVERY_QUERY = "SELECT pg_is_in_recovery()";
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withNetwork(NETWORK)
+        .withNetworkAliases("primary");
+
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>("postgres:15-alpine")
+        .withNetwork(NETWORK)
+        .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+        .withEnv("PGPASSWORD", PRIMARY.getPassword())
+        .withCreateContainerCmdModifier(command -> command.withUser("postgres"))
+        .withCommand("sh", "-c", "pg_basebackup -h primary -U " + PRIMARY.getUsername()
+                                 + " -D /tmp/replica -R -X stream && exec postgres -D /tmp/replica")
+        .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void startContainers() throws Exception {
+        PRIMARY.start();
+        PRIMARY.execInContainer("sh", "-c", "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\""
+                                            + " && psql -U " + PRIMARY.getUsername() + " -d "
+                                            + PRIMARY.getDatabaseName() + " -c 'SELECT pg_reload_conf()'");
+        REPLICA.start();
+    }
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("replica.url", () -> "jdbc:postgresql://" + REPLICA.getHost() + ":"
+                                          + REPLICA.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/"
+                                          + PRIMARY.getDatabaseName());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void canSendReadOnlyTransactionsToReplica() {
+        // when
+        boolean readOnlyInRecovery = isInRecovery(true);
+        boolean readWriteInRecovery = isInRecovery(false);
+
+        // then
+        assertThat(readOnlyInRecovery).isTrue();
+        assertThat(readWriteInRecovery).isFalse();
+    }
+
+    @Test
+    void canPinCallerToPrimaryAfterItWrites() {
+        // given
+        authenticate("writer@example.com");
+        assertThat(isInRecovery(true)).isTrue();
+
+        // when
+        isInRecovery(false);
+
+        // then
+        assertThat(isInRecovery(true)).isFalse();
+
+        // Other callers still read from the replica
+        authenticate("reader@example.com");
+        assertThat(isInRecovery(true)).isTrue();
+    }
+
+    @Test
+    void canReadOwnWritesRightAfterTheyCommit() {
+        // given
+        authenticate("writer@example.com");
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS replica_routing_test (id bigint)"));
+
+        // when
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO replica_routing_test VALUES (1)"));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long rows = readOnly.execute(status -> jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM replica_routing_test WHERE id = 1", Long.class));
+
+        // then
+        assertThat(rows).isEqualTo(1L);
+    }
+
+    private boolean isInRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transactionTemplate.execute(
+            status -> jdbcTemplate.queryForObject(IN_RECOVERY_QUERY, Boolean.class)));
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.jonathand.issuecrush.organization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class OrganizationAuthorizationContextIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String ORGANIZATION_USER_PATH = "/api/v1/organization-users";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private static final String MEMBERSHIP_QUERY = "SELECT ou FROM OrganizationUser ou "
+                                                   + "WHERE ou.user.email = :email AND ou.organization.id = "
+                                                   + ":organizationId AND ou.organization.deletionRequestedAt IS "
+                                                   + "NULL";
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String email;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+
+        email = faker.internet()
+            .emailAddress();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new OrganizationNewRequest(faker.company()
+                .name())), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+    }
+
+    @Test
+    void itWillRunOneMembershipQueryWhenCreatingTicket() {
+        // given
+        TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+            .sentence(10), faker.lorem()
+            .sentence(30), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+        statistics.clear();
+
+        // when
+        webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(createRequest), TicketCreateRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // then
+        assertStatements(6);
+    }
+
+    @Test
+    void itWillRunOneMembershipQueryWhenGettingTickets() {
+        // given
+        statistics.clear();
+
+        // when
+        webTestClient.get()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        // then
+        assertStatements(4);
+    }
+
+    @Test
+    void itWillRunOneMembershipQueryWhenGettingOrganization() {
+        // given
+        statistics.clear();
+
+        // when
+        webTestClient.get()
+            .uri(ORGANIZATION_PATH + "/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // then
+        assertStatements(3);
+    }
+
+    @Test
+    void itWillRunOneMembershipQueryWhenGettingOrganizationUser() {
+        // given
+        statistics.clear();
+
+        // when
+        webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path(ORGANIZATION_USER_PATH)
+                .queryParam("organizationId", organizationId)
+                .queryParam("email", email)
+                .build())
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // then
+        assertStatements(3);
+    }
+
+    private void assertStatements(long maxStatements) {
+        // The membership is resolved once and read from the authorization context after that
+        assertThat(statistics.getQueryStatistics(MEMBERSHIP_QUERY)
+            .getExecutionCount()).isEqualTo(1L);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+    }
+
+}
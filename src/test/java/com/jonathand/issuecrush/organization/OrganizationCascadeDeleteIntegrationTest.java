@@ -0,0 +1,403 @@
+package com.jonathand.issuecrush.organization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTO;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeStatus;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeWorker;
+import com.jonathand.issuecrush.response.APIResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Deleting tickets, removing members and deleting organizations take the same number of statements whatever the
+ * number of rows they delete, and an organization is then purged in the background in chunks. The members, tickets
+ * and comments are inserted with SQL, creating them through the API would take too long.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class OrganizationCascadeDeleteIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrganizationPurgeWorker organizationPurgeWorker;
+
+    private Statistics statistics;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        jwtToken = register(faker.internet()
+            .emailAddress());
+    }
+
+    @Test
+    void canDeleteTicketWithSameStatementsWhateverItsComments() {
+        // given
+        Long organizationId = createOrganization();
+        Long ownerId = getOwnerId(organizationId);
+        Long warmUpTicketId = insertTickets(organizationId, ownerId, 1);
+        Long smallTicketId = insertTickets(organizationId, ownerId, 1);
+        Long largeTicketId = insertTickets(organizationId, ownerId, 1);
+        insertComments(smallTicketId, ownerId, 1);
+        insertComments(largeTicketId, ownerId, 500);
+
+        // The organization of the tickets and the role of the user are cached by the first delete
+        deleteTicket(warmUpTicketId, ownerId);
+
+        // when
+        long smallStatements = countStatements(() -> deleteTicket(smallTicketId, ownerId));
+        long largeStatements = countStatements(() -> deleteTicket(largeTicketId, ownerId));
+
+        // then
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(count("tickets WHERE organization_id = ?", organizationId)).isZero();
+        assertThat(count("ticket_comments WHERE ticket_id IN (?, ?)", smallTicketId, largeTicketId)).isZero();
+    }
+
+    @Test
+    void canRemoveUserFromOrganizationWithSameStatementsWhateverItPublished() {
+        // given
+        Long organizationId = createOrganization();
+        Long ownerId = getOwnerId(organizationId);
+        Long ownerTicketId = insertTickets(organizationId, ownerId, 1);
+        insertComments(ownerTicketId, ownerId, 1);
+
+        Long warmUpMemberId = addMember(organizationId);
+        Long smallMemberId = addMember(organizationId);
+        Long largeMemberId = addMember(organizationId);
+        populateMember(organizationId, ownerId, ownerTicketId, smallMemberId, 1);
+        populateMember(organizationId, ownerId, ownerTicketId, largeMemberId, 200);
+
+        // The organization and the role of the owner are cached by the first removal
+        removeMember(organizationId, warmUpMemberId);
+
+        // when
+        long smallStatements = countStatements(() -> removeMember(organizationId, smallMemberId));
+        long largeStatements = countStatements(() -> removeMember(organizationId, largeMemberId));
+
+        // then
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(count("organization_users WHERE id IN (?, ?)", smallMemberId, largeMemberId)).isZero();
+        assertThat(count("tickets WHERE organization_id = ?", organizationId)).isEqualTo(1L);
+        assertThat(count("tickets WHERE id = ? AND assigned_agent_id IS NULL", ownerTicketId)).isEqualTo(1L);
+
+        // Only the comments of the owner on its own ticket are left
+        assertThat(count("ticket_comments WHERE ticket_id = ?", ownerTicketId)).isEqualTo(1L);
+        assertThat(count("ticket_comments c JOIN tickets t ON t.id = c.ticket_id WHERE t.organization_id = ?",
+            organizationId)).isEqualTo(1L);
+    }
+
+    @Test
+    void canDeleteOrganizationWithSameStatementsWhateverItHoldsAndPurgeItInChunks() throws InterruptedException {
+        // given
+        Long warmUpOrganizationId = createOrganization();
+        Long smallOrganizationId = createOrganization();
+        Long largeOrganizationId = createOrganization();
+        populateOrganization(smallOrganizationId, 1);
+        populateOrganization(largeOrganizationId, 200);
+
+        // The worker is stopped, so only the statements of the requests are counted
+        organizationPurgeWorker.stop();
+        long smallStatements;
+        long largeStatements;
+        try {
+            // The organizations of the user are cached by the first delete
+            deleteOrganization(warmUpOrganizationId);
+
+            // when
+            smallStatements = countStatements(() -> deleteOrganization(smallOrganizationId));
+            largeStatements = countStatements(() -> deleteOrganization(largeOrganizationId));
+        } finally {
+            organizationPurgeWorker.start();
+        }
+
+        // then
+        assertThat(largeStatements).isEqualTo(smallStatements);
+
+        // The purges requested while the worker was stopped are resumed by the start
+        awaitPurge(warmUpOrganizationId);
+        OrganizationPurgeDTO smallPurge = awaitPurge(smallOrganizationId);
+        OrganizationPurgeDTO largePurge = awaitPurge(largeOrganizationId);
+
+        // 400 tickets with a comment each and 2 members, deleted 50 rows at a time
+        assertThat(largePurge.ticketCommentsTotal()).isEqualTo(400L);
+        assertThat(largePurge.ticketCommentsDeleted()).isEqualTo(400L);
+        assertThat(largePurge.ticketsTotal()).isEqualTo(400L);
+        assertThat(largePurge.ticketsDeleted()).isEqualTo(400L);
+        assertThat(largePurge.organizationUsersTotal()).isEqualTo(2L);
+        assertThat(largePurge.organizationUsersDeleted()).isEqualTo(2L);
+        assertThat(smallPurge.ticketsDeleted()).isEqualTo(2L);
+
+        assertThat(count("organizations WHERE id IN (?, ?)", smallOrganizationId, largeOrganizationId)).isZero();
+        assertThat(count("organization_users WHERE org_id IN (?, ?)", smallOrganizationId,
+            largeOrganizationId)).isZero();
+        assertThat(count("tickets WHERE organization_id IN (?, ?)", smallOrganizationId,
+            largeOrganizationId)).isZero();
+    }
+
+    @Test
+    void canPurgeOrganizationWithoutLeavingCommentsBehind() throws InterruptedException, SQLException {
+        // given
+        Long organizationId = createOrganization();
+        Long otherOrganizationId = createOrganization();
+        populateOrganization(organizationId, 1);
+        Long ownerId = getOwnerId(organizationId);
+        Long ticketId = insertTickets(organizationId, ownerId, 1);
+
+        // A comment of the owner on the ticket of another organization is deleted with the owner
+        Long otherTicketId = insertTickets(otherOrganizationId, getOwnerId(otherOrganizationId), 1);
+        insertComments(otherTicketId, ownerId, 1);
+
+        try (Connection connection = jdbcTemplate.getDataSource()
+            .getConnection()) {
+            // A comment written by a request authorized before the deletion was requested, which commits once the
+            // tickets are purged
+            connection.setAutoCommit(false);
+            String insertComment = "INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                                   + "VALUES (?, ?, 'Comment', now(), now())";
+            try (PreparedStatement statement = connection.prepareStatement(insertComment)) {
+                statement.setLong(1, ticketId);
+                statement.setLong(2, ownerId);
+                statement.executeUpdate();
+            }
+
+            // when
+            deleteOrganization(organizationId);
+            awaitTicketsPurged(organizationId);
+
+            // then
+            // The ticket is gone, so the comment is rejected instead of being left without its ticket
+            assertThatThrownBy(connection::commit).isInstanceOf(SQLException.class);
+        }
+
+        OrganizationPurgeDTO purge = awaitPurge(organizationId);
+        assertThat(purge.ticketCommentsDeleted()).isEqualTo(purge.ticketCommentsTotal());
+        assertThat(count("ticket_comments WHERE ticket_id IN (?, ?)", ticketId, otherTicketId)).isZero();
+        assertThat(count("organization_users WHERE org_id = ?", organizationId)).isZero();
+        assertThat(count("tickets WHERE organization_id = ?", otherOrganizationId)).isEqualTo(1L);
+    }
+
+    private void populateMember(Long organizationId, Long ownerId, Long ownerTicketId, Long memberId, int rows) {
+        // Tickets of the member with comments of the owner, comments of the member on the ticket of the owner and
+        // the ticket of the owner assigned to the member
+        Long firstTicketId = insertTickets(organizationId, memberId, rows);
+        jdbcTemplate.update("INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                            + "SELECT id, ?, 'Comment', now(), now() FROM tickets WHERE publisher_id = ?", ownerId,
+            memberId);
+        insertComments(ownerTicketId, memberId, rows);
+        jdbcTemplate.update("UPDATE tickets SET assigned_agent_id = ? WHERE id IN (?, ?)", memberId, ownerTicketId,
+            firstTicketId);
+    }
+
+    private void populateOrganization(Long organizationId, int rows) {
+        Long ownerId = getOwnerId(organizationId);
+        Long memberId = addMember(organizationId);
+        insertTickets(organizationId, ownerId, rows);
+        insertTickets(organizationId, memberId, rows);
+        jdbcTemplate.update("INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                            + "SELECT id, ?, 'Comment', now(), now() FROM tickets WHERE organization_id = ?", memberId,
+            organizationId);
+    }
+
+    private Long insertTickets(Long organizationId, Long publisherId, int rows) {
+        jdbcTemplate.update("INSERT INTO tickets (organization_id, publisher_id, created_at, updated_at, open, "
+                            + "title, content, priority, department) "
+                            + "SELECT ?, ?, now(), now(), true, 'Ticket ' || g, 'Content', 'LOW', 'IT' "
+                            + "FROM generate_series(1, ?) g", organizationId, publisherId, rows);
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM tickets WHERE publisher_id = ? AND id > coalesce("
+                                           + "(SELECT max(id) FROM tickets WHERE publisher_id = ?) - ?, 0)",
+            Long.class, publisherId, publisherId, rows);
+    }
+
+    private void insertComments(Long ticketId, Long publisherId, int rows) {
+        jdbcTemplate.update("INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                            + "SELECT ?, ?, 'Comment ' || g, now(), now() FROM generate_series(1, ?) g", ticketId,
+            publisherId, rows);
+    }
+
+    private long count(String from, Object... arguments) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + from, Long.class, arguments);
+        return count == null ? 0 : count;
+    }
+
+    private long countStatements(Runnable request) {
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String register(String email) {
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        return authResult.getResponseBody()
+            .getToken();
+    }
+
+    private Long createOrganization() {
+        APIResponse<OrganizationDTO> response = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new OrganizationNewRequest(faker.company()
+                .name()))
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult()
+            .id();
+    }
+
+    private Long getOwnerId(Long organizationId) {
+        return jdbcTemplate.queryForObject("SELECT id FROM organization_users WHERE org_id = ? AND role = 'OWNER'",
+            Long.class, organizationId);
+    }
+
+    private Long addMember(Long organizationId) {
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role, membership_version) "
+                            + "VALUES ('Member', 'User', ?, 'password', 'USER', 0)", faker.internet()
+            .emailAddress());
+        jdbcTemplate.update("INSERT INTO organization_users (user_id, org_id, role) "
+                            + "SELECT max(id), ?, 'MEMBER' FROM users", organizationId);
+        return jdbcTemplate.queryForObject("SELECT max(id) FROM organization_users WHERE org_id = ?", Long.class,
+            organizationId);
+    }
+
+    private void deleteTicket(Long ticketId, Long organizationUserId) {
+        webTestClient.delete()
+            .uri(uriBuilder -> uriBuilder.path(TICKET_PATH + "/{ticketId}")
+                .queryParam("organizationUserId", organizationUserId)
+                .build(ticketId))
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk();
+    }
+
+    private void removeMember(Long organizationId, Long organizationUserId) {
+        webTestClient.delete()
+            .uri(ORGANIZATION_PATH + "/{organizationId}/users/{organizationUserId}", organizationId,
+                organizationUserId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk();
+    }
+
+    private void deleteOrganization(Long organizationId) {
+        webTestClient.delete()
+            .uri(ORGANIZATION_PATH + "/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isAccepted();
+    }
+
+    private OrganizationPurgeDTO awaitPurge(Long organizationId) throws InterruptedException {
+        OrganizationPurgeDTO organizationPurge = null;
+        for (int attempt = 0; attempt < 200; attempt++) {
+            organizationPurge = getPurge(organizationId);
+            if (organizationPurge.status() == OrganizationPurgeStatus.COMPLETED) {
+                return organizationPurge;
+            }
+            Thread.sleep(100);
+        }
+
+        assertThat(organizationPurge.status()).isEqualTo(OrganizationPurgeStatus.COMPLETED);
+        return organizationPurge;
+    }
+
+    private void awaitTicketsPurged(Long organizationId) throws InterruptedException {
+        OrganizationPurgeDTO organizationPurge = null;
+        for (int attempt = 0; attempt < 200; attempt++) {
+            organizationPurge = getPurge(organizationId);
+            if (organizationPurge.ticketsTotal() != null
+                && organizationPurge.ticketsDeleted() >= organizationPurge.ticketsTotal()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+
+        assertThat(organizationPurge.ticketsDeleted()).isEqualTo(organizationPurge.ticketsTotal());
+    }
+
+    private OrganizationPurgeDTO getPurge(Long organizationId) {
+        APIResponse<OrganizationPurgeDTO> response = webTestClient.get()
+            .uri(ORGANIZATION_PATH + "/{organizationId}/purge", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationPurgeDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+}
@@ -9,6 +9,8 @@ import java.util.List;
 import com.github.javafaker.Faker;
 import com.jonathand.issuecrush.UserRegisterExtractor;
 import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTO;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeStatus;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.response.APIResponse;
@@ -201,7 +203,7 @@ class OrganizationIntegrationTest {
     }
 
     @Test
-    void canDeleteOrganization() {
+    void canDeleteOrganization() throws InterruptedException {
         String email = faker.internet()
             .emailAddress();
         String password = faker.internet()
@@ -251,18 +253,18 @@ class OrganizationIntegrationTest {
         Long organizationId = createdOrganizationResponse.getResult()
             .id();
 
-        EntityExchangeResult<APIResponse<Long>> deleteOrganizationResult = webTestClient.delete()
+        EntityExchangeResult<APIResponse<OrganizationPurgeDTO>> deleteOrganizationResult = webTestClient.delete()
             .uri(ORGANIZATION_PATH + "/{organizationId}", organizationId)
             .accept(MediaType.APPLICATION_JSON)
             .headers(header -> header.setBearerAuth(jwtToken))
             .exchange()
             .expectStatus()
-            .isOk()
-            .expectBody(new ParameterizedTypeReference<APIResponse<Long>>() {
+            .isAccepted()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationPurgeDTO>>() {
             })
             .returnResult();
 
-        APIResponse<Long> deletedOrganization = deleteOrganizationResult.getResponseBody();
+        APIResponse<OrganizationPurgeDTO> deletedOrganization = deleteOrganizationResult.getResponseBody();
 
         assert deletedOrganization != null;
 
@@ -270,7 +272,7 @@ class OrganizationIntegrationTest {
 
         Long createdOrganizationId = createdOrganization.id();
 
-        // Make sure organization is deleted
+        // Make sure organization is hidden right away
         webTestClient.get()
             .uri(ORGANIZATION_PATH + "/{organizationId}", createdOrganizationId)
             .accept(MediaType.APPLICATION_JSON)
@@ -284,9 +286,47 @@ class OrganizationIntegrationTest {
             .jsonPath("$.errors[0].message")
             .isEqualTo("Organization with id " + createdOrganizationId + " does not exist");
 
-        Long deletedOrganizationId = deletedOrganization.getResult();
+        webTestClient.get()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        OrganizationPurgeDTO deletedOrganizationPurge = deletedOrganization.getResult();
+
+        assertThat(deletedOrganizationPurge.organizationId()).isEqualTo(createdOrganization.id());
+        assertThat(deletedOrganizationPurge.status()).isEqualTo(OrganizationPurgeStatus.IN_PROGRESS);
+
+        // Follow the purge until the organization is gone
+        OrganizationPurgeDTO organizationPurge = deletedOrganizationPurge;
+        for (int attempt = 0; attempt < 100 && organizationPurge.status() != OrganizationPurgeStatus.COMPLETED;
+             attempt++) {
+            Thread.sleep(100);
+
+            APIResponse<OrganizationPurgeDTO> organizationPurgeResponse = webTestClient.get()
+                .uri(ORGANIZATION_PATH + "/{organizationId}/purge", createdOrganizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationPurgeDTO>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+            assert organizationPurgeResponse != null;
+
+            organizationPurge = organizationPurgeResponse.getResult();
+        }
 
-        assertThat(deletedOrganizationId).isEqualTo(createdOrganization.id());
+        assertThat(organizationPurge.status()).isEqualTo(OrganizationPurgeStatus.COMPLETED);
+        assertThat(organizationPurge.organizationUsersTotal()).isEqualTo(1L);
+        assertThat(organizationPurge.organizationUsersDeleted()).isEqualTo(1L);
+        assertThat(organizationPurge.completedAt()).isNotNull();
+        assertFalse(organizationRepository.existsById(createdOrganizationId));
     }
 
     @Test
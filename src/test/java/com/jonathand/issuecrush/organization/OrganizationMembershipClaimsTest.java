@@ -0,0 +1,192 @@
+package com.jonathand.issuecrush.organization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.config.AuthenticatedPrincipalCache;
+import com.jonathand.issuecrush.config.JwtAuthenticationToken;
+import com.jonathand.issuecrush.config.JwtClaims;
+import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
+import com.jonathand.issuecrush.user.User;
+import com.jonathand.issuecrush.user.UserRepository;
+import com.jonathand.issuecrush.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationMembershipClaimsTest {
+
+    private final Faker faker = new Faker();
+
+    @Mock
+    private OrganizationUserRepository organizationUserRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthenticatedPrincipalCache authenticatedPrincipalCache;
+
+    @Mock
+    private OrganizationAuthorizationContext organizationAuthorizationContext;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void itWillCreateNoClaimsWhenDisabled() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(false, 50);
+
+        // when
+        Map<String, Object> claims = underTest.createClaims(createUser(0L));
+
+        // then
+        assertThat(claims).isEmpty();
+        verifyNoInteractions(organizationUserRepository);
+    }
+
+    @Test
+    void canCreateClaims() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 50);
+        User user = createUser(3L);
+
+        when(organizationUserRepository.findMembershipsByUserId(user.getId())).thenReturn(
+            List.of(new OrganizationMembership(7L, OrganizationRole.ADMIN)));
+
+        // when
+        Map<String, Object> claims = underTest.createClaims(user);
+
+        // then
+        assertThat(claims).containsEntry(OrganizationMembershipClaims.USER_ID_CLAIM, user.getId())
+            .containsEntry(OrganizationMembershipClaims.MEMBERSHIP_VERSION_CLAIM, 3L)
+            .containsEntry(OrganizationMembershipClaims.ORGANIZATIONS_CLAIM, Map.of("7", "ADMIN"));
+    }
+
+    @Test
+    void itWillLeaveOutOrganizationsWhenThereAreTooMany() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 1);
+        User user = createUser(0L);
+
+        when(organizationUserRepository.findMembershipsByUserId(user.getId())).thenReturn(
+            List.of(new OrganizationMembership(1L, OrganizationRole.OWNER),
+                new OrganizationMembership(2L, OrganizationRole.MEMBER)));
+
+        // when
+        Map<String, Object> claims = underTest.createClaims(user);
+
+        // then
+        assertThat(claims).doesNotContainKey(OrganizationMembershipClaims.ORGANIZATIONS_CLAIM);
+    }
+
+    @Test
+    void canGetCurrentUserRoleFromClaims() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 50);
+        User user = createUser(2L);
+
+        authenticate(user, 2L, Map.of("7", "MODERATOR"));
+
+        // when
+        // then
+        assertThat(underTest.getCurrentUserRole(7L)).contains(OrganizationRole.MODERATOR);
+        assertThat(underTest.getCurrentUserRole(8L)).isEmpty();
+    }
+
+    @Test
+    void itWillIgnoreClaimsOfAnOlderMembershipVersion() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 50);
+        User user = createUser(2L);
+
+        authenticate(user, 1L, Map.of("7", "OWNER"));
+
+        // when
+        // then
+        assertThat(underTest.getCurrentUserRole(7L)).isEmpty();
+    }
+
+    @Test
+    void canInvalidateMemberships() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 50);
+        User user = createUser(0L);
+
+        // when
+        underTest.invalidateMemberships(user);
+
+        // then
+        verify(userRepository).incrementMembershipVersion(user.getId());
+        verify(authenticatedPrincipalCache).evict(user.getEmail());
+        verify(organizationAuthorizationContext).clear();
+    }
+
+    @Test
+    void canInvalidateMembershipsOnceTheTransactionCommits() {
+        // given
+        OrganizationMembershipClaims underTest = createClaims(true, 50);
+        User user = createUser(0L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            underTest.invalidateMemberships(user);
+
+            // then
+            verify(userRepository).incrementMembershipVersion(user.getId());
+            verifyNoInteractions(authenticatedPrincipalCache, organizationAuthorizationContext);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+            verify(authenticatedPrincipalCache).evict(user.getEmail());
+            verify(organizationAuthorizationContext).clear();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private OrganizationMembershipClaims createClaims(boolean enabled, int maxOrganizations) {
+        return new OrganizationMembershipClaims(enabled, maxOrganizations, organizationUserRepository, userRepository,
+            authenticatedPrincipalCache, organizationAuthorizationContext);
+    }
+
+    private User createUser(long membershipVersion) {
+        return User.builder()
+            .id(faker.random()
+                .nextLong(50L) + 1L)
+            .email(faker.internet()
+                .emailAddress())
+            .userRole(UserRole.USER)
+            .membershipVersion(membershipVersion)
+            .build();
+    }
+
+    private void authenticate(User user, long membershipVersion, Map<String, String> organizations) {
+        // Numbers come back from a parsed token as integers, which the claims must accept
+        JwtClaims jwtClaims = new JwtClaims(user.getEmail(), null, null,
+            Map.of(OrganizationMembershipClaims.USER_ID_CLAIM, user.getId()
+                    .intValue(),
+                OrganizationMembershipClaims.MEMBERSHIP_VERSION_CLAIM, (int) membershipVersion,
+                OrganizationMembershipClaims.ORGANIZATIONS_CLAIM, organizations));
+
+        SecurityContextHolder.getContext()
+            .setAuthentication(new JwtAuthenticationToken(user, user.getAuthorities(), jwtClaims));
+    }
+
+}
@@ -13,9 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -87,12 +87,12 @@ class OrganizationRepositoryTest {
         Pageable pageable = PageRequest.of(0, organizationsToCreate);
 
         // when
-        Page<Organization> expected = underTest.findOrganizationsForEmail(email, pageable);
+        Slice<Organization> expected = underTest.findOrganizationsForEmail(email, pageable);
 
         // then
         assertThat(expected).isNotNull();
-        assertThat(expected.getTotalElements()).isEqualTo(organizationsToCreate);
-        assertThat(expected.getTotalPages()).isEqualTo(1);
+        assertThat(expected.getNumberOfElements()).isEqualTo(organizationsToCreate);
+        assertThat(expected.hasNext()).isFalse();
     }
 
     @Test
@@ -103,12 +103,12 @@ class OrganizationRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // when
-        Page<Organization> expected = underTest.findOrganizationsForEmail(email, pageable);
+        Slice<Organization> expected = underTest.findOrganizationsForEmail(email, pageable);
 
         // then
         assertThat(expected).isNotNull();
-        assertThat(expected.getTotalElements()).isEqualTo(0);
-        assertThat(expected.getTotalPages()).isEqualTo(0);
+        assertThat(expected.getNumberOfElements()).isEqualTo(0);
+        assertThat(expected.hasNext()).isFalse();
     }
 
 }
\ No newline at end of file
@@ -6,12 +6,16 @@ import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import com.github.javafaker.Faker;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
+import com.jonathand.issuecrush.ticket.TicketOrganizationResolver;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -42,6 +46,12 @@ class OrganizationSecurityExpressionsTest {
     @Mock
     private OrganizationUserUtil organizationUserUtil;
 
+    @Mock
+    private OrganizationMembershipClaims organizationMembershipClaims;
+
+    @Mock
+    private TicketOrganizationResolver ticketOrganizationResolver;
+
     @InjectMocks
     private OrganizationSecurityExpressions underTest;
 
@@ -293,4 +303,135 @@ class OrganizationSecurityExpressionsTest {
         verify(organizationUser).getRole();
     }
 
-}
\ No newline at end of file
+    @Test
+    void itWillUseOrganizationClaimsForMembership() {
+        // given
+        Long organizationId = faker.random()
+            .nextLong(50L);
+
+        when(organizationMembershipClaims.getCurrentUserRole(organizationId)).thenReturn(
+            Optional.of(OrganizationRole.MEMBER));
+
+        // when
+        boolean expected = underTest.isUserMemberOfOrganization(organizationId);
+
+        // then
+        assertTrue(expected);
+        verifyNoInteractions(organizationUtil, organizationUserUtil);
+    }
+
+    @Test
+    void itWillUseOrganizationClaimsForAddingOrganizationUser() {
+        // given
+        Long organizationId = faker.random()
+            .nextLong(50L);
+
+        when(organizationMembershipClaims.getCurrentUserRole(organizationId)).thenReturn(
+            Optional.of(OrganizationRole.MODERATOR));
+
+        // when
+        boolean expected = underTest.canUserAddOrganizationUser(organizationId);
+
+        // then
+        assertFalse(expected);
+        verifyNoInteractions(organizationUtil, organizationUserUtil);
+    }
+
+    @Test
+    void itWillUseCachedRoleForMembership() {
+        // given
+        Long organizationId = faker.random()
+            .nextLong(50L);
+        String email = faker.internet()
+            .emailAddress();
+
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(userUtil.getCurrentUserDetails()).thenReturn(userDetails);
+
+        when(userDetails.getUsername()).thenReturn(email);
+
+        when(organizationUserUtil.findCachedOrganizationRole(email, organizationId)).thenReturn(
+            Optional.of(OrganizationRole.MEMBER));
+
+        // when
+        boolean expected = underTest.isUserMemberOfOrganization(organizationId);
+
+        // then
+        assertTrue(expected);
+        verifyNoInteractions(organizationUtil);
+    }
+
+    @Test
+    void itWillReturnTrueWhenUserIsInTicketOrganization() {
+        // given
+        Long ticketId = faker.random()
+            .nextLong(50L);
+        Long organizationId = faker.random()
+            .nextLong(50L);
+        String email = faker.internet()
+            .emailAddress();
+
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(ticketOrganizationResolver.findOrganizationIdForTicket(ticketId)).thenReturn(Optional.of(organizationId));
+
+        when(userUtil.getCurrentUserDetails()).thenReturn(userDetails);
+
+        when(userDetails.getUsername()).thenReturn(email);
+
+        when(organizationUserUtil.findOrganizationRole(email, organizationId)).thenReturn(
+            Optional.of(OrganizationRole.MEMBER));
+
+        // when
+        boolean expected = underTest.isUserInTicketOrganization(ticketId);
+
+        // then
+        assertTrue(expected);
+    }
+
+    @Test
+    void itWillReturnFalseWhenUserIsNotInTicketOrganization() {
+        // given
+        Long ticketId = faker.random()
+            .nextLong(50L);
+        Long organizationId = faker.random()
+            .nextLong(50L);
+        String email = faker.internet()
+            .emailAddress();
+
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(ticketOrganizationResolver.findOrganizationIdForTicket(ticketId)).thenReturn(Optional.of(organizationId));
+
+        when(userUtil.getCurrentUserDetails()).thenReturn(userDetails);
+
+        when(userDetails.getUsername()).thenReturn(email);
+
+        when(organizationUserUtil.findOrganizationRole(email, organizationId)).thenReturn(Optional.empty());
+
+        // when
+        boolean expected = underTest.isUserInTicketOrganization(ticketId);
+
+        // then
+        assertFalse(expected);
+    }
+
+    @Test
+    void itWillReturnFalseWhenTicketCommentDoesNotExist() {
+        // given
+        Long ticketCommentId = faker.random()
+            .nextLong(50L);
+
+        when(ticketOrganizationResolver.findOrganizationIdForTicketComment(ticketCommentId)).thenReturn(
+            Optional.empty());
+
+        // when
+        boolean expected = underTest.isUserInTicketCommentOrganization(ticketCommentId);
+
+        // then
+        assertFalse(expected);
+        verifyNoInteractions(userUtil, organizationUserUtil);
+    }
+
+}
@@ -1,14 +1,25 @@
 package com.jonathand.issuecrush.organization;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 
 import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurge;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTO;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeDTOMapper;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeRepository;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeStatus;
+import com.jonathand.issuecrush.organization.purge.OrganizationPurgeWorker;
+import com.jonathand.issuecrush.organization.user.OrganizationRoleCache;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTOMapper;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
@@ -21,13 +32,15 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class OrganizationServiceTest {
@@ -64,6 +77,27 @@ class OrganizationServiceTest {
     @Mock
     private OrganizationUserUtil organizationUserUtil;
 
+    @Mock
+    private OrganizationMembershipClaims organizationMembershipClaims;
+
+    @Mock
+    private OrganizationRoleCache organizationRoleCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CustomQueryPlans customQueryPlans;
+
+    @Mock
+    private OrganizationPurgeRepository organizationPurgeRepository;
+
+    @Mock
+    private OrganizationPurgeDTOMapper organizationPurgeDTOMapper;
+
+    @Mock
+    private OrganizationPurgeWorker organizationPurgeWorker;
+
     @InjectMocks
     private OrganizationService underTest;
 
@@ -74,9 +108,9 @@ class OrganizationServiceTest {
             .emailAddress();
         Pageable pageable = PageRequest.of(0, 10);
 
-        Page<Organization> expectedPage = new PageImpl<>(Collections.emptyList());
+        Slice<Organization> expectedSlice = new SliceImpl<>(Collections.emptyList());
 
-        when(organizationRepository.findOrganizationsForEmail(email, pageable)).thenReturn(expectedPage);
+        when(organizationRepository.findOrganizationsForEmail(email, pageable)).thenReturn(expectedSlice);
 
         // when
         underTest.getOrganizationsForUser(email, pageable);
@@ -147,23 +181,66 @@ class OrganizationServiceTest {
         Long organizationId = faker.random()
             .nextLong(100L);
 
+        User creator = mock(User.class);
         Organization organization = mock(Organization.class);
+        OrganizationPurgeDTO organizationPurgeDTO = new OrganizationPurgeDTO(organizationId,
+            OrganizationPurgeStatus.IN_PROGRESS, null, 0L, null, 0L, null, 0L, null, null);
 
         when(organizationUtil.getOrganizationById(organizationId)).thenReturn(organization);
-
-        when(organization.getId()).thenReturn(organizationId);
+        when(organization.getCreator()).thenReturn(creator);
+        when(organizationRepository.requestOrganizationDeletion(organizationId)).thenReturn(1);
+        when(organizationPurgeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(organizationPurgeDTOMapper.apply(any())).thenReturn(organizationPurgeDTO);
 
         // when
-        underTest.deleteOrganization(organizationId);
+        OrganizationPurgeDTO deletedOrganization = underTest.deleteOrganization(organizationId);
 
-        ArgumentCaptor<Long> longArgumentCaptor = ArgumentCaptor.forClass(Long.class);
+        // then
+        assertThat(deletedOrganization).isEqualTo(organizationPurgeDTO);
+
+        ArgumentCaptor<OrganizationPurge> organizationPurgeArgumentCaptor = ArgumentCaptor.forClass(
+            OrganizationPurge.class);
+        verify(organizationPurgeRepository).save(organizationPurgeArgumentCaptor.capture());
+
+        OrganizationPurge capturedOrganizationPurge = organizationPurgeArgumentCaptor.getValue();
+
+        assertThat(capturedOrganizationPurge.getOrganizationId()).isEqualTo(organizationId);
+        assertThat(capturedOrganizationPurge.getOwner()).isEqualTo(creator);
+        assertThat(capturedOrganizationPurge.getStatus()).isEqualTo(OrganizationPurgeStatus.IN_PROGRESS);
+
+        // The organization is hidden before the members lose access, and purged once both are done
+        InOrder inOrder = inOrder(organizationRepository, organizationMembershipClaims, organizationRoleCache,
+            organizationPurgeWorker);
+        inOrder.verify(organizationRepository)
+            .requestOrganizationDeletion(organizationId);
+        inOrder.verify(organizationMembershipClaims)
+            .invalidateMembershipsForOrganization(organizationId);
+        inOrder.verify(organizationRoleCache)
+            .invalidateOrganization(organizationId);
+        inOrder.verify(organizationPurgeWorker)
+            .schedule(organizationId);
+
+        // Nothing is deleted by the request itself
+        verify(organizationRepository, never()).deleteOrganization(any());
+    }
 
-        verify(organizationRepository).deleteById(longArgumentCaptor.capture());
+    @Test
+    void canDeleteOrganizationWillThrowWhenDeletionAlreadyRequested() {
+        // given
+        Long organizationId = faker.random()
+            .nextLong(100L);
 
-        Long capturedLong = longArgumentCaptor.getValue();
+        when(organizationUtil.getOrganizationById(organizationId)).thenReturn(mock(Organization.class));
+        when(organizationRepository.requestOrganizationDeletion(organizationId)).thenReturn(0);
 
+        // when
         // then
-        assertThat(organizationId).isEqualTo(capturedLong);
+        assertThatThrownBy(() -> underTest.deleteOrganization(organizationId)).isInstanceOf(
+                OrganizationNotFoundException.class)
+            .hasMessageContaining("Organization with id " + organizationId + " does not exist");
+
+        verify(organizationPurgeRepository, never()).save(any());
+        verify(organizationPurgeWorker, never()).schedule(any());
     }
 
     @Test
@@ -199,13 +276,14 @@ class OrganizationServiceTest {
             .nextLong(50L);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(organizationUserRepository.findByOrganization_Id(organizationId, pageable)).thenReturn(Page.empty());
+        when(organizationUserRepository.findOrganizationUserDTOsByOrganization(organizationId, pageable)).thenReturn(
+            new SliceImpl<>(Collections.emptyList()));
 
         // when
         underTest.getOrganizationUsers(organizationId, pageable);
 
         // then
-        verify(organizationUserRepository).findByOrganization_Id(organizationId, pageable);
+        verify(organizationUserRepository).findOrganizationUserDTOsByOrganization(organizationId, pageable);
     }
 
     @Test
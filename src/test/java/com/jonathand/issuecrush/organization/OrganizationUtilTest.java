@@ -5,12 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.Optional;
 
 import com.github.javafaker.Faker;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -21,6 +23,9 @@ class OrganizationUtilTest {
     @Mock
     private OrganizationRepository organizationRepository;
 
+    @Spy
+    private OrganizationAuthorizationContext organizationAuthorizationContext = new OrganizationAuthorizationContext();
+
     @InjectMocks
     private OrganizationUtil underTest;
 
@@ -52,13 +57,31 @@ class OrganizationUtilTest {
             .hasMessageContaining("Organization with id " + organizationId + " does not exist");
     }
 
+    @Test
+    void canGetOrganizationByIdWillThrowWhenDeletionRequested() {
+        // given
+        Long organizationId = faker.random()
+            .nextLong(100L);
+
+        Organization organization = mock(Organization.class);
+
+        when(organization.getDeletionRequestedAt()).thenReturn(new Date());
+        when(organizationRepository.findById(organizationId)).thenReturn(Optional.of(organization));
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getOrganizationById(organizationId)).isInstanceOf(
+                OrganizationNotFoundException.class)
+            .hasMessageContaining("Organization with id " + organizationId + " does not exist");
+    }
+
     @Test
     void validateOrganizationExistsById() {
         // given
         Long organizationId = faker.random()
             .nextLong(100L);
 
-        when(organizationRepository.existsById(organizationId)).thenReturn(true);
+        when(organizationRepository.existsByIdAndDeletionRequestedAtIsNull(organizationId)).thenReturn(true);
 
         // when
         // then
@@ -1,19 +1,28 @@
 package com.jonathand.issuecrush.organization.user;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.cache.PostgresNotificationBus;
+import com.jonathand.issuecrush.datasource.ReadYourWritesGuard;
+import com.jonathand.issuecrush.organization.OrganizationAuthorizationContext;
+import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.ticket.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class OrganizationUserUtilTest {
@@ -23,6 +32,17 @@ class OrganizationUserUtilTest {
     @Mock
     private OrganizationUserRepository organizationUserRepository;
 
+    @Spy
+    private OrganizationAuthorizationContext organizationAuthorizationContext = new OrganizationAuthorizationContext();
+
+    private final ReadYourWritesGuard readYourWritesGuard = new ReadYourWritesGuard(100, Duration.ofSeconds(5),
+        new SimpleMeterRegistry());
+
+    @Spy
+    private OrganizationRoleCache organizationRoleCache = new OrganizationRoleCache(100, Duration.ofMinutes(5),
+        new SimpleMeterRegistry(), new PostgresNotificationBus(null, null, false, Duration.ofMillis(500),
+        Duration.ofSeconds(5)), readYourWritesGuard);
+
     @InjectMocks
     private OrganizationUserUtil underTest;
 
@@ -47,6 +67,66 @@ class OrganizationUserUtilTest {
         assertDoesNotThrow(() -> underTest.getOrganizationUserByEmailAndOrganization(email, organizationId));
     }
 
+    @Test
+    void canCacheRoleOfOrganizationUser() {
+        // given
+        String email = faker.internet()
+                            .emailAddress();
+        Long organizationId = faker.random()
+                                   .nextLong(100L);
+
+        OrganizationUser organizationUser = mock(OrganizationUser.class);
+
+        when(organizationUser.getRole()).thenReturn(OrganizationRole.ADMIN);
+
+        when(organizationUserRepository.findOrganizationUserByEmailAndOrganization(email, organizationId)).thenReturn(
+            Optional.of(organizationUser));
+
+        // when
+        underTest.getOrganizationUserByEmailAndOrganization(email, organizationId);
+
+        // then
+        assertThat(underTest.findCachedOrganizationRole(email, organizationId)).contains(OrganizationRole.ADMIN);
+
+        organizationRoleCache.invalidate(email, organizationId);
+
+        assertThat(underTest.findCachedOrganizationRole(email, organizationId)).isEmpty();
+    }
+
+    @Test
+    void canReadRevokedMembershipFromPrimaryWhenReplicaLags() {
+        // given
+        String email = faker.internet()
+                            .emailAddress();
+        Long organizationId = faker.random()
+                                   .nextLong(100L);
+
+        OrganizationUser organizationUser = mock(OrganizationUser.class);
+
+        when(organizationUser.getRole()).thenReturn(OrganizationRole.ADMIN);
+
+        // The membership is revoked on the primary, while the replica still has it
+        when(organizationUserRepository.findOrganizationUserByEmailAndOrganization(email, organizationId)).thenAnswer(
+            invocation -> readYourWritesGuard.isCallerPinned() ? Optional.empty() : Optional.of(organizationUser));
+
+        // when
+        // then
+        assertThatThrownBy(
+            () -> underTest.getOrganizationUserByEmailAndOrganization(email, organizationId)).isInstanceOf(
+            OrganizationUserNotFoundException.class);
+
+        // A read-only transaction may read from the replica, so what it reads is not cached
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertThat(underTest.getOrganizationUserByEmailAndOrganization(email, organizationId)).isSameAs(
+                organizationUser);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertThat(underTest.findCachedOrganizationRole(email, organizationId)).isEmpty();
+    }
+
     @Test
     void canGetOrganizationUserByEmailAndOrganizationWillThrowWhenNotFound() {
         // given
@@ -11,8 +11,6 @@ import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.ticket.TicketRepository;
-import com.jonathand.issuecrush.ticket.body.TicketBodyRepository;
-import com.jonathand.issuecrush.ticket.property.TicketPropertyRepository;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserRepository;
 import com.jonathand.issuecrush.user.UserRole;
@@ -40,12 +38,6 @@ class OrganizationUserRepositoryTest {
     @Autowired
     private TicketRepository ticketRepository;
 
-    @Autowired
-    private TicketBodyRepository ticketBodyRepository;
-
-    @Autowired
-    private TicketPropertyRepository ticketPropertyRepository;
-
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
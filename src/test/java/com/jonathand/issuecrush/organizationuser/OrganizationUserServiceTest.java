@@ -5,9 +5,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.organization.OrganizationMembershipClaims;
 import com.jonathand.issuecrush.organization.OrganizationRepository;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
+import com.jonathand.issuecrush.organization.user.OrganizationRoleCache;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserDTOMapper;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class OrganizationUserServiceTest {
@@ -40,6 +43,15 @@ class OrganizationUserServiceTest {
     @Mock
     private OrganizationUserUtil organizationUserUtil;
 
+    @Mock
+    private OrganizationMembershipClaims organizationMembershipClaims;
+
+    @Mock
+    private OrganizationRoleCache organizationRoleCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OrganizationUserService underTest;
 
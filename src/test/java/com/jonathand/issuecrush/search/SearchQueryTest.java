@@ -0,0 +1,46 @@
+package com.jonathand.issuecrush.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class SearchQueryTest {
+
+    @Test
+    void canParseWordsPhrasesPrefixesAndExclusions() {
+        // when
+        SearchQuery query = SearchQuery.parse("Printer \"floor 3\" offl* -\"was fixed\" -wifi");
+
+        // then
+        assertThat(query.toTsQuery()).isEqualTo("printer & (floor <-> 3) & offl:* & !(was <-> fixed) & !wifi");
+    }
+
+    @Test
+    void willTreatSeparatorsAndUnclosedQuotesAsWords() {
+        // when
+        SearchQuery query = SearchQuery.parse("e-mail's & | ! \"not closed");
+
+        // then
+        assertThat(query.toTsQuery()).isEqualTo("(e <-> mail <-> s) & (not <-> closed)");
+    }
+
+    @Test
+    void willThrowWhenQueryHasNoTermToSearchFor() {
+        // when
+        // then
+        assertThatThrownBy(() -> SearchQuery.parse("  \"\" -printer & "))
+            .isInstanceOf(SearchQueryInvalidException.class);
+        assertThatThrownBy(() -> SearchQuery.parse(null))
+            .isInstanceOf(SearchQueryInvalidException.class);
+    }
+
+    @Test
+    void willThrowWhenQueryHasTooManyTerms() {
+        // when
+        // then
+        assertThatThrownBy(() -> SearchQuery.parse("a ".repeat(SearchQuery.MAX_TERMS + 1)))
+            .isInstanceOf(SearchQueryInvalidException.class);
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.jonathand.issuecrush.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.organization.Organization;
+import com.jonathand.issuecrush.organization.OrganizationRepository;
+import com.jonathand.issuecrush.organization.OrganizationRole;
+import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
+import com.jonathand.issuecrush.ticket.Ticket;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.body.TicketBody;
+import com.jonathand.issuecrush.ticket.comment.TicketComment;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import com.jonathand.issuecrush.ticket.property.TicketProperty;
+import com.jonathand.issuecrush.user.User;
+import com.jonathand.issuecrush.user.UserRepository;
+import com.jonathand.issuecrush.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SearchRepository.class)
+class SearchRepositoryTest {
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private SearchRepository underTest;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private OrganizationUserRepository organizationUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketCommentRepository ticketCommentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Organization organization;
+
+    private Ticket printerTicket;
+
+    private TicketComment printerComment;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+            .email(faker.internet()
+                .emailAddress())
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .password(faker.internet()
+                .password())
+            .userRole(UserRole.USER)
+            .build());
+
+        organization = organizationRepository.save(Organization.builder()
+            .name(faker.company()
+                .name())
+            .creator(user)
+            .build());
+
+        OrganizationUser organizationUser = organizationUserRepository.save(OrganizationUser.builder()
+            .user(user)
+            .role(OrganizationRole.OWNER)
+            .organization(organization)
+            .build());
+
+        printerTicket = createTicket(organization, "Printer offline",
+            "The printer on the third floor has been offline since Monday");
+        Ticket networkTicket = createTicket(organization, "Slow network", "The wifi in the meeting rooms is slow");
+
+        printerComment = ticketCommentRepository.save(TicketComment.builder()
+            .ticket(networkTicket)
+            .publisher(organizationUser)
+            .content("Restarting the printers did not help either")
+            .build());
+
+        // A matching ticket in another organization must never be found
+        Organization otherOrganization = organizationRepository.save(Organization.builder()
+            .name(faker.company()
+                .name())
+            .creator(user)
+            .build());
+        createTicket(otherOrganization, "Printer offline", "Another printer");
+
+        entityManager.flush();
+    }
+
+    @Test
+    void itShouldFindTicketsAndCommentsBestMatchFirst() {
+        // when
+        Slice<SearchResultDTO> expected = underTest.search(organization.getId(), SearchQuery.parse("printer"), null,
+            PageRequest.of(0, 10));
+
+        // then
+        assertThat(expected.getContent()).hasSize(2);
+        assertThat(expected.hasNext()).isFalse();
+
+        SearchResultDTO ticketResult = expected.getContent()
+            .get(0);
+        assertThat(ticketResult.type()).isEqualTo(SearchResultType.TICKET);
+        assertThat(ticketResult.ticketId()).isEqualTo(printerTicket.getId());
+        assertThat(ticketResult.commentId()).isNull();
+        assertThat(ticketResult.title()).isEqualTo("Printer offline");
+        assertThat(ticketResult.snippet()).contains("<mark>printer</mark>");
+
+        SearchResultDTO commentResult = expected.getContent()
+            .get(1);
+        assertThat(commentResult.type()).isEqualTo(SearchResultType.COMMENT);
+        assertThat(commentResult.commentId()).isEqualTo(printerComment.getId());
+        assertThat(commentResult.snippet()).contains("<mark>printers</mark>");
+        assertThat(commentResult.rank()).isLessThan(ticketResult.rank());
+    }
+
+    @Test
+    void itShouldExcludeTermsAndMatchPhrasesAndPrefixes() {
+        // when
+        Slice<SearchResultDTO> excluded = underTest.search(organization.getId(),
+            SearchQuery.parse("printer -offline"), null, PageRequest.of(0, 10));
+        Slice<SearchResultDTO> phrase = underTest.search(organization.getId(),
+            SearchQuery.parse("\"third floor\""), null, PageRequest.of(0, 10));
+        Slice<SearchResultDTO> wrongPhrase = underTest.search(organization.getId(),
+            SearchQuery.parse("\"floor third\""), null, PageRequest.of(0, 10));
+        Slice<SearchResultDTO> prefix = underTest.search(organization.getId(), SearchQuery.parse("meet*"), null,
+            PageRequest.of(0, 10));
+
+        // then
+        assertThat(excluded.getContent()).extracting(SearchResultDTO::commentId)
+            .containsExactly(printerComment.getId());
+        assertThat(phrase.getContent()).extracting(SearchResultDTO::ticketId)
+            .containsExactly(printerTicket.getId());
+        assertThat(wrongPhrase.getContent()).isEmpty();
+        assertThat(prefix.getContent()).extracting(SearchResultDTO::type)
+            .containsExactly(SearchResultType.TICKET);
+    }
+
+    @Test
+    void itShouldOnlySearchRequestedTypeInSlices() {
+        // when
+        Slice<SearchResultDTO> comments = underTest.search(organization.getId(), SearchQuery.parse("printer"),
+            SearchResultType.COMMENT, PageRequest.of(0, 10));
+        Slice<SearchResultDTO> firstSlice = underTest.search(organization.getId(), SearchQuery.parse("printer"),
+            null, PageRequest.of(0, 1));
+
+        // then
+        assertThat(comments.getContent()).extracting(SearchResultDTO::type)
+            .containsExactly(SearchResultType.COMMENT);
+        assertThat(firstSlice.getContent()).hasSize(1);
+        assertThat(firstSlice.hasNext()).isTrue();
+    }
+
+    @Test
+    void itShouldEscapeSnippetsApartFromTheMarks() {
+        // given
+        createTicket(organization, "Scanner", "The <img src=x onerror=alert(1)> scanner & \"copier\" are down");
+        entityManager.flush();
+
+        // when
+        Slice<SearchResultDTO> expected = underTest.search(organization.getId(), SearchQuery.parse("scanner"), null,
+            PageRequest.of(0, 10));
+
+        // then
+        assertThat(expected.getContent()).hasSize(1);
+        String snippet = expected.getContent()
+            .get(0)
+            .snippet();
+        assertThat(snippet).contains("onerror=alert(1)&gt; <mark>scanner</mark> &amp; &quot;copier&quot; are down");
+        assertThat(snippet.replace("<mark>", "")
+            .replace("</mark>", "")).doesNotContain("<", ">");
+    }
+
+    private Ticket createTicket(Organization organization, String title, String content) {
+        TicketBody ticketBody = TicketBody.builder()
+            .title(title)
+            .build();
+
+        TicketProperty ticketProperty = TicketProperty.builder()
+            .department(TicketDepartment.IT)
+            .priority(TicketPriority.LOW)
+            .build();
+
+        return ticketRepository.save(Ticket.builder()
+            .organization(organization)
+            .ticketBody(ticketBody)
+            .content(content)
+            .ticketProperty(ticketProperty)
+            .build());
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.jonathand.issuecrush.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class TicketCursorTest {
+
+    @Test
+    void canDecodeEncodedCursor() {
+        // given
+        TicketCursor cursor = new TicketCursor(Instant.parse("2023-06-01T12:30:45.123456Z"), 42L);
+
+        // when
+        TicketCursor decoded = TicketCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void willDecodeMissingCursorAsFirstPage() {
+        // when
+        // then
+        assertThat(TicketCursor.decode(null)).isEqualTo(TicketCursor.FIRST);
+        assertThat(TicketCursor.decode("")).isEqualTo(TicketCursor.FIRST);
+    }
+
+    @Test
+    void willThrowWhenCursorIsInvalid() {
+        // when
+        // then
+        assertThatThrownBy(() -> TicketCursor.decode("not-a-cursor"))
+            .isInstanceOf(TicketCursorInvalidException.class);
+        assertThatThrownBy(() -> TicketCursor.decode("!!!"))
+            .isInstanceOf(TicketCursorInvalidException.class);
+    }
+
+}
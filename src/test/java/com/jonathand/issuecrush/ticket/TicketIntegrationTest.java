@@ -18,7 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -206,6 +208,324 @@ class TicketIntegrationTest {
         assertThat(ticketDTOS.size()).isEqualTo(ticketsToCreate);
     }
 
+    @Test
+    void canGetAllTicketsForOrganizationWithCursor() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        String password = faker.internet()
+            .password();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(password)
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        String jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        OrganizationNewRequest organizationNewRequest = new OrganizationNewRequest(faker.company()
+            .name());
+
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(organizationNewRequest), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        Long organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+
+        for (int i = 0; i < 3; i++) {
+            TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+                .sentence(10), faker.lorem()
+                .sentence(30), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+            webTestClient.post()
+                .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createRequest), TicketCreateRequest.class)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isOk();
+        }
+
+        // when
+        APIResponse<List<TicketDTO>> firstPage = webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?cursor=true&size=2", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert firstPage != null;
+
+        APIResponse<List<TicketDTO>> lastPage = webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?after={after}&size=2", organizationId,
+                firstPage.getNextCursor())
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert lastPage != null;
+
+        assertThat(firstPage.getResult()).hasSize(2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(lastPage.getResult()).hasSize(1);
+        assertThat(lastPage.getNextCursor()).isNull();
+        assertThat(firstPage.getResult()
+            .stream()
+            .map(TicketDTO::id)).doesNotContain(lastPage.getResult()
+            .get(0)
+            .id());
+
+        webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?after=not-a-cursor", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void canGetAllTicketsForOrganizationWithOptionalTotal() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        String password = faker.internet()
+            .password();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(password)
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        String jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        OrganizationNewRequest organizationNewRequest = new OrganizationNewRequest(faker.company()
+            .name());
+
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(organizationNewRequest), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        Long organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+
+        for (int i = 0; i < 3; i++) {
+            TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+                .sentence(10), faker.lorem()
+                .sentence(30), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+            webTestClient.post()
+                .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createRequest), TicketCreateRequest.class)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isOk();
+        }
+
+        // when
+        APIResponse<List<TicketDTO>> withoutTotal = webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?page=0&size=2", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        APIResponse<List<TicketDTO>> withTotal = webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?page=1&size=2&includeTotal=true", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert withoutTotal != null;
+        assert withTotal != null;
+
+        assertThat(withoutTotal.getResult()).hasSize(2);
+        assertThat(withoutTotal.getHasNext()).isTrue();
+        assertThat(withoutTotal.getTotal()).isNull();
+        assertThat(withTotal.getResult()).hasSize(1);
+        assertThat(withTotal.getHasNext()).isFalse();
+        assertThat(withTotal.getTotal()).isEqualTo(3L);
+    }
+
+    @Test
+    void canFilterTicketsForOrganization() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        String password = faker.internet()
+            .password();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(password)
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        String jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        OrganizationNewRequest organizationNewRequest = new OrganizationNewRequest(faker.company()
+            .name());
+
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(organizationNewRequest), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        Long organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+
+        List<TicketCreateRequest> createRequests = List.of(
+            new TicketCreateRequest("Low", "content", TicketPriority.LOW.name(), TicketDepartment.IT.name(), true),
+            new TicketCreateRequest("Critical sales", "content", TicketPriority.CRITICAL.name(),
+                TicketDepartment.SALES.name(), true),
+            new TicketCreateRequest("Critical closed", "content", TicketPriority.CRITICAL.name(),
+                TicketDepartment.IT.name(), false));
+
+        for (TicketCreateRequest createRequest : createRequests) {
+            webTestClient.post()
+                .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createRequest), TicketCreateRequest.class)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isOk();
+        }
+
+        // when
+        APIResponse<List<TicketDTO>> filtered = webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?priority=critical&open=true&includeTotal=true",
+                organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert filtered != null;
+
+        assertThat(filtered.getResult()).hasSize(1);
+        assertThat(filtered.getResult()
+            .get(0)
+            .title()).isEqualTo("Critical sales");
+        assertThat(filtered.getTotal()).isEqualTo(1L);
+
+        // Orderings without an index are rejected
+        webTestClient.method(HttpMethod.GET)
+            .uri(TICKET_PATH + "/organization/{organizationId}?sort=title", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void canCreateTicketForOrganization() {
         // given
@@ -541,6 +861,167 @@ class TicketIntegrationTest {
         assertThat(ticketDTO.publisher()).isNotNull();
     }
 
+    @Test
+    void canUpdateTicketOnlyIfItHasTheETagFromIfMatch() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        String password = faker.internet()
+            .password();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(password)
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        String jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        String organizationName = faker.company()
+            .name();
+
+        OrganizationNewRequest organizationNewRequest = new OrganizationNewRequest(organizationName);
+
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(organizationNewRequest), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        APIResponse<OrganizationDTO> response = organizationResult.getResponseBody();
+
+        assert response != null;
+
+        OrganizationDTO organizationDTO = response.getResult();
+        Long organizationId = organizationDTO.id();
+
+        TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+            .sentence(10), faker.lorem()
+            .sentence(30), faker.options()
+            .option(TicketPriority.values())
+            .name(), faker.options()
+            .option(TicketDepartment.values())
+            .name(), faker.bool()
+            .bool());
+
+        EntityExchangeResult<APIResponse<TicketDTO>> ticketResult = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(createRequest), TicketCreateRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult();
+
+        assert ticketResult.getResponseBody() != null;
+
+        Long ticketIdToUpdate = ticketResult.getResponseBody()
+            .getResult()
+            .id();
+
+        // Get organization user
+        EntityExchangeResult<APIResponse<OrganizationUserDTO>> organizationUserResult = webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path(ORGANIZATION_USER_PATH)
+                .queryParam("organizationId", organizationId)
+                .queryParam("email", email)
+                .build())
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationUserDTO>>() {
+            })
+            .returnResult();
+
+        APIResponse<OrganizationUserDTO> userDTOResponse = organizationUserResult.getResponseBody();
+        assert userDTOResponse != null;
+
+        OrganizationUserDTO organizationUserDTO = userDTOResponse.getResult();
+        Long organizationUserId = organizationUserDTO.id();
+
+        // Read the ETag of the created ticket
+        String eTag = webTestClient.get()
+            .uri(TICKET_PATH + "/{ticketId}", ticketIdToUpdate)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"0\"")
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+
+        TicketUpdateRequest updateRequest = new TicketUpdateRequest(organizationUserId, faker.lorem()
+            .sentence(10), null, null, null, null, null);
+
+        // when
+        webTestClient.put()
+            .uri(TICKET_PATH + "/{ticketId}", ticketIdToUpdate)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(updateRequest), TicketUpdateRequest.class)
+            .headers(header -> {
+                header.setBearerAuth(jwtToken);
+                header.setIfMatch(eTag);
+            })
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        // A second update with the ETag read before the first update is rejected
+        TicketUpdateRequest staleUpdateRequest = new TicketUpdateRequest(organizationUserId, faker.lorem()
+            .sentence(10), null, null, null, null, null);
+
+        webTestClient.put()
+            .uri(TICKET_PATH + "/{ticketId}", ticketIdToUpdate)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(staleUpdateRequest), TicketUpdateRequest.class)
+            .headers(header -> {
+                header.setBearerAuth(jwtToken);
+                header.setIfMatch(eTag);
+            })
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED)
+            .expectBody()
+            .jsonPath("$.response")
+            .isEqualTo(APIResponseType.FAILED.name());
+
+        // then
+        assertThat(ticketRepository.findById(ticketIdToUpdate)
+            .orElseThrow()
+            .getTicketBody()
+            .getTitle()).isEqualTo(updateRequest.title());
+    }
+
     @Test
     void canDeleteTicket() {
         // given
@@ -0,0 +1,100 @@
+package com.jonathand.issuecrush.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TicketOrganizationResolverTest {
+
+    private final Faker faker = new Faker();
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketCommentRepository ticketCommentRepository;
+
+    private TicketOrganizationResolver underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TicketOrganizationResolver(100, Duration.ofMinutes(5), new SimpleMeterRegistry(),
+            ticketRepository, ticketCommentRepository);
+    }
+
+    @Test
+    void canResolveOrganizationOfTicketOnce() {
+        // given
+        Long ticketId = faker.random()
+            .nextLong(50L);
+        Long organizationId = faker.random()
+            .nextLong(50L);
+
+        when(ticketRepository.findOrganizationIdById(ticketId)).thenReturn(Optional.of(organizationId));
+
+        // when
+        underTest.findOrganizationIdForTicket(ticketId);
+        Optional<Long> expected = underTest.findOrganizationIdForTicket(ticketId);
+
+        // then
+        assertThat(expected).contains(organizationId);
+        verify(ticketRepository, times(1)).findOrganizationIdById(ticketId);
+    }
+
+    @Test
+    void canResolveOrganizationOfTicketComment() {
+        // given
+        Long ticketCommentId = faker.random()
+            .nextLong(50L);
+        Long ticketId = faker.random()
+            .nextLong(50L);
+        Long organizationId = faker.random()
+            .nextLong(50L);
+
+        when(ticketCommentRepository.findTicketIdById(ticketCommentId)).thenReturn(Optional.of(ticketId));
+        when(ticketRepository.findOrganizationIdById(ticketId)).thenReturn(Optional.of(organizationId));
+
+        // when
+        underTest.findOrganizationIdForTicketComment(ticketCommentId);
+        Optional<Long> expected = underTest.findOrganizationIdForTicketComment(ticketCommentId);
+
+        // then
+        assertThat(expected).contains(organizationId);
+        verify(ticketCommentRepository, times(1)).findTicketIdById(ticketCommentId);
+        verify(ticketRepository, times(1)).findOrganizationIdById(ticketId);
+    }
+
+    @Test
+    void itWillNotCacheMissingTicketComment() {
+        // given
+        Long ticketCommentId = faker.random()
+            .nextLong(50L);
+
+        when(ticketCommentRepository.findTicketIdById(ticketCommentId)).thenReturn(Optional.empty());
+
+        // when
+        underTest.findOrganizationIdForTicketComment(ticketCommentId);
+        Optional<Long> expected = underTest.findOrganizationIdForTicketComment(ticketCommentId);
+
+        // then
+        assertThat(expected).isEmpty();
+        verify(ticketCommentRepository, times(2)).findTicketIdById(ticketCommentId);
+        verifyNoInteractions(ticketRepository);
+    }
+
+}
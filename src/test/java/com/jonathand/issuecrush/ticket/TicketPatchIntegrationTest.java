@@ -0,0 +1,269 @@
+package com.jonathand.issuecrush.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.OrganizationDTO;
+import com.jonathand.issuecrush.organization.OrganizationNewRequest;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TicketPatchIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(faker.internet()
+                .emailAddress())
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new OrganizationNewRequest(faker.company()
+                .name())), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+    }
+
+    @Test
+    void canToggleOpenWithOneUpdate() {
+        // given
+        TicketDTO ticketDTO = createTicket();
+
+        // The organization of the ticket and the role of the user are cached by the first read
+        getTicket(ticketDTO.id());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        // when
+        TicketDTO patchedTicketDTO = patchTicket(ticketDTO.id(), Map.of("open", false));
+
+        // then
+        assertThat(patchedTicketDTO.open()).isFalse();
+        assertThat(patchedTicketDTO.title()).isEqualTo(ticketDTO.title());
+        assertThat(patchedTicketDTO.version()).isEqualTo(ticketDTO.version() + 1);
+
+        // The UPDATE of the open column and the read of the patched ticket
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void canPatchSeveralFieldsAndClearTheAssignedAgent() {
+        // given
+        TicketDTO ticketDTO = createTicket();
+        Long agentId = ticketDTO.publisher()
+            .id();
+
+        // when
+        patchTicket(ticketDTO.id(), Map.of("title", "Printer on fire", "priority", TicketPriority.CRITICAL.name(),
+            "assignedAgentId", agentId));
+        Ticket assignedTicket = ticketRepository.findById(ticketDTO.id())
+            .orElseThrow();
+
+        TicketDTO unassignedTicketDTO = patchTicket(ticketDTO.id(), Collections.singletonMap("assignedAgentId",
+            null));
+        Ticket unassignedTicket = ticketRepository.findById(ticketDTO.id())
+            .orElseThrow();
+
+        // then
+        assertThat(assignedTicket.getTicketBody()
+            .getTitle()).isEqualTo("Printer on fire");
+        assertThat(assignedTicket.getTicketProperty()
+            .getPriority()).isEqualTo(TicketPriority.CRITICAL);
+        assertThat(assignedTicket.getTicketProperty()
+            .getDepartment()).isEqualTo(TicketDepartment.IT);
+        assertThat(assignedTicket.getTicketProperty()
+            .getAssigned_agent()
+            .getId()).isEqualTo(agentId);
+
+        assertThat(unassignedTicketDTO.version()).isEqualTo(2L);
+        assertThat(unassignedTicket.getTicketProperty()
+            .getAssigned_agent()).isNull();
+        assertThat(unassignedTicket.getTicketProperty()
+            .getPriority()).isEqualTo(TicketPriority.CRITICAL);
+    }
+
+    @Test
+    void willRejectInvalidAndStalePatches() {
+        // given
+        TicketDTO ticketDTO = createTicket();
+
+        // when
+        // then
+        List.of(Map.of(),
+                Map.of("organizationId", organizationId),
+                Map.of("open", "yes"),
+                Map.of("title", " "),
+                Collections.singletonMap("content", null),
+                Map.of("priority", "URGENTEST"),
+                Map.of("assignedAgentId", Long.MAX_VALUE))
+            .forEach(patch -> webTestClient.patch()
+                .uri(TICKET_PATH + "/{ticketId}", ticketDTO.id())
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MERGE_PATCH)
+                .bodyValue(patch)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isBadRequest());
+
+        patchTicket(ticketDTO.id(), Map.of("open", false));
+
+        webTestClient.patch()
+            .uri(TICKET_PATH + "/{ticketId}", ticketDTO.id())
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MERGE_PATCH)
+            .bodyValue(Map.of("open", true))
+            .headers(header -> {
+                header.setBearerAuth(jwtToken);
+                header.setIfMatch("\"" + ticketDTO.version() + "\"");
+            })
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        assertThat(getTicket(ticketDTO.id()).open()).isFalse();
+    }
+
+    private TicketDTO createTicket() {
+        TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+            .sentence(10), faker.lorem()
+            .sentence(30), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+        APIResponse<TicketDTO> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(createRequest), TicketCreateRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+    private TicketDTO getTicket(Long ticketId) {
+        APIResponse<TicketDTO> response = webTestClient.get()
+            .uri(TICKET_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+    private TicketDTO patchTicket(Long ticketId, Map<String, Object> patch) {
+        EntityExchangeResult<APIResponse<TicketDTO>> result = webTestClient.patch()
+            .uri(TICKET_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MERGE_PATCH)
+            .bodyValue(patch)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult();
+
+        assert result.getResponseBody() != null;
+
+        TicketDTO ticketDTO = result.getResponseBody()
+            .getResult();
+        assertThat(result.getResponseHeaders()
+            .getETag()).isEqualTo("\"" + ticketDTO.version() + "\"");
+        return ticketDTO;
+    }
+
+}
@@ -1,31 +1,40 @@
 package com.jonathand.issuecrush.ticket;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import com.github.javafaker.Faker;
 import com.jonathand.issuecrush.organization.Organization;
 import com.jonathand.issuecrush.organization.OrganizationRepository;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.ticket.body.TicketBody;
-import com.jonathand.issuecrush.ticket.body.TicketBodyRepository;
 import com.jonathand.issuecrush.ticket.property.TicketPriority;
 import com.jonathand.issuecrush.ticket.property.TicketProperty;
-import com.jonathand.issuecrush.ticket.property.TicketPropertyRepository;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserRepository;
 import com.jonathand.issuecrush.user.UserRole;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -46,10 +55,7 @@ class TicketRepositoryTest {
     private UserRepository userRepository;
 
     @Autowired
-    private TicketBodyRepository ticketBodyRepository;
-
-    @Autowired
-    private TicketPropertyRepository ticketPropertyRepository;
+    private TestEntityManager entityManager;
 
     @AfterEach
     void tearDown() {
@@ -59,13 +65,10 @@ class TicketRepositoryTest {
     }
 
     @Test
-    void itShouldFindAllTicketsForOrganization() {
+    void itShouldDeleteTicketsByOrganizationUser() {
         // given
         String email = faker.internet()
             .emailAddress();
-        String password = faker.internet()
-            .password();
-
 
         User user = User.builder()
             .email(email)
@@ -73,26 +76,35 @@ class TicketRepositoryTest {
                 .firstName())
             .lastName(faker.name()
                 .lastName())
-            .password(password)
+            .password(faker.internet()
+                .password())
             .userRole(UserRole.USER)
             .build();
 
         user = userRepository.save(user);
 
         Organization organization = Organization.builder()
+            .id(faker.random()
+                .nextLong(50L))
             .name(faker.company()
                 .name())
-            .creator(user)
             .build();
 
         organization = organizationRepository.save(organization);
 
+        OrganizationUser organizationUser = OrganizationUser.builder()
+            .user(user)
+            .role(OrganizationRole.MEMBER)
+            .organization(organization)
+            .build();
+
+        organizationUser = organizationUserRepository.save(organizationUser);
+
         int ticketsToCreate = faker.random()
             .nextInt(1, 5);
         for (int i = 0; i < ticketsToCreate; i++) {
             TicketBody ticketBody = TicketBody.builder()
                 .title("a")
-                .content("b")
                 .build();
 
             TicketProperty ticketProperty = TicketProperty.builder()
@@ -100,35 +112,29 @@ class TicketRepositoryTest {
                 .priority(TicketPriority.LOW)
                 .build();
 
-            ticketBody = ticketBodyRepository.save(ticketBody);
-            ticketProperty = ticketPropertyRepository.save(ticketProperty);
 
             Ticket ticket = Ticket.builder()
                 .organization(organization)
+                .publisher(organizationUser)
                 .ticketBody(ticketBody)
+                .content("b")
                 .ticketProperty(ticketProperty)
                 .build();
 
             underTest.save(ticket);
         }
 
-        Pageable pageable = PageRequest.of(0, ticketsToCreate);
-
         // when
-        Page<Ticket> expected = underTest.findAllTicketsForOrganization(organization.getId(), pageable);
+        underTest.deleteTicketsByOrganizationUser(organizationUser.getId());
 
         // then
-        assertThat(expected.getTotalPages()).isEqualTo(1);
-        assertThat(expected.getTotalElements()).isEqualTo(ticketsToCreate);
+        assertThat(underTest.countByOrganization_IdAndPublisher_Id(organization.getId(),
+            organizationUser.getId())).isEqualTo(0);
     }
 
     @Test
-    void itShouldNotFindAnyTicketsForOrganization() {
+    void itShouldSeekTicketsForOrganizationAfterCursor() {
         // given
-        Long organizationId = 10L;
-
-        Pageable pageable = PageRequest.of(0, 10);
-
         User user = User.builder()
             .email(faker.internet()
                 .emailAddress())
@@ -143,42 +149,6 @@ class TicketRepositoryTest {
 
         user = userRepository.save(user);
 
-        Organization organization = Organization.builder()
-            .id(organizationId)
-            .name(faker.company()
-                .name())
-            .creator(user)
-            .build();
-
-        organizationRepository.save(organization);
-
-        // when
-        Page<Ticket> expected = underTest.findAllTicketsForOrganization(organizationId, pageable);
-
-        // then
-        assertThat(expected.getTotalPages()).isEqualTo(0);
-        assertThat(expected.getTotalElements()).isEqualTo(0);
-    }
-
-    @Test
-    void itShouldBeTrueIfUserBelongToTicketOrganization() {
-        String email = faker.internet()
-            .emailAddress();
-        String password = faker.internet()
-            .password();
-
-        User user = User.builder()
-            .email(email)
-            .firstName(faker.name()
-                .firstName())
-            .lastName(faker.name()
-                .lastName())
-            .password(password)
-            .userRole(UserRole.USER)
-            .build();
-
-        user = userRepository.save(user);
-
         Organization organization = Organization.builder()
             .name(faker.company()
                 .name())
@@ -187,61 +157,66 @@ class TicketRepositoryTest {
 
         organization = organizationRepository.save(organization);
 
-        OrganizationUser organizationUser = OrganizationUser.builder()
-            .user(user)
-            .role(OrganizationRole.OWNER)
-            .organization(organization)
-            .build();
-
-        organizationUser = organizationUserRepository.save(organizationUser);
+        List<Long> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TicketBody ticketBody = TicketBody.builder()
+                .title(i % 2 == 0 ? "Printer 100% broken" : "Printer is fine")
+                .build();
 
-        TicketBody ticketBody = TicketBody.builder()
-            .title("a")
-            .content("b")
-            .build();
+            TicketProperty ticketProperty = TicketProperty.builder()
+                .department(TicketDepartment.IT)
+                .priority(TicketPriority.LOW)
+                .build();
 
-        TicketProperty ticketProperty = TicketProperty.builder()
-            .department(TicketDepartment.IT)
-            .priority(TicketPriority.LOW)
-            .build();
 
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
+            Ticket ticket = Ticket.builder()
+                .organization(organization)
+                .ticketBody(ticketBody)
+                .content("b")
+                .ticketProperty(ticketProperty)
+                .build();
 
-        Ticket fakeTicket = Ticket.builder()
-            .organization(organization)
-            .publisher(organizationUser)
-            .ticketBody(ticketBody)
-            .ticketProperty(ticketProperty)
-            .build();
+            ticketIds.add(underTest.save(ticket)
+                .getId());
+        }
 
-        Ticket realTicket = underTest.save(fakeTicket);
+        // Newest first, the IDs break ties between tickets created in the same instant
+        Collections.reverse(ticketIds);
+        Pageable pageable = PageRequest.of(0, 2, TicketSort.NEWEST.getSort());
 
         // when
-        boolean expected = underTest.doesUserBelongToTicketOrganization(email, realTicket.getId());
+        List<TicketDTO> firstPage = underTest.findTicketDTOs(
+                TicketSpecifications.matching(organization.getId(), TicketFilter.NONE)
+                    .and(TicketSpecifications.after(TicketCursor.FIRST)), pageable)
+            .getContent();
+
+        TicketCursor cursor = TicketCursor.of(firstPage.get(1));
+        List<TicketDTO> secondPage = underTest.findTicketDTOs(
+                TicketSpecifications.matching(organization.getId(), TicketFilter.NONE)
+                    .and(TicketSpecifications.after(cursor)), pageable)
+            .getContent();
+
+        List<TicketDTO> titlePage = underTest.findTicketDTOs(TicketSpecifications.matching(organization.getId(),
+                    new TicketFilter("100%", null, null, null, null, null, null, null, null, null))
+                .and(TicketSpecifications.after(cursor)), pageable)
+            .getContent();
 
         // then
-        assertTrue(expected);
+        assertThat(firstPage.stream()
+            .map(TicketDTO::id)
+            .toList()).isEqualTo(ticketIds.subList(0, 2));
+        assertThat(secondPage.stream()
+            .map(TicketDTO::id)
+            .toList()).isEqualTo(ticketIds.subList(2, 4));
+        assertThat(titlePage.stream()
+            .map(TicketDTO::id)
+            .toList()).isEqualTo(List.of(ticketIds.get(2), ticketIds.get(4)));
     }
 
     @Test
-    void itShouldBeFalseIfUserDoesNotBelongToTicketOrganization() {
+    void itShouldLoadTicketContentOnlyWhenRead() {
         // given
-        User user = User.builder()
-            .email(faker.internet()
-                .emailAddress())
-            .firstName(faker.name()
-                .firstName())
-            .lastName(faker.name()
-                .lastName())
-            .password(faker.internet()
-                .password())
-            .userRole(UserRole.USER)
-            .build();
-
-        user = userRepository.save(user);
-
-        User user2 = User.builder()
+        User user = userRepository.save(User.builder()
             .email(faker.internet()
                 .emailAddress())
             .firstName(faker.name()
@@ -251,82 +226,59 @@ class TicketRepositoryTest {
             .password(faker.internet()
                 .password())
             .userRole(UserRole.USER)
-            .build();
+            .build());
 
-        user2 = userRepository.save(user2);
-
-        Organization organization = Organization.builder()
+        Organization organization = organizationRepository.save(Organization.builder()
             .name(faker.company()
                 .name())
             .creator(user)
-            .build();
-
-        organization = organizationRepository.save(organization);
-
-        Organization organization2 = Organization.builder()
-            .name(faker.company()
-                .name())
-            .creator(user2)
-            .build();
-
-        organization2 = organizationRepository.save(organization2);
-
-        OrganizationUser organizationUser = OrganizationUser.builder()
-            .user(user)
-            .role(OrganizationRole.MEMBER)
-            .organization(organization)
-            .build();
-
-        organizationUser = organizationUserRepository.save(organizationUser);
-
-        OrganizationUser organizationUser2 = OrganizationUser.builder()
-            .user(user2)
-            .role(OrganizationRole.MODERATOR)
-            .organization(organization2)
-            .build();
+            .build());
 
-        OrganizationUser realOrganizationUser_2 = organizationUserRepository.save(organizationUser2);
-
-        TicketBody ticketBody = TicketBody.builder()
-            .title("a")
-            .content("b")
-            .build();
-
-        TicketProperty ticketProperty = TicketProperty.builder()
-            .department(TicketDepartment.IT)
-            .priority(TicketPriority.LOW)
-            .build();
-
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
-
-        Ticket fakeTicket = Ticket.builder()
-            .organization(organization)
-            .publisher(organizationUser)
-            .ticketBody(ticketBody)
-            .ticketProperty(ticketProperty)
-            .build();
+        String content = "log line\n".repeat(100_000);
 
-        Ticket realTicket = underTest.save(fakeTicket);
+        Long ticketId = underTest.save(Ticket.builder()
+                .organization(organization)
+                .ticketBody(TicketBody.builder()
+                    .title("title")
+                    .build())
+                .content(content)
+                .ticketProperty(TicketProperty.builder()
+                    .department(TicketDepartment.IT)
+                    .priority(TicketPriority.LOW)
+                    .build())
+                .build())
+            .getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
 
         // when
-        boolean expected = underTest.doesUserBelongToTicketOrganization(realOrganizationUser_2.getUser()
-            .getEmail(), realTicket.getId());
+        Ticket ticket = underTest.findById(ticketId)
+            .orElseThrow();
+        String title = ticket.getTicketBody()
+            .getTitle();
+        long statementsBeforeContent = statistics.getPrepareStatementCount();
+        String loadedContent = ticket.getContent();
 
         // then
-        assertFalse(expected);
+        assertThat(title).isEqualTo("title");
+        assertThat(statementsBeforeContent).isEqualTo(1);
+        assertThat(loadedContent).isEqualTo(content);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
     }
 
     @Test
-    void itShouldGetTicketsByOrganizationUser() {
+    void itShouldSelectTicketDTOsWithoutLoadingEntities() {
         // given
-        String email = faker.internet()
-            .emailAddress();
-        String password = faker.internet()
-            .password();
-
-        User user = User.builder()
-            .email(email)
+        User user = userRepository.save(User.builder()
+            .email(faker.internet()
+                .emailAddress())
             .firstName(faker.name()
                 .firstName())
             .lastName(faker.name()
@@ -334,33 +286,23 @@ class TicketRepositoryTest {
             .password(faker.internet()
                 .password())
             .userRole(UserRole.USER)
-            .build();
+            .build());
 
-        user = userRepository.save(user);
-
-        Organization organization = Organization.builder()
-            .id(faker.random()
-                .nextLong(50L))
+        Organization organization = organizationRepository.save(Organization.builder()
             .name(faker.company()
                 .name())
-            .build();
-
-        organization = organizationRepository.save(organization);
+            .creator(user)
+            .build());
 
-        OrganizationUser organizationUser = OrganizationUser.builder()
+        OrganizationUser publisher = organizationUserRepository.save(OrganizationUser.builder()
             .user(user)
-            .role(OrganizationRole.MEMBER)
+            .role(OrganizationRole.MODERATOR)
             .organization(organization)
-            .build();
+            .build());
 
-        organizationUser = organizationUserRepository.save(organizationUser);
-
-        int ticketsToCreate = faker.random()
-            .nextInt(1, 5);
-        for (int i = 0; i < ticketsToCreate; i++) {
+        for (OrganizationUser ticketPublisher : Arrays.asList(publisher, null)) {
             TicketBody ticketBody = TicketBody.builder()
-                .title("a")
-                .content("b")
+                .title("title")
                 .build();
 
             TicketProperty ticketProperty = TicketProperty.builder()
@@ -368,85 +310,55 @@ class TicketRepositoryTest {
                 .priority(TicketPriority.LOW)
                 .build();
 
-            ticketBody = ticketBodyRepository.save(ticketBody);
-            ticketProperty = ticketPropertyRepository.save(ticketProperty);
-
-            Ticket ticket = Ticket.builder()
+            underTest.save(Ticket.builder()
                 .organization(organization)
-                .publisher(organizationUser)
+                .publisher(ticketPublisher)
                 .ticketBody(ticketBody)
+                .content("content")
                 .ticketProperty(ticketProperty)
-                .build();
-
-            underTest.save(ticket);
+                .build());
         }
 
-        Pageable pageable = PageRequest.of(0, ticketsToCreate);
-
-        // when
-        Page<Ticket> ticketsByOrgUser = underTest.getTicketsByOrganizationUser(organizationUser.getId(), pageable);
-
-        // then
-        assertThat(ticketsByOrgUser).isNotNull();
-        assertThat(ticketsByOrgUser.getTotalPages()).isEqualTo(1);
-        assertThat(ticketsByOrgUser.getTotalElements()).isEqualTo(ticketsToCreate);
-    }
-
-    @Test
-    void itShouldGetNoTicketsByOrganizationUser() {
-        // given
-        String email = faker.internet()
-            .emailAddress();
-
-        User user = User.builder()
-            .email(email)
-            .firstName(faker.name()
-                .firstName())
-            .lastName(faker.name()
-                .lastName())
-            .password(faker.internet()
-                .password())
-            .userRole(UserRole.USER)
-            .build();
-
-        user = userRepository.save(user);
-
-        Organization organization = Organization.builder()
-            .id(faker.random()
-                .nextLong(50L))
-            .name(faker.company()
-                .name())
-            .build();
-
-        organization = organizationRepository.save(organization);
-
-        OrganizationUser organizationUser = OrganizationUser.builder()
-            .user(user)
-            .role(OrganizationRole.MEMBER)
-            .organization(organization)
-            .build();
+        entityManager.flush();
+        entityManager.clear();
 
-        organizationUser = organizationUserRepository.save(organizationUser);
-
-        Pageable pageable = PageRequest.of(0, 5);
+        Statistics statistics = entityManager.getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
 
         // when
-        Page<Ticket> ticketsByOrgUser = underTest.getTicketsByOrganizationUser(organizationUser.getId(), pageable);
+        List<TicketDTO> ticketDTOs = underTest.findTicketDTOs(
+                TicketSpecifications.matching(organization.getId(), TicketFilter.NONE),
+                PageRequest.of(0, 10, Sort.by("id")))
+            .getContent();
 
         // then
-        assertThat(ticketsByOrgUser).isNotNull();
-        assertThat(ticketsByOrgUser.getTotalPages()).isEqualTo(0);
-        assertThat(ticketsByOrgUser.getTotalElements()).isEqualTo(0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+        assertThat(entityManager.getEntityManager()
+            .unwrap(Session.class)
+            .getStatistics()
+            .getEntityCount()).isEqualTo(0);
+
+        assertThat(ticketDTOs.size()).isEqualTo(2);
+        assertThat(ticketDTOs.get(0)
+            .organizationName()).isEqualTo(organization.getName());
+        assertThat(ticketDTOs.get(0)
+            .publisher()).isEqualTo(
+            new OrganizationUserDTO(publisher.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                "MODERATOR"));
+        assertThat(ticketDTOs.get(1)
+            .publisher()).isNull();
     }
 
     @Test
-    void itShouldDeleteTicketsByOrganizationUser() {
+    void itShouldFilterTicketsByAnyCombinationInOneStatement() {
         // given
-        String email = faker.internet()
-            .emailAddress();
-
-        User user = User.builder()
-            .email(email)
+        User user = userRepository.save(User.builder()
+            .email(faker.internet()
+                .emailAddress())
             .firstName(faker.name()
                 .firstName())
             .lastName(faker.name()
@@ -454,75 +366,98 @@ class TicketRepositoryTest {
             .password(faker.internet()
                 .password())
             .userRole(UserRole.USER)
-            .build();
-
-        user = userRepository.save(user);
+            .build());
 
-        Organization organization = Organization.builder()
-            .id(faker.random()
-                .nextLong(50L))
+        Organization organization = organizationRepository.save(Organization.builder()
             .name(faker.company()
                 .name())
-            .build();
-
-        organization = organizationRepository.save(organization);
+            .creator(user)
+            .build());
 
-        OrganizationUser organizationUser = OrganizationUser.builder()
+        OrganizationUser agent = organizationUserRepository.save(OrganizationUser.builder()
             .user(user)
-            .role(OrganizationRole.MEMBER)
+            .role(OrganizationRole.OWNER)
             .organization(organization)
-            .build();
-
-        organizationUser = organizationUserRepository.save(organizationUser);
+            .build());
 
-        int ticketsToCreate = faker.random()
-            .nextInt(1, 5);
-        for (int i = 0; i < ticketsToCreate; i++) {
+        // Every combination of open, priority, department and assigned agent
+        for (int i = 0; i < 16; i++) {
             TicketBody ticketBody = TicketBody.builder()
-                .title("a")
-                .content("b")
+                .title("Ticket " + i)
                 .build();
 
             TicketProperty ticketProperty = TicketProperty.builder()
-                .department(TicketDepartment.IT)
-                .priority(TicketPriority.LOW)
+                .priority((i & 2) == 0 ? TicketPriority.LOW : TicketPriority.CRITICAL)
+                .department((i & 4) == 0 ? TicketDepartment.IT : TicketDepartment.SALES)
+                .assigned_agent((i & 8) == 0 ? null : agent)
                 .build();
 
-            ticketBody = ticketBodyRepository.save(ticketBody);
-            ticketProperty = ticketPropertyRepository.save(ticketProperty);
-
-            Ticket ticket = Ticket.builder()
+            underTest.save(Ticket.builder()
                 .organization(organization)
-                .publisher(organizationUser)
+                .publisher(agent)
+                .open((i & 1) == 0)
                 .ticketBody(ticketBody)
+                .content("content")
                 .ticketProperty(ticketProperty)
-                .build();
-
-            underTest.save(ticket);
+                .build());
         }
 
-        Pageable pageable = PageRequest.of(0, ticketsToCreate);
+        entityManager.flush();
+        entityManager.clear();
 
-        // when
-        underTest.deleteTicketsByOrganizationUser(organizationUser.getId());
+        Long organizationId = organization.getId();
+        Pageable pageable = PageRequest.of(0, 20, TicketSort.NEWEST.getSort());
+        List<TicketDTO> all = underTest.findTicketDTOs(TicketSpecifications.matching(organizationId,
+                TicketFilter.NONE), pageable)
+            .getContent();
+        Instant middle = all.get(8)
+            .createdAt()
+            .toInstant();
+
+        TicketFilter combined = new TicketFilter("TICKET", agent.getId(), true, TicketPriority.CRITICAL,
+            TicketDepartment.SALES, agent.getId(), null, null, null, null);
+        TicketFilter createdBefore = new TicketFilter(null, null, null, null, null, null, null, middle, null, null);
 
-        Page<Ticket> ticketsByOrgUser = underTest.getTicketsByOrganizationUser(organizationUser.getId(), pageable);
+        Statistics statistics = entityManager.getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        // when
+        List<TicketDTO> combinedTickets = underTest.findTicketDTOs(
+                TicketSpecifications.matching(organizationId, combined), pageable)
+            .getContent();
 
         // then
-        assertThat(ticketsByOrgUser).isNotNull();
-        assertThat(ticketsByOrgUser.getTotalPages()).isEqualTo(0);
-        assertThat(ticketsByOrgUser.getTotalElements()).isEqualTo(0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(combinedTickets.size()).isEqualTo(1);
+        assertThat(combinedTickets.get(0)
+            .title()).isEqualTo("Ticket 14");
+
+        assertThat(underTest.countTickets(TicketSpecifications.matching(organizationId, TicketFilter.NONE)))
+            .isEqualTo(16L);
+        assertThat(underTest.countTickets(TicketSpecifications.matching(organizationId,
+            new TicketFilter(null, null, false, null, null, null, null, null, null, null)))).isEqualTo(8L);
+        assertThat(underTest.countTickets(TicketSpecifications.matching(organizationId,
+            new TicketFilter(null, null, null, TicketPriority.CRITICAL, TicketDepartment.IT, null, null, null, null,
+                null)))).isEqualTo(4L);
+        assertThat(underTest.countTickets(TicketSpecifications.matching(organizationId,
+            new TicketFilter(null, null, null, null, null, agent.getId(), null, null, null, null)))).isEqualTo(8L);
+        assertThat(underTest.countTickets(TicketSpecifications.matching(organizationId, createdBefore)))
+            .isEqualTo(all.stream()
+                .filter(ticket -> ticket.createdAt()
+                    .toInstant()
+                    .isBefore(middle))
+                .count());
     }
 
-    // TODO CAN BE IMPROVED?
     @Test
-    void itWillBeTrueIfUserIsInTicketOrganization() {
+    void itShouldSortTicketsByWhitelistedOrderings() {
         // given
-        String email = faker.internet()
-            .emailAddress();
-
-        User user = User.builder()
-            .email(email)
+        User user = userRepository.save(User.builder()
+            .email(faker.internet()
+                .emailAddress())
             .firstName(faker.name()
                 .firstName())
             .lastName(faker.name()
@@ -530,55 +465,58 @@ class TicketRepositoryTest {
             .password(faker.internet()
                 .password())
             .userRole(UserRole.USER)
-            .build();
-
-        user = userRepository.save(user);
+            .build());
 
-        Organization organization = Organization.builder()
-            .id(faker.random()
-                .nextLong(50L))
+        Organization organization = organizationRepository.save(Organization.builder()
             .name(faker.company()
                 .name())
-            .build();
-
-        organization = organizationRepository.save(organization);
-
-        OrganizationUser organizationUser = OrganizationUser.builder()
-            .user(user)
-            .role(OrganizationRole.MEMBER)
-            .organization(organization)
-            .build();
-
-        organizationUser = organizationUserRepository.save(organizationUser);
+            .creator(user)
+            .build());
 
-        TicketBody ticketBody = TicketBody.builder()
-            .title("a")
-            .content("b")
-            .build();
+        List<Long> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TicketBody ticketBody = TicketBody.builder()
+                .title("title")
+                .build();
 
-        TicketProperty ticketProperty = TicketProperty.builder()
-            .department(TicketDepartment.IT)
-            .priority(TicketPriority.LOW)
-            .build();
+            TicketProperty ticketProperty = TicketProperty.builder()
+                .department(TicketDepartment.IT)
+                .priority(TicketPriority.LOW)
+                .build();
 
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
+            ticketIds.add(underTest.save(Ticket.builder()
+                    .organization(organization)
+                    .ticketBody(ticketBody)
+                    .content("content")
+                    .ticketProperty(ticketProperty)
+                    .build())
+                .getId());
+        }
 
-        Ticket ticket = Ticket.builder()
-            .organization(organization)
-            .publisher(organizationUser)
-            .ticketBody(ticketBody)
-            .ticketProperty(ticketProperty)
-            .build();
+        // Touch the oldest ticket, so it is the most recently updated
+        entityManager.flush();
+        Ticket oldest = underTest.findById(ticketIds.get(0))
+            .orElseThrow();
+        oldest.setOpen(true);
+        entityManager.flush();
 
-        ticket = underTest.save(ticket);
+        Specification<Ticket> specification = TicketSpecifications.matching(organization.getId(), TicketFilter.NONE);
 
         // when
-        boolean expected = underTest.doesUserBelongToTicketOrganization(organizationUser.getUser()
-            .getEmail(), ticket.getId());
+        List<Long> oldestFirst = underTest.findTicketDTOs(specification,
+                PageRequest.of(0, 10, TicketSort.OLDEST.getSort()))
+            .map(TicketDTO::id)
+            .getContent();
+        List<Long> recentlyUpdated = underTest.findTicketDTOs(specification,
+                PageRequest.of(0, 10, TicketSort.RECENTLY_UPDATED.getSort()))
+            .map(TicketDTO::id)
+            .getContent();
 
         // then
-        assertTrue(expected);
+        assertThat(oldestFirst).isEqualTo(ticketIds);
+        assertThat(recentlyUpdated.get(0)).isEqualTo(ticketIds.get(0));
+        assertThatThrownBy(() -> TicketSort.fromString("title")).isInstanceOf(TicketSortNotAllowedException.class)
+            .hasMessageContaining("TITLE");
     }
 
-}
\ No newline at end of file
+}
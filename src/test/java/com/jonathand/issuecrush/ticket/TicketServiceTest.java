@@ -1,37 +1,43 @@
 package com.jonathand.issuecrush.ticket;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.List;
 
 import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
 import com.jonathand.issuecrush.organization.Organization;
 import com.jonathand.issuecrush.organization.OrganizationRepository;
 import com.jonathand.issuecrush.organization.OrganizationUtil;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.organization.user.OrganizationUserUtil;
-import com.jonathand.issuecrush.ticket.body.TicketBody;
 import com.jonathand.issuecrush.ticket.body.TicketBodyDTOMapper;
-import com.jonathand.issuecrush.ticket.body.TicketBodyRepository;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentRepository;
 import com.jonathand.issuecrush.ticket.property.TicketPriority;
-import com.jonathand.issuecrush.ticket.property.TicketProperty;
 import com.jonathand.issuecrush.ticket.property.TicketPropertyDTOMapper;
-import com.jonathand.issuecrush.ticket.property.TicketPropertyRepository;
 import com.jonathand.issuecrush.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -48,12 +54,6 @@ class TicketServiceTest {
     @Mock
     private TicketRepository ticketRepository;
 
-    @Mock
-    private TicketPropertyRepository ticketPropertyRepository;
-
-    @Mock
-    private TicketBodyRepository ticketBodyRepository;
-
     @Mock
     private UserRepository userRepository;
 
@@ -75,6 +75,15 @@ class TicketServiceTest {
     @Mock
     private TicketUtil ticketUtil;
 
+    @Mock
+    private TicketCommentRepository ticketCommentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CustomQueryPlans customQueryPlans;
+
     @InjectMocks
     private TicketService underTest;
 
@@ -85,17 +94,24 @@ class TicketServiceTest {
             .nextLong(50L);
         Pageable pageable = PageRequest.of(0, 10);
 
-        List<Ticket> ticketList = List.of(mock(Ticket.class));
+        List<TicketDTO> ticketList = List.of(
+            new TicketDTO(1L, organizationId, "organization", "title", null, new Date(), new Date(), true, 0L));
 
-        Page<Ticket> tickets = new PageImpl<>(ticketList);
+        Slice<TicketDTO> tickets = new SliceImpl<>(ticketList);
 
-        when(ticketRepository.findAllTicketsForOrganization(organizationId, pageable)).thenReturn(tickets);
+        Pageable sorted = PageRequest.of(0, 10, TicketSort.NEWEST.getSort());
+
+        when(ticketRepository.findTicketDTOs(any(), eq(sorted))).thenReturn(tickets);
 
         // when
-        underTest.getAllTicketsForOrganization(organizationId, pageable);
+        Slice<TicketDTO> result = underTest.getTicketsForOrganization(organizationId, TicketFilter.NONE,
+            TicketSort.NEWEST, pageable);
 
         // then
-        verify(ticketRepository).findAllTicketsForOrganization(organizationId, pageable);
+        verify(organizationUtil).validateOrganizationExistsById(organizationId);
+        verify(ticketRepository).findTicketDTOs(any(), eq(sorted));
+        verify(ticketRepository, never()).countTickets(any());
+        assertThat(result.getContent()).isEqualTo(ticketList);
     }
 
     // TODO GET TICKETS FOR USER TOO...
@@ -136,8 +152,6 @@ class TicketServiceTest {
 
         OrganizationUser organizationUser = mock(OrganizationUser.class);
 
-        TicketBody ticketBody = mock(TicketBody.class);
-        TicketProperty ticketProperty = mock(TicketProperty.class);
         Ticket ticket = mock(Ticket.class);
 
         when(organizationUtil.getOrganizationById(organizationId)).thenReturn(organization);
@@ -145,18 +159,12 @@ class TicketServiceTest {
         when(organizationUserUtil.getOrganizationUserByEmailAndOrganization(email, organizationId)).thenReturn(
             organizationUser);
 
-        when(ticketBodyRepository.save(any())).thenReturn(ticketBody);
-
-        when(ticketPropertyRepository.save(any())).thenReturn(ticketProperty);
-
         when(ticketRepository.save(any())).thenReturn(ticket);
 
         // when
         underTest.createTicket(organizationId, email, createRequest);
 
         // then
-        verify(ticketBodyRepository).save(any());
-        verify(ticketPropertyRepository).save(any());
         verify(ticketRepository).save(any());
         verify(ticketDTOMapper).apply(any());
     }
@@ -187,8 +195,8 @@ class TicketServiceTest {
             .nextLong(50L);
 
         Ticket ticket = mock(Ticket.class);
-        TicketBody ticketBody = mock(TicketBody.class);
-        TicketProperty ticketProperty = mock(TicketProperty.class);
+        TicketDTO ticketDTO = new TicketDTO(ticketId, 1L, "organization", "title", null, new Date(), new Date(), true,
+            1L);
 
         TicketUpdateRequest updateRequest = new TicketUpdateRequest(organizationUserId, faker.lorem()
             .sentence(10), faker.lorem()
@@ -201,16 +209,18 @@ class TicketServiceTest {
 
         when(ticketUtil.getTicketById(ticketId)).thenReturn(ticket);
 
-        when(ticket.getTicketBody()).thenReturn(ticketBody);
+        when(ticketRepository.updateTickets(any(), anyMap())).thenReturn(1);
 
-        when(ticket.getTicketProperty()).thenReturn(ticketProperty);
+        when(ticketRepository.findTicketDTOs(any(), eq(PageRequest.of(0, 1)))).thenReturn(
+            new SliceImpl<>(List.of(ticketDTO)));
 
         // then
-        underTest.updateTicket(ticketId, updateRequest);
+        TicketDTO updatedTicket = underTest.updateTicket(ticketId, updateRequest, null);
 
         // when
-        verify(ticketRepository).save(any());
-        verify(ticketDTOMapper).apply(any());
+        verify(ticketRepository).updateTickets(any(), anyMap());
+        verify(ticketRepository, never()).save(any());
+        assertThat(updatedTicket).isEqualTo(ticketDTO);
     }
 
     @Test
@@ -225,7 +235,11 @@ class TicketServiceTest {
         underTest.deleteTicket(organizationUserId, ticketId);
 
         // then
-        verify(ticketRepository).deleteById(ticketId);
+        InOrder inOrder = inOrder(ticketCommentRepository, ticketRepository);
+        inOrder.verify(ticketCommentRepository)
+            .deleteTicketCommentsByTicket(ticketId);
+        inOrder.verify(ticketRepository)
+            .deleteTicket(ticketId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.jonathand.issuecrush.ticket.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.List;
+import java.util.Map;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.OrganizationDTO;
+import com.jonathand.issuecrush.organization.OrganizationNewRequest;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDTO;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Tickets and comments are stored in the partition of the month they were created in, and the tickets closed for
+ * longer than {@code ticket.archive.closed-for} are moved to the archive partition, where they can still be read.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TicketArchiveIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketArchiveWorker ticketArchiveWorker;
+
+    @Autowired
+    private TicketArchiveRepository ticketArchiveRepository;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        AuthenticationResponse authenticationResponse = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(faker.internet()
+                .emailAddress())
+            .password(faker.internet()
+                .password())
+            .build()
+            .get()
+            .getResponseBody();
+
+        assert authenticationResponse != null;
+
+        jwtToken = authenticationResponse.getToken();
+
+        APIResponse<OrganizationDTO> response = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new OrganizationNewRequest(faker.company()
+                .name()))
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        organizationId = response.getResult()
+            .id();
+    }
+
+    @Test
+    void canArchiveClosedTicketsAndStillReadThem() {
+        // given
+        TicketDTO oldClosedTicket = createTicket();
+        TicketDTO oldOpenTicket = createTicket();
+        TicketDTO recentlyClosedTicket = createTicket();
+        insertComment(oldClosedTicket);
+
+        patchTicket(oldClosedTicket.id(), Map.of("open", false));
+        patchTicket(recentlyClosedTicket.id(), Map.of("open", false));
+        jdbcTemplate.update("UPDATE tickets SET updated_at = now() - interval '100 days' WHERE id IN (?, ?)",
+            oldClosedTicket.id(), oldOpenTicket.id());
+
+        // Stored in the partition of the month they were created in
+        assertThat(partitionOf("tickets", oldClosedTicket.id())).isEqualTo(monthPartitionOf("tickets",
+            oldClosedTicket.id()));
+        assertThat(partitionOf("ticket_comments", oldClosedTicket.id())).isEqualTo(monthPartitionOf(
+            "ticket_comments", oldClosedTicket.id()));
+
+        // when
+        ticketArchiveWorker.maintain();
+
+        // then
+        assertThat(partitionOf("tickets", oldClosedTicket.id())).isEqualTo("tickets_archive");
+        assertThat(partitionOf("ticket_comments", oldClosedTicket.id())).isEqualTo("ticket_comments_archive");
+        assertThat(partitionOf("tickets", oldOpenTicket.id())).isEqualTo(monthPartitionOf("tickets",
+            oldOpenTicket.id()));
+        assertThat(partitionOf("tickets", recentlyClosedTicket.id())).isEqualTo(monthPartitionOf("tickets",
+            recentlyClosedTicket.id()));
+
+        TicketDTO archivedTicket = getTicket(oldClosedTicket.id());
+        assertThat(archivedTicket.title()).isEqualTo(oldClosedTicket.title());
+        assertThat(archivedTicket.open()).isFalse();
+
+        // A reopened ticket moves back out of the archive
+        assertThat(patchTicket(oldClosedTicket.id(), Map.of("open", true)).open()).isTrue();
+        assertThat(partitionOf("tickets", oldClosedTicket.id())).isEqualTo(monthPartitionOf("tickets",
+            oldClosedTicket.id()));
+    }
+
+    @Test
+    void doesNotArchiveTicketsReopenedSinceTheyWereFound() {
+        // given
+        TicketDTO closedTicket = createTicket();
+        TicketDTO reopenedTicket = createTicket();
+        insertComment(reopenedTicket);
+        patchTicket(closedTicket.id(), Map.of("open", false));
+
+        // when
+        List<Long> archivedTicketIds = ticketArchiveRepository.archiveTickets(List.of(closedTicket.id(),
+            reopenedTicket.id()));
+
+        // then
+        assertThat(archivedTicketIds).containsExactly(closedTicket.id());
+        assertThat(partitionOf("tickets", reopenedTicket.id())).isEqualTo(monthPartitionOf("tickets",
+            reopenedTicket.id()));
+        assertThat(partitionOf("ticket_comments", reopenedTicket.id())).isEqualTo(monthPartitionOf(
+            "ticket_comments", reopenedTicket.id()));
+    }
+
+    @Test
+    void canCreatePartitionsOfComingMonths() {
+        // given
+        String lastMonth = jdbcTemplate.queryForObject(
+            "SELECT to_char(localtimestamp + interval '3 months', 'YYYY_MM')", String.class);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS tickets_" + lastMonth);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ticket_comments_" + lastMonth);
+
+        // when
+        ticketArchiveWorker.maintain();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+            "tickets_" + lastMonth)).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+            "ticket_comments_" + lastMonth)).isNotNull();
+    }
+
+    private String partitionOf(String table, Long ticketId) {
+        String column = table.equals("tickets") ? "id" : "ticket_id";
+        return jdbcTemplate.queryForObject("SELECT DISTINCT tableoid::regclass::text FROM " + table + " WHERE "
+                                           + column + " = ?", String.class, ticketId);
+    }
+
+    private String monthPartitionOf(String table, Long ticketId) {
+        String column = table.equals("tickets") ? "id" : "ticket_id";
+        return jdbcTemplate.queryForObject("SELECT DISTINCT ? || '_' || to_char(created_at, 'YYYY_MM') FROM "
+                                           + table + " WHERE " + column + " = ?", String.class, table, ticketId);
+    }
+
+    private void insertComment(TicketDTO ticketDTO) {
+        jdbcTemplate.update("INSERT INTO ticket_comments (ticket_id, user_id, content, created_at, updated_at) "
+                            + "VALUES (?, ?, 'Comment', now(), now())", ticketDTO.id(), ticketDTO.publisher()
+            .id());
+    }
+
+    private TicketDTO createTicket() {
+        TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+            .sentence(10), faker.lorem()
+            .sentence(30), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+        APIResponse<TicketDTO> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(createRequest)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+    private TicketDTO getTicket(Long ticketId) {
+        APIResponse<TicketDTO> response = webTestClient.get()
+            .uri(TICKET_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+    private TicketDTO patchTicket(Long ticketId, Map<String, Object> patch) {
+        APIResponse<TicketDTO> response = webTestClient.patch()
+            .uri(TICKET_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MERGE_PATCH)
+            .bodyValue(patch)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+}
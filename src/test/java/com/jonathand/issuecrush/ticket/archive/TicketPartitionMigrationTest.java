@@ -0,0 +1,130 @@
+package com.jonathand.issuecrush.ticket.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs {@code db/migrations/partition-tickets.sql} on the tables as they were before the tickets were partitioned,
+ * in a schema of their own, as an operator would on an existing database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketPartitionMigrationTest {
+
+    private static final String SCHEMA = "ticket_partition_migration";
+
+    /**
+     * The tables as Hibernate created them, with the foreign key of the comments to the tickets.
+     */
+    private static final String BASELINE_TABLES = """
+        CREATE TABLE organizations (
+            id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            name varchar(255)
+        );
+        CREATE SEQUENCE tickets_seq START WITH 1 INCREMENT BY 50;
+        CREATE TABLE tickets (
+            id bigint NOT NULL PRIMARY KEY,
+            organization_id bigint CONSTRAINT fk_tickets_organization REFERENCES organizations,
+            created_at timestamp(6) NOT NULL,
+            updated_at timestamp(6) NOT NULL,
+            open boolean NOT NULL,
+            title varchar(255),
+            content text,
+            version bigint NOT NULL DEFAULT 0
+        );
+        CREATE INDEX idx_tickets_organization_created_at ON tickets (organization_id, created_at DESC, id DESC);
+        CREATE TABLE ticket_comments (
+            id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            ticket_id bigint NOT NULL CONSTRAINT fk_ticket_comments_ticket REFERENCES tickets,
+            created_at timestamp(6) NOT NULL,
+            updated_at timestamp(6) NOT NULL,
+            content text
+        );
+        CREATE INDEX idx_ticket_comments_ticket ON ticket_comments (ticket_id);
+        INSERT INTO organizations (name) VALUES ('Organization');
+        INSERT INTO tickets (id, organization_id, created_at, updated_at, open, title, content)
+        SELECT g, 1, localtimestamp - g * interval '1 day', localtimestamp, g % 2 = 0, 'Ticket ' || g, 'Content'
+        FROM generate_series(1, 100) g;
+        INSERT INTO ticket_comments (ticket_id, created_at, updated_at, content)
+        SELECT g, localtimestamp, localtimestamp, 'Comment ' || g
+        FROM generate_series(1, 100) g;
+        """;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void itShouldPartitionTheTablesOfAnExistingDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            try {
+                // given
+                statement.execute(BASELINE_TABLES);
+
+                // when
+                migrate(connection);
+                // Running it again is a no-op
+                migrate(connection);
+
+                // then
+                assertThat(query(statement, "SELECT relkind FROM pg_class WHERE oid = 'tickets'::regclass"))
+                    .isEqualTo("p");
+                assertThat(query(statement, "SELECT relkind FROM pg_class WHERE oid = 'ticket_comments'::regclass"))
+                    .isEqualTo("p");
+                assertThat(query(statement, "SELECT count(*) FROM tickets")).isEqualTo("100");
+                assertThat(query(statement, "SELECT count(*) FROM ticket_comments")).isEqualTo("100");
+                assertThat(query(statement, "SELECT count(*) FROM ticket_locations")).isEqualTo("100");
+
+                // The comments reference the ticket locations instead of the tickets, the other keys are kept
+                assertThat(query(statement, "SELECT string_agg(conname, ',' ORDER BY conname) FROM pg_constraint "
+                                            + "WHERE conrelid IN ('tickets'::regclass, "
+                                            + "'ticket_comments'::regclass) AND contype = 'f'"))
+                    .isEqualTo("fk_ticket_comments_ticket_location,fk_tickets_organization");
+                assertThat(query(statement, "SELECT count(*) FROM pg_index "
+                                            + "WHERE indexrelid = 'idx_ticket_comments_ticket'::regclass "
+                                            + "AND indrelid = 'ticket_comments'::regclass")).isEqualTo("1");
+
+                // New rows are routed to the partitions and tracked in the ticket locations
+                statement.execute("INSERT INTO tickets (id, organization_id, created_at, updated_at, open) "
+                                  + "VALUES (101, 1, localtimestamp, localtimestamp, true)");
+                statement.execute("INSERT INTO ticket_comments (ticket_id, created_at, updated_at, content) "
+                                  + "VALUES (101, localtimestamp, localtimestamp, 'Comment')");
+                assertThat(query(statement, "SELECT count(*) FROM ticket_locations WHERE id = 101")).isEqualTo("1");
+                assertThat(query(statement, "SELECT max(id) FROM ticket_comments")).isEqualTo("101");
+            } finally {
+                statement.execute("RESET search_path");
+                statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    private void migrate(Connection connection) {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/partitions.sql"));
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migrations/partition-tickets.sql"));
+    }
+
+    private String query(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+}
@@ -138,6 +138,7 @@ class TicketBodyIntegrationTest {
         TicketBodyDTO ticketBodyDTO = apiResponse.getResult();
 
         assertThat(apiResponse.getResponseType()).isEqualTo(APIResponseType.SUCCESS);
+        assertThat(ticketBodyDTO.id()).isEqualTo(ticketId);
         assertThat(ticketBodyDTO.title()).isEqualTo(createRequest.title());
         assertThat(ticketBodyDTO.content()).isEqualTo(createRequest.content());
     }
@@ -1,6 +1,5 @@
 package com.jonathand.issuecrush.ticket.body;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,17 +40,14 @@ class TicketBodyServiceTest {
             .nextLong(50L);
 
         Ticket ticket = mock(Ticket.class);
-        TicketBody ticketBody = mock(TicketBody.class);
 
         when(ticketUtil.getTicketById(ticketId)).thenReturn(ticket);
 
-        when(ticket.getTicketBody()).thenReturn(ticketBody);
-
         // when
         underTest.getTicketBodyForTicket(ticketId);
 
         // then
-        verify(ticketBodyDTOMapper).apply(any());
+        verify(ticketBodyDTOMapper).apply(ticket);
     }
 
 
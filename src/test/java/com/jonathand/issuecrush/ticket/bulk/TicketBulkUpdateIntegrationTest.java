@@ -0,0 +1,250 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.OrganizationDTO;
+import com.jonathand.issuecrush.organization.OrganizationNewRequest;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDTO;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.TicketFilter;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.TicketSpecifications;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TicketBulkUpdateIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(faker.internet()
+                .emailAddress())
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new OrganizationNewRequest(faker.company()
+                .name())), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+    }
+
+    @Test
+    void canCloseTicketsByIdsInOneStatement() {
+        // given
+        List<Long> ticketIds = importTickets(20);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        // when
+        TicketBulkUpdateResultDTO result = bulkUpdate(Map.of("action", "close", "ticketIds",
+            ticketIds.subList(0, 15)));
+
+        // then
+        assertThat(result.action()).isEqualTo(TicketBulkAction.CLOSE.name());
+        assertThat(result.updatedTickets()).isEqualTo(15);
+        assertThat(ticketRepository.countByOrganization_IdAndOpenTrue(organizationId)).isEqualTo(5L);
+        assertThat(ticketRepository.countByOrganization_IdAndOpenFalse(organizationId)).isEqualTo(15L);
+
+        // Loading and saving the tickets one by one would take at least two statements per ticket
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void canReprioritizeAssignAndUnassignTicketsByFilter() {
+        // given
+        List<Long> ticketIds = importTickets(4);
+        bulkUpdate(Map.of("action", "close", "ticketIds", ticketIds.subList(0, 1)));
+
+        Long agentId = getTicketPublisherId(ticketIds.get(0));
+        Map<String, Object> openTickets = Map.of("open", true);
+
+        // when
+        TicketBulkUpdateResultDTO reprioritized = bulkUpdate(Map.of("action", "REPRIORITIZE", "priority",
+            TicketPriority.CRITICAL.name(), "filter", openTickets));
+        TicketBulkUpdateResultDTO assigned = bulkUpdate(Map.of("action", "ASSIGN", "assignedAgentId", agentId,
+            "filter", Map.of("priority", TicketPriority.CRITICAL.name())));
+        long assignedCount = countTickets(new TicketFilter(null, null, null, null, null, agentId, null, null, null,
+            null));
+        TicketBulkUpdateResultDTO unassigned = bulkUpdate(Map.of("action", "UNASSIGN", "ticketIds", ticketIds));
+
+        // then
+        assertThat(reprioritized.updatedTickets()).isEqualTo(3);
+        assertThat(countTickets(new TicketFilter(null, null, false, TicketPriority.CRITICAL, null, null, null, null,
+            null, null))).isEqualTo(0L);
+        assertThat(assigned.updatedTickets()).isEqualTo(3);
+        assertThat(assignedCount).isEqualTo(3L);
+        assertThat(unassigned.updatedTickets()).isEqualTo(4);
+        assertThat(countTickets(new TicketFilter(null, null, null, null, null, agentId, null, null, null,
+            null))).isEqualTo(0L);
+    }
+
+    @Test
+    void willRejectInvalidBulkUpdates() {
+        List<Long> ticketIds = importTickets(1);
+
+        List.of(Map.of("action", "DELETE", "ticketIds", ticketIds),
+                Map.of("action", "CLOSE"),
+                Map.of("action", "CLOSE", "ticketIds", ticketIds, "filter", Map.of()),
+                Map.of("action", "REPRIORITIZE", "ticketIds", ticketIds))
+            .forEach(request -> webTestClient.post()
+                .uri(TICKET_PATH + "/organization/{organizationId}/bulk", organizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isBadRequest());
+
+        assertThat(ticketRepository.countByOrganization_IdAndOpenTrue(organizationId)).isEqualTo(1L);
+    }
+
+    private List<Long> importTickets(int ticketsToImport) {
+        List<TicketCreateRequest> createRequests = new ArrayList<>();
+        for (int i = 0; i < ticketsToImport; i++) {
+            createRequests.add(new TicketCreateRequest("Ticket " + i, "content", TicketPriority.LOW.name(),
+                TicketDepartment.IT.name(), true));
+        }
+
+        APIResponse<List<TicketImportResultDTO>> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(createRequests)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketImportResultDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult()
+            .stream()
+            .map(TicketImportResultDTO::ticketId)
+            .toList();
+    }
+
+    private TicketBulkUpdateResultDTO bulkUpdate(Map<String, Object> request) {
+        APIResponse<TicketBulkUpdateResultDTO> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/bulk", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketBulkUpdateResultDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult();
+    }
+
+    private Long getTicketPublisherId(Long ticketId) {
+        APIResponse<TicketDTO> response = webTestClient.get()
+            .uri(TICKET_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        assert response != null;
+
+        return response.getResult()
+            .publisher()
+            .id();
+    }
+
+    private long countTickets(TicketFilter filter) {
+        return ticketRepository.countTickets(TicketSpecifications.matching(organizationId, filter));
+    }
+
+}
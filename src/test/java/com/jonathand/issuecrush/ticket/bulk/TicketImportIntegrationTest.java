@@ -0,0 +1,262 @@
+package com.jonathand.issuecrush.ticket.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.OrganizationDTO;
+import com.jonathand.issuecrush.organization.OrganizationNewRequest;
+import com.jonathand.issuecrush.response.APIErrorDTO;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.TicketRepository;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TicketImportIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private final Faker faker = new Faker();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(faker.internet()
+                .emailAddress())
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new OrganizationNewRequest(faker.company()
+                .name())), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+    }
+
+    @Test
+    void canImportTicketsWithPerTicketResults() {
+        // given
+        List<TicketCreateRequest> createRequests = List.of(
+            new TicketCreateRequest("First", "content", TicketPriority.LOW.name(), TicketDepartment.IT.name(), true),
+            new TicketCreateRequest("", "content", "URGENT", TicketDepartment.IT.name(), true),
+            new TicketCreateRequest("Third", "content", TicketPriority.HIGH.name(), TicketDepartment.SALES.name(),
+                false));
+
+        // when
+        APIResponse<List<TicketImportResultDTO>> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(createRequests)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketImportResultDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert response != null;
+
+        List<TicketImportResultDTO> results = response.getResult();
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)
+            .ticketId()).isNotNull();
+        assertThat(results.get(1)
+            .ticketId()).isNull();
+        assertThat(results.get(1)
+            .errors()).containsExactlyInAnyOrder("The ticket must have a title",
+            "The priority URGENT was not found...");
+        assertThat(results.get(2)
+            .ticketId()).isNotNull();
+        assertThat(ticketRepository.countByOrganization_Id(organizationId)).isEqualTo(2L);
+    }
+
+    @Test
+    void canImportNdjsonTicketsInBatches() throws Exception {
+        // given
+        int ticketsToImport = TicketImportService.CHUNK_SIZE * 2 + 100;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ticketsToImport; i++) {
+            body.append(objectMapper.writeValueAsString(
+                    new TicketCreateRequest("Ticket " + i, "content", TicketPriority.LOW.name(),
+                        TicketDepartment.IT.name(), true)))
+                .append('\n');
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        // when
+        APIResponse<List<TicketImportResultDTO>> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .bodyValue(body.toString())
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<List<TicketImportResultDTO>>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert response != null;
+
+        assertThat(response.getResult()).hasSize(ticketsToImport);
+        assertThat(response.getResult()
+            .stream()
+            .allMatch(result -> result.ticketId() != null)).isTrue();
+        assertThat(ticketRepository.countByOrganization_Id(organizationId)).isEqualTo(ticketsToImport);
+
+        // Inserting the tickets one by one would prepare a statement each, batches prepare one per batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ticketsToImport / 4);
+    }
+
+    @Test
+    void willRejectMalformedNdjsonImport() {
+        webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .bodyValue("{\"title\": \"a\"}\n{not json\n")
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void willStopReadingAnImportAtTheFirstTicketTooMany() {
+        // given
+        // The rest of the body is not JSON, which is never read when the import stops at the ticket too many
+        String body = "[" + "{},".repeat(TicketImportService.MAX_TICKETS + 1) + "not json";
+
+        // when
+        APIResponse<APIErrorDTO> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody(new ParameterizedTypeReference<APIResponse<APIErrorDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert response != null;
+
+        assertThat(response.getErrors()).extracting(APIErrorDTO::message)
+            .containsExactly("An import can not have more than " + TicketImportService.MAX_TICKETS + " tickets...");
+        assertThat(ticketRepository.countByOrganization_Id(organizationId)).isZero();
+    }
+
+    @Test
+    void willRejectAnImportLargerThanTheMaximumSize() throws Exception {
+        // given
+        // A single ticket larger than the maximum size of an import in the tests
+        String body = objectMapper.writeValueAsString(
+            new TicketCreateRequest("Ticket", "a".repeat(2 * 1024 * 1024), TicketPriority.LOW.name(),
+                TicketDepartment.IT.name(), true));
+
+        // when
+        APIResponse<APIErrorDTO> response = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}/import", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .bodyValue(body)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody(new ParameterizedTypeReference<APIResponse<APIErrorDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert response != null;
+
+        assertThat(response.getErrors()).extracting(APIErrorDTO::message)
+            .containsExactly("An import can not be larger than 1 MB...");
+        assertThat(ticketRepository.countByOrganization_Id(organizationId)).isZero();
+    }
+
+}
@@ -18,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -432,6 +434,197 @@ class TicketCommentIntegrationTest {
         assertThat(ticketCommentDTOToCompare.content()).isEqualTo(updateRequest.content());
     }
 
+    @Test
+    void canUpdateTicketCommentOnlyIfItHasTheETagFromIfMatch() {
+        // given
+        String email = faker.internet()
+            .emailAddress();
+        String password = faker.internet()
+            .password();
+
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(email)
+            .password(password)
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        String jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        String organizationName = faker.company()
+            .name();
+
+        OrganizationNewRequest organizationNewRequest = new OrganizationNewRequest(organizationName);
+
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(organizationNewRequest), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        APIResponse<OrganizationDTO> organizationResponse = organizationResult.getResponseBody();
+
+        assert organizationResponse != null;
+
+        OrganizationDTO organizationDTO = organizationResponse.getResult();
+        Long organizationId = organizationDTO.id();
+
+        TicketCreateRequest createRequest = new TicketCreateRequest(faker.lorem()
+            .sentence(10), faker.lorem()
+            .sentence(30), faker.options()
+            .option(TicketPriority.values())
+            .name(), faker.options()
+            .option(TicketDepartment.values())
+            .name(), faker.bool()
+            .bool());
+
+        EntityExchangeResult<APIResponse<TicketDTO>> ticketResult = webTestClient.post()
+            .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(createRequest), TicketCreateRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+            })
+            .returnResult();
+
+        APIResponse<TicketDTO> ticketResponse = ticketResult.getResponseBody();
+
+        assert ticketResponse != null;
+        TicketDTO ticketDTO = ticketResponse.getResult();
+        Long ticketId = ticketDTO.id();
+
+        TicketCommentCreateRequest commentCreateRequest = new TicketCommentCreateRequest(faker.lorem()
+            .sentence(30));
+
+        EntityExchangeResult<APIResponse<TicketCommentDTO>> ticketCommentResultToGet = webTestClient.post()
+            .uri(TICKET_COMMENTS_PATH + "/{ticketId}", ticketId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(commentCreateRequest), TicketCommentCreateRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<TicketCommentDTO>>() {
+            })
+            .returnResult();
+
+        assert ticketCommentResultToGet.getResponseBody() != null;
+
+        TicketCommentDTO ticketCommentDTO = ticketCommentResultToGet.getResponseBody()
+            .getResult();
+
+        Long ticketCommentId = ticketCommentDTO.id();
+
+        // Get organization user
+        EntityExchangeResult<APIResponse<OrganizationUserDTO>> organizationUserResult = webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path(ORGANIZATION_USER_PATH)
+                .queryParam("organizationId", organizationId)
+                .queryParam("email", email)
+                .build())
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationUserDTO>>() {
+            })
+            .returnResult();
+
+        APIResponse<OrganizationUserDTO> userDTOResponse = organizationUserResult.getResponseBody();
+        assert userDTOResponse != null;
+
+        OrganizationUserDTO organizationUserDTO = userDTOResponse.getResult();
+        Long organizationUserId = organizationUserDTO.id();
+
+        // Read the ETag of the created ticket comment
+        String eTag = webTestClient.get()
+            .uri(TICKET_COMMENTS_PATH + "/comment/{ticketCommentId}", ticketCommentId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"0\"")
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+
+        // when
+        TicketCommentUpdateRequest updateRequest = new TicketCommentUpdateRequest(organizationUserId, faker.lorem()
+            .sentence(30));
+
+        webTestClient.put()
+            .uri(TICKET_COMMENTS_PATH + "/comment/{ticketCommentId}", ticketCommentId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(header -> {
+                header.setBearerAuth(jwtToken);
+                header.setIfMatch(eTag);
+            })
+            .body(Mono.just(updateRequest), TicketCommentUpdateRequest.class)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        // A second update with the ETag read before the first update is rejected
+        TicketCommentUpdateRequest staleUpdateRequest = new TicketCommentUpdateRequest(organizationUserId,
+            faker.lorem()
+                .sentence(30));
+
+        webTestClient.put()
+            .uri(TICKET_COMMENTS_PATH + "/comment/{ticketCommentId}", ticketCommentId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(header -> {
+                header.setBearerAuth(jwtToken);
+                header.setIfMatch(eTag);
+            })
+            .body(Mono.just(staleUpdateRequest), TicketCommentUpdateRequest.class)
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED)
+            .expectBody()
+            .jsonPath("$.response")
+            .isEqualTo(APIResponseType.FAILED.name());
+
+        // then
+        webTestClient.get()
+            .uri(TICKET_COMMENTS_PATH + "/comment/{ticketCommentId}", ticketCommentId)
+            .accept(MediaType.APPLICATION_JSON)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.result.content")
+            .isEqualTo(updateRequest.content());
+    }
+
     @Test
     void canDeleteTicketComment() {
         // given
@@ -2,22 +2,20 @@ package com.jonathand.issuecrush.ticket.comment;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.javafaker.Faker;
 import com.jonathand.issuecrush.organization.Organization;
 import com.jonathand.issuecrush.organization.OrganizationRepository;
 import com.jonathand.issuecrush.organization.OrganizationRole;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
+import com.jonathand.issuecrush.organization.user.OrganizationUserDTO;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
 import com.jonathand.issuecrush.ticket.Ticket;
 import com.jonathand.issuecrush.ticket.TicketDepartment;
 import com.jonathand.issuecrush.ticket.TicketRepository;
 import com.jonathand.issuecrush.ticket.body.TicketBody;
-import com.jonathand.issuecrush.ticket.body.TicketBodyRepository;
 import com.jonathand.issuecrush.ticket.property.TicketPriority;
 import com.jonathand.issuecrush.ticket.property.TicketProperty;
-import com.jonathand.issuecrush.ticket.property.TicketPropertyRepository;
 import com.jonathand.issuecrush.user.User;
 import com.jonathand.issuecrush.user.UserRepository;
 import com.jonathand.issuecrush.user.UserRole;
@@ -29,6 +27,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -51,12 +50,6 @@ class TicketCommentRepositoryTest {
     @Autowired
     private OrganizationUserRepository organizationUserRepository;
 
-    @Autowired
-    private TicketBodyRepository ticketBodyRepository;
-
-    @Autowired
-    private TicketPropertyRepository ticketPropertyRepository;
-
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
@@ -102,7 +95,6 @@ class TicketCommentRepositoryTest {
 
         TicketBody ticketBody = TicketBody.builder()
             .title("a")
-            .content("b")
             .build();
 
         TicketProperty ticketProperty = TicketProperty.builder()
@@ -110,13 +102,12 @@ class TicketCommentRepositoryTest {
             .priority(TicketPriority.LOW)
             .build();
 
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
 
         Ticket ticket = Ticket.builder()
             .organization(realOrganization)
             .publisher(organizationUser)
             .ticketBody(ticketBody)
+            .content("b")
             .ticketProperty(ticketProperty)
             .build();
 
@@ -145,8 +136,10 @@ class TicketCommentRepositoryTest {
         assertThat(expected.getTotalElements()).isEqualTo(ticketCommentsToCreate);
     }
 
+    // TODO TEST BOTH countByOrganization_IdAndOrganization_Tickets_OpenFalse
+
     @Test
-    void itShouldBeTrueIfUserBelongToTicketCommentOrganization() {
+    void itShouldResolveTicketAndOrganizationOfTicketComment() {
         // given
         User user = User.builder()
             .email(faker.internet()
@@ -180,7 +173,6 @@ class TicketCommentRepositoryTest {
 
         TicketBody ticketBody = TicketBody.builder()
             .title("a")
-            .content("b")
             .build();
 
         TicketProperty ticketProperty = TicketProperty.builder()
@@ -188,13 +180,12 @@ class TicketCommentRepositoryTest {
             .priority(TicketPriority.LOW)
             .build();
 
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
 
         Ticket ticket = Ticket.builder()
             .organization(organization)
             .publisher(organizationUser)
             .ticketBody(ticketBody)
+            .content("b")
             .ticketProperty(ticketProperty)
             .build();
 
@@ -210,17 +201,22 @@ class TicketCommentRepositoryTest {
         ticketComment = underTest.save(ticketComment);
 
         // when
-        boolean expected = underTest.doesUserBelongToTicketCommentOrganization(organizationUser.getUser()
-            .getEmail(), ticketComment.getId());
+        Long ticketId = underTest.findTicketIdById(ticketComment.getId())
+            .orElseThrow();
+        Long organizationId = ticketRepository.findOrganizationIdById(ticketId)
+            .orElseThrow();
 
         // then
-        assertTrue(expected);
+        assertThat(ticketId).isEqualTo(ticket.getId());
+        assertThat(organizationId).isEqualTo(organization.getId());
+        assertFalse(underTest.findTicketIdById(ticketComment.getId() + 1)
+            .isPresent());
     }
 
     @Test
-    void itShouldBeFalseIfUserNotBelongToTicketCommentOrganization() {
+    void itShouldGetTicketCommentDTOsForTicketByContent() {
         // given
-        User user = User.builder()
+        User user = userRepository.save(User.builder()
             .email(faker.internet()
                 .emailAddress())
             .firstName(faker.name()
@@ -230,59 +226,22 @@ class TicketCommentRepositoryTest {
             .password(faker.internet()
                 .password())
             .userRole(UserRole.USER)
-            .build();
+            .build());
 
-        user = userRepository.save(user);
-
-        Organization organization = Organization.builder()
+        Organization organization = organizationRepository.save(Organization.builder()
             .name(faker.company()
                 .name())
             .creator(user)
-            .build();
-
-        organization = organizationRepository.save(organization);
+            .build());
 
-        OrganizationUser organizationUser = OrganizationUser.builder()
+        OrganizationUser organizationUser = organizationUserRepository.save(OrganizationUser.builder()
             .user(user)
-            .role(OrganizationRole.MEMBER)
+            .role(OrganizationRole.OWNER)
             .organization(organization)
-            .build();
-
-        organizationUser = organizationUserRepository.save(organizationUser);
-
-        User user2 = User.builder()
-            .email(faker.internet()
-                .emailAddress())
-            .firstName(faker.name()
-                .firstName())
-            .lastName(faker.name()
-                .lastName())
-            .password(faker.internet()
-                .password())
-            .userRole(UserRole.USER)
-            .build();
-
-        user2 = userRepository.save(user2);
-
-        Organization organization2 = Organization.builder()
-            .name(faker.company()
-                .name())
-            .creator(user2)
-            .build();
-
-        organization2 = organizationRepository.save(organization2);
-
-        OrganizationUser organizationUser2 = OrganizationUser.builder()
-            .user(user2)
-            .role(OrganizationRole.MEMBER)
-            .organization(organization2)
-            .build();
-
-        organizationUser2 = organizationUserRepository.save(organizationUser2);
+            .build());
 
         TicketBody ticketBody = TicketBody.builder()
             .title("a")
-            .content("b")
             .build();
 
         TicketProperty ticketProperty = TicketProperty.builder()
@@ -290,34 +249,42 @@ class TicketCommentRepositoryTest {
             .priority(TicketPriority.LOW)
             .build();
 
-        ticketBody = ticketBodyRepository.save(ticketBody);
-        ticketProperty = ticketPropertyRepository.save(ticketProperty);
-
-        Ticket ticket = Ticket.builder()
+        Ticket ticket = ticketRepository.save(Ticket.builder()
             .organization(organization)
             .publisher(organizationUser)
             .ticketBody(ticketBody)
+            .content("b")
             .ticketProperty(ticketProperty)
-            .build();
-
-        ticket = ticketRepository.save(ticket);
+            .build());
 
-        TicketComment ticketComment = TicketComment.builder()
-            .content(faker.lorem()
-                .sentence(10))
+        TicketComment matchingComment = underTest.save(TicketComment.builder()
+            .content("Disk is 100% full")
             .ticket(ticket)
             .publisher(organizationUser)
-            .build();
+            .build());
 
-        ticketComment = underTest.save(ticketComment);
+        underTest.save(TicketComment.builder()
+            .content("Disk is 1000 GB")
+            .ticket(ticket)
+            .publisher(organizationUser)
+            .build());
 
         // when
-        boolean expected = underTest.doesUserBelongToTicketCommentOrganization(organizationUser2.getUser()
-            .getEmail(), ticketComment.getId());
+        Slice<TicketCommentDTO> expected = underTest.findTicketCommentDTOsForTicketByContent(ticket.getId(), "100\\%",
+            PageRequest.of(0, 10));
 
         // then
-        assertFalse(expected);
+        assertThat(expected.getNumberOfElements()).isEqualTo(1);
+        assertThat(expected.hasNext()).isFalse();
+        assertThat(underTest.countTicketCommentsForTicketByContent(ticket.getId(), "100\\%")).isEqualTo(1);
+        assertThat(expected.getContent()
+            .get(0)).isEqualTo(new TicketCommentDTO(matchingComment.getId(), ticket.getId(),
+            new OrganizationUserDTO(organizationUser.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                "OWNER"), expected.getContent()
+            .get(0)
+            .createdAt(), expected.getContent()
+            .get(0)
+            .updatedAt(), "Disk is 100% full", matchingComment.getVersion()));
     }
 
-    // TODO TEST BOTH countByOrganization_IdAndOrganization_Tickets_OpenFalse
-}
\ No newline at end of file
+}
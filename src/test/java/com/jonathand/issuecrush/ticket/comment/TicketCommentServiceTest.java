@@ -6,6 +6,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.datasource.CustomQueryPlans;
 import com.jonathand.issuecrush.organization.Organization;
 import com.jonathand.issuecrush.organization.user.OrganizationUser;
 import com.jonathand.issuecrush.organization.user.OrganizationUserRepository;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class TicketCommentServiceTest {
@@ -45,6 +47,12 @@ class TicketCommentServiceTest {
     @Mock
     private TicketCommentUtil ticketCommentUtil;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CustomQueryPlans customQueryPlans;
+
     @InjectMocks
     private TicketCommentService underTest;
 
@@ -0,0 +1,213 @@
+package com.jonathand.issuecrush.ticket.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.jonathand.issuecrush.UserRegisterExtractor;
+import com.jonathand.issuecrush.auth.AuthenticationResponse;
+import com.jonathand.issuecrush.organization.OrganizationDTO;
+import com.jonathand.issuecrush.organization.OrganizationNewRequest;
+import com.jonathand.issuecrush.response.APIResponse;
+import com.jonathand.issuecrush.ticket.TicketCreateRequest;
+import com.jonathand.issuecrush.ticket.TicketDTO;
+import com.jonathand.issuecrush.ticket.TicketDepartment;
+import com.jonathand.issuecrush.ticket.comment.TicketCommentCreateRequest;
+import com.jonathand.issuecrush.ticket.property.TicketPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TicketExportIntegrationTest {
+
+    private static final String TICKET_PATH = "/api/v1/tickets";
+
+    private static final String TICKET_COMMENTS_PATH = "/api/v1/ticket-comments";
+
+    private static final String ORGANIZATION_PATH = "/api/v1/organizations";
+
+    private static final String AUTHENTICATION_PATH = "/api/v1/auth";
+
+    private final Faker faker = new Faker();
+
+    private final List<Long> ticketIds = new ArrayList<>();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String jwtToken;
+
+    private Long organizationId;
+
+    @BeforeEach
+    void setUp() {
+        // get jwt token
+        EntityExchangeResult<AuthenticationResponse> authResult = UserRegisterExtractor.builder()
+            .webTestClient(webTestClient)
+            .authenticationPath(AUTHENTICATION_PATH)
+            .firstName(faker.name()
+                .firstName())
+            .lastName(faker.name()
+                .lastName())
+            .email(faker.internet()
+                .emailAddress())
+            .password(faker.internet()
+                .password())
+            .build()
+            .get();
+
+        assert authResult.getResponseBody() != null;
+
+        jwtToken = authResult.getResponseBody()
+            .getToken();
+
+        // use jwt token to create an organization
+        EntityExchangeResult<APIResponse<OrganizationDTO>> organizationResult = webTestClient.post()
+            .uri(ORGANIZATION_PATH)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new OrganizationNewRequest(faker.company()
+                .name())), OrganizationNewRequest.class)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(new ParameterizedTypeReference<APIResponse<OrganizationDTO>>() {
+            })
+            .returnResult();
+
+        assert organizationResult.getResponseBody() != null;
+
+        organizationId = organizationResult.getResponseBody()
+            .getResult()
+            .id();
+
+        // The first ticket has two comments, the second none and the third one
+        List<String> titles = List.of("Printer \"HP\", floor 2", "Monitor", "Keyboard");
+        List<Integer> comments = List.of(2, 0, 1);
+        for (int i = 0; i < titles.size(); i++) {
+            TicketCreateRequest createRequest = new TicketCreateRequest(titles.get(i), faker.lorem()
+                .sentence(10), TicketPriority.LOW.name(), TicketDepartment.IT.name(), true);
+
+            TicketDTO ticket = webTestClient.post()
+                .uri(TICKET_PATH + "/organization/{organizationId}", organizationId)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createRequest), TicketCreateRequest.class)
+                .headers(header -> header.setBearerAuth(jwtToken))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(new ParameterizedTypeReference<APIResponse<TicketDTO>>() {
+                })
+                .returnResult()
+                .getResponseBody()
+                .getResult();
+
+            ticketIds.add(ticket.id());
+
+            for (int j = 0; j < comments.get(i); j++) {
+                webTestClient.post()
+                    .uri(TICKET_COMMENTS_PATH + "/{ticketId}", ticket.id())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Mono.just(new TicketCommentCreateRequest("Comment " + j)), TicketCommentCreateRequest.class)
+                    .headers(header -> header.setBearerAuth(jwtToken))
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+            }
+        }
+    }
+
+    @Test
+    void canExportTicketsWithCommentsAsNdjson() throws Exception {
+        // when
+        String export = webTestClient.get()
+            .uri(TICKET_PATH + "/organization/{organizationId}/export?includeComments=true", organizationId)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType("application/x-ndjson")
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert export != null;
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.stream()
+            .map(line -> line.get("id")
+                .asLong())
+            .toList()).isEqualTo(ticketIds);
+        assertThat(lines.stream()
+            .map(line -> line.get("comments")
+                .size())
+            .toList()).isEqualTo(List.of(2, 0, 1));
+        assertThat(lines.get(0)
+            .get("title")
+            .asText()).isEqualTo("Printer \"HP\", floor 2");
+        assertThat(lines.get(0)
+            .get("comments")
+            .get(1)
+            .get("content")
+            .asText()).isEqualTo("Comment 1");
+    }
+
+    @Test
+    void canExportTicketsAsCsv() {
+        // when
+        String export = webTestClient.get()
+            .uri(TICKET_PATH + "/organization/{organizationId}/export?format=csv", organizationId)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        // then
+        assert export != null;
+
+        String[] records = export.split("\r\n");
+        assertThat(records).hasSize(4);
+        assertThat(records[0]).startsWith("type,ticket_id,comment_id,title");
+        assertThat(records[1]).startsWith("ticket," + ticketIds.get(0) + ",,\"Printer \"\"HP\"\", floor 2\",");
+        assertThat(records[3]).startsWith("ticket," + ticketIds.get(2) + ",,Keyboard,");
+    }
+
+    @Test
+    void willRejectUnknownExportFormat() {
+        webTestClient.get()
+            .uri(TICKET_PATH + "/organization/{organizationId}/export?format=xlsx", organizationId)
+            .headers(header -> header.setBearerAuth(jwtToken))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+}
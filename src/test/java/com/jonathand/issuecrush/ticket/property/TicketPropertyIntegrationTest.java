@@ -138,6 +138,7 @@ class TicketPropertyIntegrationTest {
         TicketPropertyDTO ticketPropertyDTO = apiResponse.getResult();
 
         assertThat(apiResponse.getResponseType()).isEqualTo(APIResponseType.SUCCESS);
+        assertThat(ticketPropertyDTO.id()).isEqualTo(ticketId);
         assertThat(ticketPropertyDTO.assigned_agent()).isNull();
         assertThat(ticketPropertyDTO.department()).isEqualTo(createRequest.department());
         assertThat(ticketPropertyDTO.priority()).isEqualTo(createRequest.priority());
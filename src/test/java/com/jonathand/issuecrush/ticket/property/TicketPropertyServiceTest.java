@@ -1,6 +1,5 @@
 package com.jonathand.issuecrush.ticket.property;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,17 +40,14 @@ class TicketPropertyServiceTest {
             .nextLong(50L);
 
         Ticket ticket = mock(Ticket.class);
-        TicketProperty ticketProperty = mock(TicketProperty.class);
 
         when(ticketUtil.getTicketById(ticketId)).thenReturn(ticket);
 
-        when(ticket.getTicketProperty()).thenReturn(ticketProperty);
-
         // when
         underTest.getTicketPropertyForTicket(ticketId);
 
         // then
-        verify(ticketPropertyDTOMapper).apply(any());
+        verify(ticketPropertyDTOMapper).apply(ticket);
     }
 
 }
\ No newline at end of file